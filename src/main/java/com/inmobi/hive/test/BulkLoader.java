@@ -0,0 +1,508 @@
+package com.inmobi.hive.test;
+
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hive.common.FileUtils;
+import org.apache.hadoop.hive.common.StatsSetupConst;
+import org.apache.hadoop.hive.conf.HiveConf;
+import org.apache.hadoop.hive.metastore.HiveMetaStoreClient;
+import org.apache.hadoop.hive.metastore.api.FieldSchema;
+import org.apache.hadoop.hive.metastore.api.Partition;
+import org.apache.hadoop.hive.metastore.api.StorageDescriptor;
+import org.apache.hadoop.hive.metastore.api.Table;
+import org.apache.hadoop.hive.serde.serdeConstants;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.util.*;
+import java.util.concurrent.*;
+
+/*
+   Loads pipe-delimited (TPC-DS .dat) files straight into the directories of
+   existing text tables on the cluster FileSystem, so that setup does not
+   need LOAD DATA or INSERT ... SELECT statements (and the jobs behind them).
+
+   loadTable(): the input is cut into chunks at line boundaries and every
+   chunk is written as its own part file by one of numberOfStreams threads.
+
+   loadPartitionedTable(): the input is cut into chunks the same way and
+   numberOfStreams threads route the lines of their chunk to the partition
+   they belong to, taking the partition values from the given fields of the
+   line (those fields are removed from the written row). Rows are buffered
+   per partition and spilled to a new part file of the partition when the
+   buffer grows past PARTITION_BUFFER, or when all the buffers of a thread
+   pass THREAD_BUFFER. A spill opens, writes and closes its file, so at most
+   numberOfStreams files are open at any time whatever the number of
+   partitions. The partitions are then registered through the metastore
+   client in batches of partitionBatchSize.
+
+   Only text tables whose fields are delimited by '|' are accepted, the
+   files are written as they are read. Existing data of the table is
+   replaced, like LOAD DATA ... OVERWRITE: the partitions registered before
+   are dropped, so none of them keeps its old files or statistics.
+   numFiles/totalSize/numRows/rawDataSize of the table and partitions are
+   set from what was written, so statistics based decisions see the data.
+*/
+
+public class BulkLoader {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private static final long MIN_CHUNK = 64L * 1024L * 1024L; //Files smaller than this are written by a single stream
+    private static final int PARTITION_BUFFER = 8 * 1024 * 1024; //Rows of one partition kept in memory before a spill
+    private static final long THREAD_BUFFER = 64L * 1024L * 1024L; //Rows of all partitions kept in memory by one thread
+    private static final String TEXT_INPUT_FORMAT = "org.apache.hadoop.mapred.TextInputFormat";
+    private static final String TEXT_SERDE = "org.apache.hadoop.hive.serde2.lazy.LazySimpleSerDe";
+
+    private HiveConf conf;
+    private FileSystem fs;
+    private int numberOfStreams;
+    private int partitionBatchSize;
+
+    public BulkLoader(HiveConf c, FileSystem fileSystem, int streams, int batchSize) {
+        conf = c;
+        fs = fileSystem;
+        numberOfStreams = Math.max(streams, 1);
+        partitionBatchSize = Math.max(batchSize, 1);
+    }
+
+    public void loadTable(String dbName, String tableName, String localFile) throws Exception {
+
+        long startTime = System.currentTimeMillis();
+        HiveMetaStoreClient client = new HiveMetaStoreClient(conf);
+        try {
+            Table table = client.getTable(dbName, tableName);
+            if (table.getPartitionKeysSize() > 0) {
+                throw new IllegalArgumentException("Table: " + dbName + "." + tableName + " is partitioned, use loadPartitionedTable");
+            }
+            checkPipeDelimitedText(table);
+
+            Path location = new Path(table.getSd().getLocation());
+            clearDirectory(location);
+
+            File source = new File(localFile);
+            List<long[]> chunks = splitAtLines(source);
+            ExecutorService pool = Executors.newFixedThreadPool(Math.min(numberOfStreams, chunks.size()));
+            List<Future<long[]>> written = new LinkedList<>();
+            try {
+                int part = 0;
+                for (long[] chunk : chunks) {
+                    written.add(pool.submit(new ChunkWriter(source, chunk[0], chunk[1], new Path(location, String.format("part-%05d", part)))));
+                    part++;
+                }
+                long totalSize = 0;
+                long rows = 0;
+                long newlines = 0;
+                for (Future<long[]> f : written) {
+                    long[] chunkStats = f.get();
+                    totalSize += chunkStats[0];
+                    rows += chunkStats[1];
+                    newlines += chunkStats[2];
+                }
+
+                setStatistics(table.getParameters(), chunks.size(), totalSize, rows, totalSize - newlines);
+                client.alter_table(dbName, tableName, table);
+
+                System.out.println("BulkLoader: Loaded " + totalSize + " bytes into: " + dbName + "." + tableName + " with " + chunks.size() + " streams in " + (System.currentTimeMillis() - startTime) + " ms");
+            } finally {
+                pool.shutdown();
+            }
+        } finally {
+            client.close();
+        }
+    }
+
+    public void loadPartitionedTable(String dbName, String tableName, String localFile, int[] partitionFields) throws Exception {
+
+        long startTime = System.currentTimeMillis();
+        HiveMetaStoreClient client = new HiveMetaStoreClient(conf);
+        try {
+            Table table = client.getTable(dbName, tableName);
+            List<FieldSchema> partitionKeys = table.getPartitionKeys();
+            if (partitionKeys.size() != partitionFields.length) {
+                throw new IllegalArgumentException("Table: " + dbName + "." + tableName + " has " + partitionKeys.size() + " partition keys but " + partitionFields.length + " partition fields were given");
+            }
+            checkPipeDelimitedText(table);
+
+            List<String> keyNames = new ArrayList<>();
+            for (FieldSchema key : partitionKeys) {
+                keyNames.add(key.getName());
+            }
+            Set<Integer> skippedFields = new HashSet<>();
+            for (int f : partitionFields) {
+                skippedFields.add(f);
+            }
+            String defaultPartition = conf.getVar(HiveConf.ConfVars.DEFAULTPARTITIONNAME);
+
+            Path location = new Path(table.getSd().getLocation());
+            int dropped = dropPartitions(client, dbName, tableName);
+            clearDirectory(location);
+
+            //Every thread routes the lines of its chunk to the buffers of their partitions
+            File source = new File(localFile);
+            List<long[]> chunks = splitAtLines(source);
+            ConcurrentHashMap<List<String>, PartitionFiles> partitions = new ConcurrentHashMap<>();
+            ExecutorService pool = Executors.newFixedThreadPool(Math.min(numberOfStreams, chunks.size()));
+            List<Future<Long>> routed = new LinkedList<>();
+            try {
+                int part = 0;
+                for (long[] chunk : chunks) {
+                    routed.add(pool.submit(new PartitionRouter(source, chunk[0], chunk[1], part, location, keyNames, partitionFields, skippedFields, defaultPartition, partitions)));
+                    part++;
+                }
+                for (Future<Long> f : routed) {
+                    f.get();
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+
+            List<PartitionFiles> loaded = new ArrayList<>(partitions.values());
+            Collections.sort(loaded, new Comparator<PartitionFiles>() {
+                @Override
+                public int compare(PartitionFiles a, PartitionFiles b) {
+                    return a.path.toString().compareTo(b.path.toString());
+                }
+            });
+
+            //Register the partitions in batches
+            List<Partition> batch = new ArrayList<>(partitionBatchSize);
+            int registered = 0;
+            for (PartitionFiles files : loaded) {
+                batch.add(newPartition(table, files));
+                if (batch.size() == partitionBatchSize) {
+                    registered += addPartitions(client, batch);
+                }
+            }
+            registered += addPartitions(client, batch);
+
+            System.out.println("BulkLoader: Loaded " + loaded.size() + " partitions (" + registered + " registered, " + dropped + " dropped) into: " + dbName + "." + tableName + " with " + chunks.size() + " streams in " + (System.currentTimeMillis() - startTime) + " ms");
+        } finally {
+            client.close();
+        }
+    }
+
+    private int addPartitions(HiveMetaStoreClient client, List<Partition> batch) throws Exception {
+
+        if (batch.size() == 0) return 0;
+        int added = batch.size();
+        client.add_partitions(batch, false, false); //The old partitions are dropped, an existing one here is an error
+        batch.clear();
+        return added;
+    }
+
+    private Partition newPartition(Table table, PartitionFiles files) {
+
+        StorageDescriptor sd = new StorageDescriptor(table.getSd());
+        sd.setLocation(files.path.toString());
+
+        Partition partition = new Partition();
+        partition.setDbName(table.getDbName());
+        partition.setTableName(table.getTableName());
+        partition.setValues(files.values);
+        partition.setSd(sd);
+        Map<String, String> parameters = new HashMap<>();
+        setStatistics(parameters, files.numberOfFiles, files.bytes, files.rows, files.bytes - files.rows); //Every written row ends with a newline
+        partition.setParameters(parameters);
+        return partition;
+    }
+
+    /*---Basic statistics of what was written; rawDataSize of a text row is its length without the newline, as LazySimpleSerDe counts it---*/
+    private static void setStatistics(Map<String, String> parameters, int numberOfFiles, long totalSize, long rows, long rawDataSize) {
+
+        parameters.put(StatsSetupConst.NUM_FILES, Integer.toString(numberOfFiles));
+        parameters.put(StatsSetupConst.TOTAL_SIZE, Long.toString(totalSize));
+        parameters.put(StatsSetupConst.ROW_COUNT, Long.toString(rows));
+        parameters.put(StatsSetupConst.RAW_DATA_SIZE, Long.toString(rawDataSize));
+        parameters.put(StatsSetupConst.COLUMN_STATS_ACCURATE, StatsSetupConst.TRUE);
+    }
+
+    /*---The files are copied as they are, so the table must read them as '|' delimited text---*/
+    private static void checkPipeDelimitedText(Table table) {
+
+        String name = table.getDbName() + "." + table.getTableName();
+        StorageDescriptor sd = table.getSd();
+        if ((sd == null) || (TEXT_INPUT_FORMAT.equals(sd.getInputFormat()) == false)) {
+            throw new IllegalArgumentException("Table: " + name + " is not stored as TEXTFILE (input format: " + ((sd == null) ? null : sd.getInputFormat()) + ")");
+        }
+        if ((sd.getSerdeInfo() == null) || (TEXT_SERDE.equals(sd.getSerdeInfo().getSerializationLib()) == false)) {
+            throw new IllegalArgumentException("Table: " + name + " does not use LazySimpleSerDe (serde: " + ((sd.getSerdeInfo() == null) ? null : sd.getSerdeInfo().getSerializationLib()) + ")");
+        }
+        Map<String, String> serdeParameters = sd.getSerdeInfo().getParameters();
+        String delimiter = (serdeParameters == null) ? null : serdeParameters.get(serdeConstants.FIELD_DELIM);
+        if ((delimiter == null) && (serdeParameters != null)) {
+            delimiter = serdeParameters.get(serdeConstants.SERIALIZATION_FORMAT);
+        }
+        if ("|".equals(delimiter) == false) {
+            throw new IllegalArgumentException("Table: " + name + " has field delimiter: " + delimiter + ", '|' is required");
+        }
+    }
+
+    /*---Drops every partition of the table together with its files, the load replaces them---*/
+    private int dropPartitions(HiveMetaStoreClient client, String dbName, String tableName) throws Exception {
+
+        List<String> names = client.listPartitionNames(dbName, tableName, (short) -1);
+        for (String name : names) {
+            client.dropPartition(dbName, tableName, name, true);
+        }
+        return names.size();
+    }
+
+    private void clearDirectory(Path location) throws IOException {
+
+        if (fs.exists(location)) {
+            for (FileStatus status : fs.listStatus(location)) {
+                fs.delete(status.getPath(), true);
+            }
+        }
+        else {
+            fs.mkdirs(location);
+        }
+    }
+
+    /*---Cuts a file into at most numberOfStreams {start, end} byte ranges that end right after a newline---*/
+    private List<long[]> splitAtLines(File source) throws IOException {
+
+        long length = source.length();
+        int parts = (int) Math.max(1, Math.min(numberOfStreams, length / MIN_CHUNK));
+        List<long[]> chunks = new ArrayList<>(parts);
+
+        try (RandomAccessFile file = new RandomAccessFile(source, "r")) {
+            long start = 0;
+            for (int i = 1; i <= parts && start < length; i++) {
+                long end = (i == parts) ? length : Math.max(start, length * i / parts);
+                if (end < length) { //Move to just after the next newline
+                    file.seek(end);
+                    int b;
+                    while ((b = file.read()) != -1 && b != '\n') {
+                        end++;
+                    }
+                    end = Math.min(end + 1, length);
+                }
+                chunks.add(new long[]{start, end});
+                start = end;
+            }
+        }
+
+        if (chunks.size() == 0) {
+            chunks.add(new long[]{0, 0});
+        }
+        return chunks;
+    }
+
+    /*---Returns {bytes, rows, newlines} of the chunk, the last line of the file may have no newline---*/
+    private class ChunkWriter implements Callable<long[]> {
+        private File source;
+        private long start;
+        private long end;
+        private Path target;
+
+        ChunkWriter(File s, long from, long to, Path t) {
+            source = s;
+            start = from;
+            end = to;
+            target = t;
+        }
+
+        @Override
+        public long[] call() throws Exception {
+            byte[] buffer = new byte[1 << 20];
+            long newlines = 0;
+            byte last = '\n';
+            try (RandomAccessFile in = new RandomAccessFile(source, "r");
+                 FSDataOutputStream out = fs.create(target, true)) {
+                in.seek(start);
+                long remaining = end - start;
+                while (remaining > 0) {
+                    int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                    if (read < 0) break;
+                    out.write(buffer, 0, read);
+                    for (int i = 0; i < read; i++) {
+                        if (buffer[i] == '\n') newlines++;
+                    }
+                    if (read > 0) last = buffer[read - 1];
+                    remaining -= read;
+                }
+            }
+            long rows = (last == '\n') ? newlines : newlines + 1;
+            return new long[]{end - start, rows, newlines};
+        }
+    }
+
+    /*---Routes the lines of a {start, end} byte range to per partition buffers and spills them as part files---*/
+    private class PartitionRouter implements Callable<Long> {
+        private File source;
+        private long start;
+        private long end;
+        private int chunkIndex;
+        private Path location;
+        private List<String> keyNames;
+        private int[] partitionFields;
+        private Set<Integer> skippedFields;
+        private String defaultPartition;
+        private ConcurrentHashMap<List<String>, PartitionFiles> partitions;
+        private Map<List<String>, PartitionBuffer> buffers = new HashMap<>();
+        private long buffered = 0;
+        private long written = 0;
+
+        PartitionRouter(File s, long from, long to, int index, Path l, List<String> names, int[] fields, Set<Integer> skipped, String defaultName, ConcurrentHashMap<List<String>, PartitionFiles> p) {
+            source = s;
+            start = from;
+            end = to;
+            chunkIndex = index;
+            location = l;
+            keyNames = names;
+            partitionFields = fields;
+            skippedFields = skipped;
+            defaultPartition = defaultName;
+            partitions = p;
+        }
+
+        @Override
+        public Long call() throws Exception {
+            try (FileInputStream in = new FileInputStream(source)) {
+                in.getChannel().position(start);
+                BufferedReader reader = new BufferedReader(new InputStreamReader(new RangeInputStream(in, end - start), UTF8), 1 << 20);
+                String line;
+                StringBuilder row = new StringBuilder();
+                while ((line = reader.readLine()) != null) {
+                    String[] fields = line.split("\\|", -1);
+                    List<String> values = new ArrayList<>(partitionFields.length);
+                    for (int f : partitionFields) {
+                        String value = (f < fields.length) ? fields[f] : "";
+                        values.add(value.isEmpty() ? defaultPartition : value);
+                    }
+
+                    row.setLength(0);
+                    boolean first = true;
+                    for (int f = 0; f < fields.length; f++) {
+                        if (skippedFields.contains(f)) continue;
+                        if (first == false) row.append('|');
+                        row.append(fields[f]);
+                        first = false;
+                    }
+                    row.append('\n');
+
+                    PartitionBuffer buffer = buffers.get(values);
+                    if (buffer == null) {
+                        buffer = new PartitionBuffer(partitionFiles(values));
+                        buffers.put(values, buffer);
+                    }
+                    byte[] bytes = row.toString().getBytes(UTF8); //Encoded once, the buffer size is the byte count
+                    buffer.rows.write(bytes, 0, bytes.length);
+                    buffer.numberOfRows++;
+                    buffered += bytes.length;
+
+                    if (buffer.rows.size() >= PARTITION_BUFFER) {
+                        spill(buffer);
+                    }
+                    else if (buffered >= THREAD_BUFFER) {
+                        spillLargest();
+                    }
+                }
+            }
+
+            for (PartitionBuffer buffer : buffers.values()) {
+                if (buffer.rows.size() > 0) spill(buffer);
+            }
+            return written;
+        }
+
+        private PartitionFiles partitionFiles(List<String> values) {
+            PartitionFiles files = partitions.get(values);
+            if (files == null) {
+                PartitionFiles created = new PartitionFiles(values, new Path(location, FileUtils.makePartName(keyNames, values)));
+                files = partitions.putIfAbsent(values, created);
+                if (files == null) files = created;
+            }
+            return files;
+        }
+
+        private void spillLargest() throws IOException { //Until half of THREAD_BUFFER is left in memory
+            List<PartitionBuffer> bySize = new ArrayList<>(buffers.values());
+            Collections.sort(bySize, new Comparator<PartitionBuffer>() {
+                @Override
+                public int compare(PartitionBuffer a, PartitionBuffer b) {
+                    return Integer.compare(b.rows.size(), a.rows.size());
+                }
+            });
+            for (PartitionBuffer buffer : bySize) {
+                if (buffered <= THREAD_BUFFER / 2) break;
+                spill(buffer);
+            }
+        }
+
+        private void spill(PartitionBuffer buffer) throws IOException {
+            Path file = new Path(buffer.files.path, String.format("part-%05d-%05d", chunkIndex, buffer.spills++));
+            long size;
+            try (FSDataOutputStream out = fs.create(file, true)) {
+                buffer.rows.writeTo(out);
+                size = out.getPos();
+            }
+            buffer.files.addFile(size, buffer.numberOfRows);
+            written += size;
+            buffered -= buffer.rows.size();
+            buffer.rows = new ByteArrayOutputStream(); //Drops the grown array instead of keeping it per partition
+            buffer.numberOfRows = 0;
+        }
+    }
+
+    private static class PartitionBuffer {
+        private PartitionFiles files;
+        private ByteArrayOutputStream rows = new ByteArrayOutputStream();
+        private long numberOfRows = 0; //Rows in the buffer
+        private int spills = 0;
+
+        PartitionBuffer(PartitionFiles f) {
+            files = f;
+        }
+    }
+
+    /*---Part files written for one partition by all the threads---*/
+    private static class PartitionFiles {
+        private List<String> values;
+        private Path path;
+        private int numberOfFiles = 0;
+        private long bytes = 0;
+        private long rows = 0;
+
+        PartitionFiles(List<String> v, Path p) {
+            values = v;
+            path = p;
+        }
+
+        synchronized void addFile(long size, long numberOfRows) {
+            numberOfFiles++;
+            bytes += size;
+            rows += numberOfRows;
+        }
+    }
+
+    /*---Reads at most limit bytes of the underlying stream---*/
+    private static class RangeInputStream extends FilterInputStream {
+        private long remaining;
+
+        RangeInputStream(InputStream in, long limit) {
+            super(in);
+            remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) return -1;
+            int b = super.read();
+            if (b >= 0) remaining--;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) return -1;
+            int read = super.read(b, off, (int) Math.min(len, remaining));
+            if (read > 0) remaining -= read;
+            return read;
+        }
+    }
+
+}
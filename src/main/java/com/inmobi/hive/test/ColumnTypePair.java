@@ -1,7 +1,13 @@
 package com.inmobi.hive.test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
 
 /**
  * Created by panos on 3/8/2016.
@@ -17,6 +23,13 @@ public class ColumnTypePair {
 
     List<String> altCastColumnTypes = new LinkedList<>(); //Types given after cast
 
+    Set<MyMap> owners = Collections.newSetFromMap(new WeakHashMap<MyMap, Boolean>()); //MyMaps indexing this pair, told about every change
+
+    /* altAliasPairs by operator, every list in the order of altAliasPairs so
+       that the first alias of an operator is the one a scan would find */
+    private HashMap<String, List<StringParameter>> altAliasesByOperator = new HashMap<>();
+    private IdentityHashMap<StringParameter, Integer> altAliasPositions = new IdentityHashMap<>();
+
     public ColumnTypePair(String n, String t){
         columnName = n;
         columnType = t.toLowerCase();
@@ -48,24 +61,12 @@ public class ColumnTypePair {
         if(hasAlt == false)
             hasAlt = true;
 
-        boolean exists = false;
-        if(altAliasPairs.size() > 0) {
-            for (StringParameter sP : altAliasPairs) {
-                if (sP.getParemeterType().equals(operator)) {
-                    if (sP.getValue().equals(alias)) {
-                        exists = true;
-                        break;
-                    }
-                }
-            }
-        }
-
-        if(exists == false){
+        if(getAltAlias(operator, alias) == null){
             StringParameter sP = new StringParameter(operator, alias);
             if(extraValFlag){
                 sP = new StringParameter(operator, alias, "agg_"+operator+"_"+alias);
             }
-            altAliasPairs.add(sP);
+            addAltAliasPair(sP);
         }
 
     }
@@ -107,23 +108,14 @@ public class ColumnTypePair {
 
     public void modifyAltAlias(String operator, String oldAlias, String newAlias, boolean extraValFlag){
 
-        boolean exists = false;
-        if(altAliasPairs.size() > 0) {
-            for (StringParameter sP : altAliasPairs) {
-                if (sP.getParemeterType().equals(operator)) {
-                    if (sP.getValue().equals(oldAlias)) {
-                        sP.setValue(newAlias);
-                        if(extraValFlag){
-                            sP.setExtraValue("agg_"+operator+"_"+newAlias);
-                        }
-                        exists = true;
-                        break;
-                    }
-                }
+        StringParameter sP = getAltAlias(operator, oldAlias);
+        if(sP != null){
+            sP.setValue(newAlias);
+            if(extraValFlag){
+                sP.setExtraValue("agg_"+operator+"_"+newAlias);
             }
         }
-
-        if(exists == false){
+        else{
             System.out.println("modifyAltAlias: Can't locate Pair( "+operator+ ", "+oldAlias+" )");
             System.exit(0);
         }
@@ -145,26 +137,20 @@ public class ColumnTypePair {
         String oldValue = "";
 
         boolean exists = false;
-        if(altAliasPairs.size() > 0) {
-            for (StringParameter sP : altAliasPairs) {
-                if (sP.getParemeterType().equals(operator)) {
-                    if (sP.getValue().equals(oldAlias)) {
-                        oldValue = oldAlias;
-                        sP.setValue(newAlias);
-                        if(extraValFlag){
-                            sP.setExtraValue("agg_"+operator+"_"+newAlias);
-                        }
-                        exists = true;
-                        break;
-                    }
-                }
+        StringParameter sP = getAltAlias(operator, oldAlias);
+        if(sP != null){
+            oldValue = oldAlias;
+            sP.setValue(newAlias);
+            if(extraValFlag){
+                sP.setExtraValue("agg_"+operator+"_"+newAlias);
             }
+            exists = true;
         }
 
         StringParameter extraModification = new StringParameter(operator, oldValue);
         extraModification.setExtraValue("agg_"+operator+"_"+oldValue);
 
-        altAliasPairs.add(extraModification);
+        addAltAliasPair(extraModification);
 
         if(exists == false){
             System.out.println("modifyAltAlias: Can't locate Pair( "+operator+ ", "+oldAlias+" )");
@@ -173,6 +159,73 @@ public class ColumnTypePair {
 
     }
 
+    /*---The first alias operator knows this column under, null if none---*/
+    public StringParameter getFirstAltAlias(String operator){
+        List<StringParameter> aliases = altAliasesByOperator.get(operator);
+        if(aliases == null) return null;
+        return aliases.get(0);
+    }
+
+    public StringParameter getAltAlias(String operator, String alias){
+        List<StringParameter> aliases = altAliasesByOperator.get(operator);
+        if(aliases == null) return null;
+        for(StringParameter sP : aliases){ //Rarely more than one alias per operator
+            if(sP.getValue().equals(alias)) return sP;
+        }
+        return null;
+    }
+
+    public boolean hasAltAliasForOperator(String operator){
+        return altAliasesByOperator.containsKey(operator);
+    }
+
+    private void addAltAliasPair(StringParameter sP){
+        altAliasPairs.add(sP);
+        altAliasPositions.put(sP, altAliasPositions.size());
+        indexAltAlias(sP, sP.getParemeterType());
+        sP.setAliasOwner(this);
+        for(MyMap owner : owners){
+            owner.aliasAdded(this, sP.getParemeterType(), sP.getValue());
+        }
+    }
+
+    private void indexAltAlias(StringParameter sP, String operator){
+        List<StringParameter> aliases = altAliasesByOperator.get(operator);
+        if(aliases == null){
+            aliases = new ArrayList<>(1);
+            altAliasesByOperator.put(operator, aliases);
+        }
+        int position = altAliasPositions.get(sP);
+        int i = aliases.size();
+        while((i > 0) && (altAliasPositions.get(aliases.get(i - 1)) > position)){
+            i--;
+        }
+        aliases.add(i, sP);
+    }
+
+    void addOwner(MyMap map){
+        owners.add(map);
+    }
+
+    void altAliasChanged(StringParameter sP, String oldOperator, String oldAlias){
+        if(oldOperator.equals(sP.getParemeterType()) == false){
+            List<StringParameter> aliases = altAliasesByOperator.get(oldOperator);
+            if(aliases != null){
+                for(int i = 0; i < aliases.size(); i++){
+                    if(aliases.get(i) == sP){
+                        aliases.remove(i);
+                        break;
+                    }
+                }
+                if(aliases.isEmpty()) altAliasesByOperator.remove(oldOperator);
+            }
+            indexAltAlias(sP, sP.getParemeterType());
+        }
+        for(MyMap owner : owners){
+            owner.aliasChanged(this, oldOperator, oldAlias, sP.getParemeterType(), sP.getValue());
+        }
+    }
+
     public List<String> getAltCastColumnTypes() { return altCastColumnTypes; }
 
     public List<StringParameter> getAltAliasPairs() { return altAliasPairs; }
@@ -196,11 +249,19 @@ public class ColumnTypePair {
     }
 
     public void setColumnName(String c){
+        String oldName = columnName;
         columnName = c;
+        for(MyMap owner : owners){
+            owner.pairRenamed(this, oldName, columnType);
+        }
     }
 
     public void setColumnType(String t){
+        String oldType = columnType;
         columnType = t;
+        for(MyMap owner : owners){
+            owner.pairRenamed(this, columnName, oldType);
+        }
     }
 
     public boolean equalsColumnTypePair(ColumnTypePair other){
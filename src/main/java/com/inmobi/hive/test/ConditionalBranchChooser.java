@@ -0,0 +1,235 @@
+package com.inmobi.hive.test;
+
+import org.apache.hadoop.hive.common.StatsSetupConst;
+import org.apache.hadoop.hive.conf.HiveConf;
+import org.apache.hadoop.hive.ql.exec.ConditionalTask;
+import org.apache.hadoop.hive.ql.exec.Task;
+import org.apache.hadoop.hive.ql.exec.mr.MapRedTask;
+import org.apache.hadoop.hive.ql.metadata.Hive;
+import org.apache.hadoop.hive.ql.metadata.Partition;
+import org.apache.hadoop.hive.ql.metadata.Table;
+import org.apache.hadoop.hive.ql.plan.ConditionalResolverCommonJoin;
+import org.apache.hadoop.hive.ql.plan.MapWork;
+import org.apache.hadoop.hive.ql.plan.PartitionDesc;
+
+import java.io.Serializable;
+import java.util.*;
+
+/*
+   Chooses the branch a ConditionalTask is collapsed to in simplifyStages
+   based on the statistics of the tables it reads instead of the shape of
+   the branches.
+
+   Only ConditionalTasks resolved by ConditionalResolverCommonJoin have
+   branches with different costs: the common join branch shuffles every input
+   alias, a map join branch broadcasts its small aliases to every Exareme node
+   and streams the big one. The size of every alias is taken from the known
+   sizes of the resolver context or else from the rawDataSize (totalSize if
+   missing) of its table/partitions in the Metastore. The branch with the
+   fewest estimated shuffled bytes is chosen; map join branches whose small
+   aliases exceed hive.mapjoin.smalltable.filesize are not considered.
+
+   choose() returns null (caller keeps its default rule) when the resolver is
+   not a common join one or the size of an alias is not known.
+*/
+
+public class ConditionalBranchChooser {
+
+    public static class Choice {
+        private Task<? extends Serializable> branch;
+        private String reason;
+
+        public Choice(Task<? extends Serializable> b, String r) {
+            branch = b;
+            reason = r;
+        }
+
+        public Task<? extends Serializable> getBranch() { return branch; }
+
+        public String getReason() { return reason; }
+    }
+
+    private HiveConf conf;
+    private int exaNodes;
+    private Map<String, long[]> statsByPartition = new HashMap<>(); //table + partSpec -> {bytes, rows}, -1 if unknown
+
+    public ConditionalBranchChooser(HiveConf c, int numberOfNodes) {
+        conf = c;
+        exaNodes = Math.max(numberOfNodes, 1);
+    }
+
+    public Choice choose(ConditionalTask conditionalTask) {
+
+        if ((conditionalTask.getResolverCtx() instanceof ConditionalResolverCommonJoin.ConditionalResolverCommonJoinCtx) == false) {
+            System.out.println("ConditionalBranchChooser: Stage: " + conditionalTask.getId() + " is not a common join ConditionalTask, no statistics to use");
+            return null;
+        }
+
+        ConditionalResolverCommonJoin.ConditionalResolverCommonJoinCtx ctx = (ConditionalResolverCommonJoin.ConditionalResolverCommonJoinCtx) conditionalTask.getResolverCtx();
+
+        //Sizes and rows of every alias the join reads
+        Map<String, Long> aliasBytes = new LinkedHashMap<>();
+        Map<String, Long> aliasRows = new LinkedHashMap<>();
+        Task<? extends Serializable> commonJoinTask = ctx.getCommonJoinTask();
+        if ((commonJoinTask instanceof MapRedTask) == false) {
+            System.out.println("ConditionalBranchChooser: Stage: " + conditionalTask.getId() + " has no common join MapRedTask");
+            return null;
+        }
+
+        MapWork mapWork = ((MapRedTask) commonJoinTask).getWork().getMapWork();
+        for (Map.Entry<String, ArrayList<String>> entry : mapWork.getPathToAliases().entrySet()) {
+            PartitionDesc partitionDesc = mapWork.getPathToPartitionInfo().get(entry.getKey());
+            long[] stats = getStatistics(partitionDesc);
+            for (String alias : entry.getValue()) {
+                addTo(aliasBytes, alias, stats[0]);
+                addTo(aliasRows, alias, stats[1]);
+            }
+        }
+
+        if (ctx.getAliasToKnownSize() != null) { //Sizes Hive already knew at compile time win over Metastore statistics
+            for (Map.Entry<String, Long> entry : ctx.getAliasToKnownSize().entrySet()) {
+                if ((entry.getValue() != null) && (entry.getValue() >= 0) && aliasBytes.containsKey(entry.getKey())) {
+                    aliasBytes.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        long totalBytes = 0;
+        for (Map.Entry<String, Long> entry : aliasBytes.entrySet()) {
+            if (entry.getValue() < 0) {
+                System.out.println("ConditionalBranchChooser: Stage: " + conditionalTask.getId() + " no statistics for alias: " + entry.getKey());
+                return null;
+            }
+            totalBytes += entry.getValue();
+        }
+
+        long smallTableLimit = conf.getLongVar(HiveConf.ConfVars.HIVESMALLTABLESFILESIZE);
+
+        Task<? extends Serializable> bestBranch = null;
+        long bestCost = Long.MAX_VALUE;
+        String bestReason = null;
+        StringBuilder rejected = new StringBuilder();
+
+        for (Task<? extends Serializable> branch : conditionalTask.getListTasks()) {
+            if (branch == null) continue;
+
+            long cost;
+            String reason;
+            if (branch == commonJoinTask) {
+                cost = totalBytes;
+                reason = "common join shuffles all aliases " + describe(aliasBytes, aliasRows, aliasBytes.keySet()) + " = " + cost + " bytes";
+            }
+            else if ((ctx.getTaskToAliases() != null) && ctx.getTaskToAliases().containsKey(branch)) {
+                Set<String> bigAliases = ctx.getTaskToAliases().get(branch);
+                Set<String> smallAliases = new LinkedHashSet<>(aliasBytes.keySet());
+                smallAliases.removeAll(bigAliases);
+                long smallBytes = 0;
+                for (String alias : smallAliases) {
+                    smallBytes += aliasBytes.get(alias);
+                }
+                if (smallBytes > smallTableLimit) {
+                    rejected.append(" ").append(branch.getId()).append(": small aliases ").append(describe(aliasBytes, aliasRows, smallAliases)).append(" exceed ").append(smallTableLimit).append(" bytes;");
+                    continue;
+                }
+                cost = smallBytes * exaNodes;
+                reason = "map join streams " + bigAliases + " and broadcasts " + describe(aliasBytes, aliasRows, smallAliases) + " to " + exaNodes + " nodes = " + cost + " bytes";
+            }
+            else {
+                rejected.append(" ").append(branch.getId()).append(": not known to the resolver;");
+                continue;
+            }
+
+            if (cost < bestCost) {
+                bestCost = cost;
+                bestBranch = branch;
+                bestReason = reason;
+            }
+        }
+
+        if (bestBranch == null) {
+            System.out.println("ConditionalBranchChooser: Stage: " + conditionalTask.getId() + " no branch could be costed:" + rejected);
+            return null;
+        }
+
+        String reason = "Stage: " + conditionalTask.getId() + " chose " + bestBranch.getId() + " (lowest estimated shuffled bytes) - " + bestReason;
+        if (rejected.length() > 0) {
+            reason = reason + " - rejected:" + rejected;
+        }
+
+        return new Choice(bestBranch, reason);
+    }
+
+    private static void addTo(Map<String, Long> map, String alias, long value) {
+
+        Long current = map.get(alias);
+        if ((current == null) || (current >= 0 && value >= 0)) {
+            map.put(alias, (current == null ? 0 : current) + value);
+        }
+        else {
+            map.put(alias, -1L); //Unknown as soon as one part is unknown
+        }
+    }
+
+    private static String describe(Map<String, Long> aliasBytes, Map<String, Long> aliasRows, Set<String> aliases) {
+
+        StringBuilder s = new StringBuilder("[");
+        for (String alias : aliases) {
+            if (s.length() > 1) s.append(", ");
+            s.append(alias).append(": ").append(aliasBytes.get(alias)).append(" bytes/").append(aliasRows.get(alias)).append(" rows");
+        }
+        s.append("]");
+        return s.toString();
+    }
+
+    /*---Returns {bytes, rows} of the table or partition behind a PartitionDesc, -1 where unknown---*/
+    private long[] getStatistics(PartitionDesc partitionDesc) {
+
+        if ((partitionDesc == null) || (partitionDesc.getTableName() == null)) {
+            return new long[]{-1, -1};
+        }
+
+        String key = partitionDesc.getTableName() + "/" + partitionDesc.getPartSpec();
+        long[] stats = statsByPartition.get(key);
+        if (stats != null) return stats;
+
+        Map<String, String> parameters = null;
+        try {
+            Hive db = Hive.get(conf);
+            Table table = db.getTable(partitionDesc.getTableName(), false);
+            if (table != null) {
+                if ((partitionDesc.getPartSpec() != null) && (partitionDesc.getPartSpec().size() > 0)) {
+                    Partition partition = db.getPartition(table, partitionDesc.getPartSpec(), false);
+                    if (partition != null) parameters = partition.getParameters();
+                }
+                else {
+                    parameters = table.getParameters();
+                }
+            }
+        } catch (Exception e) {
+            System.out.println("ConditionalBranchChooser: Could not access Metastore for: " + key + " - " + e.getMessage());
+        }
+
+        long bytes = -1;
+        long rows = -1;
+        if (parameters != null) {
+            bytes = parseLong(parameters.get(StatsSetupConst.RAW_DATA_SIZE));
+            if (bytes <= 0) bytes = parseLong(parameters.get(StatsSetupConst.TOTAL_SIZE));
+            rows = parseLong(parameters.get(StatsSetupConst.ROW_COUNT));
+        }
+
+        stats = new long[]{bytes, rows};
+        statsByPartition.put(key, stats);
+        return stats;
+    }
+
+    private static long parseLong(String value) {
+
+        if (value == null) return -1;
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+}
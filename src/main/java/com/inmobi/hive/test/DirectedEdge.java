@@ -37,4 +37,16 @@ public class DirectedEdge {
             else return false;
     }
 
+    @Override
+    public boolean equals(Object o){ //Same identity as isEqualTo so edges can be kept in hashed sets
+        if(this == o) return true;
+        if(!(o instanceof DirectedEdge)) return false;
+        return isEqualTo((DirectedEdge) o);
+    }
+
+    @Override
+    public int hashCode(){
+        return 31 * from.hashCode() + to.hashCode();
+    }
+
 }
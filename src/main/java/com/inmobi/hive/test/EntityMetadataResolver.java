@@ -0,0 +1,177 @@
+package com.inmobi.hive.test;
+
+import org.apache.hadoop.hive.common.FileUtils;
+import org.apache.hadoop.hive.metastore.api.FieldSchema;
+import org.apache.hadoop.hive.ql.hooks.Entity;
+import org.apache.hadoop.hive.ql.metadata.Partition;
+import org.apache.hadoop.hive.ql.metadata.Table;
+
+import java.net.URI;
+import java.util.*;
+
+/*
+   Builds the MyTable/MyPartition of a ReadEntity/WriteEntity of a QueryPlan
+   from the Table and Partition objects the entity carries, instead of
+   parsing entity.toString() ("db@table@key=value/...").
+
+   Resolved tables are cached by db@table and partitions by db@table@partName
+   across statements, and every caller gets its own copy (the copies are
+   changed later while the plan is built). invalidate() drops the entries of
+   every table in the WriteEntities of a statement the Driver compiled or ran
+   (CREATE/DROP/ALTER/LOAD/INSERT), so the next plan that reads them sees the
+   new Metastore state. clear() drops everything, for changes made without a
+   Driver (see BulkLoader). A resolver may be shared by the workers of a
+   parallel batch run.
+*/
+
+public class EntityMetadataResolver {
+
+    public enum Kind { DATABASE, FILE, TABLE, PARTITION, OTHER }
+
+    private Map<String, MyTable> tables = new HashMap<>();
+    private Map<String, MyPartition> partitions = new HashMap<>();
+    private int hits = 0;
+    private int misses = 0;
+
+    public static Kind kindOf(Entity entity) {
+
+        switch (entity.getType()) {
+            case DATABASE:
+                return Kind.DATABASE;
+            case DFS_DIR:
+            case LOCAL_DIR:
+                return Kind.FILE;
+            case TABLE:
+                return Kind.TABLE;
+            case PARTITION:
+                return Kind.PARTITION;
+            case DUMMYPARTITION: //Dynamic partition target, a partition only if some keys are static
+                Map<String, String> spec = entity.getP().getSpec();
+                return ((spec == null) || spec.isEmpty()) ? Kind.TABLE : Kind.PARTITION;
+            default: //Functions
+                return Kind.OTHER;
+        }
+    }
+
+    /*---Partition name in the form used by MyPartition: @key1=value1/key2=value2---*/
+    public static String partitionNameOf(Entity entity) {
+
+        Partition partition = entity.getP();
+        if (entity.getType() == Entity.Type.PARTITION) {
+            return "@" + partition.getName();
+        }
+        Map<String, String> spec = partition.getSpec();
+        return "@" + FileUtils.makePartName(new ArrayList<>(spec.keySet()), new ArrayList<>(spec.values()));
+    }
+
+    public synchronized MyTable resolveTable(Entity entity) {
+
+        Table table = entity.getTable();
+        String key = (table.getDbName() + "@" + table.getTableName()).toLowerCase();
+        MyTable cached = tables.get(key);
+        if (cached != null) {
+            hits++;
+            return new MyTable(cached);
+        }
+        misses++;
+
+        MyTable myTable = new MyTable(table.getDbName(), table.getTableName());
+        myTable.setURIdetails(locationOf(entity));
+        myTable.setAllCols(table.getAllCols());
+        myTable.setAllFields(table.getFields());
+        myTable.setTableHDFSPath(table.getDataLocation());
+        myTable.setAllPartitionKeys(table.getPartitionKeys());
+        myTable.setHasPartitions((table.getPartitionKeys() != null) && (table.getPartitionKeys().size() > 0));
+
+        tables.put(key, myTable);
+        System.out.println("EntityMetadataResolver: Resolved Table: " + key);
+        return new MyTable(myTable);
+    }
+
+    public synchronized MyPartition resolvePartition(Entity entity) {
+
+        Table table = entity.getTable();
+        Partition partition = entity.getP();
+        String partitionName = partitionNameOf(entity);
+        String tableKey = (table.getDbName() + "@" + table.getTableName()).toLowerCase();
+        String key = tableKey + partitionName;
+        MyPartition cached = partitions.get(key);
+        if (cached != null) {
+            hits++;
+            return new MyPartition(cached);
+        }
+        misses++;
+
+        MyPartition myPartition = new MyPartition(table.getDbName(), table.getTableName(), partitionName);
+        myPartition.setURIdetails(locationOf(entity));
+        myPartition.setBucketColsList(partition.getBucketCols());
+        myPartition.setBucketCount(partition.getBucketCount());
+        myPartition.setAllFields(partition.getCols());
+        try {
+            myPartition.setPartitionHDFSPath(partition.getPartitionPath());
+        } catch (Exception e) { //A dynamic partition has no path yet
+            myPartition.setPartitionHDFSPath(null);
+        }
+
+        //Keys in the order of the table, values as given in the partition spec
+        LinkedHashMap<String, String> keyValuePairs = new LinkedHashMap<>(partition.getSpec());
+        List<FieldSchema> partitionKeys = new LinkedList<>();
+        List<String> partitionValues = new LinkedList<>();
+        for (FieldSchema f : table.getPartitionKeys()) {
+            if (keyValuePairs.containsKey(f.getName())) {
+                partitionKeys.add(f);
+                partitionValues.add(keyValuePairs.get(f.getName()));
+            }
+        }
+        myPartition.setKeyValuePairs(keyValuePairs);
+        myPartition.setAllPartitionKeys(partitionKeys);
+        myPartition.setAllPartitionValues(partitionValues);
+
+        partitions.put(key, myPartition);
+        System.out.println("EntityMetadataResolver: Resolved Partition: " + key);
+        return new MyPartition(myPartition);
+    }
+
+    /*---Drops the cached tables, and their partitions, of the outputs (WriteEntities) of a statement---*/
+    public synchronized void invalidate(Collection<? extends Entity> outputs) {
+
+        if (outputs == null) return;
+        if (tables.isEmpty() && partitions.isEmpty()) return;
+
+        for (Entity output : outputs) {
+            Kind kind = kindOf(output);
+            if ((kind != Kind.TABLE) && (kind != Kind.PARTITION)) continue; //A database output comes with the outputs of its tables
+            Table table = output.getTable();
+            if (table == null) continue;
+
+            String tableKey = (table.getDbName() + "@" + table.getTableName()).toLowerCase();
+            if (tables.remove(tableKey) != null) {
+                System.out.println("EntityMetadataResolver: Invalidated Table: " + tableKey);
+            }
+            Iterator<String> it = partitions.keySet().iterator();
+            while (it.hasNext()) {
+                if (it.next().startsWith(tableKey + "@")) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        tables.clear();
+        partitions.clear();
+    }
+
+    public synchronized void printStatistics() {
+        System.out.println("EntityMetadataResolver: Tables=" + tables.size() + " Partitions=" + partitions.size() + " Hits=" + hits + " Misses=" + misses);
+    }
+
+    private static URI locationOf(Entity entity) {
+        try {
+            return entity.getLocation();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+}
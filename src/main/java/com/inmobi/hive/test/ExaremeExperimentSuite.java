@@ -7,11 +7,14 @@ public class ExaremeExperimentSuite {
 
     public void runSubExperiment(String titleTag, int exaremeNodes, String setupScript, String tearDownScript, String queryScript, String madisPath, String timesForQueries, int numberOfNodes, boolean dynamicPartitionsEnabled, int maxDynamicPartitions, int maxDynamicPartitionsPerNode, String exaremeMiniClusterIP, int numOfReducers, String exaremeOpGraphFile, String executionResultsFile){
 
+        String warehouseSnapshots = "target/snapshots"; //Loaded tables of every setup script (kept out of src), delete its folder to load it again
+
         System.out.println("Experiment - "+titleTag);
         String rootDirForHiveExaremeSession = "/home/panos/exareme1GB/"; //Don't touch this
         String exaremePlanFile = "src/main/resources/files/"+titleTag+"+1GB.json";
 
         testCaseTool testTool = new testCaseTool(setupScript, tearDownScript, queryScript, "EXAREME", rootDirForHiveExaremeSession, madisPath, timesForQueries);
+        testTool.enableWarehouseSnapshots(warehouseSnapshots);
 
         try{
             System.out.println("Setup Cluster with DataNodes: "+numberOfNodes+" and NodeManagers: "+numberOfNodes+" and load tables...");
@@ -45,6 +48,7 @@ public class ExaremeExperimentSuite {
         exaremePlanFile = "src/main/resources/files/"+titleTag+"+10GB.json";
 
         testTool = new testCaseTool(setupScript, tearDownScript, queryScript, "EXAREME", rootDirForHiveExaremeSession, madisPath, timesForQueries);
+        testTool.enableWarehouseSnapshots(warehouseSnapshots);
 
         try{
             System.out.println("Setup Cluster with DataNodes: "+numberOfNodes+" and NodeManagers: "+numberOfNodes+" and load tables...");
@@ -78,6 +82,7 @@ public class ExaremeExperimentSuite {
         exaremePlanFile = "src/main/resources/files/"+titleTag+"+50GB.json";
 
         testTool = new testCaseTool(setupScript, tearDownScript, queryScript, "EXAREME", rootDirForHiveExaremeSession, madisPath, timesForQueries);
+        testTool.enableWarehouseSnapshots(warehouseSnapshots);
 
         try{
             System.out.println("Setup Cluster with DataNodes: "+numberOfNodes+" and NodeManagers: "+numberOfNodes+" and load tables...");
@@ -111,6 +116,7 @@ public class ExaremeExperimentSuite {
         exaremePlanFile = "src/main/resources/files/"+titleTag+"+100GB.json";
 
         testTool = new testCaseTool(setupScript, tearDownScript, queryScript, "EXAREME", rootDirForHiveExaremeSession, madisPath, timesForQueries);
+        testTool.enableWarehouseSnapshots(warehouseSnapshots);
 
         try{
             System.out.println("Setup Cluster with DataNodes: "+numberOfNodes+" and NodeManagers: "+numberOfNodes+" and load tables...");
@@ -43,7 +43,17 @@ public class ExaremeGraph {
     private List<OperatorNode> roots;
     private List<OperatorNode> leaves;
     private List<OperatorNode> nodesList;
+    private Map<String, OperatorNode> nodesByName; //Operator id -> OperatorNode (same order as nodesList)
+    private Set<String> rootNames; //Operator ids currently in roots
+    private Set<String> leafNames; //Operator ids currently in leaves
     private List<DirectedEdge> edges;
+    private Set<DirectedEdge> edgeSet; //Hashed (FROM, TO) identity of every edge in edges
+    private Map<String, List<DirectedEdge>> outgoingEdges; //Operator id -> edges leaving it
+    private Map<String, List<DirectedEdge>> incomingEdges; //Operator id -> edges arriving at it
+    private Map<String, Integer> nodeOrder; //Operator id -> position the node was added at
+    private int nextNodeOrder;
+    private TreeMap<Integer, OperatorNode> currentRoots; //Nodes with in-degree 0, kept in nodesList order
+    private TreeMap<Integer, OperatorNode> currentLeaves; //Nodes with out-degree 0 (or ListSinks), kept in nodesList order
     private List<org.apache.hadoop.hive.ql.exec.Task<? extends java.io.Serializable>> planStages;
     private String queryString;
     private int numberOfWorkers;
@@ -53,10 +63,24 @@ public class ExaremeGraph {
         roots = new LinkedList<OperatorNode>();
         leaves = new LinkedList<OperatorNode>();
         nodesList = new LinkedList<OperatorNode>();
+        nodesByName = new LinkedHashMap<String, OperatorNode>();
+        rootNames = new HashSet<String>();
+        leafNames = new HashSet<String>();
         edges = new LinkedList<DirectedEdge>();
+        edgeSet = new HashSet<DirectedEdge>();
+        outgoingEdges = new HashMap<String, List<DirectedEdge>>();
+        incomingEdges = new HashMap<String, List<DirectedEdge>>();
+        nodeOrder = new HashMap<String, Integer>();
+        nextNodeOrder = 0;
+        currentRoots = new TreeMap<Integer, OperatorNode>();
+        currentLeaves = new TreeMap<Integer, OperatorNode>();
         label = l;
     }
 
+    public String getLabel() {
+        return label;
+    }
+
     public void setPlanStages(List<org.apache.hadoop.hive.ql.exec.Task<? extends java.io.Serializable>> stages) {
         planStages = stages;
     }
@@ -68,21 +92,17 @@ public class ExaremeGraph {
     public void addOperatorAndDiscoverChildren(Operator<? extends Serializable> op, Task<? extends Serializable> t, OperatorNode previousFather){
 
         if(op != null){
-            for(OperatorNode o : nodesList){
-                if(o.getOperatorName().equals(op.getOperatorId())){
-                    return;
-                }
+            if(nodesByName.containsKey(op.getOperatorId())){
+                return;
             }
             OperatorNode fatherNode = new OperatorNode(op, t);
             addNode(fatherNode);
             if(previousFather != null){
                 DirectedEdge e = new DirectedEdge(previousFather.getOperatorName(), fatherNode.getOperatorName(), "normal");
-                for(DirectedEdge ed : edges){
-                    if(ed.isEqualTo(e)){
-                        return;
-                    }
+                if(edgeSet.contains(e)){
+                    return;
                 }
-                edges.add(e);
+                indexEdge(e);
             }
             if(op.getChildOperators() != null){
                 if(op.getChildOperators().size() > 0){
@@ -138,17 +158,11 @@ public class ExaremeGraph {
 
         if(name1 != null){
             if(name2 != null){
-                for(OperatorNode op1 : nodesList){
-                    if(op1.getOperatorName().equals(name1)){
-                        for(OperatorNode op2 : nodesList){
-                            if(op2.getOperatorName().equals(name2)){
-                                DirectedEdge edge = new DirectedEdge(name1, name2, "normal");
-                                this.addDirectedEdge(edge);
-                                System.out.println("Successfully added Edge from "+name1+" to "+name2);
-                                return;
-                            }
-                        }
-                    }
+                if(nodesByName.containsKey(name1) && nodesByName.containsKey(name2)){
+                    DirectedEdge edge = new DirectedEdge(name1, name2, "normal");
+                    this.addDirectedEdge(edge);
+                    System.out.println("Successfully added Edge from "+name1+" to "+name2);
+                    return;
                 }
             }
         }
@@ -157,25 +171,18 @@ public class ExaremeGraph {
 
     public OperatorNode getOperatorNodeByName(String name){
 
-        boolean found = false;
-
         System.out.println("getOperatorNodeByName: Searching for..."+name+" in Graph!");
 
-        if(nodesList.size() > 0){
-            for(OperatorNode la : nodesList){
-                if(la.getOperatorName().equals(name)){
-                    System.out.println("getOperatorNodeByName: Node was found!");
-                    found = true;
-                    return la;
-                }
-            }
-        }
+        OperatorNode la = nodesByName.get(name);
 
-        if(found == false){
-            System.out.println("getOperatorNodeByName: OperatorNode: "+name+" does not exist in Graph!");
-            System.exit(0);
+        if(la != null){
+            System.out.println("getOperatorNodeByName: Node was found!");
+            return la;
         }
 
+        System.out.println("getOperatorNodeByName: OperatorNode: "+name+" does not exist in Graph!");
+        System.exit(0);
+
         return null;
     }
 
@@ -192,14 +199,64 @@ public class ExaremeGraph {
                     parent.remove(op1.getOperator());
             }
         }
-        for(OperatorNode o : nodesList){
-            if(o.getOperatorName().equals(op1.getOperatorName())){
-                System.out.println("addNode - OperatorNode: " + op1.getOperatorName() + " already exists in Graph!");
-                return;
-            }
+        if(nodesByName.containsKey(op1.getOperatorName())){
+            System.out.println("addNode - OperatorNode: " + op1.getOperatorName() + " already exists in Graph!");
+            return;
         }
         System.out.println("addNode - OperatorNode: " + op1.getOperatorName() + " successfully added!");
         nodesList.add(op1);
+        nodesByName.put(op1.getOperatorName(), op1);
+
+        //Edges may have been added before their vertices so check the degrees already recorded
+        Integer order = nextNodeOrder++;
+        nodeOrder.put(op1.getOperatorName(), order);
+        if (getInDegree(op1.getOperatorName()) == 0) {
+            currentRoots.put(order, op1);
+        }
+        if ((getOutDegree(op1.getOperatorName()) == 0) || (isListSinkNode(op1))) {
+            currentLeaves.put(order, op1);
+        }
+    }
+
+    private void rekeyNode(String oldName, OperatorNode op1) { //Called when the id of the Operator of a node has changed
+
+        nodesByName.remove(oldName);
+        nodesByName.put(op1.getOperatorName(), op1);
+        Integer order = nodeOrder.remove(oldName);
+        if (order != null) {
+            nodeOrder.put(op1.getOperatorName(), order);
+        }
+
+    }
+
+    public void removeNode(String name) { //Removes the node together with every edge touching it
+
+        OperatorNode op1 = nodesByName.get(name);
+        if (op1 == null) {
+            System.out.println("removeNode - OperatorNode: " + name + " does not exist in Graph!");
+            return;
+        }
+
+        for (DirectedEdge e : new LinkedList<>(getOutgoingEdges(name))) {
+            removeDirectedEdge(e);
+        }
+        for (DirectedEdge e : new LinkedList<>(getIncomingEdges(name))) {
+            removeDirectedEdge(e);
+        }
+
+        nodesByName.remove(name);
+        Integer order = nodeOrder.remove(name);
+        if (order != null) {
+            currentRoots.remove(order);
+            currentLeaves.remove(order);
+        }
+        nodesList.remove(op1);
+
+        System.out.println("removeNode - OperatorNode: " + name + " successfully removed!");
+    }
+
+    private boolean isListSinkNode(OperatorNode op1) { //ListSinks decide leafness from their Hive children, not from edges
+        return op1.getOperatorName().contains("OP_");
     }
 
     public void addRoot(OperatorNode op1) {
@@ -215,7 +272,7 @@ public class ExaremeGraph {
                     parent.remove(op1.getOperator());
             }
         }
-        if (roots.contains(op1)) {
+        if (rootNames.contains(op1.getOperatorName())) {
             //for(OperatorNode op : roots){
             //if(op.compareOperatorNames(op1) == true){
             System.out.println("addRoot - OperatorNode: " + op1.getOperatorName() + " already exists in Graph Roots!");
@@ -224,6 +281,7 @@ public class ExaremeGraph {
         }
         System.out.println("addRoot - OperatorNode: " + op1.getOperatorName() + " successfully added!");
         roots.add(op1);
+        rootNames.add(op1.getOperatorName());
     }
 
     public void addLeaf(OperatorNode op1) {
@@ -239,7 +297,7 @@ public class ExaremeGraph {
                     parent.remove(op1.getOperator());
             }
         }
-        if (leaves.contains(op1)) {
+        if (leafNames.contains(op1.getOperatorName())) {
             //for(OperatorNode op : roots){
             //if(op.compareOperatorNames(op1) == true){
             System.out.println("addLeaf - OperatorNode: " + op1.getOperatorName() + " already exists in Graph Leaves!");
@@ -248,31 +306,13 @@ public class ExaremeGraph {
         }
         System.out.println("addLeaf - OperatorNode: " + op1.getOperatorName() + " successfully added!");
         leaves.add(op1);
+        leafNames.add(op1.getOperatorName());
 
     }
 
     public boolean checkEdgeVerticesExist(DirectedEdge e1) {
 
-        String fromVertex = e1.getFromVertex();
-        String toVertex = e1.getToVertex();
-
-        boolean fromVertexFound = false;
-        for (OperatorNode op : nodesList) {
-            if (op.getOperatorName().equals(fromVertex)) {
-                fromVertexFound = true;
-                break;
-            }
-        }
-
-        boolean toVertexFound = false;
-        for (OperatorNode op : nodesList) {
-            if (op.getOperatorName().equals(toVertex)) {
-                toVertexFound = true;
-                break;
-            }
-        }
-
-        if ((fromVertexFound == true) && (toVertexFound == true)) {
+        if (nodesByName.containsKey(e1.getFromVertex()) && nodesByName.containsKey(e1.getToVertex())) {
             return true;
         }
 
@@ -285,17 +325,132 @@ public class ExaremeGraph {
             System.out.println("Ignoring ListSink SelfEdge!");
             return;
         }
-        for (DirectedEdge e : edges) {
-            if (e.isEqualTo(e1) == true) {
-                System.out.println("addDirectedEdge - Edge: [FROM: " + e1.getFromVertex() + " TO: " + e1.getToVertex() + "] already exists in Graph!");
-                return;
-            }
+        if (edgeSet.contains(e1)) {
+            System.out.println("addDirectedEdge - Edge: [FROM: " + e1.getFromVertex() + " TO: " + e1.getToVertex() + "] already exists in Graph!");
+            return;
         }
-        edges.add(e1);
+        indexEdge(e1);
         System.out.println("addDirectedEdge - Edge: [FROM: " + e1.getFromVertex() + " TO: " + e1.getToVertex() + "] successfully added in Graph!");
 
     }
 
+    public void mergeFragment(ExaremeGraph fragment) { //Adds the nodes and then the edges of a Graph built for a disjoint part of the plan
+
+        mergeFragment(fragment, 0, fragment.getNodesList().size(), 0, fragment.getEdges().size());
+    }
+
+    /*---Merges nodes [nodesFrom, nodesTo) and edges [edgesFrom, edgesTo) of the fragment, so it can be merged in the pieces a sequential dive would have added---*/
+    public void mergeFragment(ExaremeGraph fragment, int nodesFrom, int nodesTo, int edgesFrom, int edgesTo) {
+
+        for (OperatorNode node : fragment.getNodesList().subList(nodesFrom, nodesTo)) {
+            addNode(node);
+        }
+        for (DirectedEdge e : fragment.getEdges().subList(edgesFrom, edgesTo)) {
+            addDirectedEdge(e);
+        }
+
+        System.out.println("mergeFragment - Merged " + (nodesTo - nodesFrom) + " nodes and " + (edgesTo - edgesFrom) + " edges of: " + fragment.getLabel());
+    }
+
+    private void indexEdge(DirectedEdge e1) { //Appends to edges and keeps the hashed set and adjacency maps in step
+
+        edges.add(e1);
+        edgeSet.add(e1);
+
+        List<DirectedEdge> outList = outgoingEdges.get(e1.getFromVertex());
+        if (outList == null) {
+            outList = new LinkedList<>();
+            outgoingEdges.put(e1.getFromVertex(), outList);
+        }
+        outList.add(e1);
+
+        List<DirectedEdge> inList = incomingEdges.get(e1.getToVertex());
+        if (inList == null) {
+            inList = new LinkedList<>();
+            incomingEdges.put(e1.getToVertex(), inList);
+        }
+        inList.add(e1);
+
+        //TO vertex is no longer a root and FROM vertex is no longer a leaf
+        Integer toOrder = nodeOrder.get(e1.getToVertex());
+        if (toOrder != null) {
+            currentRoots.remove(toOrder);
+        }
+        Integer fromOrder = nodeOrder.get(e1.getFromVertex());
+        if ((fromOrder != null) && (isListSinkNode(nodesByName.get(e1.getFromVertex())) == false)) {
+            currentLeaves.remove(fromOrder);
+        }
+
+    }
+
+    public void removeDirectedEdge(DirectedEdge e1) {
+
+        if (edgeSet.remove(e1) == false) {
+            System.out.println("removeDirectedEdge - Edge: [FROM: " + e1.getFromVertex() + " TO: " + e1.getToVertex() + "] does not exist in Graph!");
+            return;
+        }
+
+        edges.remove(e1);
+        getOutgoingEdges(e1.getFromVertex()).remove(e1);
+        getIncomingEdges(e1.getToVertex()).remove(e1);
+        if (getOutDegree(e1.getFromVertex()) == 0) outgoingEdges.remove(e1.getFromVertex());
+        if (getInDegree(e1.getToVertex()) == 0) incomingEdges.remove(e1.getToVertex());
+
+        //Vertices whose degree dropped to 0 become roots/leaves again
+        Integer toOrder = nodeOrder.get(e1.getToVertex());
+        if ((toOrder != null) && (getInDegree(e1.getToVertex()) == 0)) {
+            currentRoots.put(toOrder, nodesByName.get(e1.getToVertex()));
+        }
+        Integer fromOrder = nodeOrder.get(e1.getFromVertex());
+        if ((fromOrder != null) && (getOutDegree(e1.getFromVertex()) == 0)) {
+            currentLeaves.put(fromOrder, nodesByName.get(e1.getFromVertex()));
+        }
+
+        System.out.println("removeDirectedEdge - Edge: [FROM: " + e1.getFromVertex() + " TO: " + e1.getToVertex() + "] successfully removed from Graph!");
+    }
+
+    public int getInDegree(String name) {
+        return getIncomingEdges(name).size();
+    }
+
+    public int getOutDegree(String name) {
+        return getOutgoingEdges(name).size();
+    }
+
+    public boolean hasEdge(String fromVertex, String toVertex) {
+        return edgeSet.contains(new DirectedEdge(fromVertex, toVertex, ""));
+    }
+
+    public List<DirectedEdge> getOutgoingEdges(String name) {
+        List<DirectedEdge> outList = outgoingEdges.get(name);
+        if (outList == null) return Collections.emptyList();
+        return outList;
+    }
+
+    public List<DirectedEdge> getIncomingEdges(String name) {
+        List<DirectedEdge> inList = incomingEdges.get(name);
+        if (inList == null) return Collections.emptyList();
+        return inList;
+    }
+
+    public List<OperatorNode> getChildNodes(String name) { //Children that exist as nodes of the Graph
+        List<OperatorNode> children = new LinkedList<>();
+        for (DirectedEdge e : getOutgoingEdges(name)) {
+            OperatorNode child = nodesByName.get(e.getToVertex());
+            if (child != null) children.add(child);
+        }
+        return children;
+    }
+
+    public List<OperatorNode> getParentNodes(String name) { //Parents that exist as nodes of the Graph
+        List<OperatorNode> parents = new LinkedList<>();
+        for (DirectedEdge e : getIncomingEdges(name)) {
+            OperatorNode parent = nodesByName.get(e.getFromVertex());
+            if (parent != null) parents.add(parent);
+        }
+        return parents;
+    }
+
     public List<OperatorNode> getRoots() {
         return roots;
     }
@@ -318,20 +473,11 @@ public class ExaremeGraph {
             roots.clear();
             roots = new LinkedList<>();
         }
+        rootNames.clear();
 
-        boolean hasParent;
-        for (OperatorNode op : nodesList) {
-            hasParent = false;
-            for (DirectedEdge e : edges) {
-                if (e.getToVertex().equals(op.getOperatorName())) { //Discovered father
-                    hasParent = true;
-                    break;
-                }
-            }
-
-            if (hasParent == false) {
-                roots.add(op); //Add Operator to roots
-            }
+        for (OperatorNode op : currentRoots.values()) { //Already maintained on every node/edge change
+            roots.add(op); //Add Operator to roots
+            rootNames.add(op.getOperatorName());
         }
 
     }
@@ -339,9 +485,9 @@ public class ExaremeGraph {
     public void discoverCurrentLeaves() {
 
         if (leaves.size() > 0) leaves = new LinkedList<>();
+        leafNames.clear();
 
-        boolean hasChild;
-        for (OperatorNode op : nodesList) {
+        for (OperatorNode op : currentLeaves.values()) { //Already maintained on every node/edge change
             if(op.getOperator().getOperatorId().contains("OP_")){
                 if(op.getOperator().getChildOperators().size() == 1){
                     if(op.getOperator().getChildOperators().contains(op.getOperator())){
@@ -362,17 +508,8 @@ public class ExaremeGraph {
                 }
             }
             else {
-                hasChild = false;
-                for (DirectedEdge e : edges) {
-                    if (e.getFromVertex().equals(op.getOperatorName())) { //Discovered father
-                        hasChild = true;
-                        break;
-                    }
-                }
-
-                if (hasChild == false) {
-                    leaves.add(op); //Add Operator to roots
-                }
+                leaves.add(op); //Add Operator to leaves
+                leafNames.add(op.getOperatorName());
             }
         }
 
@@ -425,54 +562,6 @@ public class ExaremeGraph {
         return count;
     }
 
-    public int numOfMatchingExprs(OperatorNode op2, Map<Byte, List<ExprNodeDesc>> keysMap, Map<Byte, List<ExprNodeDesc>> keysMap2, MapJoinDesc mapDesc) {
-
-        System.out.println("Non null KEYS...comparing them...");
-
-        int matchingExps = 0;
-
-            System.out.println("Equal number of ExprNode Descs...OK");
-
-            for (Map.Entry<Byte, List<ExprNodeDesc>> entry1 : keysMap.entrySet()) {
-                List<ExprNodeDesc> colsList1 = entry1.getValue();
-                for (Map.Entry<Byte, List<ExprNodeDesc>> entry2 : keysMap2.entrySet()) {
-                    List<ExprNodeDesc> colsList2 = entry2.getValue();
-
-                    if (entry1.getKey().equals(entry2.getKey()) == false) continue;
-
-                    for (ExprNodeDesc exprNode1 : colsList1) {
-                        List<String> cols1 = exprNode1.getCols();
-                        for (ExprNodeDesc exprNode2 : colsList2) {
-                            List<String> cols2 = exprNode2.getCols();
-
-                            if (cols1.size() == cols2.size()) {
-                                boolean columnsMatch = true;
-                                int matchingCols = 0;
-
-                                for (String c : cols1) {
-                                    for (String c2 : cols2) {
-                                        if (c.equals(c2)) {
-                                            matchingCols++;
-                                        }
-                                    }
-                                }
-
-                                if (matchingCols == cols1.size()) {
-                                    matchingExps++;
-                                    System.out.println("Match between ExprNodeDesc made...#Matches: " + matchingExps);
-                                }
-                            }
-
-                        }
-                    }
-                }
-            }
-
-
-        return matchingExps;
-
-    }
-
     public void linkRootsAndLeaves() {
 
         System.out.println("Printing all leaves BEFORE LINK...");
@@ -665,129 +754,88 @@ public class ExaremeGraph {
 
         if (roots != null) {
             if (roots.size() > 0) {
-                for (OperatorNode opNode : roots) {
-                    for (OperatorNode opLeaf : leaves) {
-                        if (opLeaf != null) {
-                            Operator<? extends OperatorDesc> leaf = opLeaf.getOperator();
-                            if (leaf != null) {
-                                if (leaf.getSchema() != null) {
-                                    if (opNode.getOperator().getSchema() != null) {
-                                        if(opNode.getOperator().getSchema().toString().contains("col")) {
-
-                                            if ((opNode.getOperator().getParentOperators() == null) || (opNode.getOperator().getParentOperators().size() == 0)){ //This condition might seem like double checking but it ensures 1-1 FS to TS connections
-                                                if((leaf.getChildOperators() == null) || (leaf.getChildOperators().size() == 0)) {
-                                                    if(opLeaf.getOwnerStage().getId().equals(opNode.getOwnerStage().getId())) {
-                                                        System.out.println("Leaf: " + leaf.getOperatorId() + " and Root: " + opNode.getOperator().getOperatorId() +" belong to the same stage! Not checking for edge!");
-                                                    }
-                                                    else{
-                                                        if (leaf.getSchema().toString().equals(opNode.getOperator().getSchema().toString())) {
-                                                            DirectedEdge e = new DirectedEdge(leaf.getOperatorId(), opNode.getOperator().getOperatorId(), "LEAF TO ROOT");
-                                                            addDirectedEdge(e);
-                                                            System.out.println("Added Edge from Leaf: " + leaf.getOperatorId() + " to Root: " + opNode.getOperator().getOperatorId());
-                                                            List<Operator<? extends OperatorDesc>> rootParents;
-                                                            if (opNode.getOperator().getParentOperators() != null) {
-                                                                rootParents = opNode.getOperator().getParentOperators();
-                                                            } else {
-                                                                rootParents = new LinkedList<>();
-                                                            }
-                                                            rootParents.add(leaf);
-                                                            opNode.getOperator().setParentOperators(rootParents);
-                                                            if ((leaf.getChildOperators() == null) || ((leaf.getChildOperators() != null) && (leaf.getChildOperators().size() == 0))) {
-                                                                List<Operator<? extends OperatorDesc>> leafChildren = new LinkedList<>();
-                                                                leafChildren.add(opNode.getOperator());
-                                                                leaf.setChildOperators(leafChildren);
-                                                            } else {
-                                                                List<Operator<? extends OperatorDesc>> leafChildren = leaf.getChildOperators();
-                                                                if (!leafChildren.contains(opNode.getOperator())) {
-                                                                    leafChildren.add(opNode.getOperator());
-                                                                    leaf.setChildOperators(leafChildren);
-                                                                    System.out.println("WARNING: This leaf has now more than one child check if this is correct! Children: " + leafChildren.toString());
-                                                                    System.exit(1);
-                                                                }
-                                                            }
-                                                        }
-                                                    }
-                                                }
-                                            }
-
-
 
+                //Leaves by schema, so that every root is only compared with the leaves it can match
+                Map<String, List<OperatorNode>> leavesBySchema = new HashMap<>();
+                for (OperatorNode opLeaf : leaves) {
+                    if ((opLeaf != null) && (opLeaf.getOperator() != null) && (opLeaf.getOperator().getSchema() != null)) {
+                        String leafSchema = opLeaf.getOperator().getSchema().toString();
+                        List<OperatorNode> sameSchema = leavesBySchema.get(leafSchema);
+                        if (sameSchema == null) {
+                            sameSchema = new LinkedList<>();
+                            leavesBySchema.put(leafSchema, sameSchema);
+                        }
+                        sameSchema.add(opLeaf);
+                    }
+                }
 
-                                        }
-                                    }
+                for (OperatorNode opNode : roots) {
+                    if (opNode.getOperator().getSchema() == null) continue;
+                    String rootSchema = opNode.getOperator().getSchema().toString();
+                    if (rootSchema.contains("col") == false) continue;
+                    List<OperatorNode> sameSchema = leavesBySchema.get(rootSchema);
+                    if (sameSchema == null) continue;
+
+                    for (OperatorNode opLeaf : sameSchema) {
+                        Operator<? extends OperatorDesc> leaf = opLeaf.getOperator();
+                        if ((opNode.getOperator().getParentOperators() == null) || (opNode.getOperator().getParentOperators().size() == 0)){ //This condition might seem like double checking but it ensures 1-1 FS to TS connections
+                            if((leaf.getChildOperators() == null) || (leaf.getChildOperators().size() == 0)) {
+                                if(opLeaf.getOwnerStage().getId().equals(opNode.getOwnerStage().getId())) {
+                                    System.out.println("Leaf: " + leaf.getOperatorId() + " and Root: " + opNode.getOperator().getOperatorId() +" belong to the same stage! Not checking for edge!");
+                                }
+                                else{
+                                    linkLeafToRoot(opLeaf, opNode, true);
                                 }
                             }
                         }
                     }
                 }
 
+                //Leaves by the stages that depend on their stage, so that every root is only compared with the leaves of its parent stages
+                Map<Task<? extends Serializable>, List<OperatorNode>> leavesByChildStage = new IdentityHashMap<>();
+                for (OperatorNode leafNode : leaves) {
+                    Task<? extends Serializable> LeafOwner = leafNode.getOwnerStage();
+                    if ((LeafOwner == null) || (LeafOwner.getDependentTasks() == null)) continue;
+                    Set<Task<? extends Serializable>> seen = Collections.newSetFromMap(new IdentityHashMap<Task<? extends Serializable>, Boolean>());
+                    for (Task<? extends Serializable> tempStage : LeafOwner.getDependentTasks()) {
+                        if (seen.add(tempStage) == false) continue;
+                        List<OperatorNode> stageLeaves = leavesByChildStage.get(tempStage);
+                        if (stageLeaves == null) {
+                            stageLeaves = new LinkedList<>();
+                            leavesByChildStage.put(tempStage, stageLeaves);
+                        }
+                        stageLeaves.add(leafNode);
+                    }
+                }
+
                 for (OperatorNode opNode : roots) {
                     Operator<? extends OperatorDesc> currentRootOp = opNode.getOperator();
                     if ((currentRootOp.getParentOperators() == null) || ((currentRootOp.getParentOperators() != null) && (currentRootOp.getParentOperators().size() == 0))) {
                         if (currentRootOp.getSchema() != null) {
                             if (currentRootOp.getSchema().toString().contains("col") == true) {
                                 System.out.println("RootOperator: " + currentRootOp.getOperatorId() + " receives input from some previous operator...");
-                                Task<? extends Serializable> RootOwner = opNode.getOwnerStage();
-                                for (OperatorNode leafNode : leaves) {
+                                List<OperatorNode> parentStageLeaves = leavesByChildStage.get(opNode.getOwnerStage());
+                                if (parentStageLeaves == null) continue;
+                                for (OperatorNode leafNode : parentStageLeaves) {
                                     Operator<? extends OperatorDesc> currentLeafOp = leafNode.getOperator();
-                                    Task<? extends Serializable> LeafOwner = leafNode.getOwnerStage();
-                                    List<Task<? extends Serializable>> ownerChildren = LeafOwner.getDependentTasks();
-                                    if (ownerChildren != null) {
-                                        if (ownerChildren.size() > 0) {
-                                            for (Task<? extends Serializable> tempStage : ownerChildren) {
-                                                if (tempStage == RootOwner) {
-                                                    if (currentLeafOp.getSchema() == null) continue;
-                                                    if (currentRootOp.getSchema() == null) continue;
-                                                    int countCol1 = countColXOccurencesInString("colx", currentLeafOp.getSchema().toString());
-                                                    int countCol2 = countColXOccurencesInString("colx", currentRootOp.getSchema().toString());
-                                                    if (countCol1 != countCol2) {
-                                                        System.out.println("Root: " + currentRootOp.getOperatorId() + " and Leaf: " + currentLeafOp.getOperatorId() + " have different number of cols in Schema...");
-                                                        if (currentLeafOp.getOperatorId().contains("RS") && currentRootOp.getOperatorId().contains("TS")) {
-                                                            if ((currentLeafOp.getChildOperators() == null) || ((currentLeafOp.getChildOperators() != null) && (currentLeafOp.getChildOperators().size() == 0))) {
-                                                                System.out.println("However...Leaf is RS and Root is TS with no children for RS! Difference: " + (countCol1 - countCol2));
-                                                            } else {
-                                                                System.out.println("Leaf is RS but with already at least 1 child..sorry!");
-                                                                break;
-                                                            }
-                                                        } else {
-                                                            break;
-                                                        }
-                                                    }
-                                                    System.out.println("Root: " + currentRootOp.getOperatorId() + " and Leaf: " + currentLeafOp.getOperatorId() + " have matching Schema!");
-
-                                                    DirectedEdge e = new DirectedEdge(currentLeafOp.getOperatorId(), currentRootOp.getOperatorId(), "LEAF TO ROOT");
-                                                    addDirectedEdge(e);
-                                                    System.out.println("Added Edge from Leaf: " + currentLeafOp.getOperatorId() + " to Root: " + currentRootOp.getOperatorId());
-                                                    List<Operator<? extends OperatorDesc>> rootParents;
-                                                    if (currentRootOp.getParentOperators() != null) {
-                                                        rootParents = currentRootOp.getParentOperators();
-                                                    } else {
-                                                        rootParents = new LinkedList<>();
-                                                    }
-                                                    rootParents.add(currentLeafOp);
-                                                    currentRootOp.setParentOperators(rootParents);
-                                                    if ((currentLeafOp.getChildOperators() == null) || ((currentLeafOp.getChildOperators() != null) && (currentLeafOp.getChildOperators().size() == 0))) {
-                                                        List<Operator<? extends OperatorDesc>> leafChildren = new LinkedList<>();
-                                                        leafChildren.add(currentRootOp);
-                                                        currentLeafOp.setChildOperators(leafChildren);
-                                                    } else {
-                                                        List<Operator<? extends OperatorDesc>> leafChildren = currentLeafOp.getChildOperators();
-                                                        if (!leafChildren.contains(currentRootOp)) {
-                                                            leafChildren.add(currentRootOp);
-                                                            currentLeafOp.setChildOperators(leafChildren);
-                                                            System.out.println("WARNING: This leaf has now more than one child check if this is correct! Children: " + leafChildren.toString());
-                                                            //System.exit(1);
-                                                        }
-                                                    }
-                                                    break;
-                                                }
+                                    if (currentLeafOp.getSchema() == null) continue;
+                                    int countCol1 = countColXOccurencesInString("colx", currentLeafOp.getSchema().toString());
+                                    int countCol2 = countColXOccurencesInString("colx", currentRootOp.getSchema().toString());
+                                    if (countCol1 != countCol2) {
+                                        System.out.println("Root: " + currentRootOp.getOperatorId() + " and Leaf: " + currentLeafOp.getOperatorId() + " have different number of cols in Schema...");
+                                        if (currentLeafOp.getOperatorId().contains("RS") && currentRootOp.getOperatorId().contains("TS")) {
+                                            if ((currentLeafOp.getChildOperators() == null) || ((currentLeafOp.getChildOperators() != null) && (currentLeafOp.getChildOperators().size() == 0))) {
+                                                System.out.println("However...Leaf is RS and Root is TS with no children for RS! Difference: " + (countCol1 - countCol2));
+                                            } else {
+                                                System.out.println("Leaf is RS but with already at least 1 child..sorry!");
+                                                continue;
                                             }
                                         } else {
                                             continue;
                                         }
-                                    } else {
-                                        continue;
                                     }
+                                    System.out.println("Root: " + currentRootOp.getOperatorId() + " and Leaf: " + currentLeafOp.getOperatorId() + " have matching Schema!");
+                                    linkLeafToRoot(leafNode, opNode, false);
                                 }
                             }
                         }
@@ -797,12 +845,53 @@ public class ExaremeGraph {
         }
     }
 
+    /*---Adds the LEAF TO ROOT edge and makes the Hive Operators of the two nodes parent and child---*/
+    private void linkLeafToRoot(OperatorNode leafNode, OperatorNode rootNode, boolean singleChild) {
+
+        Operator<? extends OperatorDesc> leaf = leafNode.getOperator();
+        Operator<? extends OperatorDesc> root = rootNode.getOperator();
+
+        DirectedEdge e = new DirectedEdge(leaf.getOperatorId(), root.getOperatorId(), "LEAF TO ROOT");
+        addDirectedEdge(e);
+        System.out.println("Added Edge from Leaf: " + leaf.getOperatorId() + " to Root: " + root.getOperatorId());
+        List<Operator<? extends OperatorDesc>> rootParents;
+        if (root.getParentOperators() != null) {
+            rootParents = root.getParentOperators();
+        } else {
+            rootParents = new LinkedList<>();
+        }
+        rootParents.add(leaf);
+        root.setParentOperators(rootParents);
+        if ((leaf.getChildOperators() == null) || ((leaf.getChildOperators() != null) && (leaf.getChildOperators().size() == 0))) {
+            List<Operator<? extends OperatorDesc>> leafChildren = new LinkedList<>();
+            leafChildren.add(root);
+            leaf.setChildOperators(leafChildren);
+        } else {
+            List<Operator<? extends OperatorDesc>> leafChildren = leaf.getChildOperators();
+            if (!leafChildren.contains(root)) {
+                leafChildren.add(root);
+                leaf.setChildOperators(leafChildren);
+                System.out.println("WARNING: This leaf has now more than one child check if this is correct! Children: " + leafChildren.toString());
+                if (singleChild) { //Schema matched links must stay 1-1
+                    System.exit(1);
+                }
+            }
+        }
+    }
+
     public void linkMapJoins() {
 
+        //Index every HashTableSink by its join key signature once
+        MapJoinKeyIndex sinkIndex = new MapJoinKeyIndex();
+        for (OperatorNode op2 : nodesList) {
+            if (op2.getOperator() instanceof HashTableSinkOperator) {
+                sinkIndex.addSink(op2);
+            }
+        }
+
         for (OperatorNode op : nodesList) {
             if (op.getOperator().getOperatorId().contains("MAPJOIN")) {
                 System.out.println("Found Operator: " + op.getOperator().getOperatorId());
-                String correctParentID = "";
                 List<org.apache.hadoop.hive.ql.exec.Operator<? extends OperatorDesc>> opParents = op.getOperator().getParentOperators();
                 int matchesFound = 0;
                 int numOfHashDummies = 0;
@@ -815,275 +904,58 @@ public class ExaremeGraph {
                             }
                         }
                     }
+
+                    MapJoinOperator mapOp = (MapJoinOperator) op.getOperator();
+                    MapJoinDesc mapDesc = mapOp.getConf();
+                    String keySignature = MapJoinKeyIndex.keySignature(mapDesc.getKeys(), mapDesc.getKeysString());
+                    List<OperatorNode> candidateSinks = sinkIndex.getCandidateSinks(mapDesc);
+                    System.out.println("MapJoin key signature: " + keySignature + " - Candidate HashTableSinks: " + candidateSinks.size());
+
                     for (Operator<? extends OperatorDesc> o1 : opParents) {
                         if (o1 != null) {
                             if (o1.getOperatorId().contains("HASHTABLEDUMMY")) {
 
-                                int numOfParents = opParents.size();
-
                                 String arr[] = o1.getOperatorId().trim().split("[_ ]+");
                                 if (arr.length > 2) {
                                     System.out.println("linkMapJoins: More than 3 Tokens?!");
                                     System.exit(1);
                                 }
-                                int id = Integer.parseInt(arr[1]);
-                                id = id - 1;
-                                String newName = "HASHTABLESINK_" + String.valueOf(id);
-
-                                MapJoinOperator mapOp = (MapJoinOperator) op.getOperator();
-                                MapJoinDesc mapDesc = mapOp.getConf();
-                                Map<Byte, List<ExprNodeDesc>> keysMap = mapDesc.getKeys();
-
-                                    for(OperatorNode op2 : nodesList){ //First attempt to find a match with HashTable with no parents
-
-                                        System.out.println("Attempting link with Operator: "+op2.getOperatorName());
-
-                                        if(op2.getOperator() instanceof HashTableSinkOperator) {
-
-                                            if ((op2.getOperator().getChildOperators() == null) || (op2.getOperator().getChildOperators().size() == 0)) {
-
-                                                if ((op2.getOperator().getChildOperators() == null) || (op2.getOperator().getChildOperators().size() == 0)) {
-
-                                                    boolean readyForLink = false;
-
-                                                    System.out.println("Doesn't have children...OK!");
-
-                                                    HashTableSinkOperator hashOp = (HashTableSinkOperator) op2.getOperator();
-                                                    HashTableSinkDesc hashDesc = hashOp.getConf();
-
-                                                    Map<Byte, List<ExprNodeDesc>> keysMap2 = hashDesc.getKeys();
-
-                                                    if (keysMap.entrySet().size() == keysMap2.entrySet().size()) {
-                                                        System.out.println("KeyMaps are of equal size...OK!");
-
-                                                        boolean hasNullKeys = false;
-
-                                                        for (Map.Entry<Byte, String> entryKey1 : mapDesc.getKeysString().entrySet()) {
-                                                            if (entryKey1.getValue() == null) {
-                                                                hasNullKeys = true;
-                                                                break;
-                                                            }
-                                                        }
-
-                                                        boolean hasNullKeys2 = false;
-
-                                                        if (hasNullKeys) {
-
-                                                            for (Map.Entry<Byte, String> entryKey1 : hashDesc.getKeysString().entrySet()) {
-                                                                if (entryKey1.getValue() == null) {
-                                                                    hasNullKeys2 = true;
-                                                                    break;
-                                                                }
-                                                            }
-
-                                                        }
-
-                                                        if ((hasNullKeys) && (hasNullKeys2)) {
-                                                            System.out.println("NULL Keys...");
-                                                            readyForLink = true;
-                                                        } else {
-                                                            System.out.println("Non null KEYS...comparing them...");
-
-                                                            int numOfExprs1 = 0;
-                                                            int numOfExprs2 = 0;
-
-                                                            for (Map.Entry<Byte, List<ExprNodeDesc>> entry1 : keysMap.entrySet()) {
-                                                                for (ExprNodeDesc expr : entry1.getValue()) {
-                                                                    numOfExprs1++;
-                                                                }
-                                                            }
-
-                                                            for (Map.Entry<Byte, List<ExprNodeDesc>> entry1 : keysMap.entrySet()) {
-                                                                for (ExprNodeDesc expr : entry1.getValue()) {
-                                                                    numOfExprs2++;
-                                                                }
-                                                            }
-
-                                                            if (numOfExprs1 == numOfExprs2) {
-                                                                System.out.println("Equal number of ExprNode Descs...OK");
-
-                                                                int matchingExps = numOfMatchingExprs(op2, keysMap, keysMap2, mapDesc);
 
-                                                                if (matchingExps == numOfExprs1) {
-                                                                    System.out.println("Keys are equal...");
-                                                                    readyForLink = true;
-                                                                }
+                                for (OperatorNode op2 : candidateSinks) { //First attempt to find a match with HashTable with no children
 
-                                                            }
-
-
-                                                        }
-
-                                                        if (readyForLink) {
-                                                            System.out.println("Leaf: " + op2.getOperator().getOperatorId() + " Matches with child: " + op.getOperator().getOperatorId());
-
-                                                            System.out.println("Set as parent of: " + op.getOperator().getOperatorId() + " the Operator: " + op2.getOperator().getOperatorId());
-
-                                                            List<org.apache.hadoop.hive.ql.exec.Operator<? extends OperatorDesc>> opChildren = op2.getOperator().getChildOperators();
-                                                            if (opChildren != null) {
-                                                                opChildren.add(op.getOperator());
-                                                                op2.getOperator().setChildOperators(opChildren);
-                                                                System.out.println("Set as child of: " + op2.getOperator().getOperatorId() + " the Operator: " + op.getOperator().getOperatorId());
-                                                            } else {
-                                                                opChildren = new LinkedList<>();
-                                                                opChildren.add(op.getOperator());
-                                                                op2.getOperator().setChildOperators(opChildren);
-                                                                System.out.println("Set as ONLY child of: " + op2.getOperator().getOperatorId() + " the Operator: " + op.getOperator().getOperatorId());
-                                                            }
-
-                                                            o1.setOperatorId(op2.getOperatorName());
-
-                                                            DirectedEdge newEdge = new DirectedEdge(op2.getOperator().getOperatorId(), op.getOperator().getOperatorId(), "? NO IDEA");
-
-                                                            addDirectedEdge(newEdge);
-
-                                                            matchesFound++;
-
-                                                            break;
-
-                                                        }
-                                                    }
-
-                                                }
-
-                                            }
-                                        }
+                                    System.out.println("Attempting link with Operator: " + op2.getOperatorName());
 
+                                    if (getChildNodes(op2.getOperatorName()).isEmpty()) {
+                                        System.out.println("Doesn't have children...OK!");
+                                        linkSinkToMapJoin(op2, op, o1);
+                                        matchesFound++;
+                                        break;
                                     }
 
-                                    if(matchesFound < numOfHashDummies) { //Second chance with hashtable sinks with 1 parent
-                                        for (OperatorNode op2 : nodesList) {
-                                                if (op2.getOperator() instanceof HashTableSinkOperator) {
-                                                    System.out.println("Attempting link with Operator: "+op2.getOperatorName());
-                                                    if(op2.getOperator().getChildOperators().size() == 1){
-
-                                                        boolean readyForLink = false;
-
-                                                        boolean alreadyExistsAsChild = false;
-                                                        if(op2.getOperator().getChildOperators() != null){
-                                                            if(op2.getOperator().getChildOperators().size() == 1){
-                                                                for(Operator<?> c : op2.getOperator().getChildOperators()){
-                                                                    if(c.getOperatorId().equals(op.getOperatorName())){
-                                                                        alreadyExistsAsChild = true;
-                                                                        break;
-                                                                    }
-                                                                }
-
-                                                            }
-                                                        }
-
-                                                        if(alreadyExistsAsChild) continue;
-
-                                                        System.out.println("Doesn't have children...OK!");
-
-                                                        HashTableSinkOperator hashOp = (HashTableSinkOperator) op2.getOperator();
-                                                        HashTableSinkDesc hashDesc = hashOp.getConf();
-
-                                                        Map<Byte, List<ExprNodeDesc>> keysMap2 = hashDesc.getKeys();
-
-                                                        if(keysMap.entrySet().size() == keysMap2.entrySet().size()) {
-                                                            System.out.println("KeyMaps are of equal size...OK!");
-
-                                                            boolean hasNullKeys = false;
-
-                                                            for(Map.Entry<Byte, String> entryKey1 : mapDesc.getKeysString().entrySet()){
-                                                                if(entryKey1.getValue() == null){
-                                                                    hasNullKeys = true;
-                                                                    break;
-                                                                }
-                                                            }
-
-                                                            boolean hasNullKeys2 = false;
-
-                                                            if(hasNullKeys){
-
-                                                                for(Map.Entry<Byte, String> entryKey1 : hashDesc.getKeysString().entrySet()){
-                                                                    if(entryKey1.getValue() == null){
-                                                                        hasNullKeys2 = true;
-                                                                        break;
-                                                                    }
-                                                                }
-
-                                                            }
-
-                                                            if((hasNullKeys) && (hasNullKeys2)){
-                                                                System.out.println("NULL Keys...");
-                                                                readyForLink = true;
-                                                            }
-                                                            else {
-                                                                System.out.println("Non null KEYS...comparing them...");
-
-                                                                int numOfExprs1 = 0;
-                                                                int numOfExprs2 = 0;
-
-                                                                for(Map.Entry<Byte, List<ExprNodeDesc>> entry1 : keysMap.entrySet()){
-                                                                    for(ExprNodeDesc expr : entry1.getValue()){
-                                                                        numOfExprs1++;
-                                                                    }
-                                                                }
-
-                                                                for(Map.Entry<Byte, List<ExprNodeDesc>> entry1 : keysMap.entrySet()){
-                                                                    for(ExprNodeDesc expr : entry1.getValue()){
-                                                                        numOfExprs2++;
-                                                                    }
-                                                                }
-
-                                                                if (numOfExprs1 == numOfExprs2) {
-                                                                    System.out.println("Equal number of ExprNode Descs...OK");
-
-                                                                    int matchingExps = numOfMatchingExprs(op2, keysMap, keysMap2, mapDesc);
-
-                                                                    if (matchingExps == numOfExprs1) {
-                                                                        System.out.println("Keys are equal...");
-                                                                        readyForLink = true;
-                                                                    }
-
-                                                                }
-
-                                                            }
-
-                                                            if (readyForLink) {
-                                                                System.out.println("Leaf: " + op2.getOperator().getOperatorId() + " Matches with child: " + op.getOperator().getOperatorId());
-
-                                                                System.out.println("Set as parent of: " + op.getOperator().getOperatorId() + " the Operator: " + op2.getOperator().getOperatorId());
-
-                                                                matchesFound++;
-
-                                                                List<org.apache.hadoop.hive.ql.exec.Operator<? extends OperatorDesc>> opChildren = op2.getOperator().getChildOperators();
-                                                                if (opChildren != null) {
-                                                                    opChildren.add(op.getOperator());
-                                                                    op2.getOperator().setChildOperators(opChildren);
-                                                                    System.out.println("Set as child of: " + op2.getOperator().getOperatorId() + " the Operator: " + op.getOperator().getOperatorId());
-                                                                } else {
-                                                                    opChildren = new LinkedList<>();
-                                                                    opChildren.add(op.getOperator());
-                                                                    op2.getOperator().setChildOperators(opChildren);
-                                                                    System.out.println("Set as ONLY child of: " + op2.getOperator().getOperatorId() + " the Operator: " + op.getOperator().getOperatorId());
-                                                                }
-
-                                                                o1.setOperatorId(op2.getOperatorName());
-
-                                                                DirectedEdge newEdge = new DirectedEdge(op2.getOperator().getOperatorId(), op.getOperator().getOperatorId(), "? NO IDEA");
-
-                                                                addDirectedEdge(newEdge);
+                                }
 
-                                                                break;
+                                if (matchesFound < numOfHashDummies) { //Second chance with hashtable sinks with 1 child
+                                    for (OperatorNode op2 : candidateSinks) {
+                                        System.out.println("Attempting link with Operator: " + op2.getOperatorName());
+                                        List<OperatorNode> sinkChildren = getChildNodes(op2.getOperatorName());
+                                        if (sinkChildren.size() == 1) {
 
-                                                            }
-                                                        }
+                                            boolean alreadyExistsAsChild = sinkChildren.contains(op);
 
-                                                    }
+                                            if (alreadyExistsAsChild) continue;
 
-                                                }
-                                            }
+                                            linkSinkToMapJoin(op2, op, o1);
+                                            matchesFound++;
+                                            break;
                                         }
+                                    }
+                                }
 
-                                if(matchesFound == numOfHashDummies){
+                                if (matchesFound == numOfHashDummies) {
                                     found = true;
                                 }
 
-                            }
-                            else if(o1.getOperatorId().contains("HASHTABLESINK")){
+                            } else if (o1.getOperatorId().contains("HASHTABLESINK")) {
                                 continue;
                             }
                         }
@@ -1091,7 +963,7 @@ public class ExaremeGraph {
 
                     if (found == false) {
                         System.out.println("Operator: " + op.getOperatorName() + " never found a match!");
-                        for(OperatorNode opNode : nodesList){
+                        for (OperatorNode opNode : nodesList) {
                             opNode.printOperatorInstance(null);
                         }
                         System.exit(0);
@@ -1107,6 +979,37 @@ public class ExaremeGraph {
         }
     }
 
+    private void linkSinkToMapJoin(OperatorNode sinkNode, OperatorNode mapJoinNode, Operator<? extends OperatorDesc> hashDummy) {
+
+        System.out.println("Leaf: " + sinkNode.getOperator().getOperatorId() + " Matches with child: " + mapJoinNode.getOperator().getOperatorId());
+
+        System.out.println("Set as parent of: " + mapJoinNode.getOperator().getOperatorId() + " the Operator: " + sinkNode.getOperator().getOperatorId());
+
+        List<org.apache.hadoop.hive.ql.exec.Operator<? extends OperatorDesc>> opChildren = sinkNode.getOperator().getChildOperators();
+        if (opChildren != null) {
+            opChildren.add(mapJoinNode.getOperator());
+            sinkNode.getOperator().setChildOperators(opChildren);
+            System.out.println("Set as child of: " + sinkNode.getOperator().getOperatorId() + " the Operator: " + mapJoinNode.getOperator().getOperatorId());
+        } else {
+            opChildren = new LinkedList<>();
+            opChildren.add(mapJoinNode.getOperator());
+            sinkNode.getOperator().setChildOperators(opChildren);
+            System.out.println("Set as ONLY child of: " + sinkNode.getOperator().getOperatorId() + " the Operator: " + mapJoinNode.getOperator().getOperatorId());
+        }
+
+        String dummyId = hashDummy.getOperatorId();
+        hashDummy.setOperatorId(sinkNode.getOperatorName());
+        OperatorNode dummyNode = nodesByName.get(dummyId);
+        if((dummyNode != null) && (dummyNode.getOperator() == hashDummy)){ //Dummies are normally not nodes, but keep the index right if one is
+            rekeyNode(dummyId, dummyNode);
+        }
+
+        DirectedEdge newEdge = new DirectedEdge(sinkNode.getOperator().getOperatorId(), mapJoinNode.getOperator().getOperatorId(), "? NO IDEA");
+
+        addDirectedEdge(newEdge);
+
+    }
+
     public void printGraph(PrintWriter outputFile) {
 
         // Printing ROOTS
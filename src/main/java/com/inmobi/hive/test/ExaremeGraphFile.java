@@ -0,0 +1,381 @@
+package com.inmobi.hive.test;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hive.conf.HiveConf;
+import org.apache.hadoop.hive.ql.exec.Operator;
+import org.apache.hadoop.hive.ql.exec.Task;
+import org.apache.hadoop.hive.ql.exec.TaskFactory;
+import org.apache.hadoop.hive.ql.exec.Utilities;
+import org.apache.hadoop.hive.ql.plan.ExprNodeDesc;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.StructField;
+
+import java.io.*;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.*;
+
+/*
+   Persists a linked ExaremeGraph together with the Input/Output Tables and
+   Partitions of its plan into a single binary file and loads it back, so that
+   the QueryBuilder can run again on the same Graph without a Hive cluster and
+   a Driver.compile().
+
+   FILE LAYOUT: a short header (magic String and format version) written with a
+   DataOutputStream, followed by a GraphBundle serialized with the same Kryo
+   serializer Hive uses for its own query plans (Utilities.serializePlan). The
+   Hive Operators keep their parent/child links inside the bundle, the edges
+   and the current roots/leaves of the Graph are kept by operator id.
+
+   Some state does not survive Kryo and is kept in the bundle as plain values:
+   - the column expression map and the rendered RowSchema of every Operator
+     (Hive's Kryo drops Operator.colExprMap and ColumnInfo ObjectInspectors);
+   - the URI locations and HDFS paths of Tables and Partitions (the parsed
+     parts of a java.net.URI are transient);
+   - the StructFields of every Table, as field names. Their ObjectInspectors
+     are not written and a loaded Table only answers getFieldName().
+   Owner Stages are rebuilt from their id, work class and dependencies, without
+   their work, so a loaded node still knows which Stage it was found in.
+*/
+
+public class ExaremeGraphFile {
+
+    private static final String MAGIC = "EXAREME_GRAPH";
+    private static final int VERSION = 2;
+
+    /* Kryo friendly container of everything written to the file */
+    public static class GraphBundle {
+        String label;
+        String databasePath;
+        List<Operator<? extends Serializable>> operators = new LinkedList<>();
+        List<String> operatorIds = new LinkedList<>(); //Ids may have been renamed while linking so keep them explicitly
+        List<String> ownerStageIds = new LinkedList<>();
+        List<String> schemaStrings = new LinkedList<>();
+        List<Map<String, ExprNodeDesc>> columnExprMaps = new LinkedList<>();
+        List<String> edgesFrom = new LinkedList<>();
+        List<String> edgesTo = new LinkedList<>();
+        List<String> edgesLabel = new LinkedList<>();
+        List<String> rootIds = new LinkedList<>();
+        List<String> leafIds = new LinkedList<>();
+        List<String> stageIds = new LinkedList<>();
+        List<String> stageWorkClasses = new LinkedList<>();
+        List<List<String>> stageChildIds = new LinkedList<>();
+        List<String> planStageIds = new LinkedList<>();
+        List<MyTable> inputTables;
+        List<MyPartition> inputPartitions;
+        List<MyTable> outputTables;
+        List<MyPartition> outputPartitions;
+        List<String> tableLocations = new LinkedList<>(); //By position in tablesOf(), null if not set
+        List<String> tableDataLocations = new LinkedList<>();
+        List<List<String>> tableFieldNames = new LinkedList<>();
+        List<String> partitionLocations = new LinkedList<>(); //By position in partitionsOf(), null if not set
+        List<String> partitionPaths = new LinkedList<>();
+
+        public GraphBundle() {
+        }
+    }
+
+    /* StructField of a loaded Table: only the name of the field is known */
+    private static class NamedField implements StructField {
+        private final String fieldName;
+        private final int fieldID;
+
+        NamedField(String name, int id) {
+            fieldName = name;
+            fieldID = id;
+        }
+
+        public String getFieldName() { return fieldName; }
+
+        public ObjectInspector getFieldObjectInspector() { return null; }
+
+        public int getFieldID() { return fieldID; }
+
+        public String getFieldComment() { return null; }
+    }
+
+    ExaremeGraph graph;
+    GraphBundle bundle;
+
+    private ExaremeGraphFile(ExaremeGraph g, GraphBundle b) {
+        graph = g;
+        bundle = b;
+    }
+
+    public ExaremeGraph getGraph() { return graph; }
+
+    public String getDatabasePath() { return bundle.databasePath; }
+
+    public List<MyTable> getInputTables() { return bundle.inputTables; }
+
+    public List<MyPartition> getInputPartitions() { return bundle.inputPartitions; }
+
+    public List<MyTable> getOutputTables() { return bundle.outputTables; }
+
+    public List<MyPartition> getOutputPartitions() { return bundle.outputPartitions; }
+
+    public static void write(String filePath, ExaremeGraph graph, String databasePath, List<MyTable> inputTables, List<MyPartition> inputPartitions, List<MyTable> outputTables, List<MyPartition> outputPartitions, Configuration conf) {
+
+        GraphBundle b = new GraphBundle();
+        b.label = graph.getLabel();
+        b.databasePath = databasePath;
+
+        Map<Task<? extends Serializable>, String> stages = new IdentityHashMap<>();
+        List<Task<? extends Serializable>> stageOrder = new ArrayList<>();
+        if (graph.getPlanStages() != null) {
+            for (Task<? extends Serializable> t : graph.getPlanStages()) {
+                addStage(t, stages, stageOrder);
+                b.planStageIds.add(t.getId());
+            }
+        }
+
+        for (OperatorNode node : graph.getNodesList()) {
+            b.operators.add(node.getOperator());
+            b.operatorIds.add(node.getOperatorName());
+            b.ownerStageIds.add(addStage(node.getOwnerStage(), stages, stageOrder));
+            b.schemaStrings.add((node.getOperator().getSchema() != null) ? node.getSchemaString() : null);
+            b.columnExprMaps.add(node.getOperator().getColumnExprMap());
+        }
+        for (DirectedEdge e : graph.getEdges()) {
+            b.edgesFrom.add(e.getFromVertex());
+            b.edgesTo.add(e.getToVertex());
+            b.edgesLabel.add(e.getLabel());
+        }
+        for (OperatorNode root : graph.getRoots()) {
+            b.rootIds.add(root.getOperatorName());
+        }
+        for (OperatorNode leaf : graph.getLeaves()) {
+            b.leafIds.add(leaf.getOperatorName());
+        }
+
+        for (int i = 0; i < stageOrder.size(); i++) { //Children found while walking are appended, so this also visits them
+            Task<? extends Serializable> t = stageOrder.get(i);
+            b.stageIds.add(t.getId());
+            b.stageWorkClasses.add((t.getWork() != null) ? t.getWork().getClass().getName() : null);
+            List<String> childIds = new LinkedList<>();
+            if (t.getDependentTasks() != null) {
+                for (Task<? extends Serializable> child : t.getDependentTasks()) {
+                    childIds.add(addStage(child, stages, stageOrder));
+                }
+            }
+            b.stageChildIds.add(childIds);
+        }
+
+        b.inputTables = inputTables;
+        b.inputPartitions = inputPartitions;
+        b.outputTables = outputTables;
+        b.outputPartitions = outputPartitions;
+
+        List<MyTable> tables = tablesOf(b);
+        List<ArrayList<StructField>> fields = new LinkedList<>();
+        for (MyTable t : tables) {
+            b.tableLocations.add((t.getURIdetails() != null) ? t.getURIdetails().toString() : null);
+            b.tableDataLocations.add((t.dataLocation != null) ? t.dataLocation.toString() : null);
+            List<String> names = null;
+            if (t.getAllFields() != null) {
+                names = new LinkedList<>();
+                for (StructField f : t.getAllFields()) {
+                    names.add(f.getFieldName());
+                }
+            }
+            b.tableFieldNames.add(names);
+            fields.add(t.getAllFields());
+        }
+        for (MyPartition p : partitionsOf(b)) {
+            b.partitionLocations.add((p.getURIdetails() != null) ? p.getURIdetails().toString() : null);
+            b.partitionPaths.add((p.partitionPath != null) ? p.partitionPath.toString() : null);
+        }
+
+        long startTime = System.currentTimeMillis();
+        try (FileOutputStream fileStream = new FileOutputStream(filePath)) {
+            DataOutputStream header = new DataOutputStream(fileStream);
+            header.writeUTF(MAGIC);
+            header.writeInt(VERSION);
+            header.flush();
+            for (MyTable t : tables) { //The ObjectInspectors of the fields are not written, only their names
+                t.setAllFields(null);
+            }
+            Utilities.serializePlan(b, fileStream, conf);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write ExaremeGraph to: " + filePath, e);
+        } finally {
+            Iterator<ArrayList<StructField>> it = fields.iterator();
+            for (MyTable t : tables) {
+                t.setAllFields(it.next());
+            }
+        }
+
+        System.out.println("ExaremeGraphFile: Wrote " + b.operators.size() + " nodes and " + b.edgesFrom.size() + " edges to: " + filePath + " in " + (System.currentTimeMillis() - startTime) + " ms");
+    }
+
+    public static ExaremeGraphFile read(String filePath, Configuration conf) {
+
+        long startTime = System.currentTimeMillis();
+        GraphBundle b;
+        try (InputStream fileStream = new BufferedInputStream(new FileInputStream(filePath))) {
+            DataInputStream header = new DataInputStream(fileStream);
+            String magic = header.readUTF();
+            int version = header.readInt();
+            if ((MAGIC.equals(magic) == false) || (version != VERSION)) {
+                throw new RuntimeException("File: " + filePath + " is not an ExaremeGraph file of version " + VERSION + " (found: " + magic + " version " + version + ")");
+            }
+            b = Utilities.deserializePlan(fileStream, GraphBundle.class, conf);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read ExaremeGraph from: " + filePath, e);
+        }
+
+        Map<String, Task<? extends Serializable>> stages = rebuildStages(b, conf);
+
+        ExaremeGraph graph = new ExaremeGraph(b.label);
+        for (int i = 0; i < b.operators.size(); i++) {
+            Operator<? extends Serializable> op = b.operators.get(i);
+            op.setOperatorId(b.operatorIds.get(i));
+            op.setColumnExprMap(b.columnExprMaps.get(i));
+            String ownerId = b.ownerStageIds.get(i);
+            OperatorNode node = new OperatorNode(op, (ownerId != null) ? stages.get(ownerId) : null);
+            node.schemaString = b.schemaStrings.get(i);
+            graph.addNode(node);
+        }
+        for (int i = 0; i < b.edgesFrom.size(); i++) {
+            graph.addDirectedEdge(new DirectedEdge(b.edgesFrom.get(i), b.edgesTo.get(i), b.edgesLabel.get(i)));
+        }
+        for (String rootId : b.rootIds) {
+            graph.addRoot(graph.getOperatorNodeByName(rootId));
+        }
+        for (String leafId : b.leafIds) {
+            graph.addLeaf(graph.getOperatorNodeByName(leafId));
+        }
+        List<Task<? extends Serializable>> planStages = new LinkedList<>();
+        for (String stageId : b.planStageIds) {
+            planStages.add(stages.get(stageId));
+        }
+        graph.setPlanStages(planStages);
+
+        restoreLocations(b);
+
+        System.out.println("ExaremeGraphFile: Read " + b.operators.size() + " nodes and " + b.edgesFrom.size() + " edges from: " + filePath + " in " + (System.currentTimeMillis() - startTime) + " ms");
+
+        return new ExaremeGraphFile(graph, b);
+    }
+
+    /*---Registers a Stage once and returns its id, null for no Stage---*/
+    private static String addStage(Task<? extends Serializable> t, Map<Task<? extends Serializable>, String> stages, List<Task<? extends Serializable>> stageOrder) {
+
+        if (t == null) return null;
+        if (stages.containsKey(t) == false) {
+            stages.put(t, t.getId());
+            stageOrder.add(t);
+        }
+
+        return t.getId();
+    }
+
+    /*---Empty Stages of the same type and id as the written ones, linked as they were---*/
+    private static Map<String, Task<? extends Serializable>> rebuildStages(GraphBundle b, Configuration conf) {
+
+        HiveConf hiveConf = (conf instanceof HiveConf) ? (HiveConf) conf : new HiveConf(conf, ExaremeGraphFile.class);
+        Map<String, Task<? extends Serializable>> stages = new HashMap<>();
+        for (int i = 0; i < b.stageIds.size(); i++) {
+            String workClass = b.stageWorkClasses.get(i);
+            if (workClass == null) continue;
+            try {
+                Task<? extends Serializable> t = TaskFactory.get((Class<Serializable>) Class.forName(workClass), hiveConf);
+                t.setId(b.stageIds.get(i));
+                stages.put(b.stageIds.get(i), t);
+            } catch (ClassNotFoundException e) {
+                throw new RuntimeException("Unknown work class: " + workClass + " of Stage: " + b.stageIds.get(i), e);
+            }
+        }
+        for (int i = 0; i < b.stageIds.size(); i++) {
+            Task<? extends Serializable> parent = stages.get(b.stageIds.get(i));
+            if (parent == null) continue;
+            for (String childId : b.stageChildIds.get(i)) {
+                Task<? extends Serializable> child = stages.get(childId);
+                if (child != null) {
+                    parent.addDependentTask(child);
+                }
+            }
+        }
+
+        return stages;
+    }
+
+    private static void restoreLocations(GraphBundle b) {
+
+        int i = 0;
+        for (MyTable t : tablesOf(b)) {
+            t.setURIdetails(toURI(b.tableLocations.get(i)));
+            String dataLocation = b.tableDataLocations.get(i);
+            t.setTableHDFSPath((dataLocation != null) ? new Path(dataLocation) : null);
+            List<String> names = b.tableFieldNames.get(i);
+            if (names != null) {
+                ArrayList<StructField> fields = new ArrayList<>(names.size());
+                for (String name : names) {
+                    fields.add(new NamedField(name, fields.size()));
+                }
+                t.setAllFields(fields);
+            }
+            i++;
+        }
+
+        i = 0;
+        for (MyPartition p : partitionsOf(b)) {
+            p.setURIdetails(toURI(b.partitionLocations.get(i)));
+            String partitionPath = b.partitionPaths.get(i);
+            p.setPartitionHDFSPath((partitionPath != null) ? new Path(partitionPath) : null);
+            i++;
+        }
+    }
+
+    private static URI toURI(String location) {
+
+        if (location == null) return null;
+        try {
+            return new URI(location);
+        } catch (URISyntaxException e) {
+            throw new RuntimeException("Invalid location in ExaremeGraph file: " + location, e);
+        }
+    }
+
+    /*---Every distinct Input/Output Table, in the same order when writing and reading---*/
+    private static List<MyTable> tablesOf(GraphBundle b) {
+
+        Set<MyTable> seen = Collections.newSetFromMap(new IdentityHashMap<MyTable, Boolean>());
+        List<MyTable> tables = new LinkedList<>();
+        for (List<MyTable> list : Arrays.asList(b.inputTables, b.outputTables)) {
+            if (list == null) continue;
+            for (MyTable t : list) {
+                if ((t != null) && seen.add(t)) {
+                    tables.add(t);
+                }
+            }
+        }
+
+        return tables;
+    }
+
+    /*---Every distinct Input/Output Partition and Partition of those Tables, in the same order when writing and reading---*/
+    private static List<MyPartition> partitionsOf(GraphBundle b) {
+
+        Set<MyPartition> seen = Collections.newSetFromMap(new IdentityHashMap<MyPartition, Boolean>());
+        List<MyPartition> partitions = new LinkedList<>();
+        List<List<MyPartition>> lists = new LinkedList<>();
+        lists.add(b.inputPartitions);
+        lists.add(b.outputPartitions);
+        for (MyTable t : tablesOf(b)) {
+            lists.add(t.getAllPartitions());
+        }
+        for (List<MyPartition> list : lists) {
+            if (list == null) continue;
+            for (MyPartition p : list) {
+                if ((p != null) && seen.add(p)) {
+                    partitions.add(p);
+                }
+            }
+        }
+
+        return partitions;
+    }
+
+}
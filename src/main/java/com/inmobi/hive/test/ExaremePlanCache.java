@@ -0,0 +1,397 @@
+package com.inmobi.hive.test;
+
+import org.apache.hadoop.hive.common.StatsSetupConst;
+import org.apache.hadoop.hive.conf.HiveConf;
+import org.apache.hadoop.hive.metastore.api.FieldSchema;
+import org.apache.hadoop.hive.ql.lib.Node;
+import org.apache.hadoop.hive.ql.metadata.Hive;
+import org.apache.hadoop.hive.ql.metadata.Partition;
+import org.apache.hadoop.hive.ql.metadata.Table;
+import org.apache.hadoop.hive.ql.parse.ASTNode;
+import org.apache.hadoop.hive.ql.parse.BaseSemanticAnalyzer;
+import org.apache.hadoop.hive.ql.parse.HiveParser;
+import org.apache.hadoop.hive.ql.parse.ParseDriver;
+import org.apache.hadoop.hive.ql.session.SessionState;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/*
+   Caches the Exareme Plans (JSON) produced for HiveQL statements so that a
+   statement already translated in this or a previous run does not need a
+   Driver.compile() again.
+
+   A cache key is made of the normalised statement (whitespace collapsed and
+   lowercased outside of quotes), the Exareme cluster settings the plan was
+   built for, the version of the translator and a fingerprint of every table
+   the statement references: columns, partition keys, location, last DDL time,
+   basic stats (numRows, rawDataSize, totalSize, numFiles) and, for every
+   partition, its name, location, last DDL time and the same stats. Any DDL,
+   new partition or load on a referenced table therefore leads to a different
+   key. Statements whose tables cannot be resolved are not cached at all.
+
+   The translator version is a SHA-1 of the class files of the classes that
+   build the plan (TRANSLATOR_CLASSES), so plans kept on disk by an older
+   build of the QueryBuilder are never reused. The key also holds a hash of
+   the session settings that change the plan (map join conversion, reducers,
+   dynamic partitions, optimizer switches...), so a "set" before a statement
+   gives a new key.
+
+   The in-memory tier is an LRU LinkedHashMap. If a directory is given every
+   plan is also kept there (one file per key, named after the SHA-1 of the key)
+   and entries evicted from memory are looked up on disk again. The cache may
+   be shared by the workers of a parallel batch run.
+*/
+
+public class ExaremePlanCache {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    /*---Prefixes of the HiveConf settings the compiled plan depends on---*/
+    private static final String[] PLAN_SETTINGS = {
+            "hive.auto.convert.", "hive.mapjoin.", "hive.exec.dynamic.partition", "hive.exec.max.dynamic.partitions",
+            "hive.exec.reducers.", "mapreduce.job.reduces", "mapred.reduce.tasks", "hive.optimize.", "hive.groupby.",
+            "hive.map.aggr", "hive.cbo.", "hive.execution.engine", "hive.vectorized.", "hive.compute.query.using.stats",
+            "hive.fetch.task.", "hive.limit.", "hive.merge.", "hive.enforce.", "hive.skewjoin", "hive.join.",
+            "hive.ppd.", "hive.default.fileformat", "hive.exec.compress.", "hive.stats."
+    };
+
+    /*---Classes whose code decides the ExaremePlan of a compiled statement---*/
+    private static final Class<?>[] TRANSLATOR_CLASSES = {
+            QueryBuilder.class, OperatorQuery.class, SelectQuery.class, TableRegistry.class, ExaremeGraph.class,
+            OperatorNode.class, OperatorSchema.class, MapJoinKeyIndex.class, HiveTestCluster.class, ExaremePlan.class
+    };
+
+    /*---Table and Partition parameters the plan may depend on---*/
+    private static final String[] STATS_PARAMETERS = {
+            StatsSetupConst.ROW_COUNT, StatsSetupConst.RAW_DATA_SIZE, StatsSetupConst.TOTAL_SIZE, StatsSetupConst.NUM_FILES
+    };
+
+    private static String translatorVersion = null;
+
+    private LinkedHashMap<String, String> memoryTier;
+    private File diskDirectory; //null if there is no on-disk tier
+    private int memoryHits = 0;
+    private int diskHits = 0;
+    private int misses = 0;
+
+    public ExaremePlanCache(final int maxEntries, String directory) {
+
+        memoryTier = new LinkedHashMap<String, String>(16, 0.75f, true) { //Access order gives LRU eviction
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > maxEntries;
+            }
+        };
+
+        if (directory != null) {
+            diskDirectory = new File(directory);
+            if ((diskDirectory.exists() == false) && (diskDirectory.mkdirs() == false)) {
+                throw new RuntimeException("Failed to create ExaremePlanCache directory: " + directory);
+            }
+        }
+        else {
+            diskDirectory = null;
+        }
+    }
+
+    /*---Builds the key of a statement, null if it cannot be cached---*/
+    public String buildKey(String statement, HiveConf conf, int exaNodes, String exaremeIP) {
+
+        String fingerprint = fingerprintTables(statement, conf);
+        if (fingerprint == null) return null;
+
+        return normaliseStatement(statement) + "\n" + "exaNodes=" + exaNodes + ",ip=" + exaremeIP + "\n" + "translator=" + translatorVersion() + "\n" + "conf=" + hashPlanSettings(conf) + "\n" + fingerprint;
+    }
+
+    /*---SHA-1 of the class files of TRANSLATOR_CLASSES, computed once per JVM---*/
+    private static synchronized String translatorVersion() {
+
+        if (translatorVersion == null) {
+            StringBuilder text = new StringBuilder();
+            for (Class<?> c : TRANSLATOR_CLASSES) {
+                String resource = c.getSimpleName() + ".class";
+                try (InputStream in = c.getResourceAsStream(resource)) {
+                    if (in == null) {
+                        throw new RuntimeException("ExaremePlanCache: Class file of: " + c.getName() + " not found");
+                    }
+                    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                    byte[] buffer = new byte[8192];
+                    int read;
+                    while ((read = in.read(buffer)) > 0) {
+                        bytes.write(buffer, 0, read);
+                    }
+                    text.append(c.getName()).append('=').append(sha1(bytes.toByteArray())).append('\n');
+                } catch (IOException e) {
+                    throw new RuntimeException("ExaremePlanCache: Failed to read class file of: " + c.getName(), e);
+                }
+            }
+            translatorVersion = sha1(text.toString());
+            System.out.println("ExaremePlanCache: Translator version: " + translatorVersion);
+        }
+
+        return translatorVersion;
+    }
+
+    /*---SHA-1 of the plan affecting settings of the session (set commands included)---*/
+    private static String hashPlanSettings(HiveConf conf) {
+
+        HiveConf sessionConf = conf;
+        if ((SessionState.get() != null) && (SessionState.get().getConf() != null)) {
+            sessionConf = SessionState.get().getConf();
+        }
+
+        TreeMap<String, String> settings = new TreeMap<>(); //Sorted so that the hash does not depend on iteration order
+        for (Map.Entry<String, String> entry : sessionConf) {
+            for (String prefix : PLAN_SETTINGS) {
+                if (entry.getKey().startsWith(prefix)) {
+                    settings.put(entry.getKey(), entry.getValue());
+                    break;
+                }
+            }
+        }
+
+        StringBuilder text = new StringBuilder();
+        for (Map.Entry<String, String> entry : settings.entrySet()) {
+            text.append(entry.getKey()).append('=').append(entry.getValue()).append('\n');
+        }
+        return sha1(text.toString());
+    }
+
+    public static String normaliseStatement(String statement) {
+
+        StringBuilder normalised = new StringBuilder(statement.length());
+        char quote = 0; //Current quote character or 0 if outside of quotes
+        boolean pendingSpace = false;
+
+        for (int i = 0; i < statement.length(); i++) {
+            char c = statement.charAt(i);
+            if (quote != 0) {
+                normalised.append(c);
+                if ((c == '\\') && (i + 1 < statement.length())) {
+                    normalised.append(statement.charAt(++i));
+                }
+                else if (c == quote) {
+                    quote = 0;
+                }
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                pendingSpace = true;
+                continue;
+            }
+            if (pendingSpace && (normalised.length() > 0)) {
+                normalised.append(' ');
+            }
+            pendingSpace = false;
+            if ((c == '\'') || (c == '"') || (c == '`')) {
+                quote = c;
+                normalised.append(c);
+            }
+            else {
+                normalised.append(Character.toLowerCase(c));
+            }
+        }
+
+        while ((normalised.length() > 0) && (normalised.charAt(normalised.length() - 1) == ';')) {
+            normalised.setLength(normalised.length() - 1);
+        }
+
+        return normalised.toString().trim();
+    }
+
+    private String fingerprintTables(String statement, HiveConf conf) {
+
+        TreeSet<String> tableNames = new TreeSet<>(); //Sorted so that the fingerprint does not depend on query order
+        try {
+            ASTNode tree = new ParseDriver().parse(statement);
+            collectTableNames(tree, tableNames);
+        } catch (Exception e) {
+            System.out.println("ExaremePlanCache: Could not parse statement, it will not be cached: " + e.getMessage());
+            return null;
+        }
+
+        String currentDatabase = SessionState.get().getCurrentDatabase();
+        StringBuilder fingerprint = new StringBuilder();
+        try {
+            Hive db = Hive.get(conf);
+            for (String name : tableNames) {
+                String dbName = currentDatabase;
+                String tableName = name;
+                if (name.contains(".")) {
+                    dbName = name.substring(0, name.indexOf('.'));
+                    tableName = name.substring(name.indexOf('.') + 1);
+                }
+
+                Table table = db.getTable(dbName, tableName, false);
+                if (table == null) { //A CTE or a table about to be created
+                    fingerprint.append(dbName).append('.').append(tableName).append(":MISSING;");
+                    continue;
+                }
+
+                fingerprint.append(table.getCompleteName()).append(":");
+                for (FieldSchema f : table.getCols()) {
+                    fingerprint.append(f.getName()).append(' ').append(f.getType()).append(',');
+                }
+                fingerprint.append("|parts=");
+                for (FieldSchema f : table.getPartitionKeys()) {
+                    fingerprint.append(f.getName()).append(' ').append(f.getType()).append(',');
+                }
+                fingerprint.append("|location=").append(table.getDataLocation());
+                fingerprint.append("|ddlTime=").append(table.getParameters().get("transient_lastDdlTime"));
+                appendStats(fingerprint, table.getParameters());
+                if (table.isPartitioned()) {
+                    fingerprint.append("|partitions=");
+                    for (Partition partition : db.getPartitions(table)) {
+                        fingerprint.append(partition.getName());
+                        fingerprint.append("|location=").append(partition.getDataLocation());
+                        fingerprint.append("|ddlTime=").append(partition.getParameters().get("transient_lastDdlTime"));
+                        appendStats(fingerprint, partition.getParameters());
+                        fingerprint.append(',');
+                    }
+                }
+                fingerprint.append(';');
+            }
+        } catch (Exception e) {
+            System.out.println("ExaremePlanCache: Could not access Metastore, statement will not be cached: " + e.getMessage());
+            return null;
+        }
+
+        return sha1(fingerprint.toString());
+    }
+
+    private static void appendStats(StringBuilder fingerprint, Map<String, String> parameters) {
+
+        for (String stat : STATS_PARAMETERS) {
+            fingerprint.append('|').append(stat).append('=').append((parameters != null) ? parameters.get(stat) : null);
+        }
+    }
+
+    private void collectTableNames(Node node, Set<String> tableNames) {
+
+        ASTNode ast = (ASTNode) node;
+        if ((ast.getToken() != null) && (ast.getType() == HiveParser.TOK_TABNAME)) {
+            if (ast.getChildCount() == 2) {
+                tableNames.add((BaseSemanticAnalyzer.unescapeIdentifier(ast.getChild(0).getText()) + "." + BaseSemanticAnalyzer.unescapeIdentifier(ast.getChild(1).getText())).toLowerCase());
+            }
+            else {
+                tableNames.add(BaseSemanticAnalyzer.unescapeIdentifier(ast.getChild(0).getText()).toLowerCase());
+            }
+            return;
+        }
+
+        if (ast.getChildren() != null) {
+            for (Node child : ast.getChildren()) {
+                collectTableNames(child, tableNames);
+            }
+        }
+    }
+
+    public synchronized String get(String key) {
+
+        String plan = memoryTier.get(key);
+        if (plan != null) {
+            memoryHits++;
+            return plan;
+        }
+
+        if (diskDirectory != null) {
+            plan = readFromDisk(key);
+            if (plan != null) {
+                diskHits++;
+                memoryTier.put(key, plan);
+                return plan;
+            }
+        }
+
+        misses++;
+        return null;
+    }
+
+    public synchronized void put(String key, String plan) {
+
+        memoryTier.put(key, plan);
+        if (diskDirectory != null) {
+            writeToDisk(key, plan);
+        }
+    }
+
+    /*---Forgets the plans kept in memory; plans on disk stay, their keys hold the table fingerprints they were built for---*/
+    public synchronized void clear() {
+        memoryTier.clear();
+    }
+
+    public synchronized void printStatistics() {
+        System.out.println("ExaremePlanCache: Entries(memory)=" + memoryTier.size() + " MemoryHits=" + memoryHits + " DiskHits=" + diskHits + " Misses=" + misses);
+    }
+
+    private File fileOfKey(String key) {
+        return new File(diskDirectory, sha1(key) + ".plan");
+    }
+
+    private void writeToDisk(String key, String plan) { //Layout: key length, key bytes, plan length, plan bytes
+
+        File target = fileOfKey(key);
+        File temp = new File(diskDirectory, target.getName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            byte[] keyBytes = key.getBytes(UTF8);
+            byte[] planBytes = plan.getBytes(UTF8);
+            out.writeInt(keyBytes.length);
+            out.write(keyBytes);
+            out.writeInt(planBytes.length);
+            out.write(planBytes);
+        } catch (IOException e) {
+            System.out.println("ExaremePlanCache: Failed to write plan to disk: " + e.getMessage());
+            temp.delete();
+            return;
+        }
+
+        if (target.exists()) target.delete();
+        if (temp.renameTo(target) == false) {
+            System.out.println("ExaremePlanCache: Failed to move plan to: " + target.getPath());
+            temp.delete();
+        }
+    }
+
+    private String readFromDisk(String key) {
+
+        File source = fileOfKey(key);
+        if (source.exists() == false) return null;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(source)))) {
+            byte[] keyBytes = new byte[in.readInt()];
+            in.readFully(keyBytes);
+            if (key.equals(new String(keyBytes, UTF8)) == false) { //Different key with the same SHA-1
+                return null;
+            }
+            byte[] planBytes = new byte[in.readInt()];
+            in.readFully(planBytes);
+            return new String(planBytes, UTF8);
+        } catch (IOException e) {
+            System.out.println("ExaremePlanCache: Failed to read plan from disk: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static String sha1(String s) {
+        return sha1(s.getBytes(UTF8));
+    }
+
+    private static String sha1(byte[] bytes) {
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(bytes);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b & 0xff));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-1 is not available", e);
+        }
+    }
+
+}
@@ -27,6 +27,7 @@ public class ExperimentSuite { //TargetSize = Specific dataset size you wish to
         String setupScript = "src/main/resources/scripts/setup1GB.sql";
         String tearDownScript = "src/main/resources/scripts/tpcds18teardown.sql";
         String queryScript = "src/main/resources/scripts/experimentsAll.sql";
+        String warehouseSnapshots = "target/snapshots"; //Loaded tables of every setup script (kept out of src), delete its folder to load it again
 
         //Madis settings - WARNING Madis must be installed
         String madisPath = "/opt/madis/src/mterm.py";
@@ -54,6 +55,7 @@ public class ExperimentSuite { //TargetSize = Specific dataset size you wish to
         if ((targetSize == null) || ((targetSize != null) && (targetSize.equals("1GB")))) {
 
             testTool = new testCaseTool(setupScript, tearDownScript, queryScript, systemFlag, rootDirForHiveExaremeSession, madisPath, timesForQueries);
+            testTool.enableWarehouseSnapshots(warehouseSnapshots);
 
             try {
                 System.out.println("Setup Cluster with DataNodes: " + numberOfNodes + " and NodeManagers: " + numberOfNodes + " and load tables...");
@@ -117,6 +119,7 @@ public class ExperimentSuite { //TargetSize = Specific dataset size you wish to
             queryScript = "src/main/resources/scripts/experimentsAll.sql";
 
             testCaseTool testTool2 = new testCaseTool(setupScript, tearDownScript, queryScript, systemFlag, rootDirForHiveExaremeSession, madisPath, timesForQueries);
+            testTool2.enableWarehouseSnapshots(warehouseSnapshots);
 
             try {
                 System.out.println("Setup Cluster with DataNodes: " + numberOfNodes + " and NodeManagers: " + numberOfNodes + " and load tables...");
@@ -182,6 +185,7 @@ public class ExperimentSuite { //TargetSize = Specific dataset size you wish to
                 numOfReducers = 24;
 
                 testCaseTool testTool3 = new testCaseTool(setupScript, tearDownScript, queryScript, systemFlag, rootDirForHiveExaremeSession, madisPath, timesForQueries);
+                testTool3.enableWarehouseSnapshots(warehouseSnapshots);
 
                 try {
                     System.out.println("Setup Cluster with DataNodes: " + numberOfNodes + " and NodeManagers: " + numberOfNodes + " and load tables...");
@@ -227,6 +231,7 @@ public class ExperimentSuite { //TargetSize = Specific dataset size you wish to
                 queryScript = "src/main/resources/scripts/experimentsAll.sql";
 
                 testCaseTool testTool4 = new testCaseTool(setupScript, tearDownScript, queryScript, systemFlag, rootDirForHiveExaremeSession, madisPath, timesForQueries);
+                testTool4.enableWarehouseSnapshots(warehouseSnapshots);
 
                 numOfReducers = 36;
 
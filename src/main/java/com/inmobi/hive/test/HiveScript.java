@@ -3,8 +3,12 @@ package com.inmobi.hive.test;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
 import org.apache.commons.lang3.text.StrSubstitutor;
 
@@ -12,24 +16,32 @@ import com.google.common.collect.Lists;
 
 /*
  * This class is used to model a Hive QL script.  It will allow for parameters
- * to be substituted using the Hive convention of ${VAR_NAME}, where you would 
- * ${VAR_NAME} in your script, and then create a hashmap with VAR_NAME as the 
- * key and the substitution value as the data.  
- * 
- * In addition, you may also exclude entire lines in your script by placing 
- * the entire line in the excludes list.  
+ * to be substituted using the Hive convention of ${VAR_NAME}, where you would
+ * ${VAR_NAME} in your script, and then create a hashmap with VAR_NAME as the
+ * key and the substitution value as the data.
+ *
+ * In addition, you may also exclude entire lines in your script by placing
+ * the entire line in the excludes list.
+ *
+ * Statements are read lazily: iterating over a HiveScript reads the script
+ * one line at a time and returns every statement as soon as its terminating
+ * ';' is found, so scripts of any length are processed in constant memory.
+ * A ';' or "--" inside a quoted string ('...', "..." or `...`) does not end
+ * the statement or start a comment.
  */
-public class HiveScript {
+public class HiveScript implements Iterable<String> {
 
     private String scriptFile;
     private Map<String, String> params;
-    private List<String> excludes;
+    private Set<String> excludes;
     private StrSubstitutor substitutor;
 
     public HiveScript(String scriptFile, Map<String, String> params, List<String> excludes) {
         this.scriptFile = scriptFile;
         this.params = params;
-        this.excludes = excludes;
+        if (excludes != null) {
+            this.excludes = new HashSet<String>(excludes);
+        }
         if (this.params != null) {
             substitutor = new StrSubstitutor(this.params);
         }
@@ -37,51 +49,136 @@ public class HiveScript {
 
     public List<String> getStatements() {
         List<String> commands = Lists.newArrayList();
-        BufferedReader in = null;
+        for (String command : this) {
+            commands.add(command);
+        }
+        return commands;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
         try {
-            in = new BufferedReader(new FileReader(scriptFile));
-            String line;
-            StringBuilder command = new StringBuilder();
-            while ((line = in.readLine()) != null) {
-                if (skippableLine(line) || excludeLine(line)) {
-                    continue;
-                }
-                if (line.endsWith(";")) {
-                    command.append(replaceParams(line.replace(";", "")));
-                    commands.add(command.toString());
-                    command = new StringBuilder();
-                }
-                else {
-                    command.append(replaceParams(line));
+            return new StatementIterator(new BufferedReader(new FileReader(scriptFile)));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private class StatementIterator implements Iterator<String> {
+
+        private BufferedReader in;
+        private String next = null;
+        private StringBuilder command = new StringBuilder();
+        private String line = null; //Line being parsed, null if the next one has to be read
+        private int position = 0;
+        private char quote = 0; //Open quote character, 0 if outside of quotes (kept across lines)
+
+        StatementIterator(BufferedReader reader) {
+            in = reader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && in != null) {
+                next = readStatement();
+            }
+            return next != null;
+        }
+
+        @Override
+        public String next() {
+            if (hasNext() == false) {
+                throw new NoSuchElementException();
+            }
+            String statement = next;
+            next = null;
+            return statement;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        /*---Reads lines until a ';' outside of quotes completes a statement, null at the end of the script---*/
+        private String readStatement() {
+            try {
+                while (line != null || (line = nextLine()) != null) {
+                    while (position < line.length()) {
+                        char c = line.charAt(position++);
+                        if (quote != 0) {
+                            if (c == '\\' && quote != '`' && position < line.length()) {
+                                command.append(c);
+                                c = line.charAt(position++);
+                            }
+                            else if (c == quote) {
+                                quote = 0;
+                            }
+                        }
+                        else if (c == '\'' || c == '"' || c == '`') {
+                            quote = c;
+                        }
+                        else if (c == '-' && position < line.length() && line.charAt(position) == '-') {
+                            position = line.length(); //Rest of the line is a comment
+                            break;
+                        }
+                        else if (c == ';') {
+                            String statement = command.toString().trim();
+                            command.setLength(0);
+                            if (statement.isEmpty() == false) {
+                                return replaceParams(statement); //The rest of the line is kept for the next statement
+                            }
+                            continue;
+                        }
+                        command.append(c);
+                    }
                     //need to make sure there is a space between lines
                     command.append(" ");
+                    line = null;
                 }
+            } catch (IOException e) {
+                close();
+                throw new RuntimeException(e);
             }
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+
+            close();
+            String statement = command.toString().trim(); //Last statement without a ';'
+            command.setLength(0);
+            if (statement.isEmpty()) {
+                return null;
+            }
+            return replaceParams(statement);
+        }
+
+        private String nextLine() throws IOException {
+            String l;
+            while ((l = in.readLine()) != null) {
+                if (quote == 0 && (skippableLine(l) || excludeLine(l))) {
+                    continue;
+                }
+                position = 0;
+                return l;
+            }
+            return null;
         }
-        finally {
+
+        private void close() {
             if (in != null) {
                 try {
                     in.close();
                 } catch (IOException e) {
                     throw new RuntimeException(e);
                 }
+                in = null;
             }
         }
-        return commands;
     }
 
     private boolean excludeLine(String line) {
         if (excludes == null) {
             return false;
         }
-        for (String excludeLine : excludes) {
-            if (line.equals(excludeLine)) {
-                return true;
-            }
-        }
-        return false;
+        return excludes.contains(line);
     }
 
     private boolean skippableLine(String line) {
@@ -91,11 +188,11 @@ public class HiveScript {
         return false;
     }
 
-    private String replaceParams(String line) {
+    private String replaceParams(String command) {
         if (substitutor == null) {
-            return line;
+            return command;
         }
-        return substitutor.replace(line);
+        return substitutor.replace(command);
     }
 
 }
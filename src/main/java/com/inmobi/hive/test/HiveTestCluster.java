@@ -4,6 +4,15 @@ import java.io.*;
 import java.net.URI;
 import java.util.*;
 import java.sql.SQLException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -45,6 +54,7 @@ import org.apache.hadoop.hive.ql.plan.*;
 import org.apache.hadoop.hive.ql.plan.api.*;
 import org.apache.hadoop.hive.ql.processors.CommandProcessor;
 import org.apache.hadoop.hive.ql.processors.CommandProcessorFactory;
+import org.apache.hadoop.hive.ql.processors.CommandProcessorResponse;
 import org.apache.hadoop.hive.ql.session.SessionState;
 import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
 import org.apache.hadoop.hive.serde2.objectinspector.StructField;
@@ -83,6 +93,40 @@ public class HiveTestCluster {
     //Used to assign Exareme Containers in RoundRobin fashion
     private int lastNodeAssigned = -1;
 
+    //If set, the linked ExaremeGraph of every statement is also written to planPathOfStatement(graphFilePath, i) (see ExaremeGraphFile)
+    private String graphFilePath = null;
+    private boolean verifyGraphFiles = false; //Translate every written Graph again after loading it and compare the two plans
+    private String currentGraphFile = null; //Graph file of the statement being processed, null if graphs are not written
+
+    //If set, Exareme Plans of already translated statements are reused (see ExaremePlanCache)
+    private ExaremePlanCache planCache = null;
+    private boolean exaremePlanWritten = false; //Whether the last translation printed an ExaremePlan
+
+    //MyTable/MyPartition of Read/WriteEntities, kept across statements until a statement writes their table
+    private EntityMetadataResolver metadataResolver = new EntityMetadataResolver();
+
+    //Phase timings of the statement currently translated in batch mode, null otherwise
+    private StatementTimings currentTimings = null;
+
+    //Operators and leaves of the Stages of the plan being translated, walked once per Stage (see getStageOperators)
+    private Map<Task<? extends Serializable>, StageOperators> stageOperatorsMemo = Collections.synchronizedMap(new IdentityHashMap<Task<? extends Serializable>, StageOperators>());
+    //Stage of every memoized Operator, to forget the Stage once linking changes the children of one of its Operators
+    private Map<Operator<? extends Serializable>, Task<? extends Serializable>> memoizedStageOfOperator = Collections.synchronizedMap(new IdentityHashMap<Operator<? extends Serializable>, Task<? extends Serializable>>());
+
+    //If > 1, independent root Stages are dived into on a ForkJoinPool of that many threads (see diveInRootStagesInParallel)
+    private int stageTraversalWorkers = 1;
+
+    //Why simplifyStages kept each branch of the ConditionalTasks of the last plan (Stage id -> reason)
+    private Map<String, String> branchChoiceReasons = new LinkedHashMap<>();
+
+    //Base folder of the embedded metastore and local warehouse when started by startCompileOnly(), null otherwise
+    private File compileOnlyBaseDir = null;
+    private boolean deleteCompileOnlyBaseDir = false;
+
+    //If set, the warehouse and metastore are restored from/snapshotted to there (see WarehouseSnapshot)
+    private String warehouseSnapshotDir = null;
+    private boolean restoredFromSnapshot = false;
+
     public HiveTestCluster(int numData, int numTasks, String exaremeIP, int exaremeNodes, int numReducers){
         exaNodes = exaremeNodes;
         currentDatabasePath = "";
@@ -103,6 +147,27 @@ public class HiveTestCluster {
 
     }
 
+    /*---A worker sharing the started cluster of parent but with its own translation state (see executeStatementsInParallel)---*/
+    private HiveTestCluster(HiveTestCluster parent, HiveConf workerConf){
+        fs = parent.fs;
+        miniHS2 = parent.miniHS2;
+        confOverlay = parent.confOverlay;
+        hiveConf = workerConf;
+        numberOfTaskTrackers = parent.numberOfTaskTrackers;
+        numberOfDataNodes = parent.numberOfDataNodes;
+        exaNodes = parent.exaNodes;
+        numOfReducers = parent.numOfReducers;
+        currentDatabasePath = parent.currentDatabasePath;
+        exaremeMiniClusterIP = parent.exaremeMiniClusterIP;
+        madis = parent.madis;
+        compileOnlyBaseDir = parent.compileOnlyBaseDir;
+        graphFilePath = parent.graphFilePath;
+        verifyGraphFiles = parent.verifyGraphFiles;
+        planCache = parent.planCache;
+        metadataResolver = parent.metadataResolver;
+        stageTraversalWorkers = parent.stageTraversalWorkers;
+    }
+
     public void start() throws Exception {
         this.start(false, 0 , 0);
     }
@@ -112,6 +177,7 @@ public class HiveTestCluster {
         hiveConf = new HiveConf(conf, 
                 org.apache.hadoop.hive.ql.exec.CopyTask.class);
         miniHS2 = new MiniHS2(hiveConf, true, numberOfDataNodes, numberOfTaskTrackers);
+        restoreMetastoreSnapshot(miniHS2.getDfs().getFileSystem(), miniHS2.getWareHouseDir());
         confOverlay = new HashMap<String, String>();
         confOverlay.put(ConfVars.HIVE_SUPPORT_CONCURRENCY.varname, "false");
         confOverlay.put(ConfVars.HADOOPNUMREDUCERS.varname, Integer.toString(numOfReducers));
@@ -138,6 +204,7 @@ public class HiveTestCluster {
 
         miniHS2.start(confOverlay);
         fs = miniHS2.getDfs().getFileSystem();
+        restoreWarehouseSnapshot(miniHS2.getWareHouseDir());
         SessionState ss = new SessionState(hiveConf);
 
         SessionState.start(ss);
@@ -156,6 +223,7 @@ public class HiveTestCluster {
         hiveConf = new HiveConf(conf,
                 org.apache.hadoop.hive.ql.exec.CopyTask.class);
         miniHS2 = new MiniHS2(hiveConf, true, numberOfDataNodes, numberOfTaskTrackers, startFolder, warehouseFolder);
+        restoreMetastoreSnapshot(miniHS2.getDfs().getFileSystem(), miniHS2.getWareHouseDir());
         confOverlay = new HashMap<String, String>();
         confOverlay.put(ConfVars.HIVE_SUPPORT_CONCURRENCY.varname, "false");
         confOverlay.put(ConfVars.HADOOPNUMREDUCERS.varname, Integer.toString(numOfReducers));
@@ -182,6 +250,7 @@ public class HiveTestCluster {
 
         miniHS2.start(confOverlay);
         fs = miniHS2.getDfs().getFileSystem();
+        restoreWarehouseSnapshot(miniHS2.getWareHouseDir());
         SessionState ss = new SessionState(hiveConf);
 
         SessionState.start(ss);
@@ -194,12 +263,193 @@ public class HiveTestCluster {
         clusterInfo.flush();
 
     }
+
+    /*---Compile-only profile: an embedded Derby metastore and a warehouse on the local FileSystem without MiniDFS,---*/
+    /*---MiniMR or HiveServer2. Statements still go through the same SessionState and Driver so the QueryPlans    ---*/
+    /*---are the ones createExaremeOutputFromExec expects. Anything that has to run (DDL, loads) runs locally.    ---*/
+    /*---If baseFolder is null or empty a temporary folder is used and deleted on stop()                          ---*/
+    public void startCompileOnly(boolean dynamicPartitioning, int maxParts, int maxPartPerNode, String baseFolder) throws Exception {
+        long startTime = System.currentTimeMillis();
+
+        if((baseFolder == null) || (baseFolder.isEmpty())){
+            compileOnlyBaseDir = java.nio.file.Files.createTempDirectory("hiveCompileOnly").toFile();
+            deleteCompileOnlyBaseDir = true;
+        }
+        else{
+            compileOnlyBaseDir = new File(baseFolder).getAbsoluteFile();
+            compileOnlyBaseDir.mkdirs();
+            deleteCompileOnlyBaseDir = false;
+        }
+
+        Configuration conf = new Configuration();
+        conf.set("fs.defaultFS", "file:///");
+        hiveConf = new HiveConf(conf,
+                org.apache.hadoop.hive.ql.exec.CopyTask.class);
+
+        String metaStoreURL = "jdbc:derby:" + compileOnlyBaseDir.getPath() + File.separator + "metastore_db;create=true";
+        System.setProperty(ConfVars.METASTORECONNECTURLKEY.varname, metaStoreURL);
+        hiveConf.setVar(ConfVars.METASTORECONNECTURLKEY, metaStoreURL);
+        hiveConf.setVar(ConfVars.METASTOREURIS, ""); //Embedded metastore, no Thrift service
+
+        File wareHouseDir = new File(compileOnlyBaseDir, "adpHive");
+        wareHouseDir.mkdirs();
+        hiveConf.setVar(ConfVars.METASTOREWAREHOUSE, wareHouseDir.toURI().toString());
+
+        String scratchDir = compileOnlyBaseDir.getPath() + File.separator + "scratch";
+        System.setProperty(ConfVars.SCRATCHDIR.varname, scratchDir);
+        hiveConf.setVar(ConfVars.SCRATCHDIR, scratchDir);
+        String localScratchDir = compileOnlyBaseDir.getPath() + File.separator + "localScratch";
+        System.setProperty(ConfVars.LOCALSCRATCHDIR.varname, localScratchDir);
+        hiveConf.setVar(ConfVars.LOCALSCRATCHDIR, localScratchDir);
+
+        confOverlay = new HashMap<String, String>();
+        confOverlay.put(ConfVars.HIVE_SUPPORT_CONCURRENCY.varname, "false");
+        confOverlay.put(ConfVars.HADOOPNUMREDUCERS.varname, Integer.toString(numOfReducers));
+        confOverlay.put(ConfVars.EXECPARALLEL.varname, "false");
+        if(dynamicPartitioning == true) {
+            confOverlay.put(ConfVars.DYNAMICPARTITIONING.varname, "true");
+            clusterInfo.println("dynamicPartitioning=true");
+            clusterInfo.flush();
+            clusterInfo.println("maxPartitions(total)="+maxParts);
+            clusterInfo.flush();
+            clusterInfo.println("maxPartitions(perNode)="+maxPartPerNode);
+            clusterInfo.flush();
+            confOverlay.put(ConfVars.DYNAMICPARTITIONINGMODE.varname, "nonstrict");
+            confOverlay.put(ConfVars.DYNAMICPARTITIONMAXPARTS.varname, Integer.toString(maxParts));
+            confOverlay.put(ConfVars.DYNAMICPARTITIONMAXPARTSPERNODE.varname, Integer.toString(maxPartPerNode));
+        }
+        else{
+            clusterInfo.println("dynamicPartitioning=false");
+            clusterInfo.flush();
+        }
+        confOverlay.put(MRConfig.FRAMEWORK_NAME, MRConfig.LOCAL_FRAMEWORK_NAME);
+        for(Map.Entry<String, String> entry : confOverlay.entrySet()){ //No HiveServer2 to apply the overlay for us
+            hiveConf.set(entry.getKey(), entry.getValue());
+        }
+
+        fs = FileSystem.getLocal(hiveConf);
+        restoreMetastoreSnapshot(fs, new Path(wareHouseDir.toURI()));
+        restoreWarehouseSnapshot(new Path(wareHouseDir.toURI()));
+        SessionState ss = new SessionState(hiveConf);
+
+        SessionState.start(ss);
+
+        clusterInfo.println("Profile: compile-only");
+        clusterInfo.flush();
+        clusterInfo.println("Warehouse: "+hiveConf.getVar(ConfVars.METASTOREWAREHOUSE));
+        clusterInfo.flush();
+        clusterInfo.println("Exareme MiniCluster IP: "+exaremeMiniClusterIP);
+        clusterInfo.flush();
+        clusterInfo.println("Nodes: "+numberOfDataNodes);
+        clusterInfo.flush();
+
+        System.out.println("startCompileOnly: Embedded metastore and local warehouse ready in "+(System.currentTimeMillis() - startTime)+" ms");
+    }
     
     public FileSystem getFS() {
         return this.fs;
     }
+
+    public HiveConf getHiveConf() { //The MiniHS2 conf also holds the Metastore URIs it was started with
+        if (miniHS2 != null) {
+            return miniHS2.getHiveConf();
+        }
+        return hiveConf;
+    }
+
+    public void setGraphFilePath(String path, boolean verifyReload) {
+        graphFilePath = path;
+        verifyGraphFiles = verifyReload;
+    }
+
+    public void enablePlanCache(int maxEntries, String cacheDirectory) {
+        planCache = new ExaremePlanCache(maxEntries, cacheDirectory);
+    }
+
+    public ExaremePlanCache getPlanCache() {
+        return planCache;
+    }
+
+    /*---Called after files were written into tables behind Hive's back (see BulkLoader): no cached Table, Partition or plan is trusted---*/
+    public void invalidateCachedMetadata() {
+        metadataResolver.clear();
+        if(planCache != null){
+            planCache.clear();
+        }
+    }
+
+    /*---DDL/loads make the cached Tables and Partitions of the statement outputs stale, the Driver already knows them---*/
+    private void invalidateOutputsOf(CommandProcessor proc) {
+        if(proc instanceof Driver){
+            QueryPlan plan = ((Driver) proc).getPlan();
+            if(plan != null){
+                metadataResolver.invalidate(plan.getOutputs());
+            }
+        }
+    }
+
+    public void setStageTraversalParallelism(int workers) {
+        stageTraversalWorkers = workers;
+    }
+
+    public Map<String, String> getBranchChoiceReasons() {
+        return branchChoiceReasons;
+    }
+
+    public void setWarehouseSnapshotDir(String dir) { //Call before start()
+        warehouseSnapshotDir = dir;
+    }
+
+    public boolean isRestoredFromSnapshot() {
+        return restoredFromSnapshot;
+    }
+
+    private void restoreMetastoreSnapshot(FileSystem warehouseFS, Path wareHouseDir) { //Before the metastore is booted
+
+        restoredFromSnapshot = false;
+        if((warehouseSnapshotDir != null) && (WarehouseSnapshot.exists(warehouseSnapshotDir))){
+            WarehouseSnapshot.restoreMetastore(warehouseSnapshotDir, hiveConf, warehouseFS, wareHouseDir);
+            restoredFromSnapshot = true;
+        }
+    }
+
+    private void restoreWarehouseSnapshot(Path wareHouseDir) {
+
+        if(restoredFromSnapshot == true){
+            WarehouseSnapshot.restoreWarehouse(warehouseSnapshotDir, fs, wareHouseDir);
+            clusterInfo.println("Restored from snapshot: "+warehouseSnapshotDir);
+            clusterInfo.flush();
+        }
+    }
+
+    public void takeWarehouseSnapshot() { //Call once the setup script has loaded every table
+
+        if(warehouseSnapshotDir == null){
+            System.out.println("takeWarehouseSnapshot: No snapshot directory set!");
+            return;
+        }
+
+        Path wareHouseDir;
+        if(miniHS2 != null){
+            wareHouseDir = miniHS2.getWareHouseDir();
+        }
+        else{
+            wareHouseDir = new Path(hiveConf.getVar(ConfVars.METASTOREWAREHOUSE));
+        }
+        WarehouseSnapshot.take(warehouseSnapshotDir, hiveConf, fs, wareHouseDir);
+    }
     
     public void stop() throws Exception {
+        if(miniHS2 == null){ //Compile-only profile, nothing but the local folders to clean up
+            if((compileOnlyBaseDir != null) && (deleteCompileOnlyBaseDir == true)){
+                FileSystem.getLocal(hiveConf).delete(new Path(compileOnlyBaseDir.getAbsolutePath()), true);
+            }
+            if(clusterInfo != null) {
+                clusterInfo.close();
+            }
+            return;
+        }
+
         LocalFileSystem localFileSystem = FileSystem.getLocal(miniHS2.getHiveConf());
         miniHS2.stop();
         FileFilter filter = new FileFilter() {
@@ -224,7 +474,7 @@ public class HiveTestCluster {
         }
     }
 
-    public List<String> executeStatements(List<String> statements, PrintWriter compileLogFile, PrintWriter resultsLogFile, String exaremePlanPath, String flag, String madisPath, PrintWriter timesWriter, String caseLab) throws HiveSQLException {
+    public List<String> executeStatements(Iterable<String> statements, PrintWriter compileLogFile, PrintWriter resultsLogFile, String exaremePlanPath, String flag, String madisPath, PrintWriter timesWriter, String caseLab) throws HiveSQLException {
         List<String> results = new LinkedList<String>();
 
         madis = madisPath;
@@ -239,6 +489,268 @@ public class HiveTestCluster {
         return results;
     }
 
+    /*----------------PARALLEL BATCH EXTRACTION-------------------*/
+    /*---Query statements between two other statements (use, set, DDL, loads) do not depend on each other, */
+    /*---so every such run of queries is compiled and translated concurrently by a bounded pool of workers. */
+    /*---Each worker thread has its own SessionState, Driver and HiveTestCluster translation state against  */
+    /*---the shared MiniHS2 metastore. Any other statement waits for the queries before it and is run alone. */
+    /*---Logs and timings are written in statement order once every run of queries is done.                */
+
+    public List<String> executeStatementsInParallel(Iterable<String> statements, PrintWriter compileLogFile, String exaremePlanPath, String madisPath, PrintWriter timesWriter, String caseLab, int numberOfWorkers) throws HiveSQLException {
+        List<String> results = new LinkedList<String>();
+
+        madis = madisPath;
+
+        List<String> queries = new LinkedList<>();
+        List<Long> queryNumbers = new LinkedList<>();
+
+        long i = 1;
+        for (String statement : statements) {
+            if(isTranslatableStatement(statement)){
+                queries.add(statement);
+                queryNumbers.add(i);
+            }
+            else{
+                extractPlansInParallel(queries, queryNumbers, compileLogFile, exaremePlanPath, timesWriter, caseLab, numberOfWorkers);
+                queries.clear();
+                queryNumbers.clear();
+                results.addAll(processStatement(statement, compileLogFile, null, exaremePlanPath, "EXAREME_BATCH", i, timesWriter, caseLab));
+            }
+            i++;
+        }
+        extractPlansInParallel(queries, queryNumbers, compileLogFile, exaremePlanPath, timesWriter, caseLab, numberOfWorkers);
+
+        return results;
+    }
+
+    private void extractPlansInParallel(List<String> queries, List<Long> queryNumbers, PrintWriter compileLogFile, String exaremePlanPath, final PrintWriter timesWriter, final String caseLab, int numberOfWorkers) {
+
+        if(queries.size() == 0) return;
+
+        //Workers start from the configuration and database the main session has right now
+        final HiveConf segmentConf = new HiveConf(hiveConf);
+        final String currentDatabase = SessionState.get().getCurrentDatabase();
+        final HiveTestCluster parent = this;
+        final List<SessionState> workerSessions = Collections.synchronizedList(new LinkedList<SessionState>());
+        final ThreadLocal<HiveTestCluster> workers = new ThreadLocal<HiveTestCluster>() {
+            @Override
+            protected HiveTestCluster initialValue() {
+                HiveConf workerConf = new HiveConf(segmentConf);
+                SessionState ss = new SessionState(workerConf);
+                ss.setCurrentDatabase(currentDatabase);
+                SessionState.start(ss);
+                workerSessions.add(ss);
+                return new HiveTestCluster(parent, workerConf);
+            }
+        };
+
+        int poolSize = Math.min(numberOfWorkers, queries.size());
+        System.out.println("\nParallel Batch Mode: Extracting "+queries.size()+" queries with "+poolSize+" workers...\n");
+        ExecutorService pool = Executors.newFixedThreadPool(poolSize);
+
+        List<Future<String[]>> futures = new LinkedList<>();
+        for(int q = 0; q < queries.size(); q++){
+            final String query = queries.get(q);
+            final long number = queryNumbers.get(q);
+            final String planPath = exaremePlanPath;
+            futures.add(pool.submit(new Callable<String[]>() {
+                @Override
+                public String[] call() throws Exception {
+                    HiveTestCluster worker = workers.get();
+                    worker.lastNodeAssigned = -1; //Container assignment must not depend on which queries the worker did before
+
+                    StringWriter compileLog = new StringWriter();
+                    StringWriter timesLog = new StringWriter();
+                    PrintWriter compileLogWriter = new PrintWriter(compileLog);
+                    PrintWriter timesLogWriter = null;
+                    if(timesWriter != null) timesLogWriter = new PrintWriter(timesLog);
+
+                    worker.processStatementInBatch(new Driver(worker.hiveConf), query, compileLogWriter, planPath, "EXAREME_BATCH", number, timesLogWriter, caseLab);
+
+                    compileLogWriter.flush();
+                    if(timesLogWriter != null) timesLogWriter.flush();
+                    return new String[]{compileLog.toString(), timesLog.toString()};
+                }
+            }));
+        }
+
+        try {
+            for(Future<String[]> future : futures){
+                String[] logs = future.get();
+                compileLogFile.print(logs[0]);
+                compileLogFile.flush();
+                if(timesWriter != null){
+                    timesWriter.print(logs[1]);
+                    timesWriter.flush();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for parallel plan extraction", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Parallel plan extraction failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+            closeWorkerSessions(pool, workerSessions);
+        }
+    }
+
+    /*---Closes the SessionStates the pool threads started (scratch dirs, class loaders) once the threads are done---*/
+    private void closeWorkerSessions(ExecutorService pool, List<SessionState> workerSessions) {
+        try {
+            if(pool.awaitTermination(60, TimeUnit.SECONDS) == false){
+                System.out.println("Worker threads still running, closing their sessions anyway...");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (workerSessions) {
+            for(SessionState ss : workerSessions){
+                try {
+                    ss.close();
+                } catch (IOException e) {
+                    System.out.println("Failed to close worker SessionState: "+e.getMessage());
+                }
+            }
+            workerSessions.clear();
+        }
+    }
+
+    /*----------------DEPENDENCY AWARE SETUP EXECUTION-------------------*/
+    /*---Statements of a setup script (CREATE TABLE, LOAD, INSERT...) are grouped into runs between    */
+    /*---statements without tables (use, set, add jar...). Every run becomes a StatementDependencyGraph */
+    /*---of its read/write table sets and a statement starts as soon as the earlier statements it       */
+    /*---shares tables with are done, each worker thread with its own SessionState. Statements without  */
+    /*---tables run alone on the main session. Results are returned in script order.                    */
+
+    public List<String> executeSetupStatementsInParallel(Iterable<String> statements, int numberOfWorkers) {
+        List<String> results = new LinkedList<String>();
+
+        StatementDependencyGraph graph = new StatementDependencyGraph();
+        long i = 1;
+        for (String statement : statements) {
+            StatementDependencyGraph.TableAccess access = StatementDependencyGraph.analyse(statement, SessionState.get().getCurrentDatabase());
+            if(access != null){
+                graph.add(statement, access);
+            }
+            else{
+                results.addAll(runStatementGraph(graph, numberOfWorkers));
+                graph.clear();
+                results.addAll(processStatement(statement, null, null, null, null, i, null, null));
+            }
+            i++;
+        }
+        results.addAll(runStatementGraph(graph, numberOfWorkers));
+
+        return results;
+    }
+
+    private List<String> runStatementGraph(StatementDependencyGraph graph, int numberOfWorkers) {
+
+        List<String> results = new LinkedList<String>();
+        if(graph.size() == 0) return results;
+
+        //Workers start from the configuration and database the main session has right now
+        final HiveConf segmentConf = new HiveConf(hiveConf);
+        final String currentDatabase = SessionState.get().getCurrentDatabase();
+        final List<SessionState> workerSessions = Collections.synchronizedList(new LinkedList<SessionState>());
+        final ThreadLocal<HiveConf> workers = new ThreadLocal<HiveConf>() {
+            @Override
+            protected HiveConf initialValue() {
+                HiveConf workerConf = new HiveConf(segmentConf);
+                SessionState ss = new SessionState(workerConf);
+                ss.setCurrentDatabase(currentDatabase);
+                SessionState.start(ss);
+                workerSessions.add(ss);
+                return workerConf;
+            }
+        };
+
+        int poolSize = Math.max(1, Math.min(numberOfWorkers, graph.size()));
+        System.out.println("\nParallel Setup: Running "+graph.size()+" statements with "+poolSize+" workers...\n");
+        ExecutorService pool = Executors.newFixedThreadPool(poolSize);
+        ExecutorCompletionService<Integer> completions = new ExecutorCompletionService<>(pool);
+
+        //A statement is submitted once every earlier statement it shares tables with is done, so no worker waits for another
+        final List<List<String>> statementResults = new ArrayList<>(graph.size());
+        int[] pendingDependencies = new int[graph.size()];
+        List<List<Integer>> dependents = new ArrayList<>(graph.size());
+        for(int s = 0; s < graph.size(); s++){
+            statementResults.add(null);
+            dependents.add(new LinkedList<Integer>());
+        }
+        LinkedList<Integer> ready = new LinkedList<>();
+        for(int s = 0; s < graph.size(); s++){
+            System.out.println("Parallel Setup: Statement:["+graph.getStatement(s)+"] "+graph.getAccess(s)+" waits for: "+graph.getDependencies(s));
+            pendingDependencies[s] = graph.getDependencies(s).size();
+            for(Integer d : graph.getDependencies(s)){
+                dependents.get(d).add(s);
+            }
+            if(pendingDependencies[s] == 0) ready.add(s);
+        }
+
+        try {
+            int running = 0;
+            int done = 0;
+            while(done < graph.size()){
+                while(ready.isEmpty() == false){
+                    final int s = ready.removeFirst();
+                    final String statement = graph.getStatement(s);
+                    completions.submit(new Callable<Integer>() {
+                        @Override
+                        public Integer call() throws Exception {
+                            HiveConf workerConf = workers.get();
+                            Driver driver = new Driver(workerConf);
+                            try {
+                                CommandProcessorResponse response = driver.run(statement);
+                                invalidateOutputsOf(driver);
+                                if(response.getResponseCode() != 0){
+                                    throw new RuntimeException("Statement:["+statement+"] failed: "+response.getErrorMessage(), response.getException());
+                                }
+
+                                List<String> rows = new LinkedList<String>();
+                                driver.setMaxRows(1000000);
+                                driver.getResults(rows);
+                                statementResults.set(s, rows);
+                            } finally {
+                                driver.close();
+                            }
+                            return s;
+                        }
+                    });
+                    running++;
+                }
+
+                if(running == 0){ //Cannot happen for a graph whose statements only depend on earlier ones
+                    throw new IllegalStateException("Parallel setup: no statement is ready but "+(graph.size() - done)+" are left");
+                }
+
+                int finished = completions.take().get(); //The first failure is thrown here, the finally block cancels the rest
+                running--;
+                done++;
+                for(Integer d : dependents.get(finished)){
+                    pendingDependencies[d]--;
+                    if(pendingDependencies[d] == 0) ready.add(d);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for parallel setup", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Parallel setup failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+            closeWorkerSessions(pool, workerSessions);
+        }
+
+        for(List<String> r : statementResults){ //Script order
+            results.addAll(r);
+        }
+
+        return results;
+    }
+
     public int assignNextNode(){
 
         if(exaNodes == 1){
@@ -307,7 +819,16 @@ public class HiveTestCluster {
 
     public void diveFromOperatorRoot(org.apache.hadoop.hive.ql.exec.Operator rootOperator, List<org.apache.hadoop.hive.ql.exec.Operator> discoveredOperators){
 
-        if(discoveredOperators.contains(rootOperator)){
+        Set<org.apache.hadoop.hive.ql.exec.Operator> discoveredSet = Collections.newSetFromMap(new IdentityHashMap<org.apache.hadoop.hive.ql.exec.Operator, Boolean>());
+        discoveredSet.addAll(discoveredOperators);
+
+        diveFromOperatorRoot(rootOperator, discoveredOperators, discoveredSet);
+    }
+
+    /*---discoveredSet holds the same Operators as discoveredOperators (by identity) to make the visited check O(1)---*/
+    public void diveFromOperatorRoot(org.apache.hadoop.hive.ql.exec.Operator rootOperator, List<org.apache.hadoop.hive.ql.exec.Operator> discoveredOperators, Set<org.apache.hadoop.hive.ql.exec.Operator> discoveredSet){
+
+        if(discoveredSet.add(rootOperator) == false){
             System.out.println("Operator: "+rootOperator.getOperatorId()+" has already been discovered before!");
             return;
         }
@@ -320,7 +841,7 @@ public class HiveTestCluster {
         if(children != null) {
             for (org.apache.hadoop.hive.ql.exec.Operator op : children) {
                 System.out.println("Operator: "+rootOperator.getOperatorId()+" has child: "+op.getOperatorId());
-                diveFromOperatorRoot(op, discoveredOperators);
+                diveFromOperatorRoot(op, discoveredOperators, discoveredSet);
             }
         }
         else{
@@ -329,7 +850,12 @@ public class HiveTestCluster {
         }
     }
 
-    public void diveInStageFromRootExec(Task stage, List<org.apache.hadoop.hive.ql.exec.Operator> previousFinalOperators, ExaremeGraph exaremeGraph, List<Task> visitedStages){
+    public void diveInStageFromRootExec(Task stage, List<org.apache.hadoop.hive.ql.exec.Operator> previousFinalOperators, ExaremeGraph exaremeGraph, Set<Task> visitedStages){
+        diveInStageFromRootExec(stage, previousFinalOperators, exaremeGraph, visitedStages, null, null);
+    }
+
+    /*---If allowedStages is not null the dive stops at child Stages outside of it and records them in deferredDives---*/
+    private void diveInStageFromRootExec(Task stage, List<org.apache.hadoop.hive.ql.exec.Operator> previousFinalOperators, ExaremeGraph exaremeGraph, Set<Task> visitedStages, Set<Task> allowedStages, List<DeferredStageDive> deferredDives){
 
         List<org.apache.hadoop.hive.ql.exec.Operator> leaves = new LinkedList<>();
         boolean alreadyVisited = false;
@@ -341,10 +867,8 @@ public class HiveTestCluster {
             System.out.println("diveInStageFromRootExec: PreviousFinals were: "+previousFinalOperators.toString());
         }
 
-        for(Task tempS : visitedStages){
-            if(tempS.getId().equals(stage.getId())){
-                alreadyVisited = true;
-            }
+        if(visitedStages.contains(stage)){
+            alreadyVisited = true;
         }
 
         Collection<org.apache.hadoop.hive.ql.exec.Operator<? extends OperatorDesc>> topOps = new LinkedList<>(); //Get Operator Graph roots
@@ -367,8 +891,14 @@ public class HiveTestCluster {
                             }
 
                             if(topOps.size() > 0){
-                                for(org.apache.hadoop.hive.ql.exec.Operator root : topOps) {
-                                    diveFromOperatorRoot(root, stageOperators);
+                                if(alreadyVisited == false) { //Operators of a visited Stage are already in the Graph, no need to dive again
+                                    StageOperators mapPart = getStageOperators((Task<? extends Serializable>) stage); //The reduce part is not linked yet, the top Operators only reach the map part
+                                    if(mapPart.operators != null){
+                                        stageOperators.addAll(mapPart.operators);
+                                    }
+                                    if(mapPart.leaves != null){
+                                        leaves.addAll(mapPart.leaves);
+                                    }
                                 }
 
                                 if(alreadyVisited == false) {
@@ -400,26 +930,8 @@ public class HiveTestCluster {
                                     System.out.println("diveInStageFromRootExec: Edges of this Stage are already added...");
                                 }
 
-                                if(alreadyVisited == false) {
-                                    //Build leaves (final Nodes to connect with next roots)
-                                    System.out.println("diveInStageFromRootExec: Creating new leaves...");
-                                    for (org.apache.hadoop.hive.ql.exec.Operator tempOp : stageOperators) {
-                                        if(tempOp.getChildOperators() != null){
-                                            List<Operator <? extends OperatorDesc>> children = ((List<Operator <? extends OperatorDesc>>) tempOp.getChildOperators());
-                                            if(children.size() == 0){
-                                                leaves.add(tempOp);
-                                            }
-                                        }
-                                        else{
-                                            leaves.add(tempOp);
-                                        }
-                                    }
-                                }
-                                else{
-                                    System.out.println("diveInStageFromRoot: Leaves of this Stage have already been created..");
-                                }
-
                                 if(alreadyVisited == true) {
+                                    System.out.println("diveInStageFromRoot: Leaves of this Stage have already been created..");
                                     return;
                                 }
 
@@ -436,8 +948,10 @@ public class HiveTestCluster {
                         Set<Operator<?>> reduceRoots = reduceWork.getAllRootOperators();
                         if(reduceRoots != null){
                             if(reduceRoots.size() > 0){
+                                Set<org.apache.hadoop.hive.ql.exec.Operator> stageOperatorsSet = Collections.newSetFromMap(new IdentityHashMap<org.apache.hadoop.hive.ql.exec.Operator, Boolean>());
+                                stageOperatorsSet.addAll(stageOperators);
                                 for(org.apache.hadoop.hive.ql.exec.Operator root : reduceRoots) {
-                                    diveFromOperatorRoot(root, stageOperators);
+                                    diveFromOperatorRoot(root, stageOperators, stageOperatorsSet);
                                     root.setParentOperators(leaves);
                                     for(Operator<?> l : leaves){
                                         if(l != null){
@@ -453,6 +967,7 @@ public class HiveTestCluster {
                                                 }
                                                 paidia.add(root);
                                             }
+                                            forgetStageOperators(l); //The map leaves are not leaves of the Stage anymore
                                             l.setChildOperators(paidia);
 
                                             DirectedEdge myEdge = new DirectedEdge(l.getOperatorId(), root.getOperatorId(),  "DON'T KNOW");
@@ -523,8 +1038,12 @@ public class HiveTestCluster {
 
             if (topOps.size() > 0) { //
                 List<org.apache.hadoop.hive.ql.exec.Operator> stageOperators = new LinkedList<>();
-                for (org.apache.hadoop.hive.ql.exec.Operator root : topOps) {
-                    diveFromOperatorRoot(root, stageOperators);
+                StageOperators memoized = null;
+                if (alreadyVisited == false) { //Operators of a visited Stage are already in the Graph, no need to dive again
+                    memoized = getStageOperators((Task<? extends Serializable>) stage); //Same DFS order as diveFromOperatorRoot
+                    if (memoized.operators != null) {
+                        stageOperators.addAll(memoized.operators);
+                    }
                 }
 
                 if (alreadyVisited == false) {
@@ -569,17 +1088,9 @@ public class HiveTestCluster {
             }*/
 
                 if (alreadyVisited == false) {
-                    //Build leaves (final Nodes to connect with next roots)
-                    System.out.println("diveInStageFromRootExec: Creating new leaves...");
-                    for (org.apache.hadoop.hive.ql.exec.Operator tempOp : stageOperators) {
-                        if (tempOp.getChildOperators() != null) {
-                            List<Operator<? extends OperatorDesc>> children = ((List<Operator<? extends OperatorDesc>>) tempOp.getChildOperators());
-                            if (children.size() == 0) {
-                                leaves.add(tempOp);
-                            }
-                        } else {
-                            leaves.add(tempOp);
-                        }
+                    //Leaves (final Nodes to connect with next roots) come with the memoized Operators
+                    if (memoized.leaves != null) {
+                        leaves.addAll(memoized.leaves);
                     }
                 } else {
                     System.out.println("diveInStageFromRoot: Leaves of this Stage have already been created..");
@@ -631,6 +1142,7 @@ public class HiveTestCluster {
                                                                         }
                                                                         if (children.contains(op) == false) {
                                                                             children.add(op);
+                                                                            forgetStageOperators(leaf); //The leaf of the previous Stage has a child now
                                                                             leaf.setChildOperators(children);
                                                                         }
 
@@ -678,7 +1190,12 @@ public class HiveTestCluster {
                         System.out.println("diveInStageFromRootExec: FROM: "+stage.getId()+" Moving to child: "+childStage.getId()+" with finalOps: "+nextLeaves.toString());
                     else
                         System.out.println("diveInStageFromRootExec: FROM: "+stage.getId()+" Moving to child: "+childStage.getId()+" with finalOps: NULL");
-                    diveInStageFromRootExec(childStage, nextLeaves, exaremeGraph, visitedStages);
+                    if((allowedStages != null) && (allowedStages.contains(childStage) == false)){ //Join Stage, dived into once all fragments are merged
+                        System.out.println("diveInStageFromRootExec: Deferring dive into join Stage: "+childStage.getId());
+                        deferredDives.add(new DeferredStageDive(childStage, nextLeaves, exaremeGraph.getNodesList().size(), exaremeGraph.getEdges().size()));
+                        continue;
+                    }
+                    diveInStageFromRootExec(childStage, nextLeaves, exaremeGraph, visitedStages, allowedStages, deferredDives);
                 }
             }
             else{
@@ -695,11 +1212,139 @@ public class HiveTestCluster {
 
     }
 
+    /*---A child Stage a fragment reached together with the leaves it reached it with, and how much of the fragment existed then---*/
+    private static class DeferredStageDive {
+        Task stage;
+        List<org.apache.hadoop.hive.ql.exec.Operator> previousFinalOperators;
+        int fragmentNodes; //Nodes of the fragment added before the dive was deferred
+        int fragmentEdges; //Edges of the fragment added before the dive was deferred
+
+        DeferredStageDive(Task s, List<org.apache.hadoop.hive.ql.exec.Operator> finals, int nodes, int edges) {
+            stage = s;
+            previousFinalOperators = finals;
+            fragmentNodes = nodes;
+            fragmentEdges = edges;
+        }
+    }
+
+    /*---Dives from an independent root Stage into its own ExaremeGraph fragment, stopping at join Stages---*/
+    private class StageFragmentTask extends RecursiveTask<ExaremeGraph> {
+        Task root;
+        Set<Task> allowedStages;
+        Set<Task> visitedStages = Collections.newSetFromMap(new IdentityHashMap<Task, Boolean>());
+        List<DeferredStageDive> deferredDives = new LinkedList<>();
+
+        StageFragmentTask(Task r, Set<Task> allowed) {
+            root = r;
+            allowedStages = allowed;
+        }
+
+        @Override
+        protected ExaremeGraph compute() {
+            ExaremeGraph fragment = new ExaremeGraph("Fragment of Stage: " + root.getId());
+            diveInStageFromRootExec(root, null, fragment, visitedStages, allowedStages, deferredDives);
+            return fragment;
+        }
+    }
+
+    public void collectDependentStages(Task stage, Set<Task> reachable){
+
+        if(reachable.add(stage) == false) return;
+
+        List<Task> dependents = stage.getDependentTasks();
+        if(dependents != null){
+            for(Task t : dependents){
+                collectDependentStages(t, reachable);
+            }
+        }
+    }
+
+    /*---Parallel version of diving from every root Stage. Stages reachable from exactly one root are private to it,  ---*/
+    /*---so every root that is itself private builds an ExaremeGraph fragment of its private Stages on a ForkJoinPool.---*/
+    /*---Fragments are merged in root order and then the join Stages (and roots reachable from other roots) are dived ---*/
+    /*---into sequentially, with the leaves each fragment reached them with                                          ---*/
+    public void diveInRootStagesInParallel(List<org.apache.hadoop.hive.ql.exec.Task<? extends java.io.Serializable>> roots, ExaremeGraph exaremeGraph, Set<Task> visitedStages){
+
+        Map<Task, Integer> reachedBy = new IdentityHashMap<>(); //Stage -> number of roots it can be reached from
+        for(Task root : roots){
+            Set<Task> reachable = Collections.newSetFromMap(new IdentityHashMap<Task, Boolean>());
+            collectDependentStages(root, reachable);
+            for(Task t : reachable){
+                Integer count = reachedBy.get(t);
+                if(count == null) reachedBy.put(t, 1);
+                else reachedBy.put(t, count + 1);
+            }
+        }
+
+        Set<Task> privateStages = Collections.newSetFromMap(new IdentityHashMap<Task, Boolean>());
+        for(Map.Entry<Task, Integer> entry : reachedBy.entrySet()){
+            if(entry.getValue() == 1) privateStages.add(entry.getKey());
+        }
+
+        List<StageFragmentTask> fragmentTasks = new LinkedList<>(); //Same position as roots, null if the root is not independent
+        List<ExaremeGraph> fragments = new LinkedList<>();
+        ForkJoinPool pool = new ForkJoinPool(stageTraversalWorkers);
+        try{
+            for(Task root : roots){
+                if(privateStages.contains(root)){
+                    StageFragmentTask fragmentTask = new StageFragmentTask(root, privateStages);
+                    pool.execute(fragmentTask);
+                    fragmentTasks.add(fragmentTask);
+                }
+                else{
+                    fragmentTasks.add(null);
+                }
+            }
+            for(StageFragmentTask fragmentTask : fragmentTasks){
+                if(fragmentTask != null) fragments.add(fragmentTask.join());
+                else fragments.add(null);
+            }
+        }
+        finally {
+            pool.shutdown();
+        }
+
+        //Fragments, join Stages and dependent roots in stage order: each fragment is merged up to the point it deferred
+        //a join Stage, the join Stage is dived into, then the rest of the fragment follows, as a sequential dive adds them
+        int merged = 0;
+        for(int i = 0; i < roots.size(); i++){
+            StageFragmentTask fragmentTask = fragmentTasks.get(i);
+            if(fragmentTask == null){
+                System.out.println("diveInRootStagesInParallel: Diving from Root Stage: " + roots.get(i).getId());
+                diveInStageFromRootExec(roots.get(i), null, exaremeGraph, visitedStages);
+                continue;
+            }
+
+            ExaremeGraph fragment = fragments.get(i);
+            visitedStages.addAll(fragmentTask.visitedStages); //The join Stages are not in a fragment, only their dives can visit them
+            int nodesMerged = 0;
+            int edgesMerged = 0;
+            for(DeferredStageDive deferred : fragmentTask.deferredDives){
+                exaremeGraph.mergeFragment(fragment, nodesMerged, deferred.fragmentNodes, edgesMerged, deferred.fragmentEdges);
+                nodesMerged = deferred.fragmentNodes;
+                edgesMerged = deferred.fragmentEdges;
+                System.out.println("diveInRootStagesInParallel: Diving into join Stage: " + deferred.stage.getId() + " from Root Stage: " + roots.get(i).getId());
+                diveInStageFromRootExec(deferred.stage, deferred.previousFinalOperators, exaremeGraph, visitedStages);
+            }
+            exaremeGraph.mergeFragment(fragment, nodesMerged, fragment.getNodesList().size(), edgesMerged, fragment.getEdges().size());
+            merged++;
+        }
+        System.out.println("diveInRootStagesInParallel: Merged "+merged+" fragments for "+roots.size()+" root Stages!");
+    }
+
     public void discoverOpsFromRoot(Operator<? extends Serializable> op, List<Operator <? extends Serializable>> allOperators){
 
+        Set<Operator<? extends Serializable>> allOperatorsSet = Collections.newSetFromMap(new IdentityHashMap<Operator<? extends Serializable>, Boolean>());
+        allOperatorsSet.addAll(allOperators);
+
+        discoverOpsFromRoot(op, allOperators, allOperatorsSet);
+    }
+
+    public void discoverOpsFromRoot(Operator<? extends Serializable> op, List<Operator <? extends Serializable>> allOperators, Set<Operator<? extends Serializable>> allOperatorsSet){
+
         boolean contains = false;
 
-        if(allOperators.contains(op)) contains = true;
+        if(allOperatorsSet.add(op) == false) contains = true;
 
         /*for(Operator<? extends Serializable> o1 : allOperators){
             if(o1.getOperatorId().equals(op.getOperatorId())){
@@ -718,7 +1363,7 @@ public class HiveTestCluster {
             List<Operator<? extends OperatorDesc>> children = op.getChildOperators();
             if(children.size() > 0){
                 for(Operator<? extends OperatorDesc> o1 : children){
-                    discoverOpsFromRoot(o1, allOperators);
+                    discoverOpsFromRoot(o1, allOperators, allOperatorsSet);
                 }
             }
         }
@@ -727,62 +1372,87 @@ public class HiveTestCluster {
 
     }
 
-    public List<Operator <? extends Serializable>> discoverAllStageOperators(Task<? extends Serializable> task){
+    /*---Operators of a Stage (DFS from its top Operators) and the ones without children, shared by every lookup of the Stage---*/
+    private static class StageOperators {
+        List<Operator<? extends Serializable>> operators;
+        List<Operator<? extends Serializable>> leaves;
 
-        if(task.getTopOperators() == null){
-            return null;
+        StageOperators(List<Operator<? extends Serializable>> ops, List<Operator<? extends Serializable>> l) {
+            operators = ops;
+            leaves = l;
         }
+    }
 
-        List<Operator <? extends Serializable>> topOps = ((List<Operator <? extends Serializable>>) task.getTopOperators());
+    public List<Operator <? extends Serializable>> discoverAllStageOperators(Task<? extends Serializable> task){
+        return getStageOperators(task).operators;
+    }
 
-        if(topOps.size() == 0) return null;
+    /*---Walks the Stage only if it is not memoized, or was forgotten because linking gave one of its Operators new children---*/
+    private StageOperators getStageOperators(Task<? extends Serializable> task){
 
-        List<Operator <? extends Serializable>> allOperators = new LinkedList<>();
+        StageOperators memoized = stageOperatorsMemo.get(task);
+        if(memoized != null){
+            return memoized;
+        }
 
-        for(Operator<? extends Serializable> op : topOps){
-            if(op != null){
-                discoverOpsFromRoot(op, allOperators);
+        List<Operator <? extends Serializable>> allOperators = discoverAllStageOperatorsNoMemo(task);
+        List<Operator <? extends Serializable>> leaves = null;
+
+        if(allOperators != null){
+            leaves = new LinkedList<>();
+            for(Operator<? extends Serializable> o1 : allOperators){
+                if((o1.getChildOperators() == null) || (o1.getChildOperators().size() == 0)){
+                    leaves.add(o1);
+                }
+                memoizedStageOfOperator.put(o1, task);
             }
+            if(leaves.size() == 0) leaves = null;
         }
 
-        if(allOperators.size() == 0 ) return null;
+        memoized = new StageOperators(allOperators, leaves);
+        stageOperatorsMemo.put(task, memoized);
 
-        return allOperators;
+        return memoized;
+    }
+
+    /*---Called before the children of an Operator change: the Stage it was memoized for has other operators and leaves now---*/
+    private void forgetStageOperators(Operator<?> changedOperator){
+
+        Task<? extends Serializable> stage = memoizedStageOfOperator.get(changedOperator);
+        if(stage == null){
+            return;
+        }
 
+        StageOperators forgotten = stageOperatorsMemo.remove(stage);
+        if((forgotten != null) && (forgotten.operators != null)){
+            for(Operator<? extends Serializable> o1 : forgotten.operators){
+                memoizedStageOfOperator.remove(o1);
+            }
+        }
     }
 
-    public List<Operator <? extends Serializable>> getStageOperatorLeaves(Task<? extends java.io.Serializable> task){
+    private List<Operator <? extends Serializable>> discoverAllStageOperatorsNoMemo(Task<? extends Serializable> task){
 
         if(task.getTopOperators() == null){
             return null;
         }
 
-        List<Operator <? extends Serializable>> topOps = ((List<Operator <? extends Serializable>>) task.getTopOperators());
+        Collection<Operator <? extends Serializable>> topOps = ((Collection<Operator <? extends Serializable>>) task.getTopOperators()); //The alias to work values for a MapRedTask, not a List
 
         if(topOps.size() == 0) return null;
 
-        List<Operator <? extends Serializable>> leaves = new LinkedList<>();
-
-        List<Operator <? extends Serializable>> allOperators = discoverAllStageOperators(task);
-
-        if(allOperators == null){
-            return null;
-        }
+        List<Operator <? extends Serializable>> allOperators = new LinkedList<>();
+        Set<Operator<? extends Serializable>> allOperatorsSet = Collections.newSetFromMap(new IdentityHashMap<Operator<? extends Serializable>, Boolean>());
 
-        for(Operator<? extends Serializable> o1 : allOperators){
-            if(o1.getChildOperators() != null) {
-                List<Operator <? extends OperatorDesc>> children = o1.getChildOperators();
-                if(children.size() == 0)
-                    leaves.add(o1);
-            }
-            else{
-                leaves.add(o1);
+        for(Operator<? extends Serializable> op : topOps){
+            if(op != null){
+                discoverOpsFromRoot(op, allOperators, allOperatorsSet);
             }
         }
 
-        if(leaves.size() == 0) return null;
+        if(allOperators.size() == 0 ) return null;
 
-        return leaves;
+        return allOperators;
 
     }
 
@@ -791,7 +1461,9 @@ public class HiveTestCluster {
         if(stages != null){
             if(stages.size() > 0){
                 System.out.println("Shrinking Conditional Tasks...");
-                List<Task<? extends Serializable>> bannedStages = new LinkedList<>();
+                Set<Task<? extends Serializable>> bannedStages = Collections.newSetFromMap(new IdentityHashMap<Task<? extends Serializable>, Boolean>());
+                ConditionalBranchChooser branchChooser = new ConditionalBranchChooser(hiveConf, exaNodes);
+                branchChoiceReasons.clear();
                 for(org.apache.hadoop.hive.ql.exec.Task<? extends java.io.Serializable> t : stages){ //Make every conditional Task have only 1 child
                     if(t != null){
                         System.out.println("STAGE: "+t.getId()+" has children...");
@@ -813,20 +1485,32 @@ public class HiveTestCluster {
                                     wantedChild = null;
                                     for(org.apache.hadoop.hive.ql.exec.Task<? extends java.io.Serializable> child : children){
                                         if(child != null) {
-                                            if(child.getTopOperators() != null) {
-                                                if (numberTopOps > child.getTopOperators().size()) {
-                                                    numberTopOps = child.getTopOperators().size();
+                                            Collection<? extends Operator<?>> childTopOperators = child.getTopOperators(); //Only the roots are counted, the branch is walked once when it is dived into
+                                            if(childTopOperators != null) {
+                                                if (numberTopOps > childTopOperators.size()) {
+                                                    numberTopOps = childTopOperators.size();
                                                     wantedChild = child;
                                                 }
                                             }
                                             bannedStages.add(child);
                                         }
                                     }
+                                    String reason = null;
+                                    if(wantedChild != null){
+                                        reason = "Stage: "+t.getId()+" chose "+wantedChild.getId()+" (fewest top operators: "+numberTopOps+")";
+                                    }
+                                    ConditionalBranchChooser.Choice choice = branchChooser.choose(cd); //Statistics override the fewest top operators rule
+                                    if(choice != null){
+                                        wantedChild = choice.getBranch();
+                                        reason = choice.getReason();
+                                    }
                                     if(wantedChild == null){
                                         System.out.println("Error! Wanted Child is null!");
                                         System.exit(9);
                                     }
                                     bannedStages.remove(wantedChild);
+                                    branchChoiceReasons.put(t.getId(), reason);
+                                    System.out.println("simplifyStages: "+reason);
 
                                     List<org.apache.hadoop.hive.ql.exec.Task<? extends Serializable>> realChildrenList = new LinkedList<>();
                                     realChildrenList.add(wantedChild);
@@ -1006,15 +1690,26 @@ public class HiveTestCluster {
     public void discoverStages(List<org.apache.hadoop.hive.ql.exec.Task <?extends java.io.Serializable> > rootTasks, List<org.apache.hadoop.hive.ql.exec.Task <?extends java.io.Serializable> > stagesList){
 
         if(rootTasks != null){
+            Set<Task> stagesSet = Collections.newSetFromMap(new IdentityHashMap<Task, Boolean>());
+            stagesSet.addAll(stagesList);
             for(Task t : rootTasks){
-                discoverStagesFromRoot(t, stagesList);
+                discoverStagesFromRoot(t, stagesList, stagesSet);
             }
         }
     }
 
     public void discoverStagesFromRoot(Task rootTask, List<org.apache.hadoop.hive.ql.exec.Task <?extends java.io.Serializable> > stagesList){
 
-        if(stagesList.contains(rootTask)){
+        Set<Task> stagesSet = Collections.newSetFromMap(new IdentityHashMap<Task, Boolean>());
+        stagesSet.addAll(stagesList);
+
+        discoverStagesFromRoot(rootTask, stagesList, stagesSet);
+    }
+
+    /*---stagesSet holds the same Tasks as stagesList (by identity) to make the visited check O(1)---*/
+    public void discoverStagesFromRoot(Task rootTask, List<org.apache.hadoop.hive.ql.exec.Task <?extends java.io.Serializable> > stagesList, Set<Task> stagesSet){
+
+        if(stagesSet.add(rootTask) == false){
             return;
         }
 
@@ -1025,14 +1720,14 @@ public class HiveTestCluster {
         if(rootTask.getDependentTasks() != null){
             List<org.apache.hadoop.hive.ql.exec.Task <?extends java.io.Serializable> > dependents = rootTask.getDependentTasks();
             for(Task t1 : dependents){
-                discoverStagesFromRoot(t1, stagesList);
+                discoverStagesFromRoot(t1, stagesList, stagesSet);
             }
         }
 
         if(rootTask.getDependentTasks() != null){
             List<org.apache.hadoop.hive.ql.exec.Task <?extends java.io.Serializable> > children = rootTask.getDependentTasks();
             for(Task t2 : children){
-                discoverStagesFromRoot(t2, stagesList);
+                discoverStagesFromRoot(t2, stagesList, stagesSet);
             }
         }
 
@@ -1040,127 +1735,24 @@ public class HiveTestCluster {
     }
 
 
-    /*------Hive Input Tables Handling Methods--------*/
-
-    public String getDataBaseOfEntity(String entityString){
-        String dbName = "";
-
-        if(entityString.contains("@")){
-            String[] entityParts = entityString.split("@");
-            dbName = entityParts[0];
-        }
-        else{
-            System.out.println("Invalid entity string! Does not contain @!");
-            System.exit(1);
-        }
-
-        return dbName;
-
-    }
-
-    public boolean isPartition(String entityString){
-
-        if(entityString.contains("@")){
-            String[] entityParts = entityString.split("@");
-            if(entityParts.length == 2){ //IsTable
-                return false;
-            }
-            else {
-                if (entityParts.length == 1) {
-                    System.out.println("Invalid entity string! Does not contain anything after DBNAME!");
-                    System.exit(1);
-                }
-                else{
-                    return true;
-                }
-            }
-        }
-        else{
-            System.out.println("Invalid entity string! Does not contain @!");
-            System.exit(1);
-        }
-
-        return false;
-
-    }
-
-    public LinkedHashMap<String, String> getPartitionKeysAndValues(String partitionName){
-        //Name Should be beginning with @
-
-        LinkedHashMap<String, String> partitionKeyValuePairs = new LinkedHashMap<>();
-
-        if(partitionName.contains("@")){
-            String[] partitionDirs = partitionName.split("@");
-            for(String partition : partitionDirs){
-                if(partition.length() == 0) continue;
-                String[] keyValueTuple = partition.split("=");
-                partitionKeyValuePairs.put(keyValueTuple[0], keyValueTuple[1]);
-            }
-        }
-        else{
-            System.out.println("PartitionName does not contain any @!");
-            System.exit(0);
-        }
-
-        return partitionKeyValuePairs;
-
-    }
-
-    public String getTableNameOfEntity(String entityString){
-        String tbName = "";
-
-        if(entityString.contains("@")){
-            String[] entityParts = entityString.split("@");
-            tbName = entityParts[1];
-        }
-        else{
-            System.out.println("Invalid entity string! Does not contain @!");
-            System.exit(1);
-        }
-
-        return tbName;
-
-    }
-
-    public String getPartitionNameOfEntity(String entityString){
-        String partName = "@";
-
-        if(entityString.contains("@")){
-            String[] entityParts = entityString.split("@");
-            if(entityParts.length > 2){
-                for(int i=2; i < entityParts.length; i++){
-                    if(i == entityParts.length - 1)
-                        partName=partName+entityParts[i];
-                    else
-                        partName=partName+entityParts[i]+"@";
-                }
-            }
-            else{
-                System.out.println("Invalid entity string! Does not contain more than 2 @ for partition locating...!");
-                System.exit(1);
-            }
-        }
-        else{
-            System.out.println("Invalid entity string! Does not contain @!");
-            System.exit(1);
-        }
-
-        return partName;
-
-    }
-
     /*-----------------------------HIVE TO EXAREME PLAN CONVERSION-----------------------------*/
     /*----The Below method is the "main" method for Hive Plan to Exareme Plan translation------*/
-    /*----First we access the Hive Plan and use the above methods to locate the Input Tables---*/
+    /*----First we access the Hive Plan and resolve its Input/Output Tables (EntityMetadataResolver)---*/
     /*----Then we explored the Hive Plan and create an Graph of MapReduce Operators (ExaremeGraph)----*/
     /*----Then the ExaremeGraph will be fed to QueryBuilder in order to create a set of Exareme Operators---*/
     /*----and finally print the Exareme Plan                                                            ---*/
 
     public void createExaremeOutputFromExec(List<org.apache.hadoop.hive.ql.exec.Task<? extends java.io.Serializable>> roots, PrintWriter outputFile, QueryPlan queryPlan, List<org.apache.hadoop.hive.ql.exec.Task<? extends java.io.Serializable>> stagesList, String exaremePlanPath){
 
+        if(currentTimings != null) currentTimings.startPhase(StatementTimings.GRAPH_BUILD);
+
         ExaremeGraph exaremeGraphSimpler = new ExaremeGraph("Hive Native(Simplified)");
 
-        List<Task> visitedStagesSimpler = new LinkedList<>();
+        Set<Task> visitedStagesSimpler = Collections.newSetFromMap(new IdentityHashMap<Task, Boolean>());
+
+        //A new plan, forget the Operators discovered for the Stages of the previous one
+        stageOperatorsMemo.clear();
+        memoizedStageOfOperator.clear();
 
         List<org.apache.hadoop.hive.ql.exec.Task<? extends java.io.Serializable>> newRoots = new LinkedList<>();
 
@@ -1231,26 +1823,20 @@ public class HiveTestCluster {
                 outputFile.println("\t\t\tEntity in InputSet (to String): " + readEntity.toString());
                 outputFile.flush();
 
-                if(readEntity.toString().contains("database:") == false) {
-                    if(readEntity.toString().contains("file:")){
-                        System.out.println("InputEntity is a file!");
-                        inputTable = new MyTable(readEntity.toString(), true);
-                    }
-                    else {
-                        if (isPartition(readEntity.toString())) {
-                            inputPartition.setBelongingDatabaseName(getDataBaseOfEntity(readEntity.toString()));
-                            inputPartition.setBelongingTableName(getTableNameOfEntity(readEntity.toString()));
-                            inputPartition.setPartitionName(getPartitionNameOfEntity(readEntity.toString()));
-                            System.out.println("Detected new InputPartition! - DB: " + inputPartition.getBelongingDataBaseName() + " Table: " + inputPartition.getBelogingTableName() + " - Partition: " + inputPartition.getPartitionName());
-                        } else {
-                            System.out.println("Detected new InputTable!");
-                            inputTable.setBelongingDatabaseName(getDataBaseOfEntity(readEntity.toString()));
-                            inputTable.setTableName(getTableNameOfEntity(readEntity.toString()));
-                            System.out.println("Detected new InputTable! - DB: " + inputTable.getBelongingDataBaseName() + " Table: " + inputTable.getTableName());
-                        }
-                    }
+                EntityMetadataResolver.Kind inputKind = EntityMetadataResolver.kindOf(readEntity);
+                if(inputKind == EntityMetadataResolver.Kind.FILE){
+                    System.out.println("InputEntity is a file!");
+                    inputTable = new MyTable(readEntity.toString(), true);
                 }
-                else{
+                else if(inputKind == EntityMetadataResolver.Kind.PARTITION){
+                    inputPartition = metadataResolver.resolvePartition(readEntity);
+                    System.out.println("Detected new InputPartition! - DB: " + inputPartition.getBelongingDataBaseName() + " Table: " + inputPartition.getBelogingTableName() + " - Partition: " + inputPartition.getPartitionName());
+                }
+                else if(inputKind == EntityMetadataResolver.Kind.TABLE){
+                    inputTable = metadataResolver.resolveTable(readEntity);
+                    System.out.println("Detected new InputTable! - DB: " + inputTable.getBelongingDataBaseName() + " Table: " + inputTable.getTableName());
+                }
+                else if(inputKind == EntityMetadataResolver.Kind.DATABASE){
                     try{
                         currentDatabasePath = readEntity.getLocation().getPath();
                         System.out.println("CurrentDataBasePath="+currentDatabasePath);
@@ -1319,20 +1905,6 @@ public class HiveTestCluster {
                         outputFile.flush();
                         outputFile.println("\t\t\t\t\tPort: " + location.getPort());
                         outputFile.flush();
-
-                        if(readEntity.toString().contains("database:") == false) {
-                            if(readEntity.toString().contains("file:") == false){
-                                if (isPartition(readEntity.toString())) {
-                                    inputPartition.setURIdetails(location);
-                                    System.out.println("Added URI details to inputPartition!");
-                                }
-                                else{
-                                    inputTable.setURIdetails(location);
-                                    System.out.println("Added URI details to inputTable!");
-                                }
-                            }
-                        }
-
                     }
                 }
                 catch(java.lang.Exception ex){
@@ -1376,14 +1948,6 @@ public class HiveTestCluster {
                         outputFile.println("\t\t\t\t\tPartition Path: "+partitionPath.toString());
                         outputFile.flush();
                     }
-
-                    inputPartition.setBucketColsList(bucketColsList);
-                    inputPartition.setBucketCount(partition.getBucketCount());
-                    inputPartition.setAllFields(partition.getCols());
-
-                    inputPartition.setPartitionHDFSPath(partitionPath);
-
-                    System.out.println("Added extra partition information to InputPartition!");
                 }
 
                 Table table = readEntity.getTable();
@@ -1426,83 +1990,34 @@ public class HiveTestCluster {
                     if(partitionKeys != null){
                         outputFile.println("\t\t\t\t\tPartition Keys: ");
                         outputFile.flush();
-                        for(FieldSchema col : partitionKeys){
-                            if(col != null) {
-                                outputFile.println("\t\t\t\t\t\tPartitionKey: " +col.toString());
-                                outputFile.flush();
-                            }
-                        }
-                    }
-
-                    if(readEntity.toString().contains("database:") == false) {
-                        if (readEntity.toString().contains("file:") == false) {
-                            if (isPartition(readEntity.toString())) {
-                                System.out.println("Using PartitionName to locate PartitionKeys and PartitionValues for this Partition...");
-                                LinkedHashMap<String, String> keysAndValuesPairs = getPartitionKeysAndValues(getPartitionNameOfEntity(readEntity.toString()));
-                                inputPartition.setKeyValuePairs(keysAndValuesPairs);
-                                List<FieldSchema> partitionKeysToAdd = new LinkedList<>();
-                                List<String> partitionValuesToAdd = new LinkedList<>();
-                                for (Map.Entry<String, String> entry : keysAndValuesPairs.entrySet()) {
-                                    if (entry != null) {
-                                        for (FieldSchema f : partitionKeys) {
-                                            if (f.getName().equals(entry.getKey())) {
-                                                partitionKeysToAdd.add(f);
-                                                partitionValuesToAdd.add(entry.getValue());
-                                                System.out.println("Adding Key: " + entry.getKey() + " of Type: " + f.getType() + " and Value: " + entry.getValue() + " to inputPartition!");
-                                            }
-                                        }
-                                    }
-                                }
-
-                                inputPartition.setAllPartitionKeys(partitionKeysToAdd);
-                                inputPartition.setAllPartitionValues(partitionValuesToAdd);
-
-                                System.out.println("Added key-value pairs to Partition!");
-
-                            } else {
-                                inputTable.setAllCols(allCols);
-                                inputTable.setAllFields(allFields);
-                                inputTable.setTableHDFSPath(dL);
-                                inputTable.setAllPartitionKeys(partitionKeys);
-
-                                if (partitionKeys == null) {
-                                    inputTable.setHasPartitions(false);
-                                } else {
-                                    if (partitionKeys.size() > 0) {
-                                        inputTable.setHasPartitions(true);
-                                    } else {
-                                        inputTable.setHasPartitions(false);
-                                    }
-                                }
-                                System.out.println("Set AllCols, AllFields, HDFS Path, PartitionKeys for inputTable!");
+                        for(FieldSchema col : partitionKeys){
+                            if(col != null) {
+                                outputFile.println("\t\t\t\t\t\tPartitionKey: " +col.toString());
+                                outputFile.flush();
                             }
                         }
                     }
-
                 }
 
                 outputFile.println("\t\t\tIsDirect: " + readEntity.isDirect());
                 outputFile.flush();
 
-                if(readEntity.toString().contains("database:") == false) {
-                    if(readEntity.toString().contains("file:")){
-                        inputTables.add(inputTable);
-                        System.out.println("Added InputFile to List!");
-                    }
-                    else {
-                        if (isPartition(readEntity.toString())) {
-                            inputPartitions.add(inputPartition);
-                            String rootPartitionPath = inputPartition.getBelogingTableName() + inputPartition.getPartitionName().replace("@", "/") + "/" + "000000_0";
-                            System.out.println("Is Root Hive PARTITION Input - Setting Input Partition hivePath: " + rootPartitionPath);
-                            inputPartition.setRootHiveLocationPath(rootPartitionPath);
-                            System.out.println("Added InputPartition to List!");
-                        } else {
-                            System.out.println("Is Root Hive Input - Setting Input Table hivePath: " + inputTable.getTableName() + "/" + inputTable.getTableName() + ".dat");
-                            inputTable.setRootHiveLocationPath(inputTable.getTableName() + "/" + inputTable.getTableName() + ".dat");
-                            inputTables.add(inputTable);
-                            System.out.println("Added InputTable to List!");
-                        }
-                    }
+                if(inputKind == EntityMetadataResolver.Kind.FILE){
+                    inputTables.add(inputTable);
+                    System.out.println("Added InputFile to List!");
+                }
+                else if(inputKind == EntityMetadataResolver.Kind.PARTITION){
+                    inputPartitions.add(inputPartition);
+                    String rootPartitionPath = inputPartition.getBelogingTableName() + inputPartition.getPartitionName().replace("@", "/") + "/" + "000000_0";
+                    System.out.println("Is Root Hive PARTITION Input - Setting Input Partition hivePath: " + rootPartitionPath);
+                    inputPartition.setRootHiveLocationPath(rootPartitionPath);
+                    System.out.println("Added InputPartition to List!");
+                }
+                else if(inputKind == EntityMetadataResolver.Kind.TABLE){
+                    System.out.println("Is Root Hive Input - Setting Input Table hivePath: " + inputTable.getTableName() + "/" + inputTable.getTableName() + ".dat");
+                    inputTable.setRootHiveLocationPath(inputTable.getTableName() + "/" + inputTable.getTableName() + ".dat");
+                    inputTables.add(inputTable);
+                    System.out.println("Added InputTable to List!");
                 }
 
             }
@@ -1519,24 +2034,18 @@ public class HiveTestCluster {
                 outputFile.println("\t\t\tEntity in OutputSet (to String): " + writeEntity.toString());
                 outputFile.flush();
 
-                if(writeEntity.toString().contains("database:") == false) {
-                    if(writeEntity.toString().contains("file:") == false) {
-                        if (isPartition(writeEntity.toString())) {
-                            outputPartition.setBelongingDatabaseName(getDataBaseOfEntity(writeEntity.toString()));
-                            outputPartition.setBelongingTableName(getTableNameOfEntity(writeEntity.toString()));
-                            outputPartition.setPartitionName(getPartitionNameOfEntity(writeEntity.toString()));
-                            System.out.println("Detected new Output! - DB: " + outputPartition.getBelongingDataBaseName() + " Table: " + outputPartition.getBelogingTableName() + " - Partition: " + outputPartition.getPartitionName());
-                        } else {
-                            System.out.println("Detected new OutputTable!");
-                            outputTable.setBelongingDatabaseName(getDataBaseOfEntity(writeEntity.toString()));
-                            outputTable.setTableName(getTableNameOfEntity(writeEntity.toString()));
-                            System.out.println("Detected new OutputTable! - DB: " + outputTable.getBelongingDataBaseName() + " Table: " + outputTable.getTableName());
-                        }
-                    }
-                    else{
-                        outputTable = new MyTable(writeEntity.toString(), true);
-                        System.out.println("OutputEntity is a file!");
-                    }
+                EntityMetadataResolver.Kind outputKind = EntityMetadataResolver.kindOf(writeEntity);
+                if(outputKind == EntityMetadataResolver.Kind.FILE){
+                    outputTable = new MyTable(writeEntity.toString(), true);
+                    System.out.println("OutputEntity is a file!");
+                }
+                else if(outputKind == EntityMetadataResolver.Kind.PARTITION){
+                    outputPartition = metadataResolver.resolvePartition(writeEntity);
+                    System.out.println("Detected new Output! - DB: " + outputPartition.getBelongingDataBaseName() + " Table: " + outputPartition.getBelogingTableName() + " - Partition: " + outputPartition.getPartitionName());
+                }
+                else if(outputKind == EntityMetadataResolver.Kind.TABLE){
+                    outputTable = metadataResolver.resolveTable(writeEntity);
+                    System.out.println("Detected new OutputTable! - DB: " + outputTable.getBelongingDataBaseName() + " Table: " + outputTable.getTableName());
                 }
 
                 Path pathD = writeEntity.getD();
@@ -1578,19 +2087,6 @@ public class HiveTestCluster {
                         outputFile.flush();
                         outputFile.println("\t\t\t\t\tPort: " + location.getPort());
                         outputFile.flush();
-
-                        if(writeEntity.toString().contains("database:") == false) {
-                            if(writeEntity.toString().contains("file:") == false) {
-                                if (isPartition(writeEntity.toString())) {
-                                    outputPartition.setURIdetails(location);
-                                    System.out.println("Added URI details to outputPartition!");
-                                } else {
-                                    outputTable.setURIdetails(location);
-                                    System.out.println("Added URI details to outputTable!");
-                                }
-                            }
-                        }
-
                     }
                 }
                 catch(java.lang.Exception ex){
@@ -1634,13 +2130,6 @@ public class HiveTestCluster {
                         outputFile.println("\t\t\t\t\tPartition Path: "+partitionPath.toString());
                         outputFile.flush();
                     }
-
-                    outputPartition.setBucketColsList(bucketColsList);
-                    outputPartition.setBucketCount(partition.getBucketCount());
-                    outputPartition.setAllFields(partition.getCols());
-                    outputPartition.setPartitionHDFSPath(partitionPath);
-
-                    System.out.println("Added extra partition information to OutputPartition!");
                 }
 
                 Table table = writeEntity.getTable();
@@ -1690,67 +2179,19 @@ public class HiveTestCluster {
                             }
                         }
                     }
-
-                    if(writeEntity.toString().contains("database:") == false) {
-                        if (writeEntity.toString().contains("file:") == false) {
-                            if (isPartition(writeEntity.toString())) {
-                                System.out.println("Using PartitionName to locate PartitionKeys and PartitionValues for this Partition...");
-                                LinkedHashMap<String, String> keysAndValuesPairs = getPartitionKeysAndValues(getPartitionNameOfEntity(writeEntity.toString()));
-                                outputPartition.setKeyValuePairs(keysAndValuesPairs);
-                                List<FieldSchema> partitionKeysToAdd = new LinkedList<>();
-                                List<String> partitionValuesToAdd = new LinkedList<>();
-                                for (Map.Entry<String, String> entry : keysAndValuesPairs.entrySet()) {
-                                    if (entry != null) {
-                                        for (FieldSchema f : partitionKeys) {
-                                            if (f.getName().equals(entry.getKey())) {
-                                                partitionKeysToAdd.add(f);
-                                                partitionValuesToAdd.add(entry.getValue());
-                                                System.out.println("Adding Key: " + entry.getKey() + " of Type: " + f.getType() + " and Value: " + entry.getValue() + " to inputPartition!");
-                                            }
-                                        }
-                                    }
-                                }
-
-                                outputPartition.setAllPartitionKeys(partitionKeysToAdd);
-                                outputPartition.setAllPartitionValues(partitionValuesToAdd);
-
-                                System.out.println("Added key-value pairs to Partition!");
-
-                            } else {
-                                outputTable.setAllCols(allCols);
-                                outputTable.setAllFields(allFields);
-                                outputTable.setTableHDFSPath(dL);
-                                outputTable.setAllPartitionKeys(partitionKeys);
-
-                                if (partitionKeys == null) {
-                                    outputTable.setHasPartitions(false);
-                                } else {
-                                    if (partitionKeys.size() > 0) {
-                                        outputTable.setHasPartitions(true);
-                                    } else {
-                                        outputTable.setHasPartitions(false);
-                                    }
-                                }
-                                System.out.println("Set AllCols, AllFields, HDFS Path, PartitionKeys for outputTable!");
-                            }
-                        }
-                    }
                 }
 
-                if(writeEntity.toString().contains("database:") == false) {
-                    if(writeEntity.toString().contains("file:") == false) {
-                        if (isPartition(writeEntity.toString())) {
-                            outputPartitions.add(outputPartition);
-                            System.out.println("Added OutputPartition to List!");
-                        } else {
-                            outputTables.add(outputTable);
-                            System.out.println("Added OutputTable to List!");
-                        }
-                    }
-                    else{
-                        outputTables.add(outputTable);
-                        System.out.println("Added OutputFile to List!");
-                    }
+                if(outputKind == EntityMetadataResolver.Kind.PARTITION){
+                    outputPartitions.add(outputPartition);
+                    System.out.println("Added OutputPartition to List!");
+                }
+                else if(outputKind == EntityMetadataResolver.Kind.TABLE){
+                    outputTables.add(outputTable);
+                    System.out.println("Added OutputTable to List!");
+                }
+                else if(outputKind == EntityMetadataResolver.Kind.FILE){
+                    outputTables.add(outputTable);
+                    System.out.println("Added OutputFile to List!");
                 }
             }
         }
@@ -1762,6 +2203,14 @@ public class HiveTestCluster {
 
             simplifyStages(stagesList, newRoots);
 
+            if(branchChoiceReasons.size() > 0){
+                outputFile.println("\t=======================Conditional Branches Chosen===========================");
+                for(String reason : branchChoiceReasons.values()){
+                    outputFile.println("\t\t"+reason);
+                }
+                outputFile.flush();
+            }
+
             if (newRoots.size() == 0) {
                 System.out.println("Something went wrong with newRoots...");
                 System.exit(1);
@@ -1777,9 +2226,14 @@ public class HiveTestCluster {
 
             System.out.println("\nGathering all Operators and given connections...\n");
 
-            for (org.apache.hadoop.hive.ql.exec.Task<? extends java.io.Serializable> root : newRoots) {
-                System.out.println("createExaremeOutputFromExec: Diving from Root Stage: " + root.getId());
-                diveInStageFromRootExec(root, null, exaremeGraphSimpler, visitedStagesSimpler);
+            if((stageTraversalWorkers > 1) && (newRoots.size() > 1)){
+                diveInRootStagesInParallel(newRoots, exaremeGraphSimpler, visitedStagesSimpler);
+            }
+            else {
+                for (org.apache.hadoop.hive.ql.exec.Task<? extends java.io.Serializable> root : newRoots) {
+                    System.out.println("createExaremeOutputFromExec: Diving from Root Stage: " + root.getId());
+                    diveInStageFromRootExec(root, null, exaremeGraphSimpler, visitedStagesSimpler);
+                }
             }
 
             System.out.println("\nLinking MapJoins...\n");
@@ -1889,248 +2343,332 @@ public class HiveTestCluster {
 
         }
 
+        if(currentTimings != null) currentTimings.endPhase(StatementTimings.GRAPH_BUILD);
+
         /*----------------CREATE THE EXAREME PLAN-------------------*/
 
         if(queryPlan.getQueryString().equals("use tpcds_db")) {
             System.out.println("Skipping DATABASE command query...");
         }
         else{
-            //Build Queries for Exareme Operators
-            QueryBuilder queryBuilder = new QueryBuilder(exaremeGraphSimpler, inputTables, inputPartitions, outputTables, outputPartitions, currentDatabasePath, fs, madis);
-            queryBuilder.createExaOperators(outputFile);
+            if(currentGraphFile != null){ //Keep the linked Graph so that it can be translated again without compiling
+                Configuration serializationConf = hiveConf;
+                if(serializationConf == null) serializationConf = new Configuration();
+                ExaremeGraphFile.write(currentGraphFile, exaremeGraphSimpler, currentDatabasePath, inputTables, inputPartitions, outputTables, outputPartitions, serializationConf);
+            }
 
-            //Create AdpDBSelectOperators
-            List<AdpDBSelectOperator> exaremeOperators = queryBuilder.translateToExaremeOps();
+            int firstNodeAssigned = lastNodeAssigned;
+            createExaremePlanFromGraph(exaremeGraphSimpler, inputTables, inputPartitions, outputTables, outputPartitions, outputFile, exaremePlanPath);
 
-            List<OpLink> opLinks = queryBuilder.getOpLinksList();
+            if((currentGraphFile != null) && (verifyGraphFiles == true)){
+                verifyGraphFile(currentGraphFile, exaremePlanPath, firstNodeAssigned, outputFile);
+            }
 
-            List<ExaremeOperator> finalExaOps = new LinkedList<>();
-            String previousName = "";
-            int sameNameCount = 0;
-            for(int l = 0; l < exaremeOperators.size(); l++){
-                AdpDBSelectOperator exaOp = exaremeOperators.get(l);
+        }
+    }
 
-                if(previousName.equals("")){
-                    previousName = exaOp.getQuery().getOutputTable().getName();
-                }
-                else{
-                    if(previousName.equals(exaOp.getQuery().getOutputTable().getName())){
-                        sameNameCount++;
-                    }
-                    else{
-                        sameNameCount = 0;
-                        previousName = exaOp.getQuery().getOutputTable().getName();
-                    }
-                }
+    /*----Translates the Graph loaded from graphFile like the original one and checks that both ExaremePlans are the same---*/
 
-                List<Parameter> parameterList = new LinkedList<>();
-                StringParameter behaviourP = new StringParameter("behavior", "store_and_forward");
-                parameterList.add(behaviourP);
-                if(l == exaremeOperators.size() - 1) {
-                    StringParameter categoryP = new StringParameter("category", "tab_"+exaOp.getQuery().getOutputTable().getTable().getName());
-                    parameterList.add(categoryP);
+    private void verifyGraphFile(String graphFile, String exaremePlanPath, int firstNodeAssigned, PrintWriter outputFile) {
+
+        Configuration serializationConf = hiveConf;
+        if(serializationConf == null) serializationConf = new Configuration();
+
+        ExaremeGraphFile loaded = ExaremeGraphFile.read(graphFile, serializationConf);
+        String reloadedPlanPath = exaremePlanPath + ".reloaded";
+
+        StatementTimings timings = currentTimings;
+        int nextNodeAssigned = lastNodeAssigned;
+        currentTimings = null;
+        lastNodeAssigned = firstNodeAssigned; //Containers are assigned round robin, start from the same one
+        try {
+            createExaremePlanFromGraph(loaded.getGraph(), loaded.getInputTables(), loaded.getInputPartitions(), loaded.getOutputTables(), loaded.getOutputPartitions(), outputFile, reloadedPlanPath);
+        } finally {
+            currentTimings = timings;
+            lastNodeAssigned = nextNodeAssigned;
+        }
+
+        try {
+            byte[] plan = java.nio.file.Files.readAllBytes(new File(exaremePlanPath).toPath());
+            byte[] reloadedPlan = java.nio.file.Files.readAllBytes(new File(reloadedPlanPath).toPath());
+            if(Arrays.equals(plan, reloadedPlan) == false){
+                throw new RuntimeException("ExaremeGraph file: "+graphFile+" does not produce the same ExaremePlan, compare: "+exaremePlanPath+" with: "+reloadedPlanPath);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to compare ExaremePlans of ExaremeGraph file: "+graphFile, e);
+        }
+
+        new File(reloadedPlanPath).delete();
+        System.out.println("ExaremeGraph file: "+graphFile+" produces the same ExaremePlan");
+    }
+
+    /*----Translates a linked ExaremeGraph into an ExaremePlan and prints it in exaremePlanPath---*/
+
+    public void createExaremePlanFromGraph(ExaremeGraph exaremeGraphSimpler, List<MyTable> inputTables, List<MyPartition> inputPartitions, List<MyTable> outputTables, List<MyPartition> outputPartitions, PrintWriter outputFile, String exaremePlanPath){
+
+        //Build Queries for Exareme Operators
+        if(currentTimings != null) currentTimings.startPhase(StatementTimings.QUERY_BUILD);
+        QueryBuilder queryBuilder = new QueryBuilder(exaremeGraphSimpler, inputTables, inputPartitions, outputTables, outputPartitions, currentDatabasePath, fs, madis);
+        queryBuilder.createExaOperators(outputFile);
+        if(currentTimings != null) currentTimings.endPhase(StatementTimings.QUERY_BUILD);
+
+        //Create AdpDBSelectOperators
+        if(currentTimings != null) currentTimings.startPhase(StatementTimings.TRANSLATE);
+        List<AdpDBSelectOperator> exaremeOperators = queryBuilder.translateToExaremeOps();
+
+        List<OpLink> opLinks = queryBuilder.getOpLinksList();
+
+        List<ExaremeOperator> finalExaOps = new LinkedList<>();
+        String previousName = "";
+        int sameNameCount = 0;
+        for(int l = 0; l < exaremeOperators.size(); l++){
+            AdpDBSelectOperator exaOp = exaremeOperators.get(l);
+
+            if(previousName.equals("")){
+                previousName = exaOp.getQuery().getOutputTable().getName();
+            }
+            else{
+                if(previousName.equals(exaOp.getQuery().getOutputTable().getName())){
+                    sameNameCount++;
                 }
                 else{
-                    StringParameter categoryP = new StringParameter("category", "exe_"+exaOp.getQuery().getOutputTable().getTable().getName());
-                    parameterList.add(categoryP);
+                    sameNameCount = 0;
+                    previousName = exaOp.getQuery().getOutputTable().getName();
                 }
-                NumParameter memoryP = new NumParameter("memoryPercentage", 1);
-                parameterList.add(memoryP);
+            }
+
+            List<Parameter> parameterList = new LinkedList<>();
+            StringParameter behaviourP = new StringParameter("behavior", "store_and_forward");
+            parameterList.add(behaviourP);
+            if(l == exaremeOperators.size() - 1) {
+                StringParameter categoryP = new StringParameter("category", "tab_"+exaOp.getQuery().getOutputTable().getTable().getName());
+                parameterList.add(categoryP);
+            }
+            else{
+                StringParameter categoryP = new StringParameter("category", "exe_"+exaOp.getQuery().getOutputTable().getTable().getName());
+                parameterList.add(categoryP);
+            }
+            NumParameter memoryP = new NumParameter("memoryPercentage", 1);
+            parameterList.add(memoryP);
 
-                ExaremeOperator finalOp;
+            ExaremeOperator finalOp;
 
-                if(l == exaremeOperators.size() - 1){
-                    finalOp = new ExaremeOperator("c"+new String(Integer.toString(assignNextNode())), "madgik.exareme.master.engine.executor.remote.operator.data.TableUnionReplicator", "TR_"+exaOp.getQuery().getOutputTable().getTable().getName()+"_P_0", exaOp, parameterList, l);
-                    lastNodeAssigned = assignNextNode();
-                }
-                else {
-                    finalOp = new ExaremeOperator("c"+new String(Integer.toString(assignNextNode())), "madgik.exareme.master.engine.executor.remote.operator.process.ExecuteSelect", "R_"+exaOp.getQuery().getOutputTable().getTable().getName()+"_"+sameNameCount, exaOp, parameterList, l);
-                    lastNodeAssigned = assignNextNode();
-                }
-                finalExaOps.add(finalOp);
+            if(l == exaremeOperators.size() - 1){
+                finalOp = new ExaremeOperator("c"+new String(Integer.toString(assignNextNode())), "madgik.exareme.master.engine.executor.remote.operator.data.TableUnionReplicator", "TR_"+exaOp.getQuery().getOutputTable().getTable().getName()+"_P_0", exaOp, parameterList, l);
+                lastNodeAssigned = assignNextNode();
             }
+            else {
+                finalOp = new ExaremeOperator("c"+new String(Integer.toString(assignNextNode())), "madgik.exareme.master.engine.executor.remote.operator.process.ExecuteSelect", "R_"+exaOp.getQuery().getOutputTable().getTable().getName()+"_"+sameNameCount, exaOp, parameterList, l);
+                lastNodeAssigned = assignNextNode();
+            }
+            finalExaOps.add(finalOp);
+        }
 
-            if(exaNodes > 1) {
-                System.out.println("-----Round Robin Assignment of Containers for OpLinks------");
-                for(OpLink aLink : opLinks){
+        if(exaNodes > 1) {
+            System.out.println("-----Round Robin Assignment of Containers for OpLinks------");
+            for(OpLink aLink : opLinks){
 
-                    //Search through all Operators
-                    for(ExaremeOperator exaOp : finalExaOps){
-                        if(exaOp.getResultsName().equals(aLink.getToTable())){
-                            aLink.setContainerName(exaOp.getContainerName());
-                        }
+                //Search through all Operators
+                for(ExaremeOperator exaOp : finalExaOps){
+                    if(exaOp.getResultsName().equals(aLink.getToTable())){
+                        aLink.setContainerName(exaOp.getContainerName());
                     }
+                }
 
-                    if(aLink.getBrothers().size() > 0){
-                        for(OpLink brother : aLink.getBrothers()){
-                            //Search through all Operators
-                            for(ExaremeOperator exaOp : finalExaOps){
-                                if(exaOp.getResultsName().equals(brother.getToTable())){
-                                    brother.setContainerName(exaOp.getContainerName());
-                                }
+                if(aLink.getBrothers().size() > 0){
+                    for(OpLink brother : aLink.getBrothers()){
+                        //Search through all Operators
+                        for(ExaremeOperator exaOp : finalExaOps){
+                            if(exaOp.getResultsName().equals(brother.getToTable())){
+                                brother.setContainerName(exaOp.getContainerName());
                             }
                         }
                     }
                 }
             }
+        }
 
-            System.out.println("===============================Constructing Exareme Plan...=====================================");
-            outputFile.println("===============================Constructing Exareme Plan...=====================================");
-            outputFile.flush();
-            //Build Containers for Exareme Plan
-            List<Container> containers = new LinkedList<>();
-
-            if(exaNodes == 1) {
-                Container singleNode = new Container("c0", exaremeMiniClusterIP + "_container_" + exaremeMiniClusterIP, 1098, 8088);
-                containers.add(singleNode);
-            }
-            else{
-                for(int c = 0; c < exaNodes; c++){
-                    Container node;
-                    if(c == 0) {
-                        node = new Container("c" + new String(Integer.toString(0)), exaremeMiniClusterIP + "_container_" + exaremeMiniClusterIP, 1098, 8088);
-                    }
-                    else{
-                        node = new Container("c" + new String(Integer.toString(c)), exaremeMiniClusterIP + "_container_" + exaremeMiniClusterIP + "_" + new String(Integer.toString(c-1)), 1098, 8088 + c);
-                    }
+        System.out.println("===============================Constructing Exareme Plan...=====================================");
+        outputFile.println("===============================Constructing Exareme Plan...=====================================");
+        outputFile.flush();
+        //Build Containers for Exareme Plan
+        List<Container> containers = new LinkedList<>();
 
-                    containers.add(node);
+        if(exaNodes == 1) {
+            Container singleNode = new Container("c0", exaremeMiniClusterIP + "_container_" + exaremeMiniClusterIP, 1098, 8088);
+            containers.add(singleNode);
+        }
+        else{
+            for(int c = 0; c < exaNodes; c++){
+                Container node;
+                if(c == 0) {
+                    node = new Container("c" + new String(Integer.toString(0)), exaremeMiniClusterIP + "_container_" + exaremeMiniClusterIP, 1098, 8088);
+                }
+                else{
+                    node = new Container("c" + new String(Integer.toString(c)), exaremeMiniClusterIP + "_container_" + exaremeMiniClusterIP + "_" + new String(Integer.toString(c-1)), 1098, 8088 + c);
                 }
-            }
 
-            System.out.println("\n\t------Containers------");
-            outputFile.println("\n\t------Containers------");
-            outputFile.flush();
-            for(Container c : containers) {
-                System.out.println("\t\tName: "+c.getName()+" - IP: "+c.getIP()+" - Data_Transfer_Port: "+c.getData_transfer_port()+" Port: "+c.getPort());
-                outputFile.println("\t\tName: "+c.getName()+" - IP: "+c.getIP()+" - Data_Transfer_Port: "+c.getData_transfer_port()+" Port: "+c.getPort());
-                outputFile.flush();
+                containers.add(node);
             }
+        }
 
-            //Print Exareme Plan Operators Section
-            System.out.println("\n\t------Operators------");
-            outputFile.println("\n\t------Operators------");
+        System.out.println("\n\t------Containers------");
+        outputFile.println("\n\t------Containers------");
+        outputFile.flush();
+        for(Container c : containers) {
+            System.out.println("\t\tName: "+c.getName()+" - IP: "+c.getIP()+" - Data_Transfer_Port: "+c.getData_transfer_port()+" Port: "+c.getPort());
+            outputFile.println("\t\tName: "+c.getName()+" - IP: "+c.getIP()+" - Data_Transfer_Port: "+c.getData_transfer_port()+" Port: "+c.getPort());
             outputFile.flush();
+        }
 
-            for(ExaremeOperator ex : finalExaOps){
+        //Print Exareme Plan Operators Section
+        System.out.println("\n\t------Operators------");
+        outputFile.println("\n\t------Operators------");
+        outputFile.flush();
 
-                System.out.println("\t\tContainer: "+ex.getContainerName());
-                outputFile.println("\t\tContainer: "+ex.getContainerName());
-                outputFile.flush();
-                System.out.println("\t\tOperatorName: "+ex.getOperatorName());
-                outputFile.println("\t\tOperatorName: "+ex.getOperatorName());
-                outputFile.flush();
-                System.out.println("\t\tResultName: "+ex.getResultsName());
-                outputFile.println("\t\tResultName: "+ex.getResultsName());
-                outputFile.flush();
-                System.out.println("\t\tQueryString: \n\t\t\t"+ex.getQueryString());
-                outputFile.println("\t\tQueryString: \n\t\t\t"+ex.getQueryString());
-                outputFile.flush();
-                System.out.println("\t\tParameters: ");
-                outputFile.println("\t\tParameters: ");
-                outputFile.flush();
-                for(Parameter p : ex.getParameters()){
-                    if(p instanceof NumParameter){
-                        NumParameter nP = (NumParameter) p;
-                        System.out.println("\t\t\tParameterType: "+nP.getParemeterType()+" - Value: "+ nP.getValue());
-                        outputFile.println("\t\t\tParameterType: "+nP.getParemeterType()+" - Value: "+ nP.getValue());
-                        outputFile.flush();
-                    }
-                    else{
-                        StringParameter sP = (StringParameter) p;
-                        System.out.println("\t\t\tParameterType: "+sP.getParemeterType()+" - Value: "+ sP.getValue());
-                        outputFile.println("\t\t\tParameterType: "+sP.getParemeterType()+" - Value: "+ sP.getValue());
-                        outputFile.flush();
-                    }
+        for(ExaremeOperator ex : finalExaOps){
+
+            System.out.println("\t\tContainer: "+ex.getContainerName());
+            outputFile.println("\t\tContainer: "+ex.getContainerName());
+            outputFile.flush();
+            System.out.println("\t\tOperatorName: "+ex.getOperatorName());
+            outputFile.println("\t\tOperatorName: "+ex.getOperatorName());
+            outputFile.flush();
+            System.out.println("\t\tResultName: "+ex.getResultsName());
+            outputFile.println("\t\tResultName: "+ex.getResultsName());
+            outputFile.flush();
+            System.out.println("\t\tQueryString: \n\t\t\t"+ex.getQueryString());
+            outputFile.println("\t\tQueryString: \n\t\t\t"+ex.getQueryString());
+            outputFile.flush();
+            System.out.println("\t\tParameters: ");
+            outputFile.println("\t\tParameters: ");
+            outputFile.flush();
+            for(Parameter p : ex.getParameters()){
+                if(p instanceof NumParameter){
+                    NumParameter nP = (NumParameter) p;
+                    System.out.println("\t\t\tParameterType: "+nP.getParemeterType()+" - Value: "+ nP.getValue());
+                    outputFile.println("\t\t\tParameterType: "+nP.getParemeterType()+" - Value: "+ nP.getValue());
+                    outputFile.flush();
+                }
+                else{
+                    StringParameter sP = (StringParameter) p;
+                    System.out.println("\t\t\tParameterType: "+sP.getParemeterType()+" - Value: "+ sP.getValue());
+                    outputFile.println("\t\t\tParameterType: "+sP.getParemeterType()+" - Value: "+ sP.getValue());
+                    outputFile.flush();
                 }
             }
+        }
 
-            System.out.println("\n\t------OpLinks------");
-            outputFile.println("\n\t------OpLinks------");
-            outputFile.flush();
+        System.out.println("\n\t------OpLinks------");
+        outputFile.println("\n\t------OpLinks------");
+        outputFile.flush();
 
-            for(OpLink opLink : opLinks){
-                System.out.println("\t\tContainerName: "+opLink.getContainerName());
-                outputFile.println("\t\tContainerName: "+opLink.getContainerName());
-                outputFile.flush();
-                System.out.println("\t\tFromTable: "+opLink.getFromTable());
-                outputFile.println("\t\tFromTable: "+opLink.getFromTable());
-                outputFile.flush();
-                System.out.println("\t\tToTable: "+opLink.getToTable());
-                outputFile.println("\t\tToTable: "+opLink.getToTable());
-                outputFile.flush();
-                System.out.println("\t\tParameters: ");
-                outputFile.println("\t\tParameters: ");
-                outputFile.flush();
-                for(Parameter p : opLink.getParameters()){
-                    if(p instanceof NumParameter){
-                        NumParameter nP = (NumParameter) p;
-                        System.out.println("\t\t\tParameterType: "+nP.getParemeterType()+" - Value: "+nP.getValue());
-                        outputFile.println("\t\t\tParameterType: "+nP.getParemeterType()+" - Value: "+nP.getValue());
-                        outputFile.flush();
-                    }
-                    else{
-                        StringParameter sP = (StringParameter) p;
-                        System.out.println("\t\t\tParameterType: "+sP.getParemeterType()+" - Value: "+sP.getValue());
-                        outputFile.println("\t\t\tParameterType: "+sP.getParemeterType()+" - Value: "+sP.getValue());
-                        outputFile.flush();
-                    }
+        for(OpLink opLink : opLinks){
+            System.out.println("\t\tContainerName: "+opLink.getContainerName());
+            outputFile.println("\t\tContainerName: "+opLink.getContainerName());
+            outputFile.flush();
+            System.out.println("\t\tFromTable: "+opLink.getFromTable());
+            outputFile.println("\t\tFromTable: "+opLink.getFromTable());
+            outputFile.flush();
+            System.out.println("\t\tToTable: "+opLink.getToTable());
+            outputFile.println("\t\tToTable: "+opLink.getToTable());
+            outputFile.flush();
+            System.out.println("\t\tParameters: ");
+            outputFile.println("\t\tParameters: ");
+            outputFile.flush();
+            for(Parameter p : opLink.getParameters()){
+                if(p instanceof NumParameter){
+                    NumParameter nP = (NumParameter) p;
+                    System.out.println("\t\t\tParameterType: "+nP.getParemeterType()+" - Value: "+nP.getValue());
+                    outputFile.println("\t\t\tParameterType: "+nP.getParemeterType()+" - Value: "+nP.getValue());
+                    outputFile.flush();
+                }
+                else{
+                    StringParameter sP = (StringParameter) p;
+                    System.out.println("\t\t\tParameterType: "+sP.getParemeterType()+" - Value: "+sP.getValue());
+                    outputFile.println("\t\t\tParameterType: "+sP.getParemeterType()+" - Value: "+sP.getValue());
+                    outputFile.flush();
                 }
+            }
 
-                if(opLink.getBrothers().size() > 0){
-                    for(OpLink brotherLink : opLink.getBrothers()){
-                        System.out.println("\t\tContainerName: "+brotherLink.getContainerName());
-                        outputFile.println("\t\tContainerName: "+brotherLink.getContainerName());
-                        outputFile.flush();
-                        System.out.println("\t\tFromTable: "+brotherLink.getFromTable());
-                        outputFile.println("\t\tFromTable: "+brotherLink.getFromTable());
-                        outputFile.flush();
-                        System.out.println("\t\tToTable: "+brotherLink.getToTable());
-                        outputFile.println("\t\tToTable: "+brotherLink.getToTable());
-                        outputFile.flush();
-                        System.out.println("\t\tParameters: ");
-                        outputFile.println("\t\tParameters: ");
-                        outputFile.flush();
-                        for(Parameter p : brotherLink.getParameters()){
-                            if(p instanceof NumParameter){
-                                NumParameter nP = (NumParameter) p;
-                                System.out.println("\t\t\tParameterType: "+nP.getParemeterType()+" - Value: "+nP.getValue());
-                                outputFile.println("\t\t\tParameterType: "+nP.getParemeterType()+" - Value: "+nP.getValue());
-                                outputFile.flush();
-                            }
-                            else{
-                                StringParameter sP = (StringParameter) p;
-                                System.out.println("\t\t\tParameterType: "+sP.getParemeterType()+" - Value: "+sP.getValue());
-                                outputFile.println("\t\t\tParameterType: "+sP.getParemeterType()+" - Value: "+sP.getValue());
-                                outputFile.flush();
-                            }
+            if(opLink.getBrothers().size() > 0){
+                for(OpLink brotherLink : opLink.getBrothers()){
+                    System.out.println("\t\tContainerName: "+brotherLink.getContainerName());
+                    outputFile.println("\t\tContainerName: "+brotherLink.getContainerName());
+                    outputFile.flush();
+                    System.out.println("\t\tFromTable: "+brotherLink.getFromTable());
+                    outputFile.println("\t\tFromTable: "+brotherLink.getFromTable());
+                    outputFile.flush();
+                    System.out.println("\t\tToTable: "+brotherLink.getToTable());
+                    outputFile.println("\t\tToTable: "+brotherLink.getToTable());
+                    outputFile.flush();
+                    System.out.println("\t\tParameters: ");
+                    outputFile.println("\t\tParameters: ");
+                    outputFile.flush();
+                    for(Parameter p : brotherLink.getParameters()){
+                        if(p instanceof NumParameter){
+                            NumParameter nP = (NumParameter) p;
+                            System.out.println("\t\t\tParameterType: "+nP.getParemeterType()+" - Value: "+nP.getValue());
+                            outputFile.println("\t\t\tParameterType: "+nP.getParemeterType()+" - Value: "+nP.getValue());
+                            outputFile.flush();
+                        }
+                        else{
+                            StringParameter sP = (StringParameter) p;
+                            System.out.println("\t\t\tParameterType: "+sP.getParemeterType()+" - Value: "+sP.getValue());
+                            outputFile.println("\t\t\tParameterType: "+sP.getParemeterType()+" - Value: "+sP.getValue());
+                            outputFile.flush();
                         }
                     }
                 }
-
             }
 
-            File f3 = new File(exaremePlanPath);
-            if(f3.exists() && !f3.isDirectory()) {
-                f3.delete();
-            }
+        }
 
-            PrintWriter exaremePlanFile;
-            try {
-                exaremePlanFile = new PrintWriter(f3);
-            } catch (FileNotFoundException var8) {
-                throw new RuntimeException("Failed to open FileOutputStream for outputQuery.txt", var8);
-            }
+        if(currentTimings != null) currentTimings.endPhase(StatementTimings.TRANSLATE);
 
-            //Build ExaremePlan
-            ExaremePlan exaremePlan = new ExaremePlan(containers, finalExaOps, opLinks);
-            if(exaremePlanFile != null){
-                exaremePlan.printExaremePlan(exaremePlanFile);
-            }
+        if(currentTimings != null) currentTimings.startPhase(StatementTimings.WRITE);
+        File f3 = new File(exaremePlanPath);
+        if(f3.exists() && !f3.isDirectory()) {
+            f3.delete();
+        }
+
+        PrintWriter exaremePlanFile;
+        try {
+            exaremePlanFile = new PrintWriter(f3);
+        } catch (FileNotFoundException var8) {
+            throw new RuntimeException("Failed to open FileOutputStream for outputQuery.txt", var8);
+        }
+
+        //Build ExaremePlan
+        ExaremePlan exaremePlan = new ExaremePlan(containers, finalExaOps, opLinks);
+        if(exaremePlanFile != null){
+            exaremePlan.printExaremePlan(exaremePlanFile);
+        }
+
+        exaremePlanFile.close();
+        exaremePlanWritten = true;
+        if(currentTimings != null) currentTimings.endPhase(StatementTimings.WRITE);
+
+    }
+
+    /*----Translates an ExaremeGraph previously written through setGraphFilePath() without compiling the query again---*/
+
+    public void createExaremeOutputFromGraphFile(String graphFile, PrintWriter outputFile, String exaremePlanPath) throws IOException {
 
-            exaremePlanFile.close();
+        Configuration serializationConf = hiveConf;
+        if(serializationConf == null) serializationConf = new Configuration();
 
+        ExaremeGraphFile loaded = ExaremeGraphFile.read(graphFile, serializationConf);
+
+        if(fs == null){ //No cluster has been started, translate against the local FileSystem
+            fs = FileSystem.getLocal(serializationConf);
         }
+        currentDatabasePath = loaded.getDatabasePath();
+
+        loaded.getGraph().printGraph(outputFile);
+
+        createExaremePlanFromGraph(loaded.getGraph(), loaded.getInputTables(), loaded.getInputPartitions(), loaded.getOutputTables(), loaded.getOutputPartitions(), outputFile, exaremePlanPath);
+
     }
 
     /*----------------HANDLE A HiveQL Statement-------------------*/
@@ -2175,6 +2713,7 @@ public class HiveTestCluster {
 
     private List<String> processStatement(String statement, PrintWriter compileLogFile, PrintWriter resultsLogFile, String exaremePlanPath, String flag, long i, PrintWriter outputWriter, String caseLabel) {
         List<String> results = new LinkedList<String>();
+        currentGraphFile = (graphFilePath != null) ? planPathOfStatement(graphFilePath, i) : null;
         String[] tokens = statement.trim().split("\\s+");
         CommandProcessor proc = null;
 
@@ -2192,7 +2731,7 @@ public class HiveTestCluster {
         try {
 
             System.out.println("STATEMENT ARGUMENTS: Flag: "+flag + " - ExaNodes: " + exaNodes + " - Label: " + caseLabel);
-            if((flag == null) || ((flag != null) && (!flag.equals("EXAREME")))){ //Normal Hive Statement
+            if((flag == null) || ((flag != null) && (!flag.equals("EXAREME")) && (!flag.equals("EXAREME_BATCH")))){ //Normal Hive Statement
                 System.out.println("\n\nExecuting Query Normally!\nStatement:["+statement+"]\n\n");
 
                 //StartTime
@@ -2227,6 +2766,10 @@ public class HiveTestCluster {
                     }
                 }
             }
+            else if(flag.equals("EXAREME_BATCH")){ //No prompts, every query is compiled and translated
+                if(compileLogFile == null) throw new RuntimeException("CompileLogFile is NULL!");
+                processStatementInBatch(proc, statement, compileLogFile, exaremePlanPath, flag, i, outputWriter, caseLabel);
+            }
             else{
                 int choice = -1;
                 if(compileLogFile == null) throw new RuntimeException("CompileLogFile is NULL!");
@@ -2252,8 +2795,34 @@ public class HiveTestCluster {
 
                         long startTime = System.currentTimeMillis();
 
-                        if(proc instanceof org.apache.hadoop.hive.ql.Driver){
-                            ((Driver) proc).compile(statement, true);
+                        String cacheKey = null;
+                        String cachedPlan = null;
+                        if((planCache != null) && (proc instanceof org.apache.hadoop.hive.ql.Driver)){
+                            cacheKey = planCache.buildKey(statement, hiveConf, exaNodes, exaremeMiniClusterIP);
+                            if(cacheKey != null){
+                                cachedPlan = planCache.get(cacheKey);
+                            }
+                        }
+
+                        if(cachedPlan != null){ //Same statement on the same tables was already translated
+                            System.out.println("\nExaremePlan found in PlanCache, skipping compilation!\n");
+                            try (PrintWriter exaremePlanFile = new PrintWriter(new File(exaremePlanPath), "UTF-8")) {
+                                exaremePlanFile.print(cachedPlan);
+                            }
+
+                            compileLogFile.println("=====================================QUERY: "+Long.toString(i)+"========================================\n");
+                            compileLogFile.println("\tQueryString: ["+statement+"]\n");
+                            compileLogFile.println("\tExaremePlan reused from PlanCache\n\n");
+                            compileLogFile.flush();
+
+                            long endTime = System.currentTimeMillis();
+
+                            printCaseDetails(flag, outputWriter, exaNodes, caseLabel, statement, startTime, endTime);
+                            planCache.printStatistics();
+                        }
+                        else if(proc instanceof org.apache.hadoop.hive.ql.Driver){
+                            exaremePlanWritten = false;
+                            ((Driver) proc).compileAndRespond(statement); //Takes the compile lock of Driver.run
                             org.apache.hadoop.hive.ql.QueryPlan queryPlan = ((Driver) proc).getPlan();
                             List<String> resultsCompile = new LinkedList<String>();
 
@@ -2422,6 +2991,12 @@ public class HiveTestCluster {
 
                             printCaseDetails(flag, outputWriter, exaNodes, caseLabel, statement, startTime, endTime);
 
+                            if((cacheKey != null) && (exaremePlanWritten == true)){
+                                byte[] planBytes = java.nio.file.Files.readAllBytes(new File(exaremePlanPath).toPath());
+                                planCache.put(cacheKey, new String(planBytes, "UTF-8"));
+                                planCache.printStatistics();
+                            }
+
                             String statement2 = "explain ".concat(statement);
                             proc.run(statement2);
 
@@ -2494,7 +3069,7 @@ public class HiveTestCluster {
                             Path thePath = new Path(lsPath);
 
                             System.out.print("\nPrinting FileStatuses for given path: ");
-                            FileStatus[] fileStatusArray = miniHS2.getDfs().getFileSystem().listStatus(thePath);
+                            FileStatus[] fileStatusArray = fs.listStatus(thePath);
                             if (fileStatusArray != null) {
                                 for (FileStatus fileStatus : fileStatusArray) {
                                     System.out.println("FileStatus: " + fileStatus.toString());
@@ -2536,9 +3111,126 @@ public class HiveTestCluster {
 
         } catch (Exception ex) {
             throw new RuntimeException("Hive SQL exception", ex);
+        } finally {
+            invalidateOutputsOf(proc); //After the statement, it may have changed its outputs
         }
 
         return results;
     }
 
+    /*----------------BATCH HANDLING OF A HiveQL Statement-------------------*/
+    /*---Queries are compiled and translated into their own Exareme Plan file */
+    /*---(see planPathOfStatement) and the time of every phase is reported.  */
+    /*---Any other statement (use, set, DDL, loads) is simply run.            */
+
+    private void processStatementInBatch(CommandProcessor proc, String statement, PrintWriter compileLogFile, String exaremePlanPath, String flag, long i, PrintWriter outputWriter, String caseLabel) throws Exception {
+
+        if(((proc instanceof org.apache.hadoop.hive.ql.Driver) == false) || (isTranslatableStatement(statement) == false)){
+            System.out.println("\nBatch Mode: Running Statement:["+statement+"]\n");
+            proc.run(statement);
+            return;
+        }
+
+        String planPath = planPathOfStatement(exaremePlanPath, i);
+        System.out.println("\nBatch Mode: Compiling and Extracting OperatorGraph for Statement:["+statement+"] into: "+planPath+"\n");
+
+        compileLogFile.println("=====================================QUERY: "+Long.toString(i)+"========================================\n");
+        compileLogFile.println("\tQueryString: ["+statement+"]\n");
+        compileLogFile.println("\tExaremePlan: "+planPath+"\n");
+        compileLogFile.flush();
+
+        long startTime = System.currentTimeMillis();
+
+        String cacheKey = null;
+        String cachedPlan = null;
+        if(planCache != null){
+            cacheKey = planCache.buildKey(statement, hiveConf, exaNodes, exaremeMiniClusterIP);
+            if(cacheKey != null){
+                cachedPlan = planCache.get(cacheKey);
+            }
+        }
+
+        StatementTimings timings = new StatementTimings();
+        if(cachedPlan != null){
+            System.out.println("\nExaremePlan found in PlanCache, skipping compilation!\n");
+            timings.startPhase(StatementTimings.WRITE);
+            try (PrintWriter exaremePlanFile = new PrintWriter(new File(planPath), "UTF-8")) {
+                exaremePlanFile.print(cachedPlan);
+            }
+            timings.endPhase(StatementTimings.WRITE);
+        }
+        else{
+            currentTimings = timings;
+            exaremePlanWritten = false;
+            try {
+                timings.startPhase(StatementTimings.COMPILE);
+                //Semantic analysis is not thread safe: compileAndRespond holds the same static lock Driver.run does,
+                //so workers of extractPlansInParallel compile one at a time and only build the graphs and plans in parallel
+                int compileCode = ((Driver) proc).compileAndRespond(statement).getResponseCode();
+                timings.endPhase(StatementTimings.COMPILE);
+                if(compileCode != 0){
+                    System.out.println("Batch Mode: Compilation failed with code: "+compileCode+" for Statement:["+statement+"]");
+                    compileLogFile.println("\tCompilation FAILED with code: "+compileCode+"\n\n");
+                    compileLogFile.flush();
+                    return;
+                }
+
+                QueryPlan queryPlan = ((Driver) proc).getPlan();
+                if((queryPlan.getRootTasks() != null) && (queryPlan.getRootTasks().size() > 0)){
+                    List<org.apache.hadoop.hive.ql.exec.Task<? extends java.io.Serializable>> trueStagesList = new LinkedList<>();
+                    discoverStages(queryPlan.getRootTasks(), trueStagesList);
+                    createExaremeOutputFromExec(queryPlan.getRootTasks(), compileLogFile, queryPlan, trueStagesList, planPath);
+                }
+                else if(queryPlan.getFetchTask() != null){
+                    createExaremeOutputFromExec(new LinkedList<org.apache.hadoop.hive.ql.exec.Task<? extends java.io.Serializable>>(), compileLogFile, queryPlan, new LinkedList<org.apache.hadoop.hive.ql.exec.Task<? extends java.io.Serializable>>(), planPath);
+                }
+            } finally {
+                currentTimings = null;
+            }
+
+            if((cacheKey != null) && (exaremePlanWritten == true)){
+                byte[] planBytes = java.nio.file.Files.readAllBytes(new File(planPath).toPath());
+                planCache.put(cacheKey, new String(planBytes, "UTF-8"));
+            }
+        }
+
+        long endTime = System.currentTimeMillis();
+
+        System.out.println("Batch Mode: Phase Times for QUERY "+i+": "+timings.toString());
+        compileLogFile.println("\tPhase Times: "+timings.toString()+"\n\n");
+        compileLogFile.flush();
+
+        printCaseDetails(flag, outputWriter, exaNodes, caseLabel, statement, startTime, endTime);
+        if(outputWriter != null){
+            outputWriter.println("Phase Times: " + timings.toString());
+            outputWriter.flush();
+        }
+    }
+
+    /*---Statements that produce a plan worth translating, the rest are run in batch mode---*/
+    private boolean isTranslatableStatement(String statement) {
+
+        String normalised = ExaremePlanCache.normaliseStatement(statement);
+
+        if(normalised.startsWith("select ") || normalised.startsWith("with ") || normalised.startsWith("insert ") || normalised.startsWith("from ")){
+            return true;
+        }
+        if(normalised.startsWith("create table ") && normalised.contains(" as select ")){
+            return true;
+        }
+
+        return false;
+    }
+
+    /*---One plan file per statement: <path>_<i>.<ext> (or <path>_<i> without extension)---*/
+    public static String planPathOfStatement(String exaremePlanPath, long i) {
+
+        int dot = exaremePlanPath.lastIndexOf('.');
+        if(dot > exaremePlanPath.lastIndexOf(File.separatorChar)){
+            return exaremePlanPath.substring(0, dot) + "_" + i + exaremePlanPath.substring(dot);
+        }
+
+        return exaremePlanPath + "_" + i;
+    }
+
 }
@@ -26,10 +26,32 @@ import java.util.*;
  *   FileSystem fs = testSuite.getFS();
  *   fs.copyFromLocalFile(inputData, rawHdfsData);
  * 
+ * A cluster of type "COMPILE_ONLY" only extracts plans: it starts an embedded
+ * metastore and a local warehouse instead of MiniDFS/MiniMR and getFS()
+ * returns the local FileSystem.
+ * 
+ * TPC-DS .dat files can be loaded without LOAD DATA/INSERT statements:
+ * 
+ *   testSuite.bulkLoadTable("default", "store_sales", <dat_file>, 4);
+ *   testSuite.bulkLoadPartitionedTable("default", "cd_partitioned", <dat_file>, new int[]{1}, 100, 4);
+ * 
+ * The linked ExaremeGraph of every translated statement can be kept and
+ * translated again later without compiling (see ExaremeGraphFile):
+ * 
+ *   testSuite.setGraphFilePath(<graph_file>, true);
+ *   testSuite.extractPlansFromScript(...);
+ *   testSuite.translateGraphFile(<graph_file>_<i>, <log>, <plan_file>);
+ * 
  */
 public class HiveTestSuite {
     
     private HiveTestCluster cluster;
+    private String warehouseSnapshotDir = null; //Passed to every cluster created (see WarehouseSnapshot)
+    private String graphFilePath = null; //Passed to every cluster created (see ExaremeGraphFile)
+    private boolean verifyGraphFiles = false;
+    private int planCacheEntries = 0; //0 if Exareme Plans are not cached (see ExaremePlanCache)
+    private String planCacheDirectory = null;
+    private int stageTraversalWorkers = 1; //Passed to every cluster created, 1 dives into the Stages of a plan sequentially
     int numberOfDataNodes;
     int numberOfNodeManagers;
     int exaNodes;
@@ -45,15 +67,21 @@ public class HiveTestSuite {
 
     public void createTestCluster(boolean allowDynamicPartitioning, int maxParts, int maxPartsPerNode, String exaremeIP, String typeOfCluster, int exaremeNodes, int numOfReducers) {
 
-        if(typeOfCluster.equals("EXAREME")){
+        if(typeOfCluster.equals("EXAREME") || typeOfCluster.equals("COMPILE_ONLY")){
             cluster = new HiveTestCluster(1, 1, exaremeIP, exaremeNodes, numOfReducers);
         }
         else{
             cluster = new HiveTestCluster(numberOfDataNodes, numberOfNodeManagers, exaremeIP, exaremeNodes, numOfReducers);
         }
+        configureCluster();
 
         try {
-            cluster.start(allowDynamicPartitioning, maxParts, maxPartsPerNode);
+            if(typeOfCluster.equals("COMPILE_ONLY")){
+                cluster.startCompileOnly(allowDynamicPartitioning, maxParts, maxPartsPerNode, null);
+            }
+            else {
+                cluster.start(allowDynamicPartitioning, maxParts, maxPartsPerNode);
+            }
         } catch (Exception e) {
             throw new RuntimeException("Unable to start test cluster", e);
         }
@@ -61,20 +89,88 @@ public class HiveTestSuite {
 
     public void createTestCluster(boolean allowDynamicPartitioning, int maxParts, int maxPartsPerNode, String exaremeIP, String typeOfCluster, int exaremeNodes, int numOfReducers, String baseDir, String wareDir) {
 
-        if(typeOfCluster.equals("EXAREME")){
+        if(typeOfCluster.equals("EXAREME") || typeOfCluster.equals("COMPILE_ONLY")){
             cluster = new HiveTestCluster(1, 1, exaremeIP, exaremeNodes, numOfReducers);
         }
         else{
             cluster = new HiveTestCluster(numberOfDataNodes, numberOfNodeManagers, exaremeIP, exaremeNodes, numOfReducers);
         }
+        configureCluster();
 
         try {
-            cluster.start(allowDynamicPartitioning, maxParts, maxPartsPerNode, baseDir, wareDir);
+            if(typeOfCluster.equals("COMPILE_ONLY")){
+                cluster.startCompileOnly(allowDynamicPartitioning, maxParts, maxPartsPerNode, baseDir);
+            }
+            else {
+                cluster.start(allowDynamicPartitioning, maxParts, maxPartsPerNode, baseDir, wareDir);
+            }
         } catch (Exception e) {
             throw new RuntimeException("Unable to start test cluster", e);
         }
     }
     
+    private void configureCluster() {
+        cluster.setWarehouseSnapshotDir(warehouseSnapshotDir);
+        cluster.setGraphFilePath(graphFilePath, verifyGraphFiles);
+        if (planCacheEntries > 0) {
+            cluster.enablePlanCache(planCacheEntries, planCacheDirectory);
+        }
+        cluster.setStageTraversalParallelism(stageTraversalWorkers);
+    }
+
+    public void setWarehouseSnapshotDir(String dir) {
+        warehouseSnapshotDir = dir;
+    }
+
+    public void setGraphFilePath(String path, boolean verifyReload) {
+        //Statement i writes its Graph to <path>_<i>, verifyReload translates it again from the file and compares the plans
+        graphFilePath = path;
+        verifyGraphFiles = verifyReload;
+        if (cluster != null) {
+            cluster.setGraphFilePath(path, verifyReload);
+        }
+    }
+
+    public void enablePlanCache(int maxEntries, String cacheDirectory) {
+        //Plans of statements already translated on unchanged tables are reused, cacheDirectory (may be null) keeps them across runs
+        planCacheEntries = maxEntries;
+        planCacheDirectory = cacheDirectory;
+        if (cluster != null) {
+            cluster.enablePlanCache(maxEntries, cacheDirectory);
+        }
+    }
+
+    public void setStageTraversalParallelism(int workers) {
+        //Independent root Stages of a plan are dived into on that many threads, the Graph is the one a sequential dive builds
+        stageTraversalWorkers = workers;
+        if (cluster != null) {
+            cluster.setStageTraversalParallelism(workers);
+        }
+    }
+
+    public void translateGraphFile(String graphFile, PrintWriter outputFile, String exaremePlanPath) {
+        if (cluster == null) {
+            throw new IllegalStateException("No active cluster to translate with");
+        }
+
+        try {
+            cluster.createExaremeOutputFromGraphFile(graphFile, outputFile, exaremePlanPath);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to translate ExaremeGraph file: " + graphFile, e);
+        }
+    }
+
+    public boolean isRestoredFromSnapshot() {
+        return (cluster != null) && cluster.isRestoredFromSnapshot();
+    }
+
+    public void takeWarehouseSnapshot() {
+        if (cluster == null) {
+            throw new IllegalStateException("No active cluster to take a snapshot of");
+        }
+        cluster.takeWarehouseSnapshot();
+    }
+    
     public void shutdownTestCluster() {
         if (cluster == null) {
             return;
@@ -105,13 +201,78 @@ public class HiveTestSuite {
         //}
         List<String> results = null;
         try {
-            results = cluster.executeStatements(hiveScript.getStatements(), compileLogFile, resultsLogFile, exaremePlanPath, flag, madisPath, outputWriter, caseLabel);
+            results = cluster.executeStatements(hiveScript, compileLogFile, resultsLogFile, exaremePlanPath, flag, madisPath, outputWriter, caseLabel);
         } catch (HiveSQLException e) {
             throw new RuntimeException("Unable to execute script", e);
         }
         return results;
     }
     
+    public List<String> executeSetupScriptInParallel(String scriptFile, Map<String, String> params, List<String> excludes, int numberOfWorkers) {
+        HiveScript hiveScript = new HiveScript(scriptFile, params, excludes);
+        if (cluster == null) {
+            throw new IllegalStateException("No active cluster to run script with");
+        }
+
+        //Statements on different tables run concurrently, statements sharing a table keep script order
+        return cluster.executeSetupStatementsInParallel(hiveScript, numberOfWorkers);
+    }
+
+    public List<String> extractPlansFromScript(String scriptFile, Map<String, String> params, List<String> excludes, PrintWriter compileLogFile, String exaremePlanPath, String madisPath, PrintWriter outputWriter, String caseLabel) {
+        //Batch mode: no prompts, one Exareme Plan file per query statement and per phase timings in outputWriter
+        return executeScript(scriptFile, params, excludes, compileLogFile, null, exaremePlanPath, "EXAREME_BATCH", madisPath, outputWriter, caseLabel);
+    }
+
+    public List<String> extractPlansFromScriptInParallel(String scriptFile, Map<String, String> params, List<String> excludes, PrintWriter compileLogFile, String exaremePlanPath, String madisPath, PrintWriter outputWriter, String caseLabel, int numberOfWorkers) {
+        HiveScript hiveScript = new HiveScript(scriptFile, params, excludes);
+        if (cluster == null) {
+            throw new IllegalStateException("No active cluster to run script with");
+        }
+
+        //Batch mode where consecutive queries are compiled and translated by numberOfWorkers threads
+        List<String> results = null;
+        try {
+            results = cluster.executeStatementsInParallel(hiveScript, compileLogFile, exaremePlanPath, madisPath, outputWriter, caseLabel, numberOfWorkers);
+        } catch (HiveSQLException e) {
+            throw new RuntimeException("Unable to execute script", e);
+        }
+        return results;
+    }
+
+    public void bulkLoadTable(String dbName, String tableName, String localFile, int numberOfStreams) {
+        if (cluster == null) {
+            throw new IllegalStateException("No active cluster to load data into");
+        }
+
+        //Writes the file straight into the table directory instead of a LOAD DATA statement
+        try {
+            new BulkLoader(cluster.getHiveConf(), cluster.getFS(), numberOfStreams, 1).loadTable(dbName, tableName, localFile);
+        } catch (Exception e) {
+            throw new RuntimeException("Unable to bulk load table: " + dbName + "." + tableName, e);
+        } finally {
+            cluster.invalidateCachedMetadata(); //Also after a failed load, the table may be half written
+        }
+    }
+
+    public void bulkLoadPartitionedTable(String dbName, String tableName, String localFile, int[] partitionFields, int partitionBatchSize) {
+        bulkLoadPartitionedTable(dbName, tableName, localFile, partitionFields, partitionBatchSize, 1);
+    }
+
+    public void bulkLoadPartitionedTable(String dbName, String tableName, String localFile, int[] partitionFields, int partitionBatchSize, int numberOfStreams) {
+        if (cluster == null) {
+            throw new IllegalStateException("No active cluster to load data into");
+        }
+
+        //partitionFields: positions (0-based) of the partition values in every line of localFile
+        try {
+            new BulkLoader(cluster.getHiveConf(), cluster.getFS(), numberOfStreams, partitionBatchSize).loadPartitionedTable(dbName, tableName, localFile, partitionFields);
+        } catch (Exception e) {
+            throw new RuntimeException("Unable to bulk load partitioned table: " + dbName + "." + tableName, e);
+        } finally {
+            cluster.invalidateCachedMetadata(); //Also after a failed load, the table may be half written
+        }
+    }
+
     public FileSystem getFS() {
         if (cluster == null) {
             return null;
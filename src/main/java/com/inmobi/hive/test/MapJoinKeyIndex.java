@@ -0,0 +1,164 @@
+package com.inmobi.hive.test;
+
+import org.apache.hadoop.hive.ql.exec.HashTableSinkOperator;
+import org.apache.hadoop.hive.ql.plan.ExprNodeDesc;
+import org.apache.hadoop.hive.ql.plan.HashTableSinkDesc;
+import org.apache.hadoop.hive.ql.plan.MapJoinDesc;
+
+import java.util.*;
+
+/*
+   Helps the ExaremeGraph link every HashTableSink Operator to the MapJoin
+   Operator that consumes its hashtable. The join keys of a MapJoinDesc or
+   HashTableSinkDesc are normalised into a key signature (tag -> sorted columns
+   of every key expression) so that the candidate sinks of a MapJoin are found
+   with a single lookup instead of comparing ExprNodeDescs of every pair.
+
+   The signature only matches sinks whose keys are null exactly when the keys
+   of the MapJoin are. When no sink has the signature of a MapJoin the sinks
+   are compared one by one with the original rule, which also links a MapJoin
+   to a sink when only one of the two has null keys.
+*/
+
+public class MapJoinKeyIndex {
+
+    private final Map<String, List<OperatorNode>> sinksBySignature;
+    private final List<OperatorNode> sinks; //Every sink in the order it was added, for the fallback
+
+    public MapJoinKeyIndex() {
+        sinksBySignature = new HashMap<>();
+        sinks = new LinkedList<>();
+    }
+
+    public static String keySignature(Map<Byte, List<ExprNodeDesc>> keysMap, Map<Byte, String> keysString) {
+
+        if (keysMap == null) {
+            return "NO_KEYS";
+        }
+
+        if (keysString != null) {
+            for (String k : keysString.values()) {
+                if (k == null) { //Keys without expressions only need the same number of inputs to match
+                    return "NULL_KEYS/" + keysMap.size();
+                }
+            }
+        }
+
+        StringBuilder signature = new StringBuilder();
+        for (Map.Entry<Byte, List<ExprNodeDesc>> entry : new TreeMap<>(keysMap).entrySet()) {
+            List<String> exprSignatures = new ArrayList<>();
+            if (entry.getValue() != null) {
+                for (ExprNodeDesc expr : entry.getValue()) {
+                    List<String> cols = new ArrayList<>();
+                    if ((expr != null) && (expr.getCols() != null)) {
+                        cols.addAll(expr.getCols());
+                    }
+                    Collections.sort(cols);
+                    exprSignatures.add(cols.toString());
+                }
+            }
+            Collections.sort(exprSignatures);
+            signature.append(entry.getKey()).append(':').append(exprSignatures.toString()).append('|');
+        }
+
+        return signature.toString();
+    }
+
+    public void addSink(OperatorNode sinkNode) {
+
+        HashTableSinkDesc hashDesc = ((HashTableSinkOperator) sinkNode.getOperator()).getConf();
+        String signature = keySignature(hashDesc.getKeys(), hashDesc.getKeysString());
+
+        List<OperatorNode> sameSignature = sinksBySignature.get(signature);
+        if (sameSignature == null) {
+            sameSignature = new LinkedList<>();
+            sinksBySignature.put(signature, sameSignature);
+        }
+        sameSignature.add(sinkNode);
+        sinks.add(sinkNode);
+
+        System.out.println("MapJoinKeyIndex: HashTableSink: " + sinkNode.getOperatorName() + " has key signature: " + signature);
+    }
+
+    public List<OperatorNode> getSinks(String signature) {
+
+        List<OperatorNode> sameSignature = sinksBySignature.get(signature);
+        if (sameSignature == null) return Collections.emptyList();
+
+        return sameSignature;
+    }
+
+    /*---Sinks with the key signature of the MapJoin, or else the sinks that match it by the original rule---*/
+    public List<OperatorNode> getCandidateSinks(MapJoinDesc mapDesc) {
+
+        List<OperatorNode> candidates = getSinks(keySignature(mapDesc.getKeys(), mapDesc.getKeysString()));
+        if ((candidates.size() > 0) || (mapDesc.getKeys() == null)) {
+            return candidates;
+        }
+
+        System.out.println("MapJoinKeyIndex: No HashTableSink with the same key signature...comparing keys one by one");
+        List<OperatorNode> matching = new LinkedList<>();
+        for (OperatorNode sinkNode : sinks) {
+            HashTableSinkDesc hashDesc = ((HashTableSinkOperator) sinkNode.getOperator()).getConf();
+            if (keysMatch(mapDesc.getKeys(), mapDesc.getKeysString(), hashDesc.getKeys(), hashDesc.getKeysString())) {
+                matching.add(sinkNode);
+            }
+        }
+
+        return matching;
+    }
+
+    /*---Original pairwise rule: both sides have null keys, or every key expression of the MapJoin has a sink expression with the same columns---*/
+    private static boolean keysMatch(Map<Byte, List<ExprNodeDesc>> keysMap, Map<Byte, String> keysString, Map<Byte, List<ExprNodeDesc>> keysMap2, Map<Byte, String> keysString2) {
+
+        if ((keysMap2 == null) || (keysMap.size() != keysMap2.size())) {
+            return false;
+        }
+
+        if (hasNullKeys(keysString) && hasNullKeys(keysString2)) {
+            return true;
+        }
+
+        int numOfExprs = 0;
+        int matchingExps = 0;
+        for (Map.Entry<Byte, List<ExprNodeDesc>> entry1 : keysMap.entrySet()) {
+            List<ExprNodeDesc> colsList2 = keysMap2.get(entry1.getKey());
+            if (entry1.getValue() == null) continue;
+            for (ExprNodeDesc exprNode1 : entry1.getValue()) {
+                numOfExprs++;
+                if ((colsList2 == null) || (exprNode1 == null) || (exprNode1.getCols() == null)) continue;
+                List<String> cols1 = exprNode1.getCols();
+                for (ExprNodeDesc exprNode2 : colsList2) {
+                    if ((exprNode2 == null) || (exprNode2.getCols() == null)) continue;
+                    List<String> cols2 = exprNode2.getCols();
+                    if (cols1.size() == cols2.size()) {
+                        int matchingCols = 0;
+                        for (String c : cols1) {
+                            for (String c2 : cols2) {
+                                if (c.equals(c2)) {
+                                    matchingCols++;
+                                }
+                            }
+                        }
+                        if (matchingCols == cols1.size()) {
+                            matchingExps++;
+                        }
+                    }
+                }
+            }
+        }
+
+        return matchingExps == numOfExprs;
+    }
+
+    private static boolean hasNullKeys(Map<Byte, String> keysString) {
+
+        if (keysString == null) return false;
+        for (String k : keysString.values()) {
+            if (k == null) return true;
+        }
+
+        return false;
+    }
+
+}
@@ -1,8 +1,6 @@
 package com.inmobi.hive.test;
 
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 /**
  * Created by panos on 3/8/2016.
@@ -11,12 +9,24 @@ import java.util.Map;
 /* This is a custom class that is used primarily for keeping track of the
    different tables used in the Exareme Graph and to help in translating
    the Exareme Graph into an Exareme Plan
+
+   Besides the ordered list of pairs, a MyMap keeps hash indexes by column
+   name, by (column name, type) and by (operator, alternate alias), so the
+   lookups of QueryBuilder do not have to walk the whole list. Every indexed
+   pair knows the maps it belongs to and tells them when its name, type or
+   alternate aliases change. The lists of every index are kept in the order
+   of columnAndTypeList, so a lookup returns the same pair as a scan would.
  */
 
 public class MyMap {
     List<ColumnTypePair> columnAndTypeList;
     boolean allowDuplicates = false;
 
+    private IdentityHashMap<ColumnTypePair, Integer> positions = new IdentityHashMap<>(); //Index of every pair in columnAndTypeList
+    private HashMap<String, List<ColumnTypePair>> pairsByName = new HashMap<>();
+    private HashMap<String, List<ColumnTypePair>> pairsByNameAndType = new HashMap<>();
+    private HashMap<String, HashMap<String, List<ColumnTypePair>>> pairsByOperatorAlias = new HashMap<>(); //Operator -> Alias -> Pairs
+
     public MyMap(boolean allowDups){
 
         columnAndTypeList = new LinkedList<>();
@@ -27,11 +37,19 @@ public class MyMap {
 
     public List<ColumnTypePair> getColumnAndTypeList() { return columnAndTypeList; }
 
-    public void setColumnAndTypeList(List<ColumnTypePair> l) { columnAndTypeList = l; }
+    public void setColumnAndTypeList(List<ColumnTypePair> l) {
+        columnAndTypeList = l;
 
-    public void addPair(ColumnTypePair c){
+        positions.clear();
+        pairsByName.clear();
+        pairsByNameAndType.clear();
+        pairsByOperatorAlias.clear();
+        for(ColumnTypePair c : columnAndTypeList){
+            index(c);
+        }
+    }
 
-        boolean exists = false;
+    public void addPair(ColumnTypePair c){
 
         if(c.getColumnName().contains("BLOCK__OFFSET__INSIDE__FILE")){
             return;
@@ -50,27 +68,192 @@ public class MyMap {
         }
 
         if(allowDuplicates == false) {
-            for (ColumnTypePair pair : columnAndTypeList) {
-                if (pair.getColumnName().equals(c.getColumnName())) {
-                    if (pair.getColumnType().equals(c.getColumnType())) {
-                        exists = true;
-                        break;
-                    }
-                }
-            }
-
-            if (exists == true) {
+            if (containsPair(c.getColumnName(), c.getColumnType())) {
                 System.out.println("PAIR: (" + c.getColumnName() + " , " + c.getColumnType() + " already exists!");
                 return;
             }
-
         }
 
         columnAndTypeList.add(c);
+        index(c);
         System.out.println("PAIR: ("+c.getColumnName()+" , "+c.getColumnType()+" added successfully!");
 
     }
 
+    /*---Indexes a pair that is already filtered and checked by the map it comes from, without logging---*/
+    void addIndexedPair(ColumnTypePair c){
+        if(positions.containsKey(c)) return;
+        columnAndTypeList.add(c);
+        index(c);
+    }
+
+    /*---------------------Indexed lookups----------------------*/
+
+    public ColumnTypePair getPairByName(String name){
+        return first(pairsByName.get(name));
+    }
+
+    public List<ColumnTypePair> getPairsByName(String name){
+        return view(pairsByName.get(name));
+    }
+
+    public ColumnTypePair getPair(String name, String type){
+        return first(pairsByNameAndType.get(nameAndType(name, type)));
+    }
+
+    public boolean containsPair(String name, String type){
+        return getPair(name, type) != null;
+    }
+
+    /*---The pair that operator knows under alias (an entry of its altAliasPairs)---*/
+    public ColumnTypePair getPairByAlias(String operator, String alias){
+        HashMap<String, List<ColumnTypePair>> aliases = pairsByOperatorAlias.get(operator);
+        if(aliases == null) return null;
+        return first(aliases.get(alias));
+    }
+
+    public List<ColumnTypePair> getPairsByAlias(String operator, String alias){
+        HashMap<String, List<ColumnTypePair>> aliases = pairsByOperatorAlias.get(operator);
+        if(aliases == null) return Collections.emptyList();
+        return view(aliases.get(alias));
+    }
+
+    /*---Pairs that any of the operators knows under alias, in list order---*/
+    public List<ColumnTypePair> getPairsByAliasOfAny(String alias, String... operators){
+        List<ColumnTypePair> pairs = new ArrayList<>();
+        Set<ColumnTypePair> seen = Collections.newSetFromMap(new IdentityHashMap<ColumnTypePair, Boolean>());
+        for(String operator : operators){
+            for(ColumnTypePair c : getPairsByAlias(operator, alias)){
+                if(seen.add(c)) pairs.add(c);
+            }
+        }
+        if(operators.length > 1) sortByPosition(pairs);
+        return pairs;
+    }
+
+    /*---Pairs named name and pairs that any of the operators knows under alias name, in list order---*/
+    public List<ColumnTypePair> getPairsByNameOrAlias(String name, String... operators){
+        List<ColumnTypePair> pairs = new ArrayList<>(getPairsByName(name));
+        Set<ColumnTypePair> seen = Collections.newSetFromMap(new IdentityHashMap<ColumnTypePair, Boolean>());
+        seen.addAll(pairs);
+        for(String operator : operators){
+            for(ColumnTypePair c : getPairsByAlias(operator, name)){
+                if(seen.add(c)) pairs.add(c);
+            }
+        }
+        if(pairs.size() > 1) sortByPosition(pairs);
+        return pairs;
+    }
+
+    /*---Every pair operator knows under some alias, in list order---*/
+    public List<ColumnTypePair> getPairsOfOperator(String operator){
+        HashMap<String, List<ColumnTypePair>> aliases = pairsByOperatorAlias.get(operator);
+        if(aliases == null) return Collections.emptyList();
+        List<ColumnTypePair> pairs = new ArrayList<>();
+        Set<ColumnTypePair> seen = Collections.newSetFromMap(new IdentityHashMap<ColumnTypePair, Boolean>());
+        for(List<ColumnTypePair> aliasPairs : aliases.values()){
+            for(ColumnTypePair c : aliasPairs){
+                if(seen.add(c)) pairs.add(c);
+            }
+        }
+        sortByPosition(pairs);
+        return pairs;
+    }
+
+    private void sortByPosition(List<ColumnTypePair> pairs){
+        Collections.sort(pairs, new Comparator<ColumnTypePair>() {
+            @Override
+            public int compare(ColumnTypePair a, ColumnTypePair b) {
+                return positions.get(a).compareTo(positions.get(b));
+            }
+        });
+    }
+
+    /*---------------------Index maintenance (called by ColumnTypePair)----------------------*/
+
+    void pairRenamed(ColumnTypePair c, String oldName, String oldType){
+        if(positions.containsKey(c) == false) return;
+        remove(pairsByName, oldName, c);
+        remove(pairsByNameAndType, nameAndType(oldName, oldType), c);
+        insert(pairsByName, c.getColumnName(), c);
+        insert(pairsByNameAndType, nameAndType(c.getColumnName(), c.getColumnType()), c);
+    }
+
+    void aliasAdded(ColumnTypePair c, String operator, String alias){
+        if(positions.containsKey(c) == false) return;
+        insertAlias(c, operator, alias);
+    }
+
+    void aliasChanged(ColumnTypePair c, String oldOperator, String oldAlias, String newOperator, String newAlias){
+        if(positions.containsKey(c) == false) return;
+        HashMap<String, List<ColumnTypePair>> aliases = pairsByOperatorAlias.get(oldOperator);
+        if(aliases != null){
+            remove(aliases, oldAlias, c);
+            if(aliases.isEmpty()) pairsByOperatorAlias.remove(oldOperator);
+        }
+        insertAlias(c, newOperator, newAlias);
+    }
+
+    private void index(ColumnTypePair c){
+        if(positions.containsKey(c)) return; //Same pair added again, lookups keep returning its first position
+        positions.put(c, positions.size());
+        c.addOwner(this);
+        insert(pairsByName, c.getColumnName(), c);
+        insert(pairsByNameAndType, nameAndType(c.getColumnName(), c.getColumnType()), c);
+        for(StringParameter sP : c.getAltAliasPairs()){
+            insertAlias(c, sP.getParemeterType(), sP.getValue());
+        }
+    }
+
+    private void insertAlias(ColumnTypePair c, String operator, String alias){
+        HashMap<String, List<ColumnTypePair>> aliases = pairsByOperatorAlias.get(operator);
+        if(aliases == null){
+            aliases = new HashMap<>();
+            pairsByOperatorAlias.put(operator, aliases);
+        }
+        insert(aliases, alias, c);
+    }
+
+    private void insert(HashMap<String, List<ColumnTypePair>> index, String key, ColumnTypePair c){ //Keeps every list in the order of columnAndTypeList
+        List<ColumnTypePair> pairs = index.get(key);
+        if(pairs == null){
+            pairs = new ArrayList<>(1);
+            index.put(key, pairs);
+        }
+        int position = positions.get(c);
+        int i = pairs.size();
+        while((i > 0) && (positions.get(pairs.get(i - 1)) > position)){
+            i--;
+        }
+        pairs.add(i, c);
+    }
+
+    private static void remove(HashMap<String, List<ColumnTypePair>> index, String key, ColumnTypePair c){
+        List<ColumnTypePair> pairs = index.get(key);
+        if(pairs == null) return;
+        for(int i = 0; i < pairs.size(); i++){
+            if(pairs.get(i) == c){
+                pairs.remove(i);
+                break;
+            }
+        }
+        if(pairs.isEmpty()) index.remove(key);
+    }
+
+    private static String nameAndType(String name, String type){
+        return name + '\u0000' + type;
+    }
+
+    private static ColumnTypePair first(List<ColumnTypePair> pairs){
+        if((pairs == null) || pairs.isEmpty()) return null;
+        return pairs.get(0);
+    }
+
+    private static List<ColumnTypePair> view(List<ColumnTypePair> pairs){
+        if(pairs == null) return Collections.emptyList();
+        return Collections.unmodifiableList(pairs);
+    }
+
     public void printMap(){
 
         System.out.println("\t------------- columnAndTypeMap ---------------");
@@ -62,6 +62,20 @@ public class MyPartition {
         partitionName = pName;
     }
 
+    public MyPartition(MyPartition other){ //Copies the Metastore details only, root input state starts empty
+        belongingDatabase = other.belongingDatabase;
+        belongingTable = other.belongingTable;
+        partitionName = other.partitionName;
+        location = other.location;
+        partitionPath = other.partitionPath;
+        allFields = (other.allFields == null) ? null : new LinkedList<>(other.allFields);
+        keyValuePairs = (other.keyValuePairs == null) ? null : new LinkedHashMap<>(other.keyValuePairs);
+        partitionKeys = (other.partitionKeys == null) ? null : new LinkedList<>(other.partitionKeys);
+        partitionValues = (other.partitionValues == null) ? null : new LinkedList<>(other.partitionValues);
+        bucketColsList = (other.bucketColsList == null) ? null : new LinkedList<>(other.bucketColsList);
+        bucketCount = other.bucketCount;
+    }
+
     public List<String> getSecondaryNeededQueries() { return secondaryNeededQueries; }
 
     public String getSqliteDefinition() { return sqliteDefinition;}
@@ -66,6 +66,25 @@ public class MyTable { //Represents a Hive or Exareme Table
         hasPartitions=false;
     }
 
+    public MyTable(MyTable other){ //Copies the Metastore details only, partitions/ancestors/root input state start empty
+        belongingDatabase = other.belongingDatabase;
+        tableName = other.tableName;
+        location = other.location;
+        dataLocation = other.dataLocation;
+        isAFile = other.isAFile;
+        hasPartitions = other.hasPartitions;
+
+        isRootInput = false;
+        rootHiveTableDefinition = "";
+        rootHiveLocationPath = "";
+
+        allCols = (other.allCols == null) ? null : new LinkedList<>(other.allCols);
+        allFields = (other.allFields == null) ? null : new ArrayList<>(other.allFields);
+        partitionKeys = (other.partitionKeys == null) ? null : new LinkedList<>(other.partitionKeys);
+        allPartitions = new LinkedList<>();
+        mapOfKeyValuePartitions = new LinkedHashMap<>();
+    }
+
     public String getSqliteDefinition() { return sqliteDefinition;}
 
     public void addAncestorTable(MyTable table){
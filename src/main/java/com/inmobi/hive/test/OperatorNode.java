@@ -38,6 +38,8 @@ public class OperatorNode {
     boolean specialOperator;
     Task<? extends Serializable> ownerStage;
     String specialName;
+    String schemaString; //RowSchema rendered once, see getSchemaString()
+    OperatorSchema operatorSchema; //Typed schema, built on first use
 
     public OperatorNode(Operator<? extends Serializable> op, Task<? extends Serializable> owner){
         operator = op;
@@ -83,7 +85,23 @@ public class OperatorNode {
     }
 
     public boolean compareOperatorNames(OperatorNode op){
-        return this.operator.getOperatorId().equals(op.getOperator().getOperatorId());
+        return this.getOperatorName().equals(op.getOperatorName());
+    }
+
+    public String getSchemaString(){ //Cached so that the RowSchema is not rendered again on every call
+        if(schemaString == null){
+            schemaString = operator.getSchema().toString();
+        }
+        return schemaString;
+    }
+
+    public OperatorSchema getOperatorSchema(){
+        if(operatorSchema == null){
+            RowSchema rowSchema = (operator != null) ? operator.getSchema() : null;
+            String rendered = (rowSchema != null) ? getSchemaString() : "()"; //"()" for an Operator without a RowSchema
+            operatorSchema = OperatorSchema.fromRowSchema(rowSchema, rendered);
+        }
+        return operatorSchema;
     }
 
     public String getOperatorType(){
@@ -4,8 +4,12 @@ import madgik.exareme.common.app.engine.AdpDBSelectOperator;
 import org.apache.hadoop.hive.metastore.api.FieldSchema;
 
 import java.io.PrintWriter;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Created by panos on 17/8/2016.
@@ -19,23 +23,55 @@ import java.util.List;
 
    Instance of this class are created and filled by the QueryBuilder class.
 
+   addUsedColumn looks input tables up by lowercase name and their columns up
+   by name through caches built on first use. The table cache is rebuilt
+   once when an input table has been renamed since it was built, and names
+   that are not found are remembered until the next addInputTable. The
+   column set of a table is rebuilt if the name or the columns of the table
+   have changed since it was built.
+
 */
 
 public class OperatorQuery {
     String dataBasePath;
-    String localQueryString;
-    String exaremeQueryString;
+    SelectQuery localQuery; //Query run on SQLite, rendered by getLocalQueryString()
+    SelectQuery exaremeQuery; //Query of the Exareme operator, rendered by getExaremeQueryString()
     String exaremeOutputTableName;
     String assignedContainer;
     MyTable outputTable;
     MyMap usedColumns;
     List<MyTable> inputTables;
 
+    private HashMap<String, MyTable> inputTablesByName = null; //Lowercase name -> first input table with that name
+    private int indexedInputTables = 0;
+    private IdentityHashMap<MyTable, TableColumns> inputColumns = new IdentityHashMap<>();
+
+    private static class TableColumns {
+        String tableName;
+        List<FieldSchema> cols;
+        int numberOfCols;
+        Set<String> columnNames = new HashSet<>();
+
+        TableColumns(MyTable table) {
+            tableName = table.getTableName();
+            cols = table.getAllCols();
+            numberOfCols = cols.size();
+            for(FieldSchema f : cols){
+                columnNames.add(f.getName());
+            }
+        }
+
+        boolean isValidFor(MyTable table) {
+            boolean sameName = (tableName == null) ? (table.getTableName() == null) : tableName.equals(table.getTableName());
+            return sameName && (cols == table.getAllCols()) && (numberOfCols == cols.size());
+        }
+    }
+
     public OperatorQuery() {
         assignedContainer = "";
         dataBasePath = "";
-        localQueryString = "";
-        exaremeQueryString = "";
+        localQuery = new SelectQuery(SelectQuery.Dialect.SQLITE);
+        exaremeQuery = new SelectQuery(SelectQuery.Dialect.SQLITE);
         exaremeOutputTableName = "";
         outputTable = new MyTable();
         inputTables = new LinkedList<>();
@@ -46,27 +82,12 @@ public class OperatorQuery {
 
         if(tableName == null) return;
 
-        List<ColumnTypePair> usedColumnList = usedColumns.getColumnAndTypeList();
-
-        if(usedColumnList.size() > 0){
-            for(ColumnTypePair p : usedColumnList){
-                if(p.getColumnName().equals(c)){
-                    if(p.getColumnType().equals(tableName)){
-                        return;
-                    }
-                }
-            }
+        if(usedColumns.containsPair(c, tableName)){
+            return;
         }
 
-        boolean existsAsInput = false;
-        MyTable targetInput = new MyTable();
-        for(MyTable inputT : inputTables){
-            if(inputT.getTableName().toLowerCase().equals(tableName.toLowerCase())){
-                existsAsInput = true;
-                targetInput = inputT;
-                break;
-            }
-        }
+        MyTable targetInput = getInputTableByName(tableName.toLowerCase());
+        boolean existsAsInput = (targetInput != null);
 
         if(existsAsInput == false){
             if( ( (c.contains("agg_")) && (c.contains("_col")) ) == false){
@@ -81,22 +102,14 @@ public class OperatorQuery {
             }
         }
 
-        boolean colExistsInTarget = false;
-        for(FieldSchema f : targetInput.getAllCols()){
-            if(f.getName().equals(c)){
-                colExistsInTarget = true;
-                break;
-            }
-        }
+        boolean colExistsInTarget = getColumnNames(targetInput).contains(c);
 
         if(colExistsInTarget == false){ //Attempt auto correct
             for(MyTable inputT : inputTables){
-                for(FieldSchema f : inputT.getAllCols()){
-                    if(f.getName().equals(c)){
-                        ColumnTypePair pair = new ColumnTypePair(c, inputT.getTableName().toLowerCase());
-                        usedColumns.addPair(pair);
-                        System.out.println("addUsedColumn: ("+c+" , "+tableName+")");
-                    }
+                if(getColumnNames(inputT).contains(c)){
+                    ColumnTypePair pair = new ColumnTypePair(c, inputT.getTableName().toLowerCase());
+                    usedColumns.addPair(pair);
+                    System.out.println("addUsedColumn: ("+c+" , "+tableName+")");
                 }
             }
         }
@@ -109,6 +122,47 @@ public class OperatorQuery {
 
     }
 
+    private MyTable getInputTableByName(String lowerCaseName){
+
+        if((inputTablesByName == null) || (indexedInputTables != inputTables.size())){
+            indexInputTables();
+        }
+
+        MyTable inputT = inputTablesByName.get(lowerCaseName);
+        if((inputT == null) || (inputT.getTableName().toLowerCase().equals(lowerCaseName) == false)){ //A miss or a stale hit: an input table may have been renamed since the map was built
+            indexInputTables();
+            inputT = inputTablesByName.get(lowerCaseName);
+        }
+
+        return inputT;
+
+    }
+
+    private void indexInputTables(){
+
+        inputTablesByName = new HashMap<>();
+        for(MyTable inputT : inputTables){
+            String name = inputT.getTableName().toLowerCase();
+            if(inputTablesByName.containsKey(name) == false){
+                inputTablesByName.put(name, inputT);
+            }
+        }
+        indexedInputTables = inputTables.size();
+
+    }
+
+    private Set<String> getColumnNames(MyTable table){
+
+        TableColumns columns = inputColumns.get(table);
+        if((columns == null) || (columns.isValidFor(table) == false)){
+            columns = new TableColumns(table);
+            inputColumns.put(table, columns);
+        }
+
+        return columns.columnNames;
+
+    }
+
     public MyMap getUsedColumns() { return usedColumns; }
 
     public String getAssignedContainer() { return assignedContainer; }
@@ -119,9 +173,69 @@ public class OperatorQuery {
 
     public String getExaremeOutputTableName() { return exaremeOutputTableName; }
 
-    public String getLocalQueryString() { return localQueryString; }
+    public String getLocalQueryString() { return localQuery.render(); }
+
+    public String getExaremeQueryString() { return exaremeQuery.render(); }
+
+    public SelectQuery getLocalQuery() { return localQuery; }
+
+    public SelectQuery getExaremeQuery() { return exaremeQuery; }
+
+    /*---Both queries become: select <columns> from <tableName> <alias>---*/
+    public void setSelectFromTable(List<String> columns, String tableName, String alias){
+        localQuery.setSelectFrom(columns, " from " + tableName + " " + alias + " ");
+        exaremeQuery.setSelectFrom(columns, " from " + tableName + " " + alias + " ");
+    }
+
+    /*---Both queries become: from <tableName>, the select list is set later by setSelectList---*/
+    public void setFromTable(String tableName){
+        localQuery.setFrom(" from " + tableName);
+        exaremeQuery.setFrom(" from " + tableName);
+    }
+
+    /*---Sets or replaces the select list of both queries, keeping their FROM part and clauses---*/
+    public void setSelectList(List<String> columns){
+        localQuery.setSelectList(columns);
+        exaremeQuery.setSelectList(columns);
+    }
 
-    public String getExaremeQueryString() { return exaremeQueryString; }
+    public boolean hasSelect() { return localQuery.hasSelect(); }
+
+    /*---Text appended to both the local and the Exareme query (joins, join conditions, unions)---*/
+    public void appendToQueries(String text){
+        localQuery.append(text);
+        exaremeQuery.append(text);
+    }
+
+    public void addWhereClause(String predicate){
+        localQuery.addWhere(predicate);
+        exaremeQuery.addWhere(predicate);
+    }
+
+    public void addHavingClause(String predicate){
+        localQuery.addHaving(predicate);
+        exaremeQuery.addHaving(predicate);
+    }
+
+    public void addGroupByClause(String expression){
+        localQuery.addGroupBy(expression);
+        exaremeQuery.addGroupBy(expression);
+    }
+
+    public void addOrderByClause(String orderByString){
+        localQuery.addOrderBy(orderByString);
+        exaremeQuery.addOrderBy(orderByString);
+    }
+
+    public void addLimitClause(String limit){
+        localQuery.addLimit(limit);
+        exaremeQuery.addLimit(limit);
+    }
+
+    /*---The local query becomes: create table <tableName> as <query>---*/
+    public void setLocalCreateTable(String tableName){
+        localQuery.setCreateTable(tableName);
+    }
 
     public MyTable getOutputTable() { return outputTable; }
 
@@ -131,11 +245,11 @@ public class OperatorQuery {
 
     public void setDataBasePath(String p) { dataBasePath = p; }
 
-    public void setLocalQueryString(String q) { localQueryString = q; }
+    public void setLocalQueryString(String q) { localQuery.setText(q); }
 
     public void setExaremeOutputTableName(String s) { exaremeOutputTableName = s; }
 
-    public void setExaremeQueryString(String e) { exaremeQueryString = e; }
+    public void setExaremeQueryString(String e) { exaremeQuery.setText(e); }
 
     public void addInputTable(MyTable n){
 
@@ -149,6 +263,8 @@ public class OperatorQuery {
         //}
 
         inputTables.add(n);
+        inputTablesByName = null;
+        inputColumns.clear();
 
     }
 
@@ -159,11 +275,11 @@ public class OperatorQuery {
         System.out.println("\t\t\tDatabasePath: ["+dataBasePath+"]");
         outputFile.println("\t\t\tDatabasePath: ["+dataBasePath+"]");
         outputFile.flush();
-        System.out.println("\t\t\tlocalQueryString: ["+localQueryString+"]");
-        outputFile.println("\t\t\tlocalQueryString: ["+localQueryString+"]");
+        System.out.println("\t\t\tlocalQueryString: ["+getLocalQueryString()+"]");
+        outputFile.println("\t\t\tlocalQueryString: ["+getLocalQueryString()+"]");
         outputFile.flush();
-        System.out.println("\t\t\texaremeQueryString: ["+exaremeQueryString+"]");
-        outputFile.println("\t\t\texaremeQueryString: ["+exaremeQueryString+"]");
+        System.out.println("\t\t\texaremeQueryString: ["+getExaremeQueryString()+"]");
+        outputFile.println("\t\t\texaremeQueryString: ["+getExaremeQueryString()+"]");
         outputFile.flush();
         System.out.println("\t\t\tOutputTable(Name): "+outputTable.getTableName());
         outputFile.println("\t\t\tOutputTable(Name): "+outputTable.getTableName());
@@ -0,0 +1,159 @@
+package com.inmobi.hive.test;
+
+import org.apache.hadoop.hive.ql.exec.ColumnInfo;
+import org.apache.hadoop.hive.ql.exec.RowSchema;
+import org.apache.hadoop.hive.serde2.typeinfo.TypeInfo;
+
+import java.util.*;
+
+/*
+   Typed model of the RowSchema of an Operator: the internal name, the full
+   Hive type name and the type category of every column. It is built once
+   per OperatorNode (see OperatorNode.getOperatorSchema()) from the
+   ColumnInfo/TypeInfo objects of the RowSchema, so the QueryBuilder does not
+   have to split the schema string on commas and colons on every visit.
+
+   getSimpleType() gives the type the QueryBuilder works with: decimal
+   without precision/scale and complex types (struct, map, array, uniontype)
+   by their category name. When the ColumnInfos do not match the schema
+   string the model is parsed from the string, taking nested <> and () into
+   account.
+*/
+
+public final class OperatorSchema {
+
+    public static final class Column {
+
+        private final String name;
+        private final String typeName;
+        private final String simpleType;
+        private final boolean complex;
+
+        public Column(String name, String typeName) {
+            this.name = name;
+            this.typeName = typeName;
+            int typeParams = typeName.indexOf('<');
+            if (typeParams > 0) { //struct<...>, map<...>, array<...>, uniontype<...>
+                simpleType = typeName.substring(0, typeParams);
+                complex = true;
+            }
+            else if (typeName.startsWith("decimal")) {
+                simpleType = "decimal";
+                complex = false;
+            }
+            else {
+                simpleType = typeName;
+                complex = false;
+            }
+        }
+
+        /*---Internal name as found in the RowSchema (KEY._col0, VALUE._col1, _col2...)---*/
+        public String getName() { return name; }
+
+        public String getNameWithoutPrefix() {
+            return name.replace("KEY.", "").replace("VALUE.", "");
+        }
+
+        public String getTypeName() { return typeName; }
+
+        public String getSimpleType() { return simpleType; }
+
+        public boolean isComplex() { return complex; }
+
+        public boolean isStruct() { return simpleType.equals("struct"); }
+
+        public boolean isDecimal() { return simpleType.equals("decimal"); }
+    }
+
+    private final String schemaString;
+    private final List<Column> columns;
+    private final boolean hasStructs;
+    private final String simpleSchemaString;
+
+    private OperatorSchema(String schemaString, List<Column> columnList) {
+        this.schemaString = schemaString;
+        columns = Collections.unmodifiableList(columnList);
+
+        boolean structs = false;
+        StringBuilder simple = new StringBuilder("(");
+        for (Column c : columns) {
+            if (simple.length() > 1) simple.append(',');
+            simple.append(c.getName()).append(": ").append(c.getSimpleType());
+            if (c.isStruct()) structs = true;
+        }
+        simple.append(')');
+        hasStructs = structs;
+        simpleSchemaString = simple.toString();
+    }
+
+    /*---From the ColumnInfos of a RowSchema, or from schemaString if the two do not describe the same columns---*/
+    public static OperatorSchema fromRowSchema(RowSchema rowSchema, String schemaString) {
+
+        if ((rowSchema == null) || (rowSchema.getSignature() == null)) {
+            return fromSchemaString(schemaString);
+        }
+
+        List<Column> columnList = new ArrayList<>();
+        StringBuilder rendered = new StringBuilder("(");
+        for (ColumnInfo info : rowSchema.getSignature()) {
+            TypeInfo type = info.getType();
+            String typeName = (type != null) ? type.getTypeName() : info.getTypeName();
+            columnList.add(new Column(info.getInternalName(), typeName));
+            if (rendered.length() > 1) rendered.append(',');
+            rendered.append(info.getInternalName()).append(": ").append(typeName);
+        }
+        rendered.append(')');
+
+        if ((schemaString != null) && (schemaString.equals(rendered.toString()) == false)) {
+            System.out.println("OperatorSchema: RowSchema and schema string differ, parsing: " + schemaString);
+            return fromSchemaString(schemaString);
+        }
+
+        return new OperatorSchema(rendered.toString(), columnList);
+    }
+
+    /*---Parses "(name1: type1,name2: type2,...)" as rendered by RowSchema.toString()---*/
+    public static OperatorSchema fromSchemaString(String schemaString) {
+
+        String body = schemaString;
+        if (body.startsWith("(") && body.endsWith(")")) {
+            body = body.substring(1, body.length() - 1);
+        }
+
+        List<Column> columnList = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i <= body.length(); i++) {
+            char c = (i < body.length()) ? body.charAt(i) : ',';
+            if ((c == '<') || (c == '(')) {
+                depth++;
+            }
+            else if ((c == '>') || (c == ')')) {
+                depth--;
+            }
+            else if ((c == ',') && (depth == 0)) {
+                String part = body.substring(start, i);
+                start = i + 1;
+                if (part.trim().isEmpty()) continue;
+
+                int colon = part.indexOf(':');
+                if (colon < 0) {
+                    throw new IllegalArgumentException("OperatorSchema: Failed to locate : in column: " + part + " of schema: " + schemaString);
+                }
+                columnList.add(new Column(part.substring(0, colon), part.substring(colon + 1).trim()));
+            }
+        }
+
+        return new OperatorSchema(schemaString, columnList);
+    }
+
+    public String getSchemaString() { return schemaString; }
+
+    public List<Column> getColumns() { return columns; }
+
+    public boolean hasStructs() { return hasStructs; }
+
+    /*---The schema with simple types: (name1: decimal,name2: struct,...)---*/
+    public String getSimpleSchemaString() { return simpleSchemaString; }
+
+}
@@ -323,17 +323,14 @@ public class QueryBuilder {
             for(Map.Entry<String, MyMap> entry : operatorCastMap.entrySet()){
                 if(entry.getKey().equals(operatorName)){
                     MyMap existingMap = entry.getValue();
-                    for(ColumnTypePair existingPair : existingMap.getColumnAndTypeList()){
-                        if(existingPair.getColumnName().equals(realAlias)){
-                            if(existingPair.getColumnType().equals(realType)){
-                                existingPair.addCastType(castType);
-                                //existingPair.getAltAliasPairs().get(0).setExtraValue(castColAlias);
-                                //existingPair.getAltAliasPairs().get(0).setCastExpr(castExpr);
-                                existingPair.getAltAliasPairs().get(0).setParemeterType(operatorName);
-                                existingPair.getAltAliasPairs().get(0).setValue(currentOpAlias);
-                                return;
-                            }
-                        }
+                    ColumnTypePair existingPair = existingMap.getPair(realAlias, realType);
+                    if(existingPair != null){
+                        existingPair.addCastType(castType);
+                        //existingPair.getAltAliasPairs().get(0).setExtraValue(castColAlias);
+                        //existingPair.getAltAliasPairs().get(0).setCastExpr(castExpr);
+                        existingPair.getAltAliasPairs().get(0).setParemeterType(operatorName);
+                        existingPair.getAltAliasPairs().get(0).setValue(currentOpAlias);
+                        return;
                     }
                     ColumnTypePair pair = new ColumnTypePair(realAlias, realType);
                     pair.addAltAlias(operatorName, currentOpAlias, false);
@@ -391,33 +388,24 @@ public class QueryBuilder {
 
     public void checkIfConstantMapBreaksRegistry(String constType, String operatorName, String wantedAlias){
 
-        for(TableRegEntry tableRegEntry : tableRegistry.getEntries()){
-            for(ColumnTypePair cP : tableRegEntry.getColumnTypeMap().getColumnAndTypeList()){
-                if(cP.getColumnType().equals(constType)){
-                    //if(cP.getColumnName().equals(wantedAlias)){
-                     //   for(StringParameter sP : cP.getAltAliasPairs()){
-                    //        if(sP.getParemeterType().equals(operatorName)){
-                     //           System.out.println("Constant: "+wantedAlias+" of type: "+constType+" of: "+operatorName+" is currently breaking the TableRegistry because same (Operator, Alias) pair also exists! Needs to be fixed!");
-                     //           System.exit(0);
-                    //        }
-                    //    }
-                    //}
-                    //else{
-                        for(StringParameter sP : cP.getAltAliasPairs()){
-                            if(sP.getValue().equals(wantedAlias)) {
-                                if (sP.getParemeterType().equals(operatorName)) {
-                                    System.out.println("Constant: " + wantedAlias + " of type: " + constType + " of: " + operatorName + " is currently breaking the TableRegistry because same (Operator, Alias) pair also exists! Needs to be fixed!");
-                                    System.exit(0);
-                                }
-                            }
-                        }
-                   // }
-                }
+        for(ColumnTypePair cP : tableRegistry.getPairsByAlias(operatorName, wantedAlias)){
+            if(cP.getColumnType().equals(constType)){
+                System.out.println("Constant: " + wantedAlias + " of type: " + constType + " of: " + operatorName + " is currently breaking the TableRegistry because same (Operator, Alias) pair also exists! Needs to be fixed!");
+                System.exit(0);
             }
         }
 
     }
 
+    /*---Operator names of the fathers that exist, for the registry lookups that take several operators---*/
+    private static String[] operatorNames(OperatorNode... nodes){
+        List<String> names = new LinkedList<>();
+        for(OperatorNode node : nodes){
+            if(node != null) names.add(node.getOperatorName());
+        }
+        return names.toArray(new String[names.size()]);
+    }
+
     public void addQueryToList(OperatorQuery opQuery) { allQueries.add(opQuery); }
 
     public ExaremeGraph getExaremeGraph(){
@@ -755,19 +743,55 @@ public class QueryBuilder {
 
     }
 
+    /*
+        Same result as extractColsFromTypeName/extractColsFromTypeNameWithStructs
+        on the schema string of an OperatorNode, but the columns come from the
+        OperatorSchema cached on the node instead of splitting the string again.
+        Decimals lose their precision/scale and structs become "struct".
+     */
+
+    public String extractColsFromOperatorSchema(OperatorNode node, MyMap aMap, boolean keepKeys){
+
+        OperatorSchema operatorSchema = node.getOperatorSchema();
+
+        System.out.println("extractColsFromOperatorSchema: "+node.getOperatorName()+" Schema: "+operatorSchema.getSimpleSchemaString());
+
+        for(OperatorSchema.Column column : operatorSchema.getColumns()){
+            String realName = column.getName();
+            if(keepKeys == false){
+                realName = column.getNameWithoutPrefix();
+            }
+
+            if(operatorSchema.hasStructs() && realName.contains("__aggregationColumn_")){
+                System.out.println("This is a special aggregation column searching for it... ");
+                int wantedIndex = Integer.parseInt(realName.replace("__aggregationColumn_", ""));
+                List<ColumnTypePair> aggregations = aggregationsMap.getColumnAndTypeList();
+                if(wantedIndex < aggregations.size()){
+                    realName = aggregations.get(wantedIndex).getColumnName();
+                }
+            }
+
+            ColumnTypePair pair = new ColumnTypePair(realName, column.getSimpleType());
+            aMap.addPair(pair);
+        }
+
+        return operatorSchema.getSimpleSchemaString();
+
+    }
+
     public String buildColumnNamesFromMap(MyMap columns){
 
-        String output = "";
+        StringBuilder output = new StringBuilder();
 
         if(columns != null){
             List<ColumnTypePair> blaList = columns.getColumnAndTypeList();
             for(ColumnTypePair entry : blaList){
-                if(!output.isEmpty()){
-                    output = output.concat(", ");
+                if(output.length() > 0){
+                    output.append(", ");
                 }
                 if(entry != null){
                     if(entry.getColumnName() != null){
-                        output = output.concat(entry.getColumnName());
+                        output.append(entry.getColumnName());
                     }
                 }
             }
@@ -775,7 +799,7 @@ public class QueryBuilder {
 
         System.out.println("buildColumnNamesFromMap: "+output);
 
-        return output;
+        return output.toString();
 
     }
 
@@ -784,22 +808,15 @@ public class QueryBuilder {
         System.out.println(currentOperatorNode.getOperatorName()+": Accessing method: addNewPossibleAliases...");
 
         Map<String, ExprNodeDesc> exprNodeDescMap = currentOperatorNode.getOperator().getColumnExprMap();
-        if(exprNodeDescMap == null) return currentOperatorNode.getOperator().getSchema().toString();
+        if(exprNodeDescMap == null) return currentOperatorNode.getSchemaString();
 
         if(currentOperatorNode.getOperator().getSchema() == null){
             System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Current Schema is NULL!");
             System.exit(0);
         }
 
-        String schemaString = currentOperatorNode.getOperator().getSchema().toString();
-
         MyMap tempMap = new MyMap(true);
-        if(schemaString.contains("struct<")){
-            schemaString = extractColsFromTypeNameWithStructs(schemaString, tempMap, schemaString, true);
-        }
-        else{
-            schemaString = extractColsFromTypeName(schemaString, tempMap, schemaString, true);
-        }
+        String schemaString = extractColsFromOperatorSchema(currentOperatorNode, tempMap, true);
 
         //System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Before...addNewPossibleAliases...TableRegistry was : ");
         //printTableRegistry();
@@ -864,17 +881,9 @@ public class QueryBuilder {
                 }
 
                 boolean ommitAlias = false;
-                for (TableRegEntry tableRegEntry : tableRegistry.getEntries()) {
-                    for (ColumnTypePair pair2 : tableRegEntry.getColumnTypeMap().getColumnAndTypeList()) {
-                        if (pair2.getColumnType().equals(constType)) {
-                            if (pair2.getColumnName().equals(entry.getKey())) {
-                                System.out.println("Constant Value: " + pair2.getColumnName() + " also exists in tableRegistry! Omitting!");
-                                ommitAlias = true;
-                                break;
-                            }
-                        }
-                    }
-                    if (ommitAlias) break;
+                if (tableRegistry.containsPair(entry.getKey(), constType)) {
+                    System.out.println("Constant Value: " + entry.getKey() + " also exists in tableRegistry! Omitting!");
+                    ommitAlias = true;
                 }
 
                 if (ommitAlias == false) {
@@ -918,7 +927,6 @@ public class QueryBuilder {
                 oldColumnName = oldValue.getCols().get(0);
             }
 
-            List<TableRegEntry> tableEntries = tableRegistry.getEntries();
 
             boolean matchFound = false;
 
@@ -950,85 +958,83 @@ public class QueryBuilder {
             if(fatherOperatorNode2 != null){ //Has second father too - allowedMatches == 2
                 List<String> theMatchers = new LinkedList<>();
                 if(entry.getKey().contains("_col")) {
-                    for (TableRegEntry regEntry : tableEntries) {
-                        for (ColumnTypePair pair : regEntry.getColumnTypeMap().getColumnAndTypeList()){
-                            if(pair.getColumnName().equals(oldColumnName) == false){
-                                for (StringParameter sP : pair.getAltAliasPairs()) {
-                                    if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) {
-                                        if (sP.getValue().equals(oldColumnName)) {
+                    for (ColumnTypePair pair : tableRegistry.getPairsByAliasOfAny(oldColumnName, fatherOperatorNode.getOperatorName(), fatherOperatorNode2.getOperatorName())){
+                        if(pair.getColumnName().equals(oldColumnName) == false){
+                            for (StringParameter sP : pair.getAltAliasPairs()) {
+                                if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) {
+                                    if (sP.getValue().equals(oldColumnName)) {
 
-                                            boolean alreadyExists = false;
-                                            for(String match : theMatchers){
-                                                if(match.equals(pair.getColumnName())){
-                                                    alreadyExists = true;
-                                                    break;
-                                                }
+                                        boolean alreadyExists = false;
+                                        for(String match : theMatchers){
+                                            if(match.equals(pair.getColumnName())){
+                                                alreadyExists = true;
+                                                break;
                                             }
+                                        }
 
-                                            if(alreadyExists){
-                                                boolean hasMapJoin = false;
+                                        if(alreadyExists){
+                                            boolean hasMapJoin = false;
 
-                                                for(StringParameter sP2 : pair.getAltAliasPairs()){
-                                                    if(sP2.getValue().equals(sP.getValue())){
-                                                        if(sP2.getParemeterType().contains("MAPJOIN_") || (sP2.getParemeterType().contains("JOIN_"))){
-                                                            hasMapJoin = true;
-                                                            break;
-                                                        }
+                                            for(StringParameter sP2 : pair.getAltAliasPairs()){
+                                                if(sP2.getValue().equals(sP.getValue())){
+                                                    if(sP2.getParemeterType().contains("MAPJOIN_") || (sP2.getParemeterType().contains("JOIN_"))){
+                                                        hasMapJoin = true;
+                                                        break;
                                                     }
                                                 }
-
-                                                if(hasMapJoin == false){
-                                                    numberOfMatches++;
-                                                    theMatchers.add(pair.getColumnName());
-                                                    break;
-                                                }
-
                                             }
-                                            else {
+
+                                            if(hasMapJoin == false){
                                                 numberOfMatches++;
                                                 theMatchers.add(pair.getColumnName());
                                                 break;
                                             }
 
                                         }
+                                        else {
+                                            numberOfMatches++;
+                                            theMatchers.add(pair.getColumnName());
+                                            break;
+                                        }
+
                                     }
-                                    else if(sP.getParemeterType().equals(fatherOperatorNode2.getOperatorName())){
-                                        if (sP.getValue().equals(oldColumnName)) {
+                                }
+                                else if(sP.getParemeterType().equals(fatherOperatorNode2.getOperatorName())){
+                                    if (sP.getValue().equals(oldColumnName)) {
 
-                                            boolean alreadyExists = false;
-                                            for(String match : theMatchers){
-                                                if(match.equals(pair.getColumnName())){
-                                                    alreadyExists = true;
-                                                    break;
-                                                }
+                                        boolean alreadyExists = false;
+                                        for(String match : theMatchers){
+                                            if(match.equals(pair.getColumnName())){
+                                                alreadyExists = true;
+                                                break;
                                             }
+                                        }
 
-                                            if(alreadyExists){
-                                                boolean hasMapJoin = false;
+                                        if(alreadyExists){
+                                            boolean hasMapJoin = false;
 
-                                                for(StringParameter sP2 : pair.getAltAliasPairs()){
-                                                    if(sP2.getValue().equals(sP.getValue())){
-                                                        if(sP2.getParemeterType().contains("MAPJOIN_") || (sP2.getParemeterType().contains("JOIN_"))){
-                                                            hasMapJoin = true;
-                                                            break;
-                                                        }
+                                            for(StringParameter sP2 : pair.getAltAliasPairs()){
+                                                if(sP2.getValue().equals(sP.getValue())){
+                                                    if(sP2.getParemeterType().contains("MAPJOIN_") || (sP2.getParemeterType().contains("JOIN_"))){
+                                                        hasMapJoin = true;
+                                                        break;
                                                     }
                                                 }
-
-                                                if(hasMapJoin == false){
-                                                    numberOfMatches++;
-                                                    theMatchers.add(pair.getColumnName());
-                                                    break;
-                                                }
-
                                             }
-                                            else {
+
+                                            if(hasMapJoin == false){
                                                 numberOfMatches++;
                                                 theMatchers.add(pair.getColumnName());
                                                 break;
                                             }
 
                                         }
+                                        else {
+                                            numberOfMatches++;
+                                            theMatchers.add(pair.getColumnName());
+                                            break;
+                                        }
+
                                     }
                                 }
                             }
@@ -1065,43 +1071,37 @@ public class QueryBuilder {
                     if(locatedInSchema == false){
                         boolean foundWithOlderName = false;
                         for(ColumnTypePair tempPair : tempMap.getColumnAndTypeList()){
-                            for(TableRegEntry tableRegEntry : tableRegistry.getEntries()){
-                                for(ColumnTypePair cP : tableRegEntry.getColumnTypeMap().getColumnAndTypeList()){
-                                    if(cP.getColumnName().equals(tempPair.getColumnName())){
-                                        if(cP.getColumnType().equals(tempPair.getColumnType()) || tempPair.getColumnType().equals(cP.getLatestAltCastType())){
-                                            for(StringParameter sP : cP.getAltAliasPairs()){
-                                                if(sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())){
-                                                    if(sP.getValue().equals(entry.getKey())){
-                                                        locatedInSchema = true;
-                                                        if(tempPair.getColumnType().equals(cP.getLatestAltCastType())){
-                                                            targetType = tempPair.getColumnType();
-                                                        }
-                                                        else{
-                                                            targetType = cP.getColumnType();
-                                                        }
-                                                        foundWithOlderName = true;
-                                                        break;
-                                                    }
-                                                    else if(sP.getValue().equals(oldColumnName)){
-                                                        locatedInSchema = true;
-                                                        if(tempPair.getColumnType().equals(cP.getLatestAltCastType())){
-                                                            targetType = tempPair.getColumnType();
-                                                        }
-                                                        else{
-                                                            targetType = cP.getColumnType();
-                                                        }
-                                                        foundWithOlderName = true;
-                                                        break;
-                                                    }
+                            for(ColumnTypePair cP : tableRegistry.getPairsByName(tempPair.getColumnName())){
+                                if(cP.getColumnType().equals(tempPair.getColumnType()) || tempPair.getColumnType().equals(cP.getLatestAltCastType())){
+                                    for(StringParameter sP : cP.getAltAliasPairs()){
+                                        if(sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())){
+                                            if(sP.getValue().equals(entry.getKey())){
+                                                locatedInSchema = true;
+                                                if(tempPair.getColumnType().equals(cP.getLatestAltCastType())){
+                                                    targetType = tempPair.getColumnType();
                                                 }
+                                                else{
+                                                    targetType = cP.getColumnType();
+                                                }
+                                                foundWithOlderName = true;
+                                                break;
+                                            }
+                                            else if(sP.getValue().equals(oldColumnName)){
+                                                locatedInSchema = true;
+                                                if(tempPair.getColumnType().equals(cP.getLatestAltCastType())){
+                                                    targetType = tempPair.getColumnType();
+                                                }
+                                                else{
+                                                    targetType = cP.getColumnType();
+                                                }
+                                                foundWithOlderName = true;
+                                                break;
                                             }
-
-                                            if(foundWithOlderName) break;
                                         }
                                     }
-                                }
 
-                                if(foundWithOlderName) break;
+                                    if(foundWithOlderName) break;
+                                }
                             }
 
                             if(foundWithOlderName) break;
@@ -1114,43 +1114,37 @@ public class QueryBuilder {
                     if(locatedInSchema == false){
                         boolean foundWithOlderName = false;
                         for(ColumnTypePair tempPair : tempMap.getColumnAndTypeList()){
-                            for(TableRegEntry tableRegEntry : tableRegistry.getEntries()){
-                                for(ColumnTypePair cP : tableRegEntry.getColumnTypeMap().getColumnAndTypeList()){
-                                    if(cP.getColumnName().equals(tempPair.getColumnName())){
-                                        if(cP.getColumnType().equals(tempPair.getColumnType()) || cP.getLatestAltCastType().equals(tempPair.getColumnType())){
-                                            for(StringParameter sP : cP.getAltAliasPairs()){
-                                                if(sP.getParemeterType().equals(fatherOperatorNode2.getOperatorName())){
-                                                    if(sP.getValue().equals(entry.getKey())){
-                                                        locatedInSchema = true;
-                                                        if(tempPair.getColumnType().equals(cP.getLatestAltCastType())){
-                                                            targetType = tempPair.getColumnType();
-                                                        }
-                                                        else{
-                                                            targetType = cP.getColumnType();
-                                                        }
-                                                        foundWithOlderName = true;
-                                                        break;
-                                                    }
-                                                    else if(sP.getValue().equals(oldColumnName)){
-                                                        locatedInSchema = true;
-                                                        if(tempPair.getColumnType().equals(cP.getLatestAltCastType())){
-                                                            targetType = tempPair.getColumnType();
-                                                        }
-                                                        else{
-                                                            targetType = cP.getColumnType();
-                                                        }
-                                                        foundWithOlderName = true;
-                                                        break;
-                                                    }
+                            for(ColumnTypePair cP : tableRegistry.getPairsByName(tempPair.getColumnName())){
+                                if(cP.getColumnType().equals(tempPair.getColumnType()) || cP.getLatestAltCastType().equals(tempPair.getColumnType())){
+                                    for(StringParameter sP : cP.getAltAliasPairs()){
+                                        if(sP.getParemeterType().equals(fatherOperatorNode2.getOperatorName())){
+                                            if(sP.getValue().equals(entry.getKey())){
+                                                locatedInSchema = true;
+                                                if(tempPair.getColumnType().equals(cP.getLatestAltCastType())){
+                                                    targetType = tempPair.getColumnType();
+                                                }
+                                                else{
+                                                    targetType = cP.getColumnType();
                                                 }
+                                                foundWithOlderName = true;
+                                                break;
+                                            }
+                                            else if(sP.getValue().equals(oldColumnName)){
+                                                locatedInSchema = true;
+                                                if(tempPair.getColumnType().equals(cP.getLatestAltCastType())){
+                                                    targetType = tempPair.getColumnType();
+                                                }
+                                                else{
+                                                    targetType = cP.getColumnType();
+                                                }
+                                                foundWithOlderName = true;
+                                                break;
                                             }
-
-                                            if(foundWithOlderName) break;
                                         }
                                     }
-                                }
 
-                                if(foundWithOlderName) break;
+                                    if(foundWithOlderName) break;
+                                }
                             }
 
                             if(foundWithOlderName) break;
@@ -1176,47 +1170,45 @@ public class QueryBuilder {
                 List<String> theMatchers = new LinkedList<>();
 
                 if(entry.getKey().contains("_col")) {
-                    for (TableRegEntry regEntry : tableEntries) {
-                        for (ColumnTypePair pair : regEntry.getColumnTypeMap().getColumnAndTypeList()){
-                            if(pair.getColumnName().equals(oldColumnName) == false){
-                                for (StringParameter sP : pair.getAltAliasPairs()) {
-                                    if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) {
-                                        if (sP.getValue().equals(oldColumnName)) {
+                    for (ColumnTypePair pair : tableRegistry.getPairsByAlias(fatherOperatorNode.getOperatorName(), oldColumnName)){
+                        if(pair.getColumnName().equals(oldColumnName) == false){
+                            for (StringParameter sP : pair.getAltAliasPairs()) {
+                                if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) {
+                                    if (sP.getValue().equals(oldColumnName)) {
 
-                                            boolean alreadyExists = false;
-                                            for(String match : theMatchers){
-                                                if(match.equals(pair.getColumnName())){
-                                                    alreadyExists = true;
-                                                    break;
-                                                }
+                                        boolean alreadyExists = false;
+                                        for(String match : theMatchers){
+                                            if(match.equals(pair.getColumnName())){
+                                                alreadyExists = true;
+                                                break;
                                             }
+                                        }
 
-                                            if(alreadyExists){
-                                                boolean hasMapJoin = false;
+                                        if(alreadyExists){
+                                            boolean hasMapJoin = false;
 
-                                                for(StringParameter sP2 : pair.getAltAliasPairs()){
-                                                    if(sP2.getValue().equals(sP.getValue())){
-                                                        if(sP2.getParemeterType().contains("MAPJOIN_") || (sP2.getParemeterType().contains("JOIN_"))){
-                                                            hasMapJoin = true;
-                                                            break;
-                                                        }
+                                            for(StringParameter sP2 : pair.getAltAliasPairs()){
+                                                if(sP2.getValue().equals(sP.getValue())){
+                                                    if(sP2.getParemeterType().contains("MAPJOIN_") || (sP2.getParemeterType().contains("JOIN_"))){
+                                                        hasMapJoin = true;
+                                                        break;
                                                     }
                                                 }
-
-                                                if(hasMapJoin == false){
-                                                    numberOfMatches++;
-                                                    theMatchers.add(pair.getColumnName());
-                                                    break;
-                                                }
-
                                             }
-                                            else {
+
+                                            if(hasMapJoin == false){
                                                 numberOfMatches++;
                                                 theMatchers.add(pair.getColumnName());
                                                 break;
                                             }
 
                                         }
+                                        else {
+                                            numberOfMatches++;
+                                            theMatchers.add(pair.getColumnName());
+                                            break;
+                                        }
+
                                     }
                                 }
                             }
@@ -1254,33 +1246,27 @@ public class QueryBuilder {
                     if(locatedInSchema == false){
                         boolean foundWithOlderName = false;
                         for(ColumnTypePair tempPair : tempMap.getColumnAndTypeList()){
-                            for(TableRegEntry tableRegEntry : tableRegistry.getEntries()){
-                                for(ColumnTypePair cP : tableRegEntry.getColumnTypeMap().getColumnAndTypeList()){
-                                    if(cP.getColumnName().equals(tempPair.getColumnName())){
-                                        if(cP.getColumnType().equals(tempPair.getColumnType())){
-                                            for(StringParameter sP : cP.getAltAliasPairs()){
-                                                if(sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())){
-                                                    if(sP.getValue().equals(entry.getKey())){
-                                                        locatedInSchema = true;
-                                                        targetType = cP.getColumnType();
-                                                        foundWithOlderName = true;
-                                                        break;
-                                                    }
-                                                    else if(sP.getValue().equals(oldColumnName)){
-                                                        locatedInSchema = true;
-                                                        targetType = cP.getColumnType();
-                                                        foundWithOlderName = true;
-                                                        break;
-                                                    }
-                                                }
+                            for(ColumnTypePair cP : tableRegistry.getPairsByName(tempPair.getColumnName())){
+                                if(cP.getColumnType().equals(tempPair.getColumnType())){
+                                    for(StringParameter sP : cP.getAltAliasPairs()){
+                                        if(sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())){
+                                            if(sP.getValue().equals(entry.getKey())){
+                                                locatedInSchema = true;
+                                                targetType = cP.getColumnType();
+                                                foundWithOlderName = true;
+                                                break;
+                                            }
+                                            else if(sP.getValue().equals(oldColumnName)){
+                                                locatedInSchema = true;
+                                                targetType = cP.getColumnType();
+                                                foundWithOlderName = true;
+                                                break;
                                             }
-
-                                            if(foundWithOlderName) break;
                                         }
                                     }
-                                }
 
-                                if(foundWithOlderName) break;
+                                    if(foundWithOlderName) break;
+                                }
                             }
 
                             if(foundWithOlderName) break;
@@ -1316,345 +1302,333 @@ public class QueryBuilder {
                 }
             }
 
-            for(TableRegEntry regEntry : tableEntries){ //Run through all Input Tables of Table Registry //TODO: HANDLE CASE OF JOIN BETWEEN TWO SAME TABLES WITH SAME COLUMN TO JOIN
-
-                List<ColumnTypePair> columnTypePairs = regEntry.getColumnTypeMap().getColumnAndTypeList();
-
-                for(ColumnTypePair pair : columnTypePairs){ //Run through the column Map of each table
-                    List<StringParameter> altAliases = pair.getAltAliasPairs(); //Get the alt Aliases of a column
+            for(ColumnTypePair pair : tableRegistry.getPairsByAliasOfAny(oldColumnName, operatorNames(fatherOperatorNode, fatherOperatorNode2))){ //Run through the columns of the Table Registry that a father knows as oldColumnName //TODO: HANDLE CASE OF JOIN BETWEEN TWO SAME TABLES WITH SAME COLUMN TO JOIN
+                List<StringParameter> altAliases = pair.getAltAliasPairs(); //Get the alt Aliases of a column
 
-                    if(hasMoreThan1Match == true){
-                        if(pair.getColumnType().equals(targetType) == false){
-                            if(pair.hasLatestAltCastType(targetType) == false){
-                                continue;
-                            }
+                if(hasMoreThan1Match == true){
+                    if(pair.getColumnType().equals(targetType) == false){
+                        if(pair.hasLatestAltCastType(targetType) == false){
+                            continue;
                         }
                     }
+                }
 
-                    if(genericUDFBridge == false) {
-                        if (allowTypeComparisons == true) {
-                            if (pair.getColumnType().equals(possibleType) == false) {
-                                if (pair.hasLatestAltCastType(possibleType) == false) {
-                                    continue;
-                                }
+                if(genericUDFBridge == false) {
+                    if (allowTypeComparisons == true) {
+                        if (pair.getColumnType().equals(possibleType) == false) {
+                            if (pair.hasLatestAltCastType(possibleType) == false) {
+                                continue;
                             }
                         }
                     }
+                }
 
-                    if(existsAgainInValues) {
-                        if (bannedColumnList.size() > 0) {
-                            boolean banned = false;
-                            for (String s : bannedColumnList) {
-                                if (s.equals(pair.getColumnName())) {
-                                    banned = true;
-                                    break;
-                                }
+                if(existsAgainInValues) {
+                    if (bannedColumnList.size() > 0) {
+                        boolean banned = false;
+                        for (String s : bannedColumnList) {
+                            if (s.equals(pair.getColumnName())) {
+                                banned = true;
+                                break;
                             }
-
-                            if(banned) continue;
                         }
-                    }
 
-                    boolean checkForCast = false;
-                    if(pair.hasLatestAltCastType(possibleType)){
-                        if(pair.getColumnType().equals(possibleType) == false){
-                            checkForCast = true;
-                        }
+                        if(banned) continue;
                     }
+                }
 
-                    if(altAliases.size() == 0){
-                        System.out.println("addNewPossibleAlias: AltAlias must always be > 0");
-                        System.exit(0);
+                boolean checkForCast = false;
+                if(pair.hasLatestAltCastType(possibleType)){
+                    if(pair.getColumnType().equals(possibleType) == false){
+                        checkForCast = true;
                     }
+                }
 
-                    for(StringParameter sP : altAliases){ //Try to find father through the altAliases
-                        if((fatherOperatorNode != null) && (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) ){ //Father1 Located
-                            if(sP.getValue().equals(oldColumnName)){ //Column names match
+                if(altAliases.size() == 0){
+                    System.out.println("addNewPossibleAlias: AltAlias must always be > 0");
+                    System.exit(0);
+                }
 
-                                String properAliasName = pair.getColumnName();
-
-                                boolean locatedOutOfRegistry = false;
-                                if(checkForCast && (genericUDFBridge == false)){
-                                    System.out.println("addNewPossibleAlias: Since we have cast type let's check out of registry...");
-                                    for(Map.Entry<String, MyMap> castEntry : operatorCastMap.entrySet()){ //Check for cast in cast map
-                                        if(castEntry.getKey().equals(fatherOperatorNode.getOperatorName())) {
-                                            for (ColumnTypePair castPair : castEntry.getValue().getColumnAndTypeList()) {
-                                                if(castPair.getColumnName().equals(pair.getColumnName())){
-                                                    if(castPair.getColumnType().equals(pair.getColumnType())){
-                                                        if(castPair.getLatestAltCastType().equals(pair.getLatestAltCastType())){
-                                                            if(castPair.getAltAliasPairs().get(0).getValue().equals(oldColumnName)){
-                                                                System.out.println("addNewPossibleAlias: Located corresponding cast column: "+castPair.getAltAliasPairs().get(0).getExtraValue());
-                                                                String actualCastName = castPair.getAltAliasPairs().get(0).getExtraValue();
-                                                                boolean parameterLocated = false;
-                                                                System.out.println("addNewPossibleAlias: Take it one step further! Looking if contained in aggregations...");
-                                                                for(ColumnTypePair aggPair : aggregationsMap.getColumnAndTypeList()){
-                                                                    for(String pValue : aggPair.getParameterValues()){
-                                                                        if(pValue.equals(actualCastName)){
-                                                                            for(StringParameter altAliasAggr : aggPair.getAltAliasPairs()){
-                                                                                if(altAliasAggr.getParemeterType().equals(fatherOperatorNode.getOperatorName())){
-                                                                                    if(altAliasAggr.getValue().equals(oldColumnName)){
-                                                                                        System.out.println("addNewPossibleAlias: After all oldColumnName: "+oldColumnName+" is an aggregation! ");
-                                                                                        parameterLocated = true;
-                                                                                        actualCastName = fetchlatestRequiredAncestorOfAggr(currentOperatorNode, currentOpQuery, aggPair.getColumnName(), aggPair.getAltAliasPairs(), oldColumnName);
-                                                                                        properAliasName = actualCastName;
-                                                                                        matchFound = true;
-                                                                                        locatedOutOfRegistry = true;
-                                                                                        aggPair.modifyAltAlias(currentOperatorNode.getOperatorName(), oldColumnName, entry.getKey(), true);
-
-                                                                                        if (tempMap.getColumnAndTypeList().size() > 1) {
-                                                                                            if (schemaString.contains("," + entry.getKey() + ":")) { //Update schema
-                                                                                                schemaString = schemaString.replace("," + entry.getKey() + ":", "," + properAliasName + ":");
+                for(StringParameter sP : altAliases){ //Try to find father through the altAliases
+                    if((fatherOperatorNode != null) && (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) ){ //Father1 Located
+                        if(sP.getValue().equals(oldColumnName)){ //Column names match
+
+                            String properAliasName = pair.getColumnName();
+
+                            boolean locatedOutOfRegistry = false;
+                            if(checkForCast && (genericUDFBridge == false)){
+                                System.out.println("addNewPossibleAlias: Since we have cast type let's check out of registry...");
+                                for(Map.Entry<String, MyMap> castEntry : operatorCastMap.entrySet()){ //Check for cast in cast map
+                                    if(castEntry.getKey().equals(fatherOperatorNode.getOperatorName())) {
+                                        for (ColumnTypePair castPair : castEntry.getValue().getColumnAndTypeList()) {
+                                            if(castPair.getColumnName().equals(pair.getColumnName())){
+                                                if(castPair.getColumnType().equals(pair.getColumnType())){
+                                                    if(castPair.getLatestAltCastType().equals(pair.getLatestAltCastType())){
+                                                        if(castPair.getAltAliasPairs().get(0).getValue().equals(oldColumnName)){
+                                                            System.out.println("addNewPossibleAlias: Located corresponding cast column: "+castPair.getAltAliasPairs().get(0).getExtraValue());
+                                                            String actualCastName = castPair.getAltAliasPairs().get(0).getExtraValue();
+                                                            boolean parameterLocated = false;
+                                                            System.out.println("addNewPossibleAlias: Take it one step further! Looking if contained in aggregations...");
+                                                            for(ColumnTypePair aggPair : aggregationsMap.getColumnAndTypeList()){
+                                                                for(String pValue : aggPair.getParameterValues()){
+                                                                    if(pValue.equals(actualCastName)){
+                                                                        for(StringParameter altAliasAggr : aggPair.getAltAliasPairs()){
+                                                                            if(altAliasAggr.getParemeterType().equals(fatherOperatorNode.getOperatorName())){
+                                                                                if(altAliasAggr.getValue().equals(oldColumnName)){
+                                                                                    System.out.println("addNewPossibleAlias: After all oldColumnName: "+oldColumnName+" is an aggregation! ");
+                                                                                    parameterLocated = true;
+                                                                                    actualCastName = fetchlatestRequiredAncestorOfAggr(currentOperatorNode, currentOpQuery, aggPair.getColumnName(), aggPair.getAltAliasPairs(), oldColumnName);
+                                                                                    properAliasName = actualCastName;
+                                                                                    matchFound = true;
+                                                                                    locatedOutOfRegistry = true;
+                                                                                    aggPair.modifyAltAlias(currentOperatorNode.getOperatorName(), oldColumnName, entry.getKey(), true);
+
+                                                                                    if (tempMap.getColumnAndTypeList().size() > 1) {
+                                                                                        if (schemaString.contains("," + entry.getKey() + ":")) { //Update schema
+                                                                                            schemaString = schemaString.replace("," + entry.getKey() + ":", "," + properAliasName + ":");
+                                                                                            System.out.println("Schema becomes: " + schemaString);
+                                                                                        } else {
+                                                                                            if (schemaString.contains("(" + entry.getKey() + ":")) { //Update schema
+                                                                                                schemaString = schemaString.replace("(" + entry.getKey() + ":", "(" + properAliasName + ":");
                                                                                                 System.out.println("Schema becomes: " + schemaString);
-                                                                                            } else {
-                                                                                                if (schemaString.contains("(" + entry.getKey() + ":")) { //Update schema
-                                                                                                    schemaString = schemaString.replace("(" + entry.getKey() + ":", "(" + properAliasName + ":");
-                                                                                                    System.out.println("Schema becomes: " + schemaString);
-                                                                                                }
                                                                                             }
+                                                                                        }
+                                                                                    } else {
+                                                                                        if (schemaString.contains("(" + entry.getKey() + ":")) { //Update schema
+                                                                                            schemaString = schemaString.replace("(" + entry.getKey() + ":", "(" + properAliasName + ":");
+                                                                                            System.out.println("Schema becomes: " + schemaString);
                                                                                         } else {
                                                                                             if (schemaString.contains("(" + entry.getKey() + ":")) { //Update schema
                                                                                                 schemaString = schemaString.replace("(" + entry.getKey() + ":", "(" + properAliasName + ":");
                                                                                                 System.out.println("Schema becomes: " + schemaString);
-                                                                                            } else {
-                                                                                                if (schemaString.contains("(" + entry.getKey() + ":")) { //Update schema
-                                                                                                    schemaString = schemaString.replace("(" + entry.getKey() + ":", "(" + properAliasName + ":");
-                                                                                                    System.out.println("Schema becomes: " + schemaString);
-                                                                                                }
                                                                                             }
                                                                                         }
-
-                                                                                        break;
                                                                                     }
+
+                                                                                    break;
                                                                                 }
                                                                             }
-
-                                                                            if(parameterLocated) break;
                                                                         }
-                                                                    }
-
-                                                                    if(parameterLocated) break;
-                                                                }
 
-                                                                if(parameterLocated == false){
-                                                                    properAliasName = actualCastName;
-                                                                    matchFound = true;
-                                                                    locatedOutOfRegistry = true;
-                                                                    addNewCastPair(currentOperatorNode.getOperatorName(), pair.getColumnName(), pair.getColumnType(), pair.getLatestAltCastType(), entry.getKey(), "casteddecimal_"+currentOperatorNode.getOperatorName()+"_"+pair.getColumnName(), "cast( "+pair.getColumnName() + " as decimal(10,5) )");
+                                                                        if(parameterLocated) break;
+                                                                    }
                                                                 }
 
-                                                                if(matchFound) break;
+                                                                if(parameterLocated) break;
+                                                            }
 
+                                                            if(parameterLocated == false){
+                                                                properAliasName = actualCastName;
+                                                                matchFound = true;
+                                                                locatedOutOfRegistry = true;
+                                                                addNewCastPair(currentOperatorNode.getOperatorName(), pair.getColumnName(), pair.getColumnType(), pair.getLatestAltCastType(), entry.getKey(), "casteddecimal_"+currentOperatorNode.getOperatorName()+"_"+pair.getColumnName(), "cast( "+pair.getColumnName() + " as decimal(10,5) )");
                                                             }
+
+                                                            if(matchFound) break;
+
                                                         }
                                                     }
                                                 }
                                             }
-
-                                            if(matchFound) break;
                                         }
+
+                                        if(matchFound) break;
                                     }
                                 }
+                            }
 
-                                if(locatedOutOfRegistry == false) {
-                                    matchFound = true;
-                                    if (genericUDFBridge) {
-                                        if (possibleType != "") {
-                                            pair.addCastType(possibleType);
-                                            if (castToDecimal) {
-                                                addNewCastPair(currentOperatorNode.getOperatorName(), properAliasName, pair.getColumnType(), possibleType, entry.getKey(), "casteddecimal_" + currentOperatorNode.getOperatorName() + "_" + pair.getColumnName(), "cast( " + properAliasName + " as decimal(10,5) )");
-                                                System.out.println("OldColumnName: " + oldColumnName + " - New ColumnName: " + entry.getKey() + " with Real Alias: " + pair.getColumnName() + " has castExpr: " + "cast( " + pair.getColumnName() + " as decimal(10,5) )");
-                                            }
+                            if(locatedOutOfRegistry == false) {
+                                matchFound = true;
+                                if (genericUDFBridge) {
+                                    if (possibleType != "") {
+                                        pair.addCastType(possibleType);
+                                        if (castToDecimal) {
+                                            addNewCastPair(currentOperatorNode.getOperatorName(), properAliasName, pair.getColumnType(), possibleType, entry.getKey(), "casteddecimal_" + currentOperatorNode.getOperatorName() + "_" + pair.getColumnName(), "cast( " + properAliasName + " as decimal(10,5) )");
+                                            System.out.println("OldColumnName: " + oldColumnName + " - New ColumnName: " + entry.getKey() + " with Real Alias: " + pair.getColumnName() + " has castExpr: " + "cast( " + pair.getColumnName() + " as decimal(10,5) )");
                                         }
                                     }
+                                }
 
-                                    if (tempMap.getColumnAndTypeList().size() > 1) {
-                                        if (schemaString.contains("," + entry.getKey() + ":")) { //Update schema
-                                            schemaString = schemaString.replace("," + entry.getKey() + ":", "," + pair.getColumnName() + ":");
+                                if (tempMap.getColumnAndTypeList().size() > 1) {
+                                    if (schemaString.contains("," + entry.getKey() + ":")) { //Update schema
+                                        schemaString = schemaString.replace("," + entry.getKey() + ":", "," + pair.getColumnName() + ":");
+                                        System.out.println("Schema becomes: " + schemaString);
+                                    } else {
+                                        if (schemaString.contains("(" + entry.getKey() + ":")) { //Update schema
+                                            schemaString = schemaString.replace("(" + entry.getKey() + ":", "(" + pair.getColumnName() + ":");
                                             System.out.println("Schema becomes: " + schemaString);
-                                        } else {
-                                            if (schemaString.contains("(" + entry.getKey() + ":")) { //Update schema
-                                                schemaString = schemaString.replace("(" + entry.getKey() + ":", "(" + pair.getColumnName() + ":");
-                                                System.out.println("Schema becomes: " + schemaString);
-                                            }
                                         }
+                                    }
+                                } else {
+                                    if (schemaString.contains("(" + entry.getKey() + ":")) { //Update schema
+                                        schemaString = schemaString.replace("(" + entry.getKey() + ":", "(" + pair.getColumnName() + ":");
+                                        System.out.println("Schema becomes: " + schemaString);
                                     } else {
                                         if (schemaString.contains("(" + entry.getKey() + ":")) { //Update schema
                                             schemaString = schemaString.replace("(" + entry.getKey() + ":", "(" + pair.getColumnName() + ":");
                                             System.out.println("Schema becomes: " + schemaString);
-                                        } else {
-                                            if (schemaString.contains("(" + entry.getKey() + ":")) { //Update schema
-                                                schemaString = schemaString.replace("(" + entry.getKey() + ":", "(" + pair.getColumnName() + ":");
-                                                System.out.println("Schema becomes: " + schemaString);
-                                            }
                                         }
                                     }
-                                    if (existsAgainInValues) {
-                                        if (currentEntryValue == 0) {
-                                            pair.modifyAltAlias(currentOperatorNode.getOperatorName(), oldColumnName, entry.getKey(), false); //Modify and bring new alias
-                                            System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": SPECIAL CASE: Key: " + oldColumnName + " is mapped to many Entries so the we will have two modifications for this Node: " + currentOperatorNode.getOperator());
-                                            currentEntryValue++;
-                                            bannedColumnList.add(pair.getColumnName());
-                                        } else {
-                                            currentEntryValue++;
-                                            pair.modifyAltAlias(currentOperatorNode.getOperatorName(), oldColumnName, entry.getKey(), false); //Modify and bring new alias
-                                            System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": (old Alias)= " + oldColumnName + " matched with (new Alias)=" + entry.getKey() + " for Operator= " + currentOperatorNode.getOperatorName() + " through fatherNode= " + fatherOperatorNode.getOperatorName());
-                                        }
+                                }
+                                if (existsAgainInValues) {
+                                    if (currentEntryValue == 0) {
+                                        pair.modifyAltAlias(currentOperatorNode.getOperatorName(), oldColumnName, entry.getKey(), false); //Modify and bring new alias
+                                        System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": SPECIAL CASE: Key: " + oldColumnName + " is mapped to many Entries so the we will have two modifications for this Node: " + currentOperatorNode.getOperator());
+                                        currentEntryValue++;
+                                        bannedColumnList.add(pair.getColumnName());
                                     } else {
+                                        currentEntryValue++;
                                         pair.modifyAltAlias(currentOperatorNode.getOperatorName(), oldColumnName, entry.getKey(), false); //Modify and bring new alias
                                         System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": (old Alias)= " + oldColumnName + " matched with (new Alias)=" + entry.getKey() + " for Operator= " + currentOperatorNode.getOperatorName() + " through fatherNode= " + fatherOperatorNode.getOperatorName());
                                     }
+                                } else {
+                                    pair.modifyAltAlias(currentOperatorNode.getOperatorName(), oldColumnName, entry.getKey(), false); //Modify and bring new alias
+                                    System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": (old Alias)= " + oldColumnName + " matched with (new Alias)=" + entry.getKey() + " for Operator= " + currentOperatorNode.getOperatorName() + " through fatherNode= " + fatherOperatorNode.getOperatorName());
                                 }
-
-                                break;
                             }
-                        }
-                        else if((fatherOperatorNode2 != null) && (sP.getParemeterType().equals(fatherOperatorNode2.getOperatorName())) ) {
-                            if(sP.getValue().equals(oldColumnName)){ //Column names match
 
-                                String properAliasName = pair.getColumnName();
-
-                                boolean locatedOutOfRegistry = false;
-                                if(checkForCast && (genericUDFBridge == false)){
-                                    System.out.println("addNewPossibleAlias: Since we have cast type let's check out of registry...");
-                                    for(Map.Entry<String, MyMap> castEntry : operatorCastMap.entrySet()){ //Check for cast in cast map
-                                        if(castEntry.getKey().equals(fatherOperatorNode2.getOperatorName())) {
-                                            for (ColumnTypePair castPair : castEntry.getValue().getColumnAndTypeList()) {
-                                                if(castPair.getColumnName().equals(pair.getColumnName())){
-                                                    if(castPair.getColumnType().equals(pair.getColumnType())){
-                                                        if(castPair.getLatestAltCastType().equals(pair.getLatestAltCastType())){
-                                                            if(castPair.getAltAliasPairs().get(0).getValue().equals(oldColumnName)){
-                                                                System.out.println("addNewPossibleAlias: Located corresponding cast column: "+castPair.getAltAliasPairs().get(0).getExtraValue());
-                                                                String actualCastName = castPair.getAltAliasPairs().get(0).getExtraValue();
-                                                                boolean parameterLocated = false;
-                                                                System.out.println("addNewPossibleAlias: Take it one step further! Looking if contained in aggregations...");
-                                                                for(ColumnTypePair aggPair : aggregationsMap.getColumnAndTypeList()){
-                                                                    for(String pValue : aggPair.getParameterValues()){
-                                                                        if(pValue.equals(actualCastName)){
-                                                                            for(StringParameter altAliasAggr : aggPair.getAltAliasPairs()){
-                                                                                if(altAliasAggr.getParemeterType().equals(fatherOperatorNode2.getOperatorName())){
-                                                                                    if(altAliasAggr.getValue().equals(oldColumnName)){
-                                                                                        System.out.println("addNewPossibleAlias: After all oldColumnName: "+oldColumnName+" is an aggregation! ");
-                                                                                        parameterLocated = true;
-                                                                                        actualCastName = fetchlatestRequiredAncestorOfAggr(currentOperatorNode, currentOpQuery, aggPair.getColumnName(), aggPair.getAltAliasPairs(), oldColumnName);
-                                                                                        matchFound = true;
-                                                                                        properAliasName = actualCastName;
-                                                                                        locatedOutOfRegistry = true;
-                                                                                        aggPair.modifyAltAlias(currentOperatorNode.getOperatorName(), oldColumnName, entry.getKey(), true);
-
-                                                                                        if (tempMap.getColumnAndTypeList().size() > 1) {
-                                                                                            if (schemaString.contains("," + entry.getKey() + ":")) { //Update schema
-                                                                                                schemaString = schemaString.replace("," + entry.getKey() + ":", "," + properAliasName + ":");
+                            break;
+                        }
+                    }
+                    else if((fatherOperatorNode2 != null) && (sP.getParemeterType().equals(fatherOperatorNode2.getOperatorName())) ) {
+                        if(sP.getValue().equals(oldColumnName)){ //Column names match
+
+                            String properAliasName = pair.getColumnName();
+
+                            boolean locatedOutOfRegistry = false;
+                            if(checkForCast && (genericUDFBridge == false)){
+                                System.out.println("addNewPossibleAlias: Since we have cast type let's check out of registry...");
+                                for(Map.Entry<String, MyMap> castEntry : operatorCastMap.entrySet()){ //Check for cast in cast map
+                                    if(castEntry.getKey().equals(fatherOperatorNode2.getOperatorName())) {
+                                        for (ColumnTypePair castPair : castEntry.getValue().getColumnAndTypeList()) {
+                                            if(castPair.getColumnName().equals(pair.getColumnName())){
+                                                if(castPair.getColumnType().equals(pair.getColumnType())){
+                                                    if(castPair.getLatestAltCastType().equals(pair.getLatestAltCastType())){
+                                                        if(castPair.getAltAliasPairs().get(0).getValue().equals(oldColumnName)){
+                                                            System.out.println("addNewPossibleAlias: Located corresponding cast column: "+castPair.getAltAliasPairs().get(0).getExtraValue());
+                                                            String actualCastName = castPair.getAltAliasPairs().get(0).getExtraValue();
+                                                            boolean parameterLocated = false;
+                                                            System.out.println("addNewPossibleAlias: Take it one step further! Looking if contained in aggregations...");
+                                                            for(ColumnTypePair aggPair : aggregationsMap.getColumnAndTypeList()){
+                                                                for(String pValue : aggPair.getParameterValues()){
+                                                                    if(pValue.equals(actualCastName)){
+                                                                        for(StringParameter altAliasAggr : aggPair.getAltAliasPairs()){
+                                                                            if(altAliasAggr.getParemeterType().equals(fatherOperatorNode2.getOperatorName())){
+                                                                                if(altAliasAggr.getValue().equals(oldColumnName)){
+                                                                                    System.out.println("addNewPossibleAlias: After all oldColumnName: "+oldColumnName+" is an aggregation! ");
+                                                                                    parameterLocated = true;
+                                                                                    actualCastName = fetchlatestRequiredAncestorOfAggr(currentOperatorNode, currentOpQuery, aggPair.getColumnName(), aggPair.getAltAliasPairs(), oldColumnName);
+                                                                                    matchFound = true;
+                                                                                    properAliasName = actualCastName;
+                                                                                    locatedOutOfRegistry = true;
+                                                                                    aggPair.modifyAltAlias(currentOperatorNode.getOperatorName(), oldColumnName, entry.getKey(), true);
+
+                                                                                    if (tempMap.getColumnAndTypeList().size() > 1) {
+                                                                                        if (schemaString.contains("," + entry.getKey() + ":")) { //Update schema
+                                                                                            schemaString = schemaString.replace("," + entry.getKey() + ":", "," + properAliasName + ":");
+                                                                                            System.out.println("Schema becomes: " + schemaString);
+                                                                                        } else {
+                                                                                            if (schemaString.contains("(" + entry.getKey() + ":")) { //Update schema
+                                                                                                schemaString = schemaString.replace("(" + entry.getKey() + ":", "(" + properAliasName + ":");
                                                                                                 System.out.println("Schema becomes: " + schemaString);
-                                                                                            } else {
-                                                                                                if (schemaString.contains("(" + entry.getKey() + ":")) { //Update schema
-                                                                                                    schemaString = schemaString.replace("(" + entry.getKey() + ":", "(" + properAliasName + ":");
-                                                                                                    System.out.println("Schema becomes: " + schemaString);
-                                                                                                }
                                                                                             }
+                                                                                        }
+                                                                                    } else {
+                                                                                        if (schemaString.contains("(" + entry.getKey() + ":")) { //Update schema
+                                                                                            schemaString = schemaString.replace("(" + entry.getKey() + ":", "(" + properAliasName + ":");
+                                                                                            System.out.println("Schema becomes: " + schemaString);
                                                                                         } else {
                                                                                             if (schemaString.contains("(" + entry.getKey() + ":")) { //Update schema
                                                                                                 schemaString = schemaString.replace("(" + entry.getKey() + ":", "(" + properAliasName + ":");
                                                                                                 System.out.println("Schema becomes: " + schemaString);
-                                                                                            } else {
-                                                                                                if (schemaString.contains("(" + entry.getKey() + ":")) { //Update schema
-                                                                                                    schemaString = schemaString.replace("(" + entry.getKey() + ":", "(" + properAliasName + ":");
-                                                                                                    System.out.println("Schema becomes: " + schemaString);
-                                                                                                }
                                                                                             }
                                                                                         }
-
-                                                                                        break;
                                                                                     }
+
+                                                                                    break;
                                                                                 }
                                                                             }
-
-                                                                            if(parameterLocated) break;
                                                                         }
-                                                                    }
-
-                                                                    if(parameterLocated) break;
-                                                                }
 
-                                                                if(parameterLocated == false){
-                                                                    properAliasName = actualCastName;
-                                                                    matchFound = true;
-                                                                    locatedOutOfRegistry = true;
-                                                                    addNewCastPair(currentOperatorNode.getOperatorName(), pair.getColumnName(), pair.getColumnType(), pair.getLatestAltCastType(), entry.getKey(), "casteddecimal_"+currentOperatorNode.getOperatorName()+"_"+pair.getColumnName(), "cast( "+pair.getColumnName() + " as decimal(10,5) )");
+                                                                        if(parameterLocated) break;
+                                                                    }
                                                                 }
 
-                                                                if(matchFound) break;
+                                                                if(parameterLocated) break;
+                                                            }
 
+                                                            if(parameterLocated == false){
+                                                                properAliasName = actualCastName;
+                                                                matchFound = true;
+                                                                locatedOutOfRegistry = true;
+                                                                addNewCastPair(currentOperatorNode.getOperatorName(), pair.getColumnName(), pair.getColumnType(), pair.getLatestAltCastType(), entry.getKey(), "casteddecimal_"+currentOperatorNode.getOperatorName()+"_"+pair.getColumnName(), "cast( "+pair.getColumnName() + " as decimal(10,5) )");
                                                             }
+
+                                                            if(matchFound) break;
+
                                                         }
                                                     }
                                                 }
                                             }
-
-                                            if(matchFound) break;
                                         }
+
+                                        if(matchFound) break;
                                     }
                                 }
+                            }
 
-                                if(locatedOutOfRegistry == false) {
-                                    matchFound = true;
-                                    if (genericUDFBridge) {
-                                        if (possibleType != "") {
-                                            pair.addCastType(possibleType);
-                                            if (castToDecimal) {
-                                                addNewCastPair(currentOperatorNode.getOperatorName(), pair.getColumnName(), pair.getColumnType(), possibleType, entry.getKey(), "casteddecimal_" + currentOperatorNode.getOperatorName() + "_" + pair.getColumnName(), "cast( " + pair.getColumnName() + " as decimal(10,5) )");
-                                                System.out.println("OldColumnName: " + oldColumnName + " - New ColumnName: " + entry.getKey() + " with Real Alias: " + pair.getColumnName() + " has castExpr: " + "cast( " + pair.getColumnName() + " as decimal(10,5) )");
-                                            }
+                            if(locatedOutOfRegistry == false) {
+                                matchFound = true;
+                                if (genericUDFBridge) {
+                                    if (possibleType != "") {
+                                        pair.addCastType(possibleType);
+                                        if (castToDecimal) {
+                                            addNewCastPair(currentOperatorNode.getOperatorName(), pair.getColumnName(), pair.getColumnType(), possibleType, entry.getKey(), "casteddecimal_" + currentOperatorNode.getOperatorName() + "_" + pair.getColumnName(), "cast( " + pair.getColumnName() + " as decimal(10,5) )");
+                                            System.out.println("OldColumnName: " + oldColumnName + " - New ColumnName: " + entry.getKey() + " with Real Alias: " + pair.getColumnName() + " has castExpr: " + "cast( " + pair.getColumnName() + " as decimal(10,5) )");
                                         }
                                     }
-                                    if (tempMap.getColumnAndTypeList().size() > 1) {
-                                        if (schemaString.contains("," + entry.getKey() + ":")) { //Update schema
-                                            schemaString = schemaString.replace("," + entry.getKey() + ":", "," + pair.getColumnName() + ":");
+                                }
+                                if (tempMap.getColumnAndTypeList().size() > 1) {
+                                    if (schemaString.contains("," + entry.getKey() + ":")) { //Update schema
+                                        schemaString = schemaString.replace("," + entry.getKey() + ":", "," + pair.getColumnName() + ":");
+                                        System.out.println("Schema becomes: " + schemaString);
+                                    } else {
+                                        if (schemaString.contains("(" + entry.getKey() + ":")) { //Update schema
+                                            schemaString = schemaString.replace("(" + entry.getKey() + ":", "(" + pair.getColumnName() + ":");
                                             System.out.println("Schema becomes: " + schemaString);
-                                        } else {
-                                            if (schemaString.contains("(" + entry.getKey() + ":")) { //Update schema
-                                                schemaString = schemaString.replace("(" + entry.getKey() + ":", "(" + pair.getColumnName() + ":");
-                                                System.out.println("Schema becomes: " + schemaString);
-                                            }
                                         }
+                                    }
+                                } else {
+                                    if (schemaString.contains("(" + entry.getKey() + ":")) { //Update schema
+                                        schemaString = schemaString.replace("(" + entry.getKey() + ":", "(" + pair.getColumnName() + ":");
+                                        System.out.println("Schema becomes: " + schemaString);
                                     } else {
                                         if (schemaString.contains("(" + entry.getKey() + ":")) { //Update schema
                                             schemaString = schemaString.replace("(" + entry.getKey() + ":", "(" + pair.getColumnName() + ":");
                                             System.out.println("Schema becomes: " + schemaString);
-                                        } else {
-                                            if (schemaString.contains("(" + entry.getKey() + ":")) { //Update schema
-                                                schemaString = schemaString.replace("(" + entry.getKey() + ":", "(" + pair.getColumnName() + ":");
-                                                System.out.println("Schema becomes: " + schemaString);
-                                            }
                                         }
                                     }
-                                    if (existsAgainInValues) {
-                                        if (currentEntryValue == 0) {
-                                            pair.modifyAltAlias(currentOperatorNode.getOperatorName(), oldColumnName, entry.getKey(), false); //Modify and bring new alias
-                                            System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": SPECIAL CASE: Key: " + oldColumnName + " is mapped to many Entries so the we will have two modifications for this Node: " + currentOperatorNode.getOperator());
-                                            currentEntryValue++;
-                                            bannedColumnList.add(pair.getColumnName());
-                                        } else {
-                                            currentEntryValue++;
-                                            pair.modifyAltAlias(currentOperatorNode.getOperatorName(), oldColumnName, entry.getKey(), false); //Modify and bring new alias
-                                            System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": (old Alias)= " + oldColumnName + " matched with (new Alias)=" + entry.getKey() + " for Operator= " + currentOperatorNode.getOperatorName() + " through fatherNode= " + fatherOperatorNode2.getOperatorName());
-                                        }
+                                }
+                                if (existsAgainInValues) {
+                                    if (currentEntryValue == 0) {
+                                        pair.modifyAltAlias(currentOperatorNode.getOperatorName(), oldColumnName, entry.getKey(), false); //Modify and bring new alias
+                                        System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": SPECIAL CASE: Key: " + oldColumnName + " is mapped to many Entries so the we will have two modifications for this Node: " + currentOperatorNode.getOperator());
+                                        currentEntryValue++;
+                                        bannedColumnList.add(pair.getColumnName());
                                     } else {
+                                        currentEntryValue++;
                                         pair.modifyAltAlias(currentOperatorNode.getOperatorName(), oldColumnName, entry.getKey(), false); //Modify and bring new alias
                                         System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": (old Alias)= " + oldColumnName + " matched with (new Alias)=" + entry.getKey() + " for Operator= " + currentOperatorNode.getOperatorName() + " through fatherNode= " + fatherOperatorNode2.getOperatorName());
                                     }
+                                } else {
+                                    pair.modifyAltAlias(currentOperatorNode.getOperatorName(), oldColumnName, entry.getKey(), false); //Modify and bring new alias
+                                    System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": (old Alias)= " + oldColumnName + " matched with (new Alias)=" + entry.getKey() + " for Operator= " + currentOperatorNode.getOperatorName() + " through fatherNode= " + fatherOperatorNode2.getOperatorName());
                                 }
-
-                                break;
                             }
-                        }
-                    }
 
-                    if(existsAgainInValues){
-                        if(matchFound){
                             break;
                         }
                     }
-
                 }
 
                 if(existsAgainInValues){
@@ -1801,12 +1775,12 @@ public class QueryBuilder {
                 RowSchema schema = tbsOp.getSchema();
 
                 if(schema != null) {
-                    System.out.println(root.getOperator().getOperatorId() + ": Input Schema: " + schema.toString());
+                    System.out.println(root.getOperator().getOperatorId() + ": Input Schema: " + root.getSchemaString());
                     System.out.println(root.getOperator().getOperatorId() + ": Searching for matching InputTable...");
 
                     MyMap tempMap = new MyMap(false);
 
-                    String tempSchemaString = extractColsFromTypeName(schema.toString(), tempMap, schema.toString(), false);
+                    String tempSchemaString = extractColsFromOperatorSchema(root, tempMap, false);
 
                     //Build Name/Type Map
                     List<FieldSchema> newCols = new LinkedList<>();
@@ -1923,157 +1897,77 @@ public class QueryBuilder {
         //System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Before...addAliasesBaseOnFather...TableRegistry was : ");
         //printTableRegistry();
 
-        List<TableRegEntry> tableEntries = tableRegistry.getEntries();
+        String fatherName = fatherOperatorNode.getOperatorName();
 
-        for(TableRegEntry regEntry : tableEntries){ //Run through all Input Tables of Table Registry
+        for(ColumnTypePair pair : tableRegistry.getPairsOfOperator(fatherName)){ //Every column of an Input Table the father knows
+            String wantedAlias = pair.getFirstAltAlias(fatherName).getValue();
+            //System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Added Column: "+wantedAlias+" through fatherNode= "+fatherName);
+            pair.addAltAlias(currentOperatorNode.getOperatorName(), wantedAlias, false);
+        }
 
-            List<ColumnTypePair> columnTypePairs = regEntry.getColumnTypeMap().getColumnAndTypeList();
-
-            for(ColumnTypePair pair : columnTypePairs){ //Run through the column Map of each table
-                List<StringParameter> altAliases = pair.getAltAliasPairs(); //Get the alt Aliases of a column
-
-                boolean foundParent = false;
-                String wantedAlias = "";
-
-                if(altAliases.size() == 0){
-                    System.out.println("addNewPossibleAlias: AltAlias must always be > 0");
-                    System.exit(0);
-                }
-
-                for(StringParameter sP : altAliases){ //Try to find father through the altAliases
-                    if(sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())){ //Father1 Located
-                        wantedAlias = sP.getValue();
-                        foundParent = true;
-                        //System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Added Column: "+sP.getValue()+" through fatherNode= "+fatherOperatorNode.getOperatorName());
-                        break;
-                    }
-                }
-
-                if(foundParent == true){
-                    pair.addAltAlias(currentOperatorNode.getOperatorName(), wantedAlias, false);
-                }
-
-            }
-
-        }
-
-        //Do the same if father exists also in aggregationMap
-        for(ColumnTypePair pair : aggregationsMap.getColumnAndTypeList()){ //Run through the column Map of each table
-            List<StringParameter> altAliases = pair.getAltAliasPairs(); //Get the alt Aliases of a column
-
-            boolean foundParent = false;
-            String wantedAlias = "";
-
-            if(altAliases.size() == 0){
-                System.out.println("addNewPossibleAlias: AltAlias must always be > 0");
-                System.exit(0);
-            }
-
-            for(StringParameter sP : altAliases){ //Try to find father through the altAliases
-                if(sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())){ //Father1 Located
-                    wantedAlias = sP.getValue();
-                    foundParent = true;
-                    //System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Added Column: "+sP.getValue()+" through fatherNode= "+fatherOperatorNode.getOperatorName()+" in the aggregationsMap...");
-                    break;
-                }
-            }
-
-            if(foundParent == true){
-                pair.addAltAlias(currentOperatorNode.getOperatorName(), wantedAlias, true);
-            }
-
-        }
+        //Do the same if father exists also in aggregationMap
+        for(ColumnTypePair pair : aggregationsMap.getPairsOfOperator(fatherName)){
+            String wantedAlias = pair.getFirstAltAlias(fatherName).getValue();
+            //System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Added Column: "+wantedAlias+" through fatherNode= "+fatherName+" in the aggregationsMap...");
+            pair.addAltAlias(currentOperatorNode.getOperatorName(), wantedAlias, true);
+        }
 
         //The same for ConstantsMap
-        for(ColumnTypePair pair : ommitedConstantsMap.getColumnAndTypeList()){ //Run through the column Map of each table
-            List<StringParameter> altAliases = pair.getAltAliasPairs(); //Get the alt Aliases of a column
-
-            boolean foundParent = false;
-            String wantedAlias = "";
-
-            if(altAliases.size() == 0){
-                System.out.println("addNewPossibleAlias: AltAlias must always be > 0");
-                System.exit(0);
-            }
-
-            for(StringParameter sP : altAliases){ //Try to find father through the altAliases
-                if(sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())){ //Father1 Located
-                    wantedAlias = sP.getValue();
-                    foundParent = true;
-                    //System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Added Column: "+sP.getValue()+" through fatherNode= "+fatherOperatorNode.getOperatorName()+" in the constantsMap...");
-                    break;
-                }
-            }
-
-            if(foundParent == true){
-                pair.addAltAlias(currentOperatorNode.getOperatorName(), wantedAlias, false);
-            }
-
+        for(ColumnTypePair pair : ommitedConstantsMap.getPairsOfOperator(fatherName)){
+            String wantedAlias = pair.getFirstAltAlias(fatherName).getValue();
+            //System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Added Column: "+wantedAlias+" through fatherNode= "+fatherName+" in the constantsMap...");
+            pair.addAltAlias(currentOperatorNode.getOperatorName(), wantedAlias, false);
         }
 
         //printCastMap();
         //The same for CastMap
-        for(Map.Entry<String, MyMap> entry : operatorCastMap.entrySet()){
-            if(entry.getKey().equals(fatherOperatorNode.getOperatorName())){
-                System.out.println("addNewAliasesBasedOnFather: Father exists in operatorCastMap...");
-                String newEntryName = currentOperatorNode.getOperatorName();
-                MyMap newMap = new MyMap(true);
-                for(ColumnTypePair oldPair : entry.getValue().getColumnAndTypeList()){
-                    ColumnTypePair newPair = new ColumnTypePair(oldPair.getColumnName(), oldPair.getColumnType());
-                    newPair.addCastType(oldPair.getLatestAltCastType());
-                    newPair.addAltAlias(currentOperatorNode.getOperatorName(), oldPair.getAltAliasPairs().get(0).getValue(), true);
-                    newPair.getAltAliasPairs().get(0).setCastExpr(oldPair.getAltAliasPairs().get(0).getCastExpr());
-                    newPair.getAltAliasPairs().get(0).setExtraValue(oldPair.getAltAliasPairs().get(0).getExtraValue());
-                    newMap.addPair(newPair);
-                }
-                boolean alreadyExists = false;
-                for(Map.Entry<String, MyMap> entry2 : operatorCastMap.entrySet()){
-                    if(entry2.getKey().equals(currentOperatorNode.getOperatorName())){
-                        alreadyExists = true;
-                        boolean mapChanged = false;
-                        System.out.println("Entry: "+entry2.getKey()+" already exists...add only possible new aliases...");
-                        List<ColumnTypePair> additionsToMake = new LinkedList<>();
-                        for(ColumnTypePair cP : entry2.getValue().getColumnAndTypeList()){
-                            boolean colExists = false;
-
-                            for(ColumnTypePair newPair : newMap.getColumnAndTypeList()){
-                                if(newPair.getColumnName().equals(cP.getColumnName())){
-                                    if(newPair.getColumnType().equals(cP.getColumnType())){
-                                        if(newPair.getAltAliasPairs().get(0).getExtraValue().equals(cP.getAltAliasPairs().get(0).getExtraValue()) == false){
-                                            additionsToMake.add(newPair);
-                                            colExists = true;
-                                        }
-                                        else{
-                                            colExists = true;
-                                        }
-                                    }
-                                }
-
-                                if(colExists == false){
+        MyMap fatherCastMap = operatorCastMap.get(fatherName);
+        if(fatherCastMap != null){
+            System.out.println("addNewAliasesBasedOnFather: Father exists in operatorCastMap...");
+            String newEntryName = currentOperatorNode.getOperatorName();
+            MyMap newMap = new MyMap(true);
+            for(ColumnTypePair oldPair : fatherCastMap.getColumnAndTypeList()){
+                ColumnTypePair newPair = new ColumnTypePair(oldPair.getColumnName(), oldPair.getColumnType());
+                newPair.addCastType(oldPair.getLatestAltCastType());
+                newPair.addAltAlias(currentOperatorNode.getOperatorName(), oldPair.getAltAliasPairs().get(0).getValue(), true);
+                newPair.getAltAliasPairs().get(0).setCastExpr(oldPair.getAltAliasPairs().get(0).getCastExpr());
+                newPair.getAltAliasPairs().get(0).setExtraValue(oldPair.getAltAliasPairs().get(0).getExtraValue());
+                newMap.addPair(newPair);
+            }
+            MyMap currentCastMap = operatorCastMap.get(newEntryName);
+            if(currentCastMap != null){
+                System.out.println("Entry: "+newEntryName+" already exists...add only possible new aliases...");
+                List<ColumnTypePair> additionsToMake = new LinkedList<>();
+                for(ColumnTypePair cP : currentCastMap.getColumnAndTypeList()){
+                    boolean colExists = false;
+
+                    for(ColumnTypePair newPair : newMap.getColumnAndTypeList()){
+                        if(newPair.getColumnName().equals(cP.getColumnName())){
+                            if(newPair.getColumnType().equals(cP.getColumnType())){
+                                if(newPair.getAltAliasPairs().get(0).getExtraValue().equals(cP.getAltAliasPairs().get(0).getExtraValue()) == false){
                                     additionsToMake.add(newPair);
+                                    colExists = true;
+                                }
+                                else{
+                                    colExists = true;
                                 }
-
                             }
                         }
 
-                        if(additionsToMake.size() > 0){
-                            for(ColumnTypePair nP : additionsToMake){
-                                entry2.getValue().addPair(nP);
-                            }
-
-                            break;
+                        if(colExists == false){
+                            additionsToMake.add(newPair);
                         }
 
-
                     }
                 }
-                if(alreadyExists == false) {
-                    //System.out.println("blooooo");
-                    operatorCastMap.put(newEntryName, newMap);
-                    break;
-                    //System.out.println("bloooao");
+
+                for(ColumnTypePair nP : additionsToMake){
+                    currentCastMap.addPair(nP);
                 }
             }
+            else{
+                operatorCastMap.put(newEntryName, newMap);
+            }
         }
        // System.out.println(currentOperatorNode.getOperator().getOperatorId()+": After...addAliasesBasedOnFather...TableRegistry has become: ");
         //printTableRegistry();
@@ -2153,13 +2047,11 @@ public class QueryBuilder {
                             if (neededColumns.size() > 0) {
                                 List<FieldSchema> neededFields = new LinkedList<>();
                                 MyMap tempMap = new MyMap(false);
-                                String tempSchema = extractColsFromTypeName(rootNode.getOperator().getSchema().toString(), tempMap, rootNode.getOperator().getSchema().toString(), false);
-                                String expression = "";
+                                String tempSchema = extractColsFromOperatorSchema(rootNode, tempMap, false);
                                 neededColsSchema = "(";
                                 int i = 0;
                                 for (i = 0; i < neededColumns.size(); i++) {
                                     if (i == neededColumns.size() - 1) {
-                                        expression = expression.concat(" " + neededColumns.get(i));
                                         String type = "";
                                         for(ColumnTypePair tempPair : tempMap.getColumnAndTypeList()){
                                             if(tempPair.getColumnName().equals(neededColumns.get(i))){
@@ -2169,7 +2061,6 @@ public class QueryBuilder {
                                         neededColsSchema = neededColsSchema + neededColumns.get(i) + ": " + type + ")";
 
                                     } else {
-                                        expression = expression.concat(" " + neededColumns.get(i) + ",");
                                         String type = "";
                                         for(ColumnTypePair tempPair : tempMap.getColumnAndTypeList()){
                                             if(tempPair.getColumnName().equals(neededColumns.get(i))){
@@ -2191,8 +2082,7 @@ public class QueryBuilder {
                                     extraAlias = tableRegistry.getEntries().get(0).getAlias();
                                 }
 
-                                opQuery.setLocalQueryString(" select " + expression + " from " + inputTables.get(0).getTableName().toLowerCase() + " " + extraAlias + " ");
-                                opQuery.setExaremeQueryString(" select " + expression + " from " + inputTables.get(0).getTableName().toLowerCase() + " " + extraAlias + " ");
+                                opQuery.setSelectFromTable(neededColumns, inputTables.get(0).getTableName().toLowerCase(), extraAlias);
 
                                 MyTable outputTable = new MyTable();
                                 outputTable.setIsAFile(false);
@@ -2233,7 +2123,7 @@ public class QueryBuilder {
                             if (neededColumns.size() > 0) {
                                 List<FieldSchema> neededFields = new LinkedList<>();
                                 MyMap tempMap = new MyMap(false);
-                                String tempSchema = extractColsFromTypeName(rootNode.getOperator().getSchema().toString(), tempMap, rootNode.getOperator().getSchema().toString(), false);
+                                String tempSchema = extractColsFromOperatorSchema(rootNode, tempMap, false);
                                 String expression = "";
                                 neededColsSchema = "(";
                                 int i = 0;
@@ -2304,7 +2194,7 @@ public class QueryBuilder {
 
                             System.out.println(rootNode.getOperator().getOperatorId()+": Current Query will be ending here...");
 
-                            String updatedSchemaString = rootNode.getOperator().getSchema().toString();
+                            String updatedSchemaString = rootNode.getSchemaString();
 
                             if(neededColumns.size() == 0){
                                 System.out.println("TS BEFORE MAPJOIN HAS NEEDED COLUMNS == 0");
@@ -2312,13 +2202,11 @@ public class QueryBuilder {
                             }
                             List<FieldSchema> neededFields = new LinkedList<>();
                             MyMap tempMap = new MyMap(false);
-                            String tempSchema = extractColsFromTypeName(rootNode.getOperator().getSchema().toString(), tempMap, rootNode.getOperator().getSchema().toString(), false);
-                            String expression = "";
+                            String tempSchema = extractColsFromOperatorSchema(rootNode, tempMap, false);
                             updatedSchemaString = "(";
                             int i = 0;
                             for (i = 0; i < neededColumns.size(); i++) {
                                 if (i == neededColumns.size() - 1) {
-                                    expression = expression.concat(" " + neededColumns.get(i));
                                     String type = "";
                                     for(ColumnTypePair tempPair : tempMap.getColumnAndTypeList()){
                                         if(tempPair.getColumnName().equals(neededColumns.get(i))){
@@ -2328,7 +2216,6 @@ public class QueryBuilder {
                                     updatedSchemaString = updatedSchemaString + neededColumns.get(i) + ": " + type + ")";
 
                                 } else {
-                                    expression = expression.concat(" " + neededColumns.get(i) + ",");
                                     String type = "";
                                     for(ColumnTypePair tempPair : tempMap.getColumnAndTypeList()){
                                         if(tempPair.getColumnName().equals(neededColumns.get(i))){
@@ -2350,8 +2237,7 @@ public class QueryBuilder {
                                 extraAlias = tableRegistry.getEntries().get(0).getAlias();
                             }
 
-                            opQuery.setLocalQueryString(" select " + expression + " from " + inputTables.get(0).getTableName().toLowerCase() + " " + extraAlias + " ");
-                            opQuery.setExaremeQueryString(" select " + expression + " from " + inputTables.get(0).getTableName().toLowerCase() + " " + extraAlias + " ");
+                            opQuery.setSelectFromTable(neededColumns, inputTables.get(0).getTableName().toLowerCase(), extraAlias);
 
                             /*---Finalising outputTable---*/
                             System.out.println(rootNode.getOperator().getOperatorId()+": Finalising OutputTable...");
@@ -2363,16 +2249,15 @@ public class QueryBuilder {
                             outputTable.setHasPartitions(false);
 
                             List<FieldSchema> outputCols = new LinkedList<>();
-                            for(TableRegEntry regEntry : tableRegistry.getEntries()){
-                                if(tableScanDesc.getAlias().equals(regEntry.getAlias())){
-                                    for(ColumnTypePair pair : regEntry.getColumnTypeMap().getColumnAndTypeList()){
-                                        for(String neededCol : neededColumns){
-                                            if(pair.getColumnName().equals(neededCol)){
-                                                FieldSchema outputField = new FieldSchema();
-                                                outputField.setName(pair.getColumnName());
-                                                outputField.setType(pair.getColumnType());
-                                                outputCols.add(outputField);
-                                            }
+                            TableRegEntry regEntry = tableRegistry.getEntryByAlias(tableScanDesc.getAlias());
+                            if(regEntry != null){
+                                for(ColumnTypePair pair : regEntry.getColumnTypeMap().getColumnAndTypeList()){
+                                    for(String neededCol : neededColumns){
+                                        if(pair.getColumnName().equals(neededCol)){
+                                            FieldSchema outputField = new FieldSchema();
+                                            outputField.setName(pair.getColumnName());
+                                            outputField.setType(pair.getColumnType());
+                                            outputCols.add(outputField);
                                         }
                                     }
                                 }
@@ -2382,7 +2267,7 @@ public class QueryBuilder {
                             opQuery.setOutputTable(outputTable);
 
                             /*---Finalize local part of Query---*/
-                            opQuery.setLocalQueryString("create table "+rootNode.getOperator().getOperatorId().toLowerCase()+" as "+opQuery.getLocalQueryString());
+                            opQuery.setLocalCreateTable(rootNode.getOperator().getOperatorId().toLowerCase());
 
                             System.out.println(rootNode.getOperator().getOperatorId()+": Query is currently: ["+opQuery.getLocalQueryString()+"]");
 
@@ -2415,8 +2300,7 @@ public class QueryBuilder {
                                         associatedQuery.addInputTable(opQuery.getOutputTable());
 
                                         if(joinPhrase.equals("") == false) {
-                                            associatedQuery.setLocalQueryString(associatedQuery.getLocalQueryString().concat(" " + joinPhrase + " " + opQuery.getOutputTable().getTableName().toLowerCase() + " on "));
-                                            associatedQuery.setExaremeQueryString(associatedQuery.getExaremeQueryString().concat(" " + joinPhrase + " " + opQuery.getOutputTable().getTableName().toLowerCase() + " on "));
+                                            associatedQuery.appendToQueries(" " + joinPhrase + " " + opQuery.getOutputTable().getTableName().toLowerCase() + " on ");
                                         }
 
                                         System.out.println(rootNode.getOperator().getOperatorId()+": Moving to child operator...");
@@ -2526,13 +2410,11 @@ public class QueryBuilder {
                                 if (neededColumns.size() > 0) {
                                     List<FieldSchema> neededFields = new LinkedList<>();
                                     MyMap tempMap = new MyMap(false);
-                                    String tempSchema = extractColsFromTypeName(root.getOperator().getSchema().toString(), tempMap, root.getOperator().getSchema().toString(), false);
-                                    String expression = "";
+                                    String tempSchema = extractColsFromOperatorSchema(root, tempMap, false);
                                     neededColsSchema = "(";
                                     int i = 0;
                                     for (i = 0; i < neededColumns.size(); i++) {
                                         if (i == neededColumns.size() - 1) {
-                                            expression = expression.concat(" " + neededColumns.get(i));
                                             String type = "";
                                             for(ColumnTypePair tempPair : tempMap.getColumnAndTypeList()){
                                                 if(tempPair.getColumnName().equals(neededColumns.get(i))){
@@ -2542,7 +2424,6 @@ public class QueryBuilder {
                                             neededColsSchema = neededColsSchema + neededColumns.get(i) + ": " + type + ")";
 
                                         } else {
-                                            expression = expression.concat(" " + neededColumns.get(i) + ",");
                                             String type = "";
                                             for(ColumnTypePair tempPair : tempMap.getColumnAndTypeList()){
                                                 if(tempPair.getColumnName().equals(neededColumns.get(i))){
@@ -2566,8 +2447,7 @@ public class QueryBuilder {
                                         }
                                     }
 
-                                    opQuery.setLocalQueryString(" select " + expression + " from " + inputTable.getTableName().toLowerCase() + " " + extraAlias + " ");
-                                    opQuery.setExaremeQueryString(" select " + expression + " from " + inputTable.getTableName().toLowerCase() + " " + extraAlias + " ");
+                                    opQuery.setSelectFromTable(neededColumns, inputTable.getTableName().toLowerCase(), extraAlias);
 
 
                                     MyTable outputTable = new MyTable();
@@ -2610,7 +2490,7 @@ public class QueryBuilder {
                                 if (neededColumns.size() > 0) {
                                     List<FieldSchema> neededFields = new LinkedList<>();
                                     MyMap tempMap = new MyMap(false);
-                                    String tempSchema = extractColsFromTypeName(root.getOperator().getSchema().toString(), tempMap, root.getOperator().getSchema().toString(), false);
+                                    String tempSchema = extractColsFromOperatorSchema(root, tempMap, false);
                                     String expression = "";
                                     neededColsSchema = "(";
                                     int i = 0;
@@ -2681,7 +2561,7 @@ public class QueryBuilder {
 
                                 System.out.println(root.getOperator().getOperatorId()+": Current Query will be ending here...");
 
-                                String updatedSchemaString = root.getOperator().getSchema().toString();
+                                String updatedSchemaString = root.getSchemaString();
 
                                 if(neededColumns.size() == 0){
                                     System.out.println("TS--->MAPJOIN NEEDED COLS SIZE == 0");
@@ -2690,13 +2570,11 @@ public class QueryBuilder {
                                 String neededColsSchema = "";
                                 List<FieldSchema> neededFields = new LinkedList<>();
                                 MyMap tempMap = new MyMap(false);
-                                String tempSchema = extractColsFromTypeName(root.getOperator().getSchema().toString(), tempMap, root.getOperator().getSchema().toString(), false);
-                                String expression = "";
+                                String tempSchema = extractColsFromOperatorSchema(root, tempMap, false);
                                 neededColsSchema = "(";
                                 int i = 0;
                                 for (i = 0; i < neededColumns.size(); i++) {
                                     if (i == neededColumns.size() - 1) {
-                                        expression = expression.concat(" " + neededColumns.get(i));
                                         String type = "";
                                         for(ColumnTypePair tempPair : tempMap.getColumnAndTypeList()){
                                             if(tempPair.getColumnName().equals(neededColumns.get(i))){
@@ -2706,7 +2584,6 @@ public class QueryBuilder {
                                         neededColsSchema = neededColsSchema + neededColumns.get(i) + ": " + type + ")";
 
                                     } else {
-                                        expression = expression.concat(" " + neededColumns.get(i) + ",");
                                         String type = "";
                                         for(ColumnTypePair tempPair : tempMap.getColumnAndTypeList()){
                                             if(tempPair.getColumnName().equals(neededColumns.get(i))){
@@ -2730,8 +2607,7 @@ public class QueryBuilder {
                                     }
                                 }
 
-                                opQuery.setLocalQueryString(" select " + expression + " from " + inputTable.getTableName().toLowerCase() + " " + extraAlias + " ");
-                                opQuery.setExaremeQueryString(" select " + expression + " from " + inputTable.getTableName().toLowerCase() + " " + extraAlias + " ");
+                                opQuery.setSelectFromTable(neededColumns, inputTable.getTableName().toLowerCase(), extraAlias);
 
                             /*---Finalising outputTable---*/
                                 System.out.println(root.getOperator().getOperatorId()+": Finalising OutputTable...");
@@ -2743,16 +2619,15 @@ public class QueryBuilder {
                                 outputTable.setHasPartitions(false);
 
                                 List<FieldSchema> outputCols = new LinkedList<>();
-                                for(TableRegEntry regEntry : tableRegistry.getEntries()){
-                                    if(tableScanDesc.getAlias().equals(regEntry.getAlias())){
-                                        for(ColumnTypePair pair : regEntry.getColumnTypeMap().getColumnAndTypeList()){
-                                            for(String neededCol : neededColumns){
-                                                if(pair.getColumnName().equals(neededCol)){
-                                                    FieldSchema outputField = new FieldSchema();
-                                                    outputField.setName(pair.getColumnName());
-                                                    outputField.setType(pair.getColumnType());
-                                                    outputCols.add(outputField);
-                                                }
+                                TableRegEntry regEntry = tableRegistry.getEntryByAlias(tableScanDesc.getAlias());
+                                if(regEntry != null){
+                                    for(ColumnTypePair pair : regEntry.getColumnTypeMap().getColumnAndTypeList()){
+                                        for(String neededCol : neededColumns){
+                                            if(pair.getColumnName().equals(neededCol)){
+                                                FieldSchema outputField = new FieldSchema();
+                                                outputField.setName(pair.getColumnName());
+                                                outputField.setType(pair.getColumnType());
+                                                outputCols.add(outputField);
                                             }
                                         }
                                     }
@@ -2762,7 +2637,7 @@ public class QueryBuilder {
                                 opQuery.setOutputTable(outputTable);
 
                             /*---Finalize local part of Query---*/
-                                opQuery.setLocalQueryString("create table "+root.getOperator().getOperatorId().toLowerCase()+" as "+opQuery.getLocalQueryString());
+                                opQuery.setLocalCreateTable(root.getOperator().getOperatorId().toLowerCase());
 
                                 System.out.println(root.getOperator().getOperatorId()+": Query is currently: ["+opQuery.getLocalQueryString()+"]");
 
@@ -2795,8 +2670,7 @@ public class QueryBuilder {
                                             associatedQuery.addInputTable(opQuery.getOutputTable());
 
                                             if(joinPhrase.equals("") == false) {
-                                                associatedQuery.setLocalQueryString(associatedQuery.getLocalQueryString().concat(" " + joinPhrase + " " + opQuery.getOutputTable().getTableName().toLowerCase() + " on "));
-                                                associatedQuery.setExaremeQueryString(associatedQuery.getExaremeQueryString().concat(" " + joinPhrase + " " + opQuery.getOutputTable().getTableName().toLowerCase() + " on "));
+                                                associatedQuery.appendToQueries(" " + joinPhrase + " " + opQuery.getOutputTable().getTableName().toLowerCase() + " on ");
                                             }
 
                                             System.out.println(root.getOperator().getOperatorId()+": Moving to child operator...");
@@ -2865,12 +2739,12 @@ public class QueryBuilder {
                 else
                     System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Father is a MapJoinOperator: "+fatherOperatorNode.getOperatorName());
 
-                String updatedSchemaString = currentOperatorNode.getOperator().getSchema().toString();
-                if(currentOpQuery.getLocalQueryString().contains("select")) {
+                String updatedSchemaString = currentOperatorNode.getSchemaString();
+                if(currentOpQuery.hasSelect()) {
                     if(fatherOperatorNode.getOperator() instanceof TableScanOperator)
                         updatedSchemaString = latestAncestorSchema;
                     else
-                        updatedSchemaString = currentOperatorNode.getOperator().getSchema().toString();
+                        updatedSchemaString = currentOperatorNode.getSchemaString();
                 }
                 else{
                         updatedSchemaString = latestAncestorSchema;
@@ -2927,7 +2801,7 @@ public class QueryBuilder {
                         if(child instanceof SelectOperator) {
                             System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Discovered FIL--->SEL Connection! Child is select: " + child.getOperatorId());
                             if ( (fatherOperatorNode.getOperator() instanceof JoinOperator) || ( fatherOperatorNode.getOperator() instanceof MapJoinOperator) || (fatherOperatorNode.getOperator() instanceof GroupByOperator)) {
-                                if (currentOpQuery.getLocalQueryString().contains("select ") == false) {
+                                if (currentOpQuery.hasSelect() == false) {
                                     latestAncestorSchema = addSelectStatementToQuery(currentOperatorNode, fatherOperatorNode, null, latestAncestorSchema, currentOpQuery, null, latestAncestorTableName1, latestAncestorTableName2);
                                 }
                             }
@@ -2949,7 +2823,7 @@ public class QueryBuilder {
 
 
                                 /*---Finalize local part of Query---*/
-                                currentOpQuery.setLocalQueryString("create table "+currentOperatorNode.getOperator().getOperatorId().toLowerCase()+" as "+currentOpQuery.getLocalQueryString());
+                                currentOpQuery.setLocalCreateTable(currentOperatorNode.getOperator().getOperatorId().toLowerCase());
 
                                 System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Query is currently: ["+currentOpQuery.getLocalQueryString()+"]");
 
@@ -2986,7 +2860,7 @@ public class QueryBuilder {
                                 updatedSchemaString = finaliseOutputTable(currentOperatorNode, fatherOperatorNode, otherFatherNode, currentOpQuery, updatedSchemaString, currentOperatorNode.getOperator().getOperatorId().toLowerCase(), outputTable, newCols, latestAncestorTableName1, latestAncestorTableName2, null);
 
                                 /*---Finalize local part of Query---*/
-                                currentOpQuery.setLocalQueryString("create table "+currentOperatorNode.getOperator().getOperatorId().toLowerCase()+" as "+currentOpQuery.getLocalQueryString());
+                                currentOpQuery.setLocalCreateTable(currentOperatorNode.getOperator().getOperatorId().toLowerCase());
 
                                 System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Query is currently: ["+currentOpQuery.getLocalQueryString()+"]");
 
@@ -3021,7 +2895,7 @@ public class QueryBuilder {
                         }
                         else if(child instanceof GroupByOperator){
                             System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Discovered FIL--->GBY Connection! Child is select: " + child.getOperatorId());
-                            if(currentOpQuery.getLocalQueryString().contains("select ") == false) {
+                            if(currentOpQuery.hasSelect() == false) {
                                 updatedSchemaString = addSelectStatementToQuery(currentOperatorNode, fatherOperatorNode, otherFatherNode, updatedSchemaString, currentOpQuery, null, latestAncestorTableName1, latestAncestorTableName2);
                             }
 
@@ -3033,7 +2907,7 @@ public class QueryBuilder {
                         else if(child instanceof ReduceSinkOperator){
                             System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Discovered FIL--->RS Connection! Child is select: " + child.getOperatorId());
                             if (fatherOperatorNode.getOperator() instanceof JoinOperator) {
-                                if (currentOpQuery.getLocalQueryString().contains("select ") == false) {
+                                if (currentOpQuery.hasSelect() == false) {
                                     updatedSchemaString = addSelectStatementToQuery(currentOperatorNode, fatherOperatorNode, otherFatherNode, updatedSchemaString, currentOpQuery, null, latestAncestorTableName1, latestAncestorTableName2);
                                 }
                             }
@@ -3046,7 +2920,7 @@ public class QueryBuilder {
                         else if(child instanceof HashTableSinkOperator){
                             System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Discovered FIL--->HASH Connection! Child is select: " + child.getOperatorId());
 
-                            if (currentOpQuery.getLocalQueryString().contains("select ") == false) {
+                            if (currentOpQuery.hasSelect() == false) {
                                 updatedSchemaString = addSelectStatementToQuery(currentOperatorNode, fatherOperatorNode, otherFatherNode, updatedSchemaString, currentOpQuery, null, latestAncestorTableName1, latestAncestorTableName2);
                             }
 
@@ -3066,7 +2940,7 @@ public class QueryBuilder {
                         else if(child instanceof MapJoinOperator){
                             System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Discovered FIL--->MAP_JOIN Connection! Child is select: " + child.getOperatorId());
 
-                            if (currentOpQuery.getLocalQueryString().contains("select ") == false) {
+                            if (currentOpQuery.hasSelect() == false) {
                                 updatedSchemaString = addSelectStatementToQuery(currentOperatorNode, fatherOperatorNode, otherFatherNode, updatedSchemaString, currentOpQuery, null, latestAncestorTableName1, latestAncestorTableName2);
                             }
 
@@ -3083,7 +2957,7 @@ public class QueryBuilder {
                             updatedSchemaString = finaliseOutputTable(currentOperatorNode, fatherOperatorNode, otherFatherNode, currentOpQuery, updatedSchemaString, currentOperatorNode.getOperator().getOperatorId().toLowerCase(), outputTable, newCols, latestAncestorTableName1, latestAncestorTableName2, null);
 
                             /*---Finalize local part of Query---*/
-                            currentOpQuery.setLocalQueryString("create table "+currentOperatorNode.getOperator().getOperatorId().toLowerCase()+" as "+currentOpQuery.getLocalQueryString());
+                            currentOpQuery.setLocalCreateTable(currentOperatorNode.getOperator().getOperatorId().toLowerCase());
 
                             System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Query is currently: ["+currentOpQuery.getLocalQueryString()+"]");
 
@@ -3116,8 +2990,7 @@ public class QueryBuilder {
                                         associatedQuery.addInputTable(currentOpQuery.getOutputTable());
 
                                         if(joinPhrase.equals("") == false) {
-                                            associatedQuery.setLocalQueryString(associatedQuery.getLocalQueryString().concat(" " + joinPhrase + " " + currentOpQuery.getOutputTable().getTableName().toLowerCase() + " on "));
-                                            associatedQuery.setExaremeQueryString(associatedQuery.getExaremeQueryString().concat(" " + joinPhrase + " " + currentOpQuery.getOutputTable().getTableName().toLowerCase() + " on "));
+                                            associatedQuery.appendToQueries(" " + joinPhrase + " " + currentOpQuery.getOutputTable().getTableName().toLowerCase() + " on ");
                                         }
 
                                         System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Moving to child operator...");
@@ -3205,7 +3078,7 @@ public class QueryBuilder {
                                 String updatedSchemaString = latestAncestorSchema;
 
                                 /*---Check select statement exists---*/
-                                if(currentOpQuery.getLocalQueryString().contains("select ") == false) {
+                                if(currentOpQuery.hasSelect() == false) {
                                     updatedSchemaString = addSelectStatementToQuery(currentOperatorNode, fatherOperatorNode, otherFatherNode, updatedSchemaString, currentOpQuery, null, latestAncestorTableName1, latestAncestorTableName2);
                                 }
 
@@ -3220,7 +3093,7 @@ public class QueryBuilder {
                                 updatedSchemaString = finaliseOutputTable(currentOperatorNode, fatherOperatorNode, otherFatherNode, currentOpQuery, updatedSchemaString, currentOperatorNode.getOperator().getOperatorId().toLowerCase(), outputTable, newCols, latestAncestorTableName1, latestAncestorTableName2, null);
 
                                 /*---Finalize local part of Query---*/
-                                currentOpQuery.setLocalQueryString("create table "+currentOperatorNode.getOperator().getOperatorId().toLowerCase()+" as "+currentOpQuery.getLocalQueryString());
+                                currentOpQuery.setLocalCreateTable(currentOperatorNode.getOperator().getOperatorId().toLowerCase());
 
                                 System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Query is currently: ["+currentOpQuery.getLocalQueryString()+"]");
 
@@ -3289,7 +3162,7 @@ public class QueryBuilder {
                                 String updatedSchemaString = latestAncestorSchema;
 
                                 /*---Check select statement exists---*/
-                                if(currentOpQuery.getLocalQueryString().contains("select ") == false) {
+                                if(currentOpQuery.hasSelect() == false) {
                                     updatedSchemaString = addSelectStatementToQuery(currentOperatorNode, fatherOperatorNode, otherFatherNode, updatedSchemaString, currentOpQuery, null, latestAncestorTableName1, latestAncestorTableName2);
                                 }
 
@@ -3304,7 +3177,7 @@ public class QueryBuilder {
                                 updatedSchemaString = finaliseOutputTable(currentOperatorNode, fatherOperatorNode, otherFatherNode, currentOpQuery, updatedSchemaString, currentOperatorNode.getOperator().getOperatorId().toLowerCase(), outputTable, newCols ,latestAncestorTableName1, latestAncestorTableName2, null);
 
                                 /*---Finalize local part of Query---*/
-                                currentOpQuery.setLocalQueryString("create table "+currentOperatorNode.getOperator().getOperatorId().toLowerCase()+" as "+currentOpQuery.getLocalQueryString());
+                                currentOpQuery.setLocalCreateTable(currentOperatorNode.getOperator().getOperatorId().toLowerCase());
 
                                 System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Query is currently: ["+currentOpQuery.getLocalQueryString()+"]");
 
@@ -3337,8 +3210,7 @@ public class QueryBuilder {
                                             associatedQuery.addInputTable(currentOpQuery.getOutputTable());
 
                                             if(joinPhrase.equals("") == false) {
-                                                associatedQuery.setLocalQueryString(associatedQuery.getLocalQueryString().concat(" " + joinPhrase + " " + currentOpQuery.getOutputTable().getTableName().toLowerCase() + " on "));
-                                                associatedQuery.setExaremeQueryString(associatedQuery.getExaremeQueryString().concat(" " + joinPhrase + " " + currentOpQuery.getOutputTable().getTableName().toLowerCase() + " on "));
+                                                associatedQuery.appendToQueries(" " + joinPhrase + " " + currentOpQuery.getOutputTable().getTableName().toLowerCase() + " on ");
                                             }
 
                                             System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Moving to child operator...");
@@ -3416,7 +3288,7 @@ public class QueryBuilder {
                 System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Adding new possible Aliases...");
                 String updatedSchemaString = addNewPossibleAliases(currentOperatorNode, fatherOperatorNode, otherFatherNode, currentOpQuery);
 
-                if(currentOpQuery.getLocalQueryString().contains("select ") == false) {
+                if(currentOpQuery.hasSelect() == false) {
                     updatedSchemaString = addSelectStatementToQuery(currentOperatorNode, fatherOperatorNode, otherFatherNode, updatedSchemaString, currentOpQuery, null, latestAncestorTableName1, latestAncestorTableName2);
                 }
 
@@ -3451,7 +3323,7 @@ public class QueryBuilder {
                             updatedSchemaString = finaliseOutputTable(currentOperatorNode, fatherOperatorNode, otherFatherNode, currentOpQuery, updatedSchemaString, currentOperatorNode.getOperator().getOperatorId().toLowerCase(), outputTable, newCols, latestAncestorTableName1, latestAncestorTableName2, null);
 
                             /*---Finalize local part of Query---*/
-                            currentOpQuery.setLocalQueryString("create table "+currentOperatorNode.getOperator().getOperatorId().toLowerCase()+" as "+currentOpQuery.getLocalQueryString());
+                            currentOpQuery.setLocalCreateTable(currentOperatorNode.getOperator().getOperatorId().toLowerCase());
 
                             System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Query is currently: ["+currentOpQuery.getLocalQueryString()+"]");
 
@@ -3564,7 +3436,7 @@ public class QueryBuilder {
                 System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Adding new possible Aliases...");
                 String updatedSchemaString = addNewPossibleAliases(currentOperatorNode, fatherOperatorNode, otherFatherNode, currentOpQuery);
 
-                if(currentOpQuery.getLocalQueryString().contains("select ") == false) {
+                if(currentOpQuery.hasSelect() == false) {
                     updatedSchemaString = addSelectStatementToQuery(currentOperatorNode, fatherOperatorNode, otherFatherNode, updatedSchemaString, currentOpQuery, null, latestAncestorTableName1, latestAncestorTableName2);
                 }
 
@@ -3840,11 +3712,11 @@ public class QueryBuilder {
         if((grandFatherOperatorNode.getOperator().getParentOperators() == null) || (grandFatherOperatorNode.getOperator().getParentOperators().size() == 0)){
             System.out.println(currentOperatorNode.getOperator().getOperatorId()+": GrandFather is root...TableScan!");
 
-            if( (currentOperatorNode.getOperator().getSchema() == null) || currentOperatorNode.getOperator().getSchema().toString().equals("()") ){
+            if( (currentOperatorNode.getOperator().getSchema() == null) || currentOperatorNode.getSchemaString().equals("()") ){
                 if(currentOperatorNode.getOperator().getColumnExprMap() != null){
                     System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": RowSchema is empty! We will build Schema from ColumnExprMap...");
 
-                    updatedSchemaString = buildSchemaFromColumnExprMap(currentOperatorNode, grandFatherOperatorNode.getOperator().getSchema().toString(), fatherOperatorNode);
+                    updatedSchemaString = buildSchemaFromColumnExprMap(currentOperatorNode, grandFatherOperatorNode.getSchemaString(), fatherOperatorNode);
 
                 }
                 else{
@@ -3877,14 +3749,14 @@ public class QueryBuilder {
         else{
             if(currentOperatorNode.getOperator().getColumnExprMap() == null){
                 System.out.println(currentOperatorNode.getOperator().getOperatorId()+": ColumnExprMap is empty!");
-                if((currentOperatorNode.getOperator().getSchema() == null) || (currentOperatorNode.getOperator().getSchema().toString().equals("()"))){
+                if((currentOperatorNode.getOperator().getSchema() == null) || (currentOperatorNode.getSchemaString().equals("()"))){
                     System.out.println(currentOperatorNode.getOperator().getOperatorId()+": RowSchema is () ! Assuming older schema!");
                     updatedSchemaString = latestAncestorSchema;
                     addAliasesBasedOnFather(currentOperatorNode, fatherOperatorNode);
                 }
                 else{
                     System.out.println(currentOperatorNode.getOperator().getOperatorId()+": RowSchema is not empty! BuildColumnExprMap from schema!");
-                    updatedSchemaString = buildSchemaFromColumnExprMap(currentOperatorNode, fatherOperatorNode.getOperator().getSchema().toString(), fatherOperatorNode);
+                    updatedSchemaString = buildSchemaFromColumnExprMap(currentOperatorNode, fatherOperatorNode.getSchemaString(), fatherOperatorNode);
                 }
             }
             else {
@@ -3894,7 +3766,7 @@ public class QueryBuilder {
         }
 
         System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Checking if current Query contains Select statement...");
-        if(currentOpQuery.getLocalQueryString().contains("select ") == false){
+        if(currentOpQuery.hasSelect() == false){
             updatedSchemaString = addSelectStatementToQuery(currentOperatorNode, fatherOperatorNode, otherFatherNode, latestAncestorSchema, currentOpQuery, null, latestAncestorTableName1, latestAncestorTableName2);
         }
 
@@ -3903,7 +3775,7 @@ public class QueryBuilder {
         /*---Finalising outputTable---*/
         System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Finalising OutputTable...");
 
-        //if(currentOperatorNode.getOperator().getSchema().toString().equals("()")){
+        //if(currentOperatorNode.getSchemaString().equals("()")){
         //    System.out.println(currentOperatorNode.getOperator().getOperatorId()+": RowSchema is empty! Assuming older Schema!");
          //   updatedSchemaString = latestAncestorSchema;
         //}
@@ -3916,7 +3788,7 @@ public class QueryBuilder {
         updatedSchemaString = finaliseOutputTable(currentOperatorNode, fatherOperatorNode, otherFatherNode, currentOpQuery, updatedSchemaString, currentOperatorNode.getOperator().getOperatorId().toLowerCase(), outputTable, newCols, latestAncestorTableName1, latestAncestorTableName2, null);
 
         /*---Finalize local part of Query---*/
-        currentOpQuery.setLocalQueryString("create table "+currentOperatorNode.getOperator().getOperatorId().toLowerCase()+" as "+currentOpQuery.getLocalQueryString());
+        currentOpQuery.setLocalCreateTable(currentOperatorNode.getOperator().getOperatorId().toLowerCase());
 
         System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Query is currently: ["+currentOpQuery.getLocalQueryString()+"]");
 
@@ -3958,8 +3830,7 @@ public class QueryBuilder {
                                 associatedQuery.addInputTable(currentOpQuery.getOutputTable());
 
                                 if(joinPhrase.equals("") == false) {
-                                    associatedQuery.setLocalQueryString(associatedQuery.getLocalQueryString().concat(" " + joinPhrase + " " + currentOpQuery.getOutputTable().getTableName().toLowerCase() + " on "));
-                                    associatedQuery.setExaremeQueryString(associatedQuery.getExaremeQueryString().concat(" " + joinPhrase + " " + currentOpQuery.getOutputTable().getTableName().toLowerCase() + " on "));
+                                    associatedQuery.appendToQueries(" " + joinPhrase + " " + currentOpQuery.getOutputTable().getTableName().toLowerCase() + " on ");
                                 }
 
                                 System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Moving to child operator...");
@@ -4011,7 +3882,7 @@ public class QueryBuilder {
         String updatedSchemaString = addNewPossibleAliases(currentOperatorNode, fatherOperatorNode, otherFatherNode, currentOpQuery);
 
         System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Checking if current Query contains Select statement...");
-        if(currentOpQuery.getLocalQueryString().contains("select ") == false){
+        if(currentOpQuery.hasSelect() == false){
             updatedSchemaString = addSelectStatementToQuery(currentOperatorNode, fatherOperatorNode, otherFatherNode, latestAncestorSchema, currentOpQuery, null, latestAncestorTableName1, latestAncestorTableName2);
         }
 
@@ -4029,7 +3900,7 @@ public class QueryBuilder {
         outputTable.setIsAFile(false);
         List<FieldSchema> newCols = new LinkedList<>();
 
-        if(currentOperatorNode.getOperator().getSchema().toString().equals("()")){
+        if(currentOperatorNode.getSchemaString().equals("()")){
             System.out.println(currentOperatorNode.getOperator().getOperatorId()+": RowSchema is empty! Assuming older Schema!");
             updatedSchemaString = latestAncestorSchema;
         }
@@ -4037,7 +3908,7 @@ public class QueryBuilder {
         updatedSchemaString = finaliseOutputTable(currentOperatorNode, fatherOperatorNode, otherFatherNode, currentOpQuery, updatedSchemaString, currentOperatorNode.getOperator().getOperatorId().toLowerCase(), outputTable, newCols, latestAncestorTableName1, latestAncestorTableName2, orderByFields);
 
         /*---Finalize local part of Query---*/
-        currentOpQuery.setLocalQueryString("create table "+currentOperatorNode.getOperator().getOperatorId().toLowerCase()+" as "+currentOpQuery.getLocalQueryString());
+        currentOpQuery.setLocalCreateTable(currentOperatorNode.getOperator().getOperatorId().toLowerCase());
 
         System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Query is currently: ["+currentOpQuery.getLocalQueryString()+"]");
 
@@ -4096,11 +3967,11 @@ public class QueryBuilder {
         if((grandFatherOperatorNode.getOperator().getParentOperators() == null) || (grandFatherOperatorNode.getOperator().getParentOperators().size() == 0)){
             System.out.println(currentOperatorNode.getOperator().getOperatorId()+": GrandFather is root...TableScan!");
 
-            if( (currentOperatorNode.getOperator().getSchema() == null) || currentOperatorNode.getOperator().getSchema().toString().equals("()") ){
+            if( (currentOperatorNode.getOperator().getSchema() == null) || currentOperatorNode.getSchemaString().equals("()") ){
                 if(currentOperatorNode.getOperator().getColumnExprMap() != null){
                     System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": RowSchema is empty! We will build Schema from ColumnExprMap...");
 
-                    updatedSchemaString = buildSchemaFromColumnExprMap(currentOperatorNode, grandFatherOperatorNode.getOperator().getSchema().toString(), fatherOperatorNode);
+                    updatedSchemaString = buildSchemaFromColumnExprMap(currentOperatorNode, grandFatherOperatorNode.getSchemaString(), fatherOperatorNode);
 
                 }
                 else{
@@ -4123,14 +3994,14 @@ public class QueryBuilder {
         else{
             if(currentOperatorNode.getOperator().getColumnExprMap() == null){
                 System.out.println(currentOperatorNode.getOperator().getOperatorId()+": ColumnExprMap is empty!");
-                if((currentOperatorNode.getOperator().getSchema() == null) || (currentOperatorNode.getOperator().getSchema().toString().equals("()"))){
+                if((currentOperatorNode.getOperator().getSchema() == null) || (currentOperatorNode.getSchemaString().equals("()"))){
                     System.out.println(currentOperatorNode.getOperator().getOperatorId()+": RowSchema is () ! Assuming older schema!");
                     updatedSchemaString = latestAncestorSchema;
                     addAliasesBasedOnFather(currentOperatorNode, fatherOperatorNode);
                 }
                 else{
                     System.out.println(currentOperatorNode.getOperator().getOperatorId()+": RowSchema is not empty! BuildColumnExprMap from schema!");
-                    updatedSchemaString = buildSchemaFromColumnExprMap(currentOperatorNode, fatherOperatorNode.getOperator().getSchema().toString(), fatherOperatorNode);
+                    updatedSchemaString = buildSchemaFromColumnExprMap(currentOperatorNode, fatherOperatorNode.getSchemaString(), fatherOperatorNode);
                 }
             }
             else {
@@ -4140,7 +4011,7 @@ public class QueryBuilder {
         }
 
         System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Checking if current Query contains Select statement...");
-        if(currentOpQuery.getLocalQueryString().contains("select ") == false){
+        if(currentOpQuery.hasSelect() == false){
             updatedSchemaString = addSelectStatementToQuery(currentOperatorNode, fatherOperatorNode, otherFatherNode, latestAncestorSchema, currentOpQuery, null , latestAncestorTableName1, latestAncestorTableName2);
         }
 
@@ -4154,7 +4025,7 @@ public class QueryBuilder {
         /*---Finalising outputTable---*/
         System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Finalising OutputTable...");
 
-        //if(currentOperatorNode.getOperator().getSchema().toString().equals("()")){
+        //if(currentOperatorNode.getSchemaString().equals("()")){
         //   System.out.println(currentOperatorNode.getOperator().getOperatorId()+": RowSchema is empty! Assuming older Schema!");
         //    updatedSchemaString = latestAncestorSchema;
         //}
@@ -4167,7 +4038,7 @@ public class QueryBuilder {
         updatedSchemaString = finaliseOutputTable(currentOperatorNode, fatherOperatorNode, otherFatherNode, currentOpQuery, updatedSchemaString, currentOperatorNode.getOperator().getOperatorId().toLowerCase(), outputTable, newCols, latestAncestorTableName1, latestAncestorTableName2, orderByFields);
 
         /*---Finalize local part of Query---*/
-        currentOpQuery.setLocalQueryString("create table "+currentOperatorNode.getOperator().getOperatorId().toLowerCase()+" as "+currentOpQuery.getLocalQueryString());
+        currentOpQuery.setLocalCreateTable(currentOperatorNode.getOperator().getOperatorId().toLowerCase());
 
         System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Query is currently: ["+currentOpQuery.getLocalQueryString()+"]");
 
@@ -4209,8 +4080,7 @@ public class QueryBuilder {
                                 associatedQuery.addInputTable(currentOpQuery.getOutputTable());
 
                                 if(joinPhrase.equals("") == false) {
-                                    associatedQuery.setLocalQueryString(associatedQuery.getLocalQueryString().concat(" " + joinPhrase + " " + currentOpQuery.getOutputTable().getTableName().toLowerCase() + " on "));
-                                    associatedQuery.setExaremeQueryString(associatedQuery.getExaremeQueryString().concat(" " + joinPhrase + " " + currentOpQuery.getOutputTable().getTableName().toLowerCase() + " on "));
+                                    associatedQuery.appendToQueries(" " + joinPhrase + " " + currentOpQuery.getOutputTable().getTableName().toLowerCase() + " on ");
                                 }
 
                                 System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Moving to child operator...");
@@ -4271,7 +4141,7 @@ public class QueryBuilder {
 
         String updatedSchemaString = "";
 
-        if( (currentOperatorNode.getOperator().getSchema() == null) || currentOperatorNode.getOperator().getSchema().toString().equals("()") ){
+        if( (currentOperatorNode.getOperator().getSchema() == null) || currentOperatorNode.getSchemaString().equals("()") ){
             if(currentOperatorNode.getOperator().getColumnExprMap() != null){
                 System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": RowSchema is empty! We will build Schema from ColumnExprMap...");
 
@@ -4288,7 +4158,7 @@ public class QueryBuilder {
                 System.out.println(currentOperatorNode.getOperator().getOperatorId()+": ColumnExprMap is empty!");
 
                 System.out.println(currentOperatorNode.getOperator().getOperatorId()+": RowSchema is not empty! BuildColumnExprMap from schema!");
-                updatedSchemaString = buildSchemaFromColumnExprMap(currentOperatorNode, fatherOperatorNode.getOperator().getSchema().toString(), fatherOperatorNode);
+                updatedSchemaString = buildSchemaFromColumnExprMap(currentOperatorNode, fatherOperatorNode.getSchemaString(), fatherOperatorNode);
 
             }
             else {
@@ -4298,7 +4168,7 @@ public class QueryBuilder {
         }
 
         System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Checking if current Query contains Select statement...");
-        if(currentOpQuery.getLocalQueryString().contains("select ") == false){
+        if(currentOpQuery.hasSelect() == false){
             updatedSchemaString = addSelectStatementToQuery(currentOperatorNode, fatherOperatorNode, otherFatherNode, updatedSchemaString, currentOpQuery, null, latestAncestorTableName1, latestAncestorTableName2);
         }
 
@@ -4320,7 +4190,7 @@ public class QueryBuilder {
         updatedSchemaString = finaliseOutputTable(currentOperatorNode, fatherOperatorNode, otherFatherNode, currentOpQuery, updatedSchemaString, currentOperatorNode.getOperator().getOperatorId().toLowerCase(), outputTable, newCols, latestAncestorTableName1, latestAncestorTableName2, orderByFields);
 
         /*---Finalize local part of Query---*/
-        currentOpQuery.setLocalQueryString("create table "+currentOperatorNode.getOperator().getOperatorId().toLowerCase()+" as "+currentOpQuery.getLocalQueryString());
+        currentOpQuery.setLocalCreateTable(currentOperatorNode.getOperator().getOperatorId().toLowerCase());
 
         System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Query is currently: ["+currentOpQuery.getLocalQueryString()+"]");
 
@@ -4362,8 +4232,7 @@ public class QueryBuilder {
                                 associatedQuery.addInputTable(currentOpQuery.getOutputTable());
 
                                 if(joinPhrase.equals("") == false) {
-                                    associatedQuery.setLocalQueryString(associatedQuery.getLocalQueryString().concat(" " + joinPhrase + " " + currentOpQuery.getOutputTable().getTableName().toLowerCase() + " on "));
-                                    associatedQuery.setExaremeQueryString(associatedQuery.getExaremeQueryString().concat(" " + joinPhrase + " " + currentOpQuery.getOutputTable().getTableName().toLowerCase() + " on "));
+                                    associatedQuery.appendToQueries(" " + joinPhrase + " " + currentOpQuery.getOutputTable().getTableName().toLowerCase() + " on ");
                                 }
 
                                 System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Moving to child operator...");
@@ -4424,7 +4293,7 @@ public class QueryBuilder {
 
         String updatedSchemaString = "";
 
-        if( (currentOperatorNode.getOperator().getSchema() == null) || currentOperatorNode.getOperator().getSchema().toString().equals("()") ){
+        if( (currentOperatorNode.getOperator().getSchema() == null) || currentOperatorNode.getSchemaString().equals("()") ){
             if(currentOperatorNode.getOperator().getColumnExprMap() != null){
                 System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": RowSchema is empty! We will build Schema from ColumnExprMap...");
 
@@ -4441,7 +4310,7 @@ public class QueryBuilder {
                 System.out.println(currentOperatorNode.getOperator().getOperatorId()+": ColumnExprMap is empty!");
 
                 System.out.println(currentOperatorNode.getOperator().getOperatorId()+": RowSchema is not empty! BuildColumnExprMap from schema!");
-                updatedSchemaString = buildSchemaFromColumnExprMap(currentOperatorNode, fatherOperatorNode.getOperator().getSchema().toString(), fatherOperatorNode);
+                updatedSchemaString = buildSchemaFromColumnExprMap(currentOperatorNode, fatherOperatorNode.getSchemaString(), fatherOperatorNode);
 
             }
             else {
@@ -4451,7 +4320,7 @@ public class QueryBuilder {
         }
 
         System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Checking if current Query contains Select statement...");
-        if(currentOpQuery.getLocalQueryString().contains("select ") == false){
+        if(currentOpQuery.hasSelect() == false){
             updatedSchemaString = addSelectStatementToQuery(currentOperatorNode, fatherOperatorNode, otherFatherNode, updatedSchemaString, currentOpQuery, null, latestAncestorTableName1, latestAncestorTableName2);
         }
 
@@ -4468,7 +4337,7 @@ public class QueryBuilder {
         updatedSchemaString = finaliseOutputTable(currentOperatorNode, fatherOperatorNode, otherFatherNode, currentOpQuery, updatedSchemaString, currentOperatorNode.getOperator().getOperatorId().toLowerCase(), outputTable, newCols, latestAncestorTableName1, latestAncestorTableName2, null);
 
         /*---Finalize local part of Query---*/
-        currentOpQuery.setLocalQueryString("create table "+currentOperatorNode.getOperator().getOperatorId().toLowerCase()+" as "+currentOpQuery.getLocalQueryString());
+        currentOpQuery.setLocalCreateTable(currentOperatorNode.getOperator().getOperatorId().toLowerCase());
 
         System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Query is currently: ["+currentOpQuery.getLocalQueryString()+"]");
 
@@ -4510,8 +4379,7 @@ public class QueryBuilder {
                                 associatedQuery.addInputTable(currentOpQuery.getOutputTable());
 
                                 if(joinPhrase.equals("") == false) {
-                                    associatedQuery.setLocalQueryString(associatedQuery.getLocalQueryString().concat(" " + joinPhrase + " " + currentOpQuery.getOutputTable().getTableName().toLowerCase() + " on "));
-                                    associatedQuery.setExaremeQueryString(associatedQuery.getExaremeQueryString().concat(" " + joinPhrase + " " + currentOpQuery.getOutputTable().getTableName().toLowerCase() + " on "));
+                                    associatedQuery.appendToQueries(" " + joinPhrase + " " + currentOpQuery.getOutputTable().getTableName().toLowerCase() + " on ");
                                 }
 
                                 System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Moving to child operator...");
@@ -4581,14 +4449,14 @@ public class QueryBuilder {
 
             if(currentOperatorNode.getOperator().getColumnExprMap() == null){
                 System.out.println(currentOperatorNode.getOperator().getOperatorId()+": ColumnExprMap is empty!");
-                if((currentOperatorNode.getOperator().getSchema() == null) || (currentOperatorNode.getOperator().getSchema().toString().equals("()"))){
+                if((currentOperatorNode.getOperator().getSchema() == null) || (currentOperatorNode.getSchemaString().equals("()"))){
                     System.out.println(currentOperatorNode.getOperator().getOperatorId()+": RowSchema is () ! Assuming older schema!");
                     updatedSchemaString = latestAncestorSchema;
                     addAliasesBasedOnFather(currentOperatorNode, fatherOperatorNode);
                 }
                 else{
                     System.out.println(currentOperatorNode.getOperator().getOperatorId()+": RowSchema is not empty! BuildColumnExprMap from schema!");
-                    updatedSchemaString = buildSchemaFromColumnExprMap(currentOperatorNode, fatherOperatorNode.getOperator().getSchema().toString(), fatherOperatorNode);
+                    updatedSchemaString = buildSchemaFromColumnExprMap(currentOperatorNode, fatherOperatorNode.getSchemaString(), fatherOperatorNode);
                 }
             }
             else {
@@ -4599,7 +4467,7 @@ public class QueryBuilder {
         }
 
         System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Checking if current Query contains Select statement...");
-        if(currentOpQuery.getLocalQueryString().contains("select ") == false){
+        if(currentOpQuery.hasSelect() == false){
             updatedSchemaString = addSelectStatementToQuery(currentOperatorNode, fatherOperatorNode, otherFatherNode, updatedSchemaString, currentOpQuery, null, latestAncestorTableName1, latestAncestorTableName2);
         }
 
@@ -4617,7 +4485,7 @@ public class QueryBuilder {
         outputTable.setIsAFile(false);
         List<FieldSchema> newCols = new LinkedList<>();
 
-        if(currentOperatorNode.getOperator().getSchema().toString().equals("()")){
+        if(currentOperatorNode.getSchemaString().equals("()")){
             System.out.println(currentOperatorNode.getOperator().getOperatorId()+": RowSchema is empty! Assuming older Schema! FILESINK WITH () SCHEMA NOT FIXED");
             updatedSchemaString = latestAncestorSchema;
             System.exit(0);
@@ -4626,7 +4494,7 @@ public class QueryBuilder {
         updatedSchemaString = finaliseOutputTable(currentOperatorNode, fatherOperatorNode, otherFatherNode, currentOpQuery, updatedSchemaString, currentOperatorNode.getOperator().getOperatorId().toLowerCase(), outputTable, newCols, latestAncestorTableName1, latestAncestorTableName2, orderByFields);
 
         /*---Finalize local part of Query---*/
-        currentOpQuery.setLocalQueryString("create table "+currentOperatorNode.getOperator().getOperatorId().toLowerCase()+" as "+currentOpQuery.getLocalQueryString());
+        currentOpQuery.setLocalCreateTable(currentOperatorNode.getOperator().getOperatorId().toLowerCase());
 
         System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Query is currently: ["+currentOpQuery.getLocalQueryString()+"]");
 
@@ -4694,7 +4562,7 @@ public class QueryBuilder {
         System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Current query will be ending here...");
 
         List<FieldSchema> selectCols2 = new LinkedList<>();
-        if (currentOpQuery.getLocalQueryString().contains("select ") == false) {
+        if (currentOpQuery.hasSelect() == false) {
             addSelectStatementToQuery(currentOperatorNode, fatherOperatorNode, otherFatherNode, latestAncestorSchema, currentOpQuery, selectCols2, latestAncestorTableName1, latestAncestorTableName2);
         }
 
@@ -4708,7 +4576,7 @@ public class QueryBuilder {
         latestAncestorSchema = finaliseOutputTable(currentOperatorNode, fatherOperatorNode, otherFatherNode, currentOpQuery, latestAncestorSchema, currentOperatorNode.getOperator().getOperatorId().toLowerCase(), outputTable, newCols, latestAncestorTableName1, latestAncestorTableName2, null);
 
         /*---Finalize local part of Query---*/
-        currentOpQuery.setLocalQueryString("create table " + currentOperatorNode.getOperator().getOperatorId().toLowerCase() + " as " + currentOpQuery.getLocalQueryString());
+        currentOpQuery.setLocalCreateTable(currentOperatorNode.getOperator().getOperatorId().toLowerCase());
 
         System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Query is currently: [" + currentOpQuery.getLocalQueryString() + "]");
 
@@ -4769,8 +4637,8 @@ public class QueryBuilder {
                 /*---Fix Schema containing aggregators---*/
                 MyMap someMap = new MyMap(true);
                 String fixedSchema = "";
-                if(currentOperatorNode.getOperator().getSchema().toString().contains("struct<")) {
-                    fixedSchema = extractColsFromTypeNameWithStructs(currentOperatorNode.getOperator().getSchema().toString(), someMap, currentOperatorNode.getOperator().getSchema().toString(), true);
+                if(currentOperatorNode.getSchemaString().contains("struct<")) {
+                    fixedSchema = extractColsFromOperatorSchema(currentOperatorNode, someMap, true);
                 }
                 else{
                     fixedSchema = tempSchema;
@@ -4933,17 +4801,52 @@ public class QueryBuilder {
                         for (String paramCol : parameterColNames) {
                             System.out.println("Attempting to locate paramCol: " + paramCol + " in TableRegistry...");
                             boolean columnLocated = false;
-                            for (TableRegEntry tableRegEntry : tableRegistry.getEntries()) {
+                            for (ColumnTypePair somePair : tableRegistry.getPairsByNameOrAlias(paramCol, fatherOperatorNode.getOperatorName())) {
+                                TableRegEntry tableRegEntry = tableRegistry.getEntryOfPair(somePair);
                                 String extraAlias = "";
                                 if (tableRegEntry.getAlias().equals(tableRegEntry.getAssociatedTable().getTableName()) == false) {
                                     extraAlias = tableRegEntry.getAlias() + ".";
                                 }
-                                for (ColumnTypePair somePair : tableRegEntry.getColumnTypeMap().getColumnAndTypeList()) {
 
-                                    if (somePair.getColumnName().equals(paramCol)) { //Match with columnName - now look for father
-                                        for (StringParameter sP : somePair.getAltAliasPairs()) {
-                                            if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) { //Located father
+                                if (somePair.getColumnName().equals(paramCol)) { //Match with columnName - now look for father
+                                    for (StringParameter sP : somePair.getAltAliasPairs()) {
+                                        if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) { //Located father
+
+                                            String trueName = extraAlias + somePair.getColumnName();
+                                            String trueType = somePair.getColumnType();
+
+                                            boolean hasCastAlias = false;
+                                            for(Map.Entry<String, MyMap> castEntry : operatorCastMap.entrySet()){
+                                                if(castEntry.getKey().equals(fatherOperatorNode.getOperatorName())){
+                                                    for(ColumnTypePair castPair : castEntry.getValue().getColumnAndTypeList()){
+                                                        if(castPair.getColumnName().equals(somePair.getColumnName())){
+                                                            if(castPair.getAltAliasPairs().get(0).getValue().equals(paramCol)){
+                                                                trueName = castPair.getAltAliasPairs().get(0).getExtraValue();
+                                                                trueType = castPair.getColumnType();
+                                                                hasCastAlias = true;
+                                                                break;
+                                                            }
+                                                        }
+                                                    }
+
+                                                    if(hasCastAlias) break;
+                                                }
+                                            }
+
+                                            System.out.println("Located realAlias: " + trueName);
 
+                                            columnLocated = true;
+                                            paramRealNames.add(trueName);
+                                            paramRealTypes.add(trueType);
+                                            opQuery.addUsedColumn(trueName, currentOperatorNode.getOperatorName().toLowerCase());
+                                            System.out.println(currentOperatorNode.getOperatorName()+": USED Column Addition: ("+trueName+" , "+currentOperatorNode.getOperatorName().toLowerCase()+")");
+                                            break;
+                                        }
+                                    }
+                                } else {
+                                    for (StringParameter sP : somePair.getAltAliasPairs()) {
+                                        if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) { //Located father
+                                            if (sP.getValue().equals(paramCol)) {
                                                 String trueName = extraAlias + somePair.getColumnName();
                                                 String trueType = somePair.getColumnType();
 
@@ -4967,61 +4870,23 @@ public class QueryBuilder {
 
                                                 System.out.println("Located realAlias: " + trueName);
 
+                                                if (aggregationPhrase.contains(paramCol + " ")) {
+                                                    aggregationPhrase = aggregationPhrase.replace(paramCol + " ", trueName + " ");
+                                                } else if (aggregationPhrase.contains(paramCol + ")")) {
+
+                                                    aggregationPhrase = aggregationPhrase.replace(paramCol + ")", trueName + ")");
+                                                }
+
                                                 columnLocated = true;
                                                 paramRealNames.add(trueName);
                                                 paramRealTypes.add(trueType);
                                                 opQuery.addUsedColumn(trueName, currentOperatorNode.getOperatorName().toLowerCase());
                                                 System.out.println(currentOperatorNode.getOperatorName()+": USED Column Addition: ("+trueName+" , "+currentOperatorNode.getOperatorName().toLowerCase()+")");
                                                 break;
-                                            }
-                                        }
-                                    } else {
-                                        for (StringParameter sP : somePair.getAltAliasPairs()) {
-                                            if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) { //Located father
-                                                if (sP.getValue().equals(paramCol)) {
-                                                    String trueName = extraAlias + somePair.getColumnName();
-                                                    String trueType = somePair.getColumnType();
-
-                                                    boolean hasCastAlias = false;
-                                                    for(Map.Entry<String, MyMap> castEntry : operatorCastMap.entrySet()){
-                                                        if(castEntry.getKey().equals(fatherOperatorNode.getOperatorName())){
-                                                            for(ColumnTypePair castPair : castEntry.getValue().getColumnAndTypeList()){
-                                                                if(castPair.getColumnName().equals(somePair.getColumnName())){
-                                                                    if(castPair.getAltAliasPairs().get(0).getValue().equals(paramCol)){
-                                                                        trueName = castPair.getAltAliasPairs().get(0).getExtraValue();
-                                                                        trueType = castPair.getColumnType();
-                                                                        hasCastAlias = true;
-                                                                        break;
-                                                                    }
-                                                                }
-                                                            }
-
-                                                            if(hasCastAlias) break;
-                                                        }
-                                                    }
-
-                                                    System.out.println("Located realAlias: " + trueName);
 
-                                                    if (aggregationPhrase.contains(paramCol + " ")) {
-                                                        aggregationPhrase = aggregationPhrase.replace(paramCol + " ", trueName + " ");
-                                                    } else if (aggregationPhrase.contains(paramCol + ")")) {
-
-                                                        aggregationPhrase = aggregationPhrase.replace(paramCol + ")", trueName + ")");
-                                                    }
-
-                                                    columnLocated = true;
-                                                    paramRealNames.add(trueName);
-                                                    paramRealTypes.add(trueType);
-                                                    opQuery.addUsedColumn(trueName, currentOperatorNode.getOperatorName().toLowerCase());
-                                                    System.out.println(currentOperatorNode.getOperatorName()+": USED Column Addition: ("+trueName+" , "+currentOperatorNode.getOperatorName().toLowerCase()+")");
-                                                    break;
-
-                                                }
                                             }
                                         }
                                     }
-
-                                    if (columnLocated == true) break;
                                 }
 
                                 if (columnLocated == true) break;
@@ -5095,55 +4960,50 @@ public class QueryBuilder {
                                     boolean locatedColumn = false;
                                     if (tempPair.getColumnType().equals("struct") == false) {
                                         System.out.println("Working on alias: " + tempPair.getColumnName() + " - Type: " + tempPair.getColumnType());
-                                        for (TableRegEntry tableRegEntry : tableRegistry.getEntries()) {
-                                            //System.out.println("Accessing: "+tableRegEntry.getAlias());
-                                            for (ColumnTypePair realPair : tableRegEntry.getColumnTypeMap().getColumnAndTypeList()) {
-                                                //System.out.println("Accessing: "+realPair.getColumnName()+" - Type: "+realPair.getColumnType());
-                                                if (realPair.getColumnType().equals(tempPair.getColumnType())) {
-                                                    if (realPair.getColumnName().equals(tempPair.getColumnName())) {
-                                                        //System.out.println("is real Alias...");
-                                                        for (StringParameter sP : realPair.getAltAliasPairs()) { //Schema contains the latest allies and we have already called addNewPossibleALiases before
-                                                            if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) {
-                                                                //System.out.println("Located father1...");
-                                                                if (fixedSchema.contains(tempPair.getColumnName() + ":")) {
-                                                                    System.out.println("Alias in schema: " + tempPair.getColumnName() + " becomes: " + realPair.getColumnName());
-                                                                    fixedSchema = fixedSchema.replace(tempPair.getColumnName() + ":", realPair.getColumnName() + ":");
-                                                                    System.out.println("Schema after replace: " + fixedSchema);
-                                                                }
-                                                                locatedColumn = true;
-                                                                break;
-                                                            } else if ((otherFatherNode != null) && (sP.getParemeterType().equals(otherFatherNode.getOperatorName()))) {
-                                                                //System.out.println("Located father2...");
+                                        for (ColumnTypePair realPair : tableRegistry.getPairsByNameOrAlias(tempPair.getColumnName(), currentOperatorNode.getOperatorName())) {
+                                            //System.out.println("Accessing: "+realPair.getColumnName()+" - Type: "+realPair.getColumnType());
+                                            if (realPair.getColumnType().equals(tempPair.getColumnType())) {
+                                                if (realPair.getColumnName().equals(tempPair.getColumnName())) {
+                                                    //System.out.println("is real Alias...");
+                                                    for (StringParameter sP : realPair.getAltAliasPairs()) { //Schema contains the latest allies and we have already called addNewPossibleALiases before
+                                                        if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) {
+                                                            //System.out.println("Located father1...");
+                                                            if (fixedSchema.contains(tempPair.getColumnName() + ":")) {
+                                                                System.out.println("Alias in schema: " + tempPair.getColumnName() + " becomes: " + realPair.getColumnName());
+                                                                fixedSchema = fixedSchema.replace(tempPair.getColumnName() + ":", realPair.getColumnName() + ":");
+                                                                System.out.println("Schema after replace: " + fixedSchema);
+                                                            }
+                                                            locatedColumn = true;
+                                                            break;
+                                                        } else if ((otherFatherNode != null) && (sP.getParemeterType().equals(otherFatherNode.getOperatorName()))) {
+                                                            //System.out.println("Located father2...");
+                                                            if (fixedSchema.contains(tempPair.getColumnName() + ":")) {
+                                                                System.out.println("Alias in schema: " + tempPair.getColumnName() + " becomes: " + realPair.getColumnName());
+                                                                fixedSchema = fixedSchema.replace(tempPair.getColumnName() + ":", realPair.getColumnName() + ":");
+                                                                System.out.println("Schema after replace: " + fixedSchema);
+                                                            }
+                                                            locatedColumn = true;
+                                                            break;
+                                                        }
+                                                    }
+
+                                                    if (locatedColumn) break;
+                                                } else {
+                                                    for (StringParameter sP : realPair.getAltAliasPairs()) { //Schema contains the latest allies and we have already called addNewPossibleALiases before
+                                                        if (sP.getParemeterType().equals(currentOperatorNode.getOperatorName())) {
+                                                            //System.out.println("Will compare: "+tempPair.getColumnName() + " with: "+sP.getValue() + " on currentNode: "+currentOperatorNode.getOperatorName());
+                                                            if (sP.getValue().equals(tempPair.getColumnName())) {
                                                                 if (fixedSchema.contains(tempPair.getColumnName() + ":")) {
                                                                     System.out.println("Alias in schema: " + tempPair.getColumnName() + " becomes: " + realPair.getColumnName());
                                                                     fixedSchema = fixedSchema.replace(tempPair.getColumnName() + ":", realPair.getColumnName() + ":");
                                                                     System.out.println("Schema after replace: " + fixedSchema);
-                                                                }
-                                                                locatedColumn = true;
-                                                                break;
-                                                            }
-                                                        }
-
-                                                        if (locatedColumn) break;
-                                                    } else {
-                                                        for (StringParameter sP : realPair.getAltAliasPairs()) { //Schema contains the latest allies and we have already called addNewPossibleALiases before
-                                                            if (sP.getParemeterType().equals(currentOperatorNode.getOperatorName())) {
-                                                                //System.out.println("Will compare: "+tempPair.getColumnName() + " with: "+sP.getValue() + " on currentNode: "+currentOperatorNode.getOperatorName());
-                                                                if (sP.getValue().equals(tempPair.getColumnName())) {
-                                                                    if (fixedSchema.contains(tempPair.getColumnName() + ":")) {
-                                                                        System.out.println("Alias in schema: " + tempPair.getColumnName() + " becomes: " + realPair.getColumnName());
-                                                                        fixedSchema = fixedSchema.replace(tempPair.getColumnName() + ":", realPair.getColumnName() + ":");
-                                                                        System.out.println("Schema after replace: " + fixedSchema);
-                                                                        locatedColumn = true;
-                                                                        break;
-                                                                    }
+                                                                    locatedColumn = true;
+                                                                    break;
                                                                 }
                                                             }
                                                         }
                                                     }
                                                 }
-
-                                                if (locatedColumn) break;
                                             }
 
                                             if (locatedColumn) break;
@@ -5351,13 +5211,13 @@ public class QueryBuilder {
             System.out.println(currentOperatorNode.getOperator().getOperatorId()+": "+" Simple GROUP BY with no aggregations...");
             if (currentOperatorNode.getOperator().getColumnExprMap() == null) {
                 System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": ColumnExprMap is empty!");
-                if ((currentOperatorNode.getOperator().getSchema() == null) || (currentOperatorNode.getOperator().getSchema().toString().equals("()"))) {
+                if ((currentOperatorNode.getOperator().getSchema() == null) || (currentOperatorNode.getSchemaString().equals("()"))) {
                     System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": RowSchema is () ! Assuming older schema!");
                     updatedSchemaString = latestAncestorSchema;
                     addAliasesBasedOnFather(currentOperatorNode, fatherOperatorNode);
                 } else {
                     System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": RowSchema is not empty! BuildColumnExprMap from schema!");
-                    updatedSchemaString = buildSchemaFromColumnExprMap(currentOperatorNode, fatherOperatorNode.getOperator().getSchema().toString(), fatherOperatorNode);
+                    updatedSchemaString = buildSchemaFromColumnExprMap(currentOperatorNode, fatherOperatorNode.getSchemaString(), fatherOperatorNode);
                 }
             } else {
                 System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Adding new possible Aliases...");
@@ -5367,7 +5227,7 @@ public class QueryBuilder {
 
         //Add select columns based on updatedSchemaString TODO: USE OUTPUT COLS INSTEAD
         List<FieldSchema> selectCols = new LinkedList<>();
-        if(opQuery.getLocalQueryString().contains("select ") == false){
+        if(opQuery.hasSelect() == false){
             addSelectStatementToQuery(currentOperatorNode, fatherOperatorNode, otherFatherNode, updatedSchemaString, opQuery, selectCols, currentOperatorNode.getOperatorName(), null);
         }
 
@@ -5475,8 +5335,8 @@ public class QueryBuilder {
                 /*---Fix Schema containing aggregators---*/
                 MyMap someMap = new MyMap(true);
                 String fixedSchema = "";
-                if(currentOperatorNode.getOperator().getSchema().toString().contains("struct<")) {
-                    fixedSchema = extractColsFromTypeNameWithStructs(currentOperatorNode.getOperator().getSchema().toString(), someMap, currentOperatorNode.getOperator().getSchema().toString(), true);
+                if(currentOperatorNode.getSchemaString().contains("struct<")) {
+                    fixedSchema = extractColsFromOperatorSchema(currentOperatorNode, someMap, true);
                 }
                 else{
                     fixedSchema = tempSchema;
@@ -5639,16 +5499,51 @@ public class QueryBuilder {
                         for (String paramCol : parameterColNames) {
                             System.out.println("Attempting to locate paramCol: " + paramCol + " in TableRegistry...");
                             boolean columnLocated = false;
-                            for (TableRegEntry tableRegEntry : tableRegistry.getEntries()) {
+                            for (ColumnTypePair somePair : tableRegistry.getPairsByNameOrAlias(paramCol, fatherOperatorNode.getOperatorName())) {
+                                TableRegEntry tableRegEntry = tableRegistry.getEntryOfPair(somePair);
                                 String extraAlias = "";
                                 if (tableRegEntry.getAlias().equals(tableRegEntry.getAssociatedTable().getTableName()) == false) {
                                     extraAlias = tableRegEntry.getAlias() + ".";
                                 }
-                                for (ColumnTypePair somePair : tableRegEntry.getColumnTypeMap().getColumnAndTypeList()) {
 
-                                    if (somePair.getColumnName().equals(paramCol)) { //Match with columnName - now look for father
-                                        for (StringParameter sP : somePair.getAltAliasPairs()) {
-                                            if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) { //Located father
+                                if (somePair.getColumnName().equals(paramCol)) { //Match with columnName - now look for father
+                                    for (StringParameter sP : somePair.getAltAliasPairs()) {
+                                        if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) { //Located father
+                                            String trueName = extraAlias + somePair.getColumnName();
+                                            String trueType = somePair.getColumnType();
+
+                                            boolean hasCastAlias = false;
+                                            for(Map.Entry<String, MyMap> castEntry : operatorCastMap.entrySet()){
+                                                if(castEntry.getKey().equals(fatherOperatorNode.getOperatorName())){
+                                                    for(ColumnTypePair castPair : castEntry.getValue().getColumnAndTypeList()){
+                                                        if(castPair.getColumnName().equals(somePair.getColumnName())){
+                                                            if(castPair.getAltAliasPairs().get(0).getValue().equals(paramCol)){
+                                                                trueName = castPair.getAltAliasPairs().get(0).getExtraValue();
+                                                                trueType = castPair.getColumnType();
+                                                                hasCastAlias = true;
+                                                                break;
+                                                            }
+                                                        }
+                                                    }
+
+                                                    if(hasCastAlias) break;
+                                                }
+                                            }
+
+                                            System.out.println("Located realAlias: " + trueName);
+
+                                            columnLocated = true;
+                                            paramRealNames.add(trueName);
+                                            paramRealTypes.add(trueType);
+                                            currentOpQuery.addUsedColumn(trueName, currentOperatorNode.getOperatorName().toLowerCase());
+                                            System.out.println(currentOperatorNode.getOperatorName()+": USED Column Addition: ("+trueName+" , "+currentOperatorNode.getOperatorName().toLowerCase()+")");
+                                            break;
+                                        }
+                                    }
+                                } else {
+                                    for (StringParameter sP : somePair.getAltAliasPairs()) {
+                                        if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) { //Located father
+                                            if (sP.getValue().equals(paramCol)) {
                                                 String trueName = extraAlias + somePair.getColumnName();
                                                 String trueType = somePair.getColumnType();
 
@@ -5672,6 +5567,13 @@ public class QueryBuilder {
 
                                                 System.out.println("Located realAlias: " + trueName);
 
+                                                if (aggregationPhrase.contains(paramCol + " ")) {
+                                                    aggregationPhrase = aggregationPhrase.replace(paramCol + " ", trueName + " ");
+                                                } else if (aggregationPhrase.contains(paramCol + ")")) {
+
+                                                    aggregationPhrase = aggregationPhrase.replace(paramCol + ")", trueName + ")");
+                                                }
+
                                                 columnLocated = true;
                                                 paramRealNames.add(trueName);
                                                 paramRealTypes.add(trueType);
@@ -5680,52 +5582,7 @@ public class QueryBuilder {
                                                 break;
                                             }
                                         }
-                                    } else {
-                                        for (StringParameter sP : somePair.getAltAliasPairs()) {
-                                            if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) { //Located father
-                                                if (sP.getValue().equals(paramCol)) {
-                                                    String trueName = extraAlias + somePair.getColumnName();
-                                                    String trueType = somePair.getColumnType();
-
-                                                    boolean hasCastAlias = false;
-                                                    for(Map.Entry<String, MyMap> castEntry : operatorCastMap.entrySet()){
-                                                        if(castEntry.getKey().equals(fatherOperatorNode.getOperatorName())){
-                                                            for(ColumnTypePair castPair : castEntry.getValue().getColumnAndTypeList()){
-                                                                if(castPair.getColumnName().equals(somePair.getColumnName())){
-                                                                    if(castPair.getAltAliasPairs().get(0).getValue().equals(paramCol)){
-                                                                        trueName = castPair.getAltAliasPairs().get(0).getExtraValue();
-                                                                        trueType = castPair.getColumnType();
-                                                                        hasCastAlias = true;
-                                                                        break;
-                                                                    }
-                                                                }
-                                                            }
-
-                                                            if(hasCastAlias) break;
-                                                        }
-                                                    }
-
-                                                    System.out.println("Located realAlias: " + trueName);
-
-                                                    if (aggregationPhrase.contains(paramCol + " ")) {
-                                                        aggregationPhrase = aggregationPhrase.replace(paramCol + " ", trueName + " ");
-                                                    } else if (aggregationPhrase.contains(paramCol + ")")) {
-
-                                                        aggregationPhrase = aggregationPhrase.replace(paramCol + ")", trueName + ")");
-                                                    }
-
-                                                    columnLocated = true;
-                                                    paramRealNames.add(trueName);
-                                                    paramRealTypes.add(trueType);
-                                                    currentOpQuery.addUsedColumn(trueName, currentOperatorNode.getOperatorName().toLowerCase());
-                                                    System.out.println(currentOperatorNode.getOperatorName()+": USED Column Addition: ("+trueName+" , "+currentOperatorNode.getOperatorName().toLowerCase()+")");
-                                                    break;
-                                                }
-                                            }
-                                        }
                                     }
-
-                                    if (columnLocated == true) break;
                                 }
 
                                 if (columnLocated == true) break;
@@ -5799,55 +5656,50 @@ public class QueryBuilder {
                                     boolean locatedColumn = false;
                                     if (tempPair.getColumnType().equals("struct") == false) {
                                         System.out.println("Working on alias: " + tempPair.getColumnName() + " - Type: " + tempPair.getColumnType());
-                                        for (TableRegEntry tableRegEntry : tableRegistry.getEntries()) {
-                                            //System.out.println("Accessing: "+tableRegEntry.getAlias());
-                                            for (ColumnTypePair realPair : tableRegEntry.getColumnTypeMap().getColumnAndTypeList()) {
-                                                //System.out.println("Accessing: "+realPair.getColumnName()+" - Type: "+realPair.getColumnType());
-                                                if (realPair.getColumnType().equals(tempPair.getColumnType())) {
-                                                    if (realPair.getColumnName().equals(tempPair.getColumnName())) {
-                                                        //System.out.println("is real Alias...");
-                                                        for (StringParameter sP : realPair.getAltAliasPairs()) { //Schema contains the latest allies and we have already called addNewPossibleALiases before
-                                                            if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) {
-                                                                //System.out.println("Located father1...");
-                                                                if (fixedSchema.contains(tempPair.getColumnName() + ":")) {
-                                                                    System.out.println("Alias in schema: " + tempPair.getColumnName() + " becomes: " + realPair.getColumnName());
-                                                                    fixedSchema = fixedSchema.replace(tempPair.getColumnName() + ":", realPair.getColumnName() + ":");
-                                                                    System.out.println("Schema after replace: " + fixedSchema);
-                                                                }
-                                                                locatedColumn = true;
-                                                                break;
-                                                            } else if ((otherFatherNode != null) && (sP.getParemeterType().equals(otherFatherNode.getOperatorName()))) {
-                                                                //System.out.println("Located father2...");
+                                        for (ColumnTypePair realPair : tableRegistry.getPairsByNameOrAlias(tempPair.getColumnName(), currentOperatorNode.getOperatorName())) {
+                                            //System.out.println("Accessing: "+realPair.getColumnName()+" - Type: "+realPair.getColumnType());
+                                            if (realPair.getColumnType().equals(tempPair.getColumnType())) {
+                                                if (realPair.getColumnName().equals(tempPair.getColumnName())) {
+                                                    //System.out.println("is real Alias...");
+                                                    for (StringParameter sP : realPair.getAltAliasPairs()) { //Schema contains the latest allies and we have already called addNewPossibleALiases before
+                                                        if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) {
+                                                            //System.out.println("Located father1...");
+                                                            if (fixedSchema.contains(tempPair.getColumnName() + ":")) {
+                                                                System.out.println("Alias in schema: " + tempPair.getColumnName() + " becomes: " + realPair.getColumnName());
+                                                                fixedSchema = fixedSchema.replace(tempPair.getColumnName() + ":", realPair.getColumnName() + ":");
+                                                                System.out.println("Schema after replace: " + fixedSchema);
+                                                            }
+                                                            locatedColumn = true;
+                                                            break;
+                                                        } else if ((otherFatherNode != null) && (sP.getParemeterType().equals(otherFatherNode.getOperatorName()))) {
+                                                            //System.out.println("Located father2...");
+                                                            if (fixedSchema.contains(tempPair.getColumnName() + ":")) {
+                                                                System.out.println("Alias in schema: " + tempPair.getColumnName() + " becomes: " + realPair.getColumnName());
+                                                                fixedSchema = fixedSchema.replace(tempPair.getColumnName() + ":", realPair.getColumnName() + ":");
+                                                                System.out.println("Schema after replace: " + fixedSchema);
+                                                            }
+                                                            locatedColumn = true;
+                                                            break;
+                                                        }
+                                                    }
+
+                                                    if (locatedColumn) break;
+                                                } else {
+                                                    for (StringParameter sP : realPair.getAltAliasPairs()) { //Schema contains the latest allies and we have already called addNewPossibleALiases before
+                                                        if (sP.getParemeterType().equals(currentOperatorNode.getOperatorName())) {
+                                                            //System.out.println("Will compare: "+tempPair.getColumnName() + " with: "+sP.getValue() + " on currentNode: "+currentOperatorNode.getOperatorName());
+                                                            if (sP.getValue().equals(tempPair.getColumnName())) {
                                                                 if (fixedSchema.contains(tempPair.getColumnName() + ":")) {
                                                                     System.out.println("Alias in schema: " + tempPair.getColumnName() + " becomes: " + realPair.getColumnName());
                                                                     fixedSchema = fixedSchema.replace(tempPair.getColumnName() + ":", realPair.getColumnName() + ":");
                                                                     System.out.println("Schema after replace: " + fixedSchema);
-                                                                }
-                                                                locatedColumn = true;
-                                                                break;
-                                                            }
-                                                        }
-
-                                                        if (locatedColumn) break;
-                                                    } else {
-                                                        for (StringParameter sP : realPair.getAltAliasPairs()) { //Schema contains the latest allies and we have already called addNewPossibleALiases before
-                                                            if (sP.getParemeterType().equals(currentOperatorNode.getOperatorName())) {
-                                                                //System.out.println("Will compare: "+tempPair.getColumnName() + " with: "+sP.getValue() + " on currentNode: "+currentOperatorNode.getOperatorName());
-                                                                if (sP.getValue().equals(tempPair.getColumnName())) {
-                                                                    if (fixedSchema.contains(tempPair.getColumnName() + ":")) {
-                                                                        System.out.println("Alias in schema: " + tempPair.getColumnName() + " becomes: " + realPair.getColumnName());
-                                                                        fixedSchema = fixedSchema.replace(tempPair.getColumnName() + ":", realPair.getColumnName() + ":");
-                                                                        System.out.println("Schema after replace: " + fixedSchema);
-                                                                        locatedColumn = true;
-                                                                        break;
-                                                                    }
+                                                                    locatedColumn = true;
+                                                                    break;
                                                                 }
                                                             }
                                                         }
                                                     }
                                                 }
-
-                                                if (locatedColumn) break;
                                             }
 
                                             if (locatedColumn) break;
@@ -6055,13 +5907,13 @@ public class QueryBuilder {
             System.out.println(currentOperatorNode.getOperator().getOperatorId()+": "+" Simple GROUP BY with no aggregations...");
             if (currentOperatorNode.getOperator().getColumnExprMap() == null) {
                 System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": ColumnExprMap is empty!");
-                if ((currentOperatorNode.getOperator().getSchema() == null) || (currentOperatorNode.getOperator().getSchema().toString().equals("()"))) {
+                if ((currentOperatorNode.getOperator().getSchema() == null) || (currentOperatorNode.getSchemaString().equals("()"))) {
                     System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": RowSchema is () ! Assuming older schema!");
                     updatedSchemaString = latestAncestorSchema;
                     addAliasesBasedOnFather(currentOperatorNode, fatherOperatorNode);
                 } else {
                     System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": RowSchema is not empty! BuildColumnExprMap from schema!");
-                    updatedSchemaString = buildSchemaFromColumnExprMap(currentOperatorNode, fatherOperatorNode.getOperator().getSchema().toString(), fatherOperatorNode);
+                    updatedSchemaString = buildSchemaFromColumnExprMap(currentOperatorNode, fatherOperatorNode.getSchemaString(), fatherOperatorNode);
                 }
             } else {
                 System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Adding new possible Aliases...");
@@ -6071,7 +5923,7 @@ public class QueryBuilder {
 
         //Add select columns based on updatedSchemaString TODO: USE OUTPUT COLS INSTEAD
         List<FieldSchema> selectCols = new LinkedList<>();
-        if(currentOpQuery.getLocalQueryString().contains("select ") == false){
+        if(currentOpQuery.hasSelect() == false){
             addSelectStatementToQuery(currentOperatorNode, fatherOperatorNode, otherFatherNode, updatedSchemaString, currentOpQuery, selectCols, currentOperatorNode.getOperatorName(), null);
         }
 
@@ -6148,11 +6000,11 @@ public class QueryBuilder {
         if((grandFatherOperatorNode.getOperator().getParentOperators() == null) || (grandFatherOperatorNode.getOperator().getParentOperators().size() == 0)){
             System.out.println(currentOperatorNode.getOperator().getOperatorId()+": GrandFather is root...TableScan!");
 
-            if( (currentOperatorNode.getOperator().getSchema() == null) || currentOperatorNode.getOperator().getSchema().toString().equals("()") ){
+            if( (currentOperatorNode.getOperator().getSchema() == null) || currentOperatorNode.getSchemaString().equals("()") ){
                 if(currentOperatorNode.getOperator().getColumnExprMap() != null){
                     System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": RowSchema is empty! We will build Schema from ColumnExprMap...");
 
-                    updatedSchemaString = buildSchemaFromColumnExprMap(currentOperatorNode, grandFatherOperatorNode.getOperator().getSchema().toString(), fatherOperatorNode);
+                    updatedSchemaString = buildSchemaFromColumnExprMap(currentOperatorNode, grandFatherOperatorNode.getSchemaString(), fatherOperatorNode);
 
                 }
                 else{
@@ -6175,14 +6027,14 @@ public class QueryBuilder {
         else{
             if(currentOperatorNode.getOperator().getColumnExprMap() == null){
                 System.out.println(currentOperatorNode.getOperator().getOperatorId()+": ColumnExprMap is empty!");
-                if((currentOperatorNode.getOperator().getSchema() == null) || (currentOperatorNode.getOperator().getSchema().toString().equals("()"))){
+                if((currentOperatorNode.getOperator().getSchema() == null) || (currentOperatorNode.getSchemaString().equals("()"))){
                     System.out.println(currentOperatorNode.getOperator().getOperatorId()+": RowSchema is () ! Assuming older schema!");
                     updatedSchemaString = latestAncestorSchema;
                     addAliasesBasedOnFather(currentOperatorNode, fatherOperatorNode);
                 }
                 else{
                     System.out.println(currentOperatorNode.getOperator().getOperatorId()+": RowSchema is not empty! BuildColumnExprMap from schema!");
-                    updatedSchemaString = buildSchemaFromColumnExprMap(currentOperatorNode, fatherOperatorNode.getOperator().getSchema().toString(), fatherOperatorNode);
+                    updatedSchemaString = buildSchemaFromColumnExprMap(currentOperatorNode, fatherOperatorNode.getSchemaString(), fatherOperatorNode);
                 }
             }
             else {
@@ -6205,7 +6057,7 @@ public class QueryBuilder {
         outputTable.setIsAFile(false);
         List<FieldSchema> newCols = new LinkedList<>();
 
-        //if(currentOperatorNode.getOperator().getSchema().toString().equals("()")){
+        //if(currentOperatorNode.getSchemaString().equals("()")){
         //    System.out.println(currentOperatorNode.getOperator().getOperatorId()+": RowSchema is empty! Assuming older Schema!");
         //    updatedSchemaString = latestAncestorSchema;
         //}
@@ -6213,7 +6065,7 @@ public class QueryBuilder {
         updatedSchemaString = finaliseOutputTable(currentOperatorNode, fatherOperatorNode, otherFatherNode, currentOpQuery, updatedSchemaString, currentOperatorNode.getOperator().getOperatorId().toLowerCase(), outputTable, newCols, latestAncestorTableName1, latestAncestorTableName2, orderByFields);
 
         /*---Finalize local part of Query---*/
-        currentOpQuery.setLocalQueryString("create table "+currentOperatorNode.getOperator().getOperatorId().toLowerCase()+" as "+currentOpQuery.getLocalQueryString());
+        currentOpQuery.setLocalCreateTable(currentOperatorNode.getOperator().getOperatorId().toLowerCase());
 
         System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Query is currently: ["+currentOpQuery.getLocalQueryString()+"]");
 
@@ -6271,11 +6123,11 @@ public class QueryBuilder {
 
         String updatedSchemaString = "";
 
-        if( (currentOperatorNode.getOperator().getSchema() == null) || currentOperatorNode.getOperator().getSchema().toString().equals("()") ){
+        if( (currentOperatorNode.getOperator().getSchema() == null) || currentOperatorNode.getSchemaString().equals("()") ){
             if(currentOperatorNode.getOperator().getColumnExprMap() != null){
                 System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": RowSchema is empty! We will build Schema from ColumnExprMap...");
 
-                updatedSchemaString = buildSchemaFromColumnExprMap(currentOperatorNode, fatherOperatorNode.getOperator().getSchema().toString(), fatherOperatorNode);
+                updatedSchemaString = buildSchemaFromColumnExprMap(currentOperatorNode, fatherOperatorNode.getSchemaString(), fatherOperatorNode);
 
             }
             else{
@@ -6288,7 +6140,7 @@ public class QueryBuilder {
                 System.out.println(currentOperatorNode.getOperator().getOperatorId()+": ColumnExprMap is empty!");
 
                 System.out.println(currentOperatorNode.getOperator().getOperatorId()+": RowSchema is not empty! BuildColumnExprMap from schema!");
-                updatedSchemaString = buildSchemaFromColumnExprMap(currentOperatorNode, fatherOperatorNode.getOperator().getSchema().toString(), fatherOperatorNode);
+                updatedSchemaString = buildSchemaFromColumnExprMap(currentOperatorNode, fatherOperatorNode.getSchemaString(), fatherOperatorNode);
 
             }
             else {
@@ -6298,7 +6150,7 @@ public class QueryBuilder {
         }
 
         System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Checking if current Query contains Select statement...");
-        if(currentOpQuery.getLocalQueryString().contains("select ") == false){
+        if(currentOpQuery.hasSelect() == false){
             updatedSchemaString = addSelectStatementToQuery(currentOperatorNode, fatherOperatorNode, otherFatherNode, latestAncestorSchema, currentOpQuery, null, latestAncestorTableName1, latestAncestorTableName2);
         }
 
@@ -6316,7 +6168,7 @@ public class QueryBuilder {
         outputTable.setIsAFile(false);
         List<FieldSchema> newCols = new LinkedList<>();
 
-        //if(currentOperatorNode.getOperator().getSchema().toString().equals("()")){
+        //if(currentOperatorNode.getSchemaString().equals("()")){
         //    System.out.println(currentOperatorNode.getOperator().getOperatorId()+": RowSchema is empty! Assuming older Schema!");
         //    updatedSchemaString = latestAncestorSchema;
         //}
@@ -6324,7 +6176,7 @@ public class QueryBuilder {
         updatedSchemaString = finaliseOutputTable(currentOperatorNode, fatherOperatorNode, otherFatherNode, currentOpQuery, updatedSchemaString, currentOperatorNode.getOperator().getOperatorId().toLowerCase(), outputTable, newCols, latestAncestorTableName1, latestAncestorTableName2, orderByFields);
 
         /*---Finalize local part of Query---*/
-        currentOpQuery.setLocalQueryString("create table "+currentOperatorNode.getOperator().getOperatorId().toLowerCase()+" as "+currentOpQuery.getLocalQueryString());
+        currentOpQuery.setLocalCreateTable(currentOperatorNode.getOperator().getOperatorId().toLowerCase());
 
         System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Query is currently: ["+currentOpQuery.getLocalQueryString()+"]");
 
@@ -6397,8 +6249,7 @@ public class QueryBuilder {
         //Add Join col1 = col2 part of expression
         if(joinColumns.size() > 0) {
             if(joinColumns.size() == 2){
-                currentOpQuery.setLocalQueryString(currentOpQuery.getLocalQueryString().concat(" " + joinColumns.get(0) + " = " + joinColumns.get(1) + " "));
-                currentOpQuery.setExaremeQueryString(currentOpQuery.getExaremeQueryString().concat(" " + joinColumns.get(0) + " = " + joinColumns.get(1) + " "));
+                currentOpQuery.appendToQueries(" " + joinColumns.get(0) + " = " + joinColumns.get(1) + " ");
             }
             else{
                 String joinString = " ";
@@ -6410,8 +6261,7 @@ public class QueryBuilder {
                         joinString = joinString + " and " + joinColumns.get(j) + " = " + joinColumns.get(j + joinColumns.size() / 2) + " ";
                     }
                 }
-                currentOpQuery.setLocalQueryString(currentOpQuery.getLocalQueryString().concat(" " + joinString + " "));
-                currentOpQuery.setExaremeQueryString(currentOpQuery.getExaremeQueryString().concat(" " + joinString + " "));
+                currentOpQuery.appendToQueries(" " + joinString + " ");
             }
 
             System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Query is currently: [" + currentOpQuery.getLocalQueryString() + "]");
@@ -6442,7 +6292,7 @@ public class QueryBuilder {
                     updatedSchemaString = finaliseOutputTable(currentOperatorNode, fatherOperatorNode, otherFatherNode, currentOpQuery, updatedSchemaString, currentOperatorNode.getOperator().getOperatorId().toLowerCase(), outputTable, newCols, latestAncestorTableName1, latestAncestorTableName2, null);
 
                     /*---Finalize local part of Query---*/
-                    currentOpQuery.setLocalQueryString("create table " + currentOperatorNode.getOperator().getOperatorId().toLowerCase() + " as " + currentOpQuery.getLocalQueryString());
+                    currentOpQuery.setLocalCreateTable(currentOperatorNode.getOperator().getOperatorId().toLowerCase());
 
                     System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Query is currently: [" + currentOpQuery.getLocalQueryString() + "]");
 
@@ -6516,8 +6366,7 @@ public class QueryBuilder {
         if(joinColumns.size() > 0) {
             //Add Join col1 = col2 part of expression
             if(joinColumns.size() == 2){
-                currentOpQuery.setLocalQueryString(currentOpQuery.getLocalQueryString().concat(" " + joinColumns.get(0) + " = " + joinColumns.get(1) + " "));
-                currentOpQuery.setExaremeQueryString(currentOpQuery.getExaremeQueryString().concat(" " + joinColumns.get(0) + " = " + joinColumns.get(1) + " "));
+                currentOpQuery.appendToQueries(" " + joinColumns.get(0) + " = " + joinColumns.get(1) + " ");
             }
             else{
                 String joinString = " ";
@@ -6529,8 +6378,7 @@ public class QueryBuilder {
                         joinString = joinString + " and " + joinColumns.get(j) + " = " + joinColumns.get(j + joinColumns.size() / 2) + " ";
                     }
                 }
-                currentOpQuery.setLocalQueryString(currentOpQuery.getLocalQueryString().concat(" " + joinString + " "));
-                currentOpQuery.setExaremeQueryString(currentOpQuery.getExaremeQueryString().concat(" " + joinString + " "));
+                currentOpQuery.appendToQueries(" " + joinString + " ");
             }
             System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Query is currently: [" + currentOpQuery.getLocalQueryString() + "]");
         }
@@ -6567,7 +6415,7 @@ public class QueryBuilder {
                 else if(child instanceof MapJoinOperator){
                     System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Discovered MAP_JOIN--->MAP_JOIN Connection! Child is select: " + child.getOperatorId());
 
-                    if (currentOpQuery.getLocalQueryString().contains("select ") == false) {
+                    if (currentOpQuery.hasSelect() == false) {
                         updatedSchemaString = addSelectStatementToQuery(currentOperatorNode, fatherOperatorNode, otherFatherNode, updatedSchemaString, currentOpQuery, null, latestAncestorTableName1, latestAncestorTableName2);
                     }
 
@@ -6584,7 +6432,7 @@ public class QueryBuilder {
                     updatedSchemaString = finaliseOutputTable(currentOperatorNode, fatherOperatorNode, otherFatherNode, currentOpQuery, updatedSchemaString, currentOperatorNode.getOperator().getOperatorId().toLowerCase(), outputTable, newCols, latestAncestorTableName1, latestAncestorTableName2, null);
 
                     /*---Finalize local part of Query---*/
-                    currentOpQuery.setLocalQueryString("create table "+currentOperatorNode.getOperator().getOperatorId().toLowerCase()+" as "+currentOpQuery.getLocalQueryString());
+                    currentOpQuery.setLocalCreateTable(currentOperatorNode.getOperator().getOperatorId().toLowerCase());
 
                     System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Query is currently: ["+currentOpQuery.getLocalQueryString()+"]");
 
@@ -6617,8 +6465,7 @@ public class QueryBuilder {
                                 associatedQuery.addInputTable(currentOpQuery.getOutputTable());
 
                                 if(joinPhrase.equals("") == false) {
-                                    associatedQuery.setLocalQueryString(associatedQuery.getLocalQueryString().concat(" " + joinPhrase + " " + currentOpQuery.getOutputTable().getTableName().toLowerCase() + " on "));
-                                    associatedQuery.setExaremeQueryString(associatedQuery.getExaremeQueryString().concat(" " + joinPhrase + " " + currentOpQuery.getOutputTable().getTableName().toLowerCase() + " on "));
+                                    associatedQuery.appendToQueries(" " + joinPhrase + " " + currentOpQuery.getOutputTable().getTableName().toLowerCase() + " on ");
                                 }
 
                                 System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Moving to child operator...");
@@ -6710,7 +6557,7 @@ public class QueryBuilder {
                     updatedSchemaString = finaliseOutputTable(currentOperatorNode, fatherOperatorNode, null, currentOpQuery, updatedSchemaString, currentOperatorNode.getOperator().getOperatorId().toLowerCase(), outputTable, newCols, latestTable1, latestTable2, null);
 
                     /*---Finalize local part of Query---*/
-                    currentOpQuery.setLocalQueryString("create table " + currentOperatorNode.getOperator().getOperatorId().toLowerCase() + " as " + currentOpQuery.getLocalQueryString());
+                    currentOpQuery.setLocalCreateTable(currentOperatorNode.getOperator().getOperatorId().toLowerCase());
 
                     System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Query is currently: [" + currentOpQuery.getLocalQueryString() + "]");
 
@@ -6747,7 +6594,7 @@ public class QueryBuilder {
                     updatedSchemaString = finaliseOutputTable(currentOperatorNode, fatherOperatorNode, null, currentOpQuery, updatedSchemaString, currentOperatorNode.getOperator().getOperatorId().toLowerCase(), outputTable, newCols, latestTable1, latestTable2, null);
 
                     /*---Finalize local part of Query---*/
-                    currentOpQuery.setLocalQueryString("create table " + currentOperatorNode.getOperator().getOperatorId().toLowerCase() + " as " + currentOpQuery.getLocalQueryString());
+                    currentOpQuery.setLocalCreateTable(currentOperatorNode.getOperator().getOperatorId().toLowerCase());
 
                     System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Query is currently: [" + currentOpQuery.getLocalQueryString() + "]");
 
@@ -6784,7 +6631,7 @@ public class QueryBuilder {
                     updatedSchemaString = finaliseOutputTable(currentOperatorNode, fatherOperatorNode, null, currentOpQuery, updatedSchemaString, currentOperatorNode.getOperator().getOperatorId().toLowerCase(), outputTable, newCols, latestTable1, latestTable2, null);
 
                     /*---Finalize local part of Query---*/
-                    currentOpQuery.setLocalQueryString("create table " + currentOperatorNode.getOperator().getOperatorId().toLowerCase() + " as " + currentOpQuery.getLocalQueryString());
+                    currentOpQuery.setLocalCreateTable(currentOperatorNode.getOperator().getOperatorId().toLowerCase());
 
                     System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Query is currently: [" + currentOpQuery.getLocalQueryString() + "]");
 
@@ -6819,8 +6666,7 @@ public class QueryBuilder {
                                 associatedQuery.addInputTable(currentOpQuery.getOutputTable());
 
                                 if(joinPhrase.equals("") == false) {
-                                    associatedQuery.setLocalQueryString(associatedQuery.getLocalQueryString().concat(" " + joinPhrase + " " + currentOpQuery.getOutputTable().getTableName().toLowerCase() + " on "));
-                                    associatedQuery.setExaremeQueryString(associatedQuery.getExaremeQueryString().concat(" " + joinPhrase + " " + currentOpQuery.getOutputTable().getTableName().toLowerCase() + " on "));
+                                    associatedQuery.appendToQueries(" " + joinPhrase + " " + currentOpQuery.getOutputTable().getTableName().toLowerCase() + " on ");
                                 }
 
                                 System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Moving to child operator...");
@@ -6923,38 +6769,19 @@ public class QueryBuilder {
             String nameForSchema = "";
             String typeForSchema = "";
 
-            for(ColumnTypePair oldPair : someMap.getColumnAndTypeList()){ //Search all the parent operator Map
-                if(oldPair.getColumnName().equals(pastName)){
-                    for(TableRegEntry regEntry : tableRegistry.getEntries()){
-                        for(ColumnTypePair mapPair : regEntry.getColumnTypeMap().getColumnAndTypeList()){
-                            if(mapPair.getColumnType().equals(oldPair.getColumnType())){
-                                List<StringParameter> altAliases = mapPair.getAltAliasPairs();
-                                for(StringParameter sP : altAliases){
-                                    if(sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())){
-                                        if(sP.getValue().equals(oldPair.getColumnName())){
-                                            System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": NewColName: "+newColName+" - was added in map as altAlias for: "+mapPair.getColumnName());
-                                            matchFound = true;
-                                            nameForSchema = mapPair.getColumnName();
-                                            typeForSchema = mapPair.getColumnType();
-                                            mapPair.modifyAltAlias(currentOperatorNode.getOperatorName(), oldPair.getColumnName(), newColName, false);
-                                            break;
-                                        }
-                                    }
-
-                                }
-
-                                if(matchFound == true) {
-                                    break;
-                                }
-                            }
-                        }
-
-                        if(matchFound == true) break;
+            for(ColumnTypePair oldPair : someMap.getPairsByName(pastName)){ //Search all the parent operator Map
+                for(ColumnTypePair mapPair : tableRegistry.getPairsByAlias(fatherOperatorNode.getOperatorName(), oldPair.getColumnName())){
+                    if(mapPair.getColumnType().equals(oldPair.getColumnType())){
+                        System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": NewColName: "+newColName+" - was added in map as altAlias for: "+mapPair.getColumnName());
+                        matchFound = true;
+                        nameForSchema = mapPair.getColumnName();
+                        typeForSchema = mapPair.getColumnType();
+                        mapPair.modifyAltAlias(currentOperatorNode.getOperatorName(), oldPair.getColumnName(), newColName, false);
+                        break;
                     }
-
-                    if(matchFound == true) break;
                 }
 
+                if(matchFound == true) break;
             }
 
             if(matchFound == false){
@@ -6991,8 +6818,7 @@ public class QueryBuilder {
             if(limDesc != null){
                 int theLimit = limDesc.getLimit();
 
-                currentOpQuery.setLocalQueryString(currentOpQuery.getLocalQueryString() + " limit "+theLimit);
-                currentOpQuery.setExaremeQueryString(currentOpQuery.getExaremeQueryString() + " limit "+theLimit);
+                currentOpQuery.addLimitClause(String.valueOf(theLimit));
 
                 System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Query is currently: ["+currentOpQuery.getLocalQueryString()+"]");
 
@@ -7159,7 +6985,7 @@ public class QueryBuilder {
         List<FieldSchema> usedColumns = new LinkedList<>();
 
         /*---Check for Select statement and add used cols---*/
-        if(opQuery.getLocalQueryString().contains("select ") == false){
+        if(opQuery.hasSelect() == false){
             String updatedSchemaString = addSelectStatementToQuery(currentOperatorNode, fatherOperatorNode, otherFatherNode,latestSchema, opQuery, usedColumns, latestAncestorTableName1, null);
         }
         else{
@@ -7169,8 +6995,7 @@ public class QueryBuilder {
 
         String unionPhrase = " union all "; //UNION DISTINCT, OR UNION INFO IS NOT AVAILABLE AT THIS POINT
 
-        opQuery.setLocalQueryString(opQuery.getLocalQueryString() + " ");
-        opQuery.setExaremeQueryString(opQuery.getExaremeQueryString() + " ");
+        opQuery.appendToQueries(" ");
 
         System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Query is currently: ["+opQuery.getLocalQueryString()+"]");
         UnionOperator unionOp = (UnionOperator) child;
@@ -7198,7 +7023,7 @@ public class QueryBuilder {
         List<FieldSchema> usedColumns = new LinkedList<>();
 
         /*---Check for Select statement and add used cols---*/
-        if(opQuery.getLocalQueryString().contains("select ") == false){
+        if(opQuery.hasSelect() == false){
             String updatedSchemaString = addSelectStatementToQuery(currentOperatorNode, fatherOperatorNode, otherFatherNode,latestSchema, opQuery, usedColumns, latestAncestorTableName1, null);
         }
         else{
@@ -7220,8 +7045,7 @@ public class QueryBuilder {
         }
 
         associatedOpQuery.addInputTable(currentOpQuery.getOutputTable());
-        associatedOpQuery.setLocalQueryString(associatedOpQuery.getLocalQueryString() + " " + unionPhrase + " " + opQuery.getLocalQueryString() + " ");
-        associatedOpQuery.setExaremeQueryString(associatedOpQuery.getExaremeQueryString() + " " + unionPhrase + " " + opQuery.getLocalQueryString() + " ");
+        associatedOpQuery.appendToQueries(" " + unionPhrase + " " + opQuery.getLocalQueryString() + " ");
 
         System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Query is currently: ["+associatedOpQuery.getLocalQueryString()+"]");
 
@@ -7254,7 +7078,7 @@ public class QueryBuilder {
         List<FieldSchema> usedColumns = new LinkedList<>();
 
         /*---Check for Select statement and add used cols---*/
-        if(opQuery.getLocalQueryString().contains("select ") == false){
+        if(opQuery.hasSelect() == false){
             String updatedSchemaString = addSelectStatementToQuery(currentOperatorNode, fatherOperatorNode, otherFatherNode,latestSchema, opQuery, usedColumns, latestAncestorTableName1, null);
         }
         else{
@@ -7276,8 +7100,7 @@ public class QueryBuilder {
         }
 
         associatedOpQuery.addInputTable(currentOpQuery.getOutputTable());
-        associatedOpQuery.setLocalQueryString(associatedOpQuery.getLocalQueryString() + " " + unionPhrase + " " + opQuery.getLocalQueryString() + " ");
-        associatedOpQuery.setExaremeQueryString(associatedOpQuery.getExaremeQueryString() + " " + unionPhrase + " " + opQuery.getLocalQueryString() + " ");
+        associatedOpQuery.appendToQueries(" " + unionPhrase + " " + opQuery.getLocalQueryString() + " ");
 
         System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Query is currently: ["+associatedOpQuery.getLocalQueryString()+"]");
 
@@ -7297,7 +7120,7 @@ public class QueryBuilder {
 
             if(currentOperatorNode.getOperator().getSchema() != null){
 
-                if(currentOperatorNode.getOperator().getSchema().toString().equals(fatherOperatorNode.getOperator().getSchema().toString())){
+                if(currentOperatorNode.getSchemaString().equals(fatherOperatorNode.getSchemaString())){
                     addAliasesBasedOnFather(currentOperatorNode, fatherOperatorNode);
                 }
                 else {
@@ -7310,7 +7133,7 @@ public class QueryBuilder {
             if(children != null){
                 if((children.size() == 1) || (children.size() == 2)){
                     System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Checking if current Query contains Select statement...");
-                    if(currentOpQuery.getLocalQueryString().contains("select ") == false){
+                    if(currentOpQuery.hasSelect() == false){
                         updatedSchemaString = addSelectStatementToQuery(currentOperatorNode, fatherOperatorNode, otherFatherNode,latestAncestorSchema, currentOpQuery, null, latestAncestorTableName1, latestAncestorTableName2);
                     }
                     Operator<?> child = null;
@@ -7360,7 +7183,7 @@ public class QueryBuilder {
                         updatedSchemaString = finaliseOutputTable(currentOperatorNode, fatherOperatorNode, otherFatherNode, currentOpQuery, updatedSchemaString, currentOperatorNode.getOperatorName().toLowerCase(), outputTable, newCols, latestAncestorTableName1, latestAncestorTableName2, null);
 
                         /*---Finalize local part of Query---*/
-                        currentOpQuery.setLocalQueryString("create table " + currentOperatorNode.getOperator().getOperatorId().toLowerCase() + " as " + currentOpQuery.getLocalQueryString());
+                        currentOpQuery.setLocalCreateTable(currentOperatorNode.getOperator().getOperatorId().toLowerCase());
 
                         System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Query is currently: [" + currentOpQuery.getLocalQueryString() + "]");
 
@@ -7399,11 +7222,11 @@ public class QueryBuilder {
                     System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Current query will be ending here!");
 
                     System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Checking if current Query contains Select statement...");
-                    if(currentOpQuery.getLocalQueryString().contains("select ") == false){
-                        updatedSchemaString = addSelectStatementToQuery(currentOperatorNode, fatherOperatorNode, otherFatherNode,currentOperatorNode.getOperator().getSchema().toString(), currentOpQuery, null, latestAncestorTableName1, latestAncestorTableName2);
+                    if(currentOpQuery.hasSelect() == false){
+                        updatedSchemaString = addSelectStatementToQuery(currentOperatorNode, fatherOperatorNode, otherFatherNode,currentOperatorNode.getSchemaString(), currentOpQuery, null, latestAncestorTableName1, latestAncestorTableName2);
                     }
                     else{
-                        updatedSchemaString = currentOperatorNode.getOperator().getSchema().toString();
+                        updatedSchemaString = currentOperatorNode.getSchemaString();
                     }
 
                     /*---Finalising outputTable---*/
@@ -7419,7 +7242,7 @@ public class QueryBuilder {
                         outputTable.setTableName(createTableName);
                     }
                     /*---Finalize local part of Query---*/
-                    currentOpQuery.setLocalQueryString("create table " + createTableName + " as " + currentOpQuery.getLocalQueryString());
+                    currentOpQuery.setLocalCreateTable(createTableName);
 
                     System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Query is currently: [" + currentOpQuery.getLocalQueryString() + "]");
 
@@ -7473,7 +7296,7 @@ public class QueryBuilder {
                 latestAncestorSchema = finaliseOutputTable(currentOperatorNode, fatherOperatorNode, null, currentOpQuery, latestAncestorSchema, currentOperatorNode.getOperator().getOperatorId().toLowerCase(), outputTable, newCols, latestTable1, latestTable2, null);
 
                 /*---Finalize local part of Query---*/
-                currentOpQuery.setLocalQueryString("create table " + currentOperatorNode.getOperator().getOperatorId().toLowerCase() + " as " + currentOpQuery.getLocalQueryString());
+                currentOpQuery.setLocalCreateTable(currentOperatorNode.getOperator().getOperatorId().toLowerCase());
 
                 System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Query is currently: [" + currentOpQuery.getLocalQueryString() + "]");
 
@@ -7514,14 +7337,11 @@ public class QueryBuilder {
         List<FieldSchema> newCols = new LinkedList<>();
 
         System.out.println("addPurgeSelectStatementToQuery: We must create a new SELECT statement for this OperatorQuery and replace the old one!");
-        if(currentOpQuery.getLocalQueryString().contains(" from ")){
-            String[] parts = currentOpQuery.getLocalQueryString().split(" from ");
-            if(parts.length > 2){
+        if(currentOpQuery.getLocalQuery().hasFrom()){
+            if(currentOpQuery.getLocalQuery().hasNestedSelects()){
                 System.out.println("addPurgeSelectStatementToQuery: MORE THAN 2 SELECT STATEMENTS MIGHT EXIST! UNSUPPORTED!");
                 System.exit(0);
             }
-            String afterFromPhrase = parts[1];
-            afterFromPhrase = " from " + afterFromPhrase;
 
             if( (currentOperatorNode.getOperator() instanceof SelectOperator) == false){
                 System.out.println("addPurgeSelectStatementToQuery: CurrentNode is not SelectOperator! Error!");
@@ -7561,33 +7381,31 @@ public class QueryBuilder {
 
                         boolean replaceParam = false;
                         List<String> fixColAndType = new LinkedList<>();
-                        for(TableRegEntry tableRegEntry : tableRegistry.getEntries()){
-                            for(ColumnTypePair cP : tableRegEntry.getColumnTypeMap().getColumnAndTypeList()){
-                                for(StringParameter sP : cP.getAltAliasPairs()){
-                                    if(sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())){
-                                        if(colAndType.get(0).contains(" "+sP.getValue())){ //Located parameter
-                                            //Find in column Map
-                                            for(Map.Entry<String, MyMap> mapEntry : operatorCastMap.entrySet()){ //Locate cast in cast map
-                                                if(mapEntry.getKey().equals(currentOperatorNode.getOperatorName())){ //Located operator that performs cast
-                                                    for(ColumnTypePair c : mapEntry.getValue().getColumnAndTypeList()){
-                                                        if(c.getColumnName().equals(cP.getColumnName())){ //Located parameter col in its real alias
-                                                            if(c.getLatestAltCastType().equals(colAndType.get(1))) { //Type is also correct
-                                                                System.out.println("addPurgeSelectStatementToQuery: Located cast in castMap!");
-                                                                currentOpQuery.addUsedColumn(cP.getColumnName(), latestTable1);
-                                                                currentOpQuery.addUsedColumn(cP.getColumnName(), latestTable2);
-                                                                System.out.println("addPurgeSelectStatementToQuery: Replacing parameter: " + sP.getValue() + " with: " + cP.getColumnName());
-                                                                f.setName(c.getAltAliasPairs().get(0).getExtraValue());
-                                                                String tempCol = colAndType.get(0).replace(" " + sP.getValue(), cP.getColumnName());
-                                                                tempCol = tempCol + " as " + c.getAltAliasPairs().get(0).getExtraValue();
-                                                                fixColAndType.add(tempCol);
-                                                                fixColAndType.add(colAndType.get(1));
-                                                                f.setType(fixColAndType.get(1));
-                                                                newCols.add(f);
-                                                                newSelectPhrases.add(tempCol);
-                                                                replaceParam = true;
-                                                                ready = true;
-                                                                break;
-                                                            }
+                        for(ColumnTypePair cP : tableRegistry.getPairsOfOperator(fatherOperatorNode.getOperatorName())){
+                            for(StringParameter sP : cP.getAltAliasPairs()){
+                                if(sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())){
+                                    if(colAndType.get(0).contains(" "+sP.getValue())){ //Located parameter
+                                        //Find in column Map
+                                        for(Map.Entry<String, MyMap> mapEntry : operatorCastMap.entrySet()){ //Locate cast in cast map
+                                            if(mapEntry.getKey().equals(currentOperatorNode.getOperatorName())){ //Located operator that performs cast
+                                                for(ColumnTypePair c : mapEntry.getValue().getColumnAndTypeList()){
+                                                    if(c.getColumnName().equals(cP.getColumnName())){ //Located parameter col in its real alias
+                                                        if(c.getLatestAltCastType().equals(colAndType.get(1))) { //Type is also correct
+                                                            System.out.println("addPurgeSelectStatementToQuery: Located cast in castMap!");
+                                                            currentOpQuery.addUsedColumn(cP.getColumnName(), latestTable1);
+                                                            currentOpQuery.addUsedColumn(cP.getColumnName(), latestTable2);
+                                                            System.out.println("addPurgeSelectStatementToQuery: Replacing parameter: " + sP.getValue() + " with: " + cP.getColumnName());
+                                                            f.setName(c.getAltAliasPairs().get(0).getExtraValue());
+                                                            String tempCol = colAndType.get(0).replace(" " + sP.getValue(), cP.getColumnName());
+                                                            tempCol = tempCol + " as " + c.getAltAliasPairs().get(0).getExtraValue();
+                                                            fixColAndType.add(tempCol);
+                                                            fixColAndType.add(colAndType.get(1));
+                                                            f.setType(fixColAndType.get(1));
+                                                            newCols.add(f);
+                                                            newSelectPhrases.add(tempCol);
+                                                            replaceParam = true;
+                                                            ready = true;
+                                                            break;
                                                         }
                                                     }
                                                 }
@@ -7595,8 +7413,6 @@ public class QueryBuilder {
                                         }
                                     }
                                 }
-
-                                if(replaceParam) break;
                             }
 
                             if(replaceParam) break;
@@ -7694,12 +7510,27 @@ public class QueryBuilder {
                             containsUDF = true;
                         }
 
-                        for(TableRegEntry tableRegEntry : tableRegistry.getEntries()){
-                            for(ColumnTypePair p : tableRegEntry.getColumnTypeMap().getColumnAndTypeList()){
-                                if(p.getColumnType().equals(colType) || p.hasLatestAltCastType(colType)){
-                                    if(p.getColumnName().equals(colName)){
-                                        for(StringParameter sP : p.getAltAliasPairs()){
-                                            if(sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())){
+                        for(ColumnTypePair p : tableRegistry.getPairsByNameOrAlias(colName, fatherOperatorNode.getOperatorName())){
+                            if(p.getColumnType().equals(colType) || p.hasLatestAltCastType(colType)){
+                                if(p.getColumnName().equals(colName)){
+                                    for(StringParameter sP : p.getAltAliasPairs()){
+                                        if(sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())){
+                                            currentOpQuery.addUsedColumn(p.getColumnName(), latestTable1);
+                                            currentOpQuery.addUsedColumn(p.getColumnName(), latestTable2);
+                                            f.setName(p.getColumnName());
+                                            f.setType(p.getColumnType());
+                                            newCols.add(f);
+                                            newSelectPhrases.add(p.getColumnName());
+                                            System.out.println("addPurgeSelectStatementToQuery: Discovered new REAL ALIAS FOR Select Column: "+colName+" alias is: ("+f.getName()+", "+f.getType()+") ");
+                                            ready = true;
+                                            break;
+                                        }
+                                    }
+                                }
+                                else{
+                                    for(StringParameter sP : p.getAltAliasPairs()){
+                                        if(sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())){
+                                            if(sP.getValue().equals(colName)){
                                                 currentOpQuery.addUsedColumn(p.getColumnName(), latestTable1);
                                                 currentOpQuery.addUsedColumn(p.getColumnName(), latestTable2);
                                                 f.setName(p.getColumnName());
@@ -7712,29 +7543,10 @@ public class QueryBuilder {
                                             }
                                         }
                                     }
-                                    else{
-                                        for(StringParameter sP : p.getAltAliasPairs()){
-                                            if(sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())){
-                                                if(sP.getValue().equals(colName)){
-                                                    currentOpQuery.addUsedColumn(p.getColumnName(), latestTable1);
-                                                    currentOpQuery.addUsedColumn(p.getColumnName(), latestTable2);
-                                                    f.setName(p.getColumnName());
-                                                    f.setType(p.getColumnType());
-                                                    newCols.add(f);
-                                                    newSelectPhrases.add(p.getColumnName());
-                                                    System.out.println("addPurgeSelectStatementToQuery: Discovered new REAL ALIAS FOR Select Column: "+colName+" alias is: ("+f.getName()+", "+f.getType()+") ");
-                                                    ready = true;
-                                                    break;
-                                                }
-                                            }
-                                        }
-                                    }
-
-                                    if(ready) break;
                                 }
-                            }
 
-                            if(ready) break;
+                                if(ready) break;
+                            }
                         }
 
                         if(ready == false){
@@ -7781,33 +7593,31 @@ public class QueryBuilder {
 
                     boolean replaceParam = false;
                     List<String> fixColAndType = new LinkedList<>();
-                    for(TableRegEntry tableRegEntry : tableRegistry.getEntries()){
-                        for(ColumnTypePair cP : tableRegEntry.getColumnTypeMap().getColumnAndTypeList()){
-                            for(StringParameter sP : cP.getAltAliasPairs()){
-                                if(sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())){
-                                    if(colAndType.get(0).contains(" "+sP.getValue())){ //Located parameter
-                                        //Find in column Map
-                                        for(Map.Entry<String, MyMap> mapEntry : operatorCastMap.entrySet()){ //Locate cast in cast map
-                                            if(mapEntry.getKey().equals(currentOperatorNode.getOperatorName())){ //Located operator that performs cast
-                                                for(ColumnTypePair c : mapEntry.getValue().getColumnAndTypeList()){
-                                                    if(c.getColumnName().equals(cP.getColumnName())){ //Located parameter col in its real alias
-                                                        if(c.getLatestAltCastType().equals(colAndType.get(1))) { //Type is also correct
-                                                            System.out.println("addPurgeSelectStatementToQuery: Located cast in castMap!");
-                                                            currentOpQuery.addUsedColumn(cP.getColumnName(), latestTable1);
-                                                            currentOpQuery.addUsedColumn(cP.getColumnName(), latestTable2);
-                                                            System.out.println("addPurgeSelectStatementToQuery: Replacing parameter: " + sP.getValue() + " with: " + cP.getColumnName());
-                                                            f.setName(c.getAltAliasPairs().get(0).getExtraValue());
-                                                            String tempCol = colAndType.get(0).replace(" " + sP.getValue(), cP.getColumnName());
-                                                            tempCol = tempCol + " as " + c.getAltAliasPairs().get(0).getExtraValue();
-                                                            fixColAndType.add(tempCol);
-                                                            fixColAndType.add(colAndType.get(1));
-                                                            f.setType(fixColAndType.get(1));
-                                                            newCols.add(f);
-                                                            newSelectPhrases.add(tempCol);
-                                                            replaceParam = true;
-                                                            ready = true;
-                                                            break;
-                                                        }
+                    for(ColumnTypePair cP : tableRegistry.getPairsOfOperator(fatherOperatorNode.getOperatorName())){
+                        for(StringParameter sP : cP.getAltAliasPairs()){
+                            if(sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())){
+                                if(colAndType.get(0).contains(" "+sP.getValue())){ //Located parameter
+                                    //Find in column Map
+                                    for(Map.Entry<String, MyMap> mapEntry : operatorCastMap.entrySet()){ //Locate cast in cast map
+                                        if(mapEntry.getKey().equals(currentOperatorNode.getOperatorName())){ //Located operator that performs cast
+                                            for(ColumnTypePair c : mapEntry.getValue().getColumnAndTypeList()){
+                                                if(c.getColumnName().equals(cP.getColumnName())){ //Located parameter col in its real alias
+                                                    if(c.getLatestAltCastType().equals(colAndType.get(1))) { //Type is also correct
+                                                        System.out.println("addPurgeSelectStatementToQuery: Located cast in castMap!");
+                                                        currentOpQuery.addUsedColumn(cP.getColumnName(), latestTable1);
+                                                        currentOpQuery.addUsedColumn(cP.getColumnName(), latestTable2);
+                                                        System.out.println("addPurgeSelectStatementToQuery: Replacing parameter: " + sP.getValue() + " with: " + cP.getColumnName());
+                                                        f.setName(c.getAltAliasPairs().get(0).getExtraValue());
+                                                        String tempCol = colAndType.get(0).replace(" " + sP.getValue(), cP.getColumnName());
+                                                        tempCol = tempCol + " as " + c.getAltAliasPairs().get(0).getExtraValue();
+                                                        fixColAndType.add(tempCol);
+                                                        fixColAndType.add(colAndType.get(1));
+                                                        f.setType(fixColAndType.get(1));
+                                                        newCols.add(f);
+                                                        newSelectPhrases.add(tempCol);
+                                                        replaceParam = true;
+                                                        ready = true;
+                                                        break;
                                                     }
                                                 }
                                             }
@@ -7815,8 +7625,6 @@ public class QueryBuilder {
                                     }
                                 }
                             }
-
-                            if(replaceParam) break;
                         }
 
                         if(replaceParam) break;
@@ -7914,12 +7722,27 @@ public class QueryBuilder {
                         containsUDF = true;
                     }
 
-                    for(TableRegEntry tableRegEntry : tableRegistry.getEntries()){
-                        for(ColumnTypePair p : tableRegEntry.getColumnTypeMap().getColumnAndTypeList()){
-                            if(p.getColumnType().equals(colType) || p.hasLatestAltCastType(colType)){
-                                if(p.getColumnName().equals(colName)){
-                                    for(StringParameter sP : p.getAltAliasPairs()){
-                                        if(sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())){
+                    for(ColumnTypePair p : tableRegistry.getPairsByNameOrAlias(colName, fatherOperatorNode.getOperatorName())){
+                        if(p.getColumnType().equals(colType) || p.hasLatestAltCastType(colType)){
+                            if(p.getColumnName().equals(colName)){
+                                for(StringParameter sP : p.getAltAliasPairs()){
+                                    if(sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())){
+                                        currentOpQuery.addUsedColumn(p.getColumnName(), latestTable1);
+                                        currentOpQuery.addUsedColumn(p.getColumnName(), latestTable2);
+                                        f.setName(p.getColumnName());
+                                        f.setType(p.getColumnType());
+                                        newCols.add(f);
+                                        newSelectPhrases.add(p.getColumnName());
+                                        System.out.println("addPurgeSelectStatementToQuery: Discovered new REAL ALIAS FOR Select Column: "+colName+" alias is: ("+f.getName()+", "+f.getType()+") ");
+                                        ready = true;
+                                        break;
+                                    }
+                                }
+                            }
+                            else{
+                                for(StringParameter sP : p.getAltAliasPairs()){
+                                    if(sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())){
+                                        if(sP.getValue().equals(colName)){
                                             currentOpQuery.addUsedColumn(p.getColumnName(), latestTable1);
                                             currentOpQuery.addUsedColumn(p.getColumnName(), latestTable2);
                                             f.setName(p.getColumnName());
@@ -7932,29 +7755,10 @@ public class QueryBuilder {
                                         }
                                     }
                                 }
-                                else{
-                                    for(StringParameter sP : p.getAltAliasPairs()){
-                                        if(sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())){
-                                            if(sP.getValue().equals(colName)){
-                                                currentOpQuery.addUsedColumn(p.getColumnName(), latestTable1);
-                                                currentOpQuery.addUsedColumn(p.getColumnName(), latestTable2);
-                                                f.setName(p.getColumnName());
-                                                f.setType(p.getColumnType());
-                                                newCols.add(f);
-                                                newSelectPhrases.add(p.getColumnName());
-                                                System.out.println("addPurgeSelectStatementToQuery: Discovered new REAL ALIAS FOR Select Column: "+colName+" alias is: ("+f.getName()+", "+f.getType()+") ");
-                                                ready = true;
-                                                break;
-                                            }
-                                        }
-                                    }
-                                }
-
-                                if(ready) break;
                             }
-                        }
 
-                        if(ready) break;
+                            if(ready) break;
+                        }
                     }
 
                     if(ready == false){
@@ -7992,19 +7796,7 @@ public class QueryBuilder {
             }
 
 
-            String selectString = "";
-            for(int i = 0; i < newSelectPhrases.size(); i++){
-                if(i == newSelectPhrases.size() - 1){
-                    selectString = selectString + " " + newSelectPhrases.get(i)+ " ";
-                }
-                else{
-                    selectString = selectString + " " + newSelectPhrases.get(i) + ",";
-                }
-
-            }
-
-            currentOpQuery.setLocalQueryString(" select"+selectString+afterFromPhrase);
-            currentOpQuery.setExaremeQueryString(" select"+selectString+afterFromPhrase);
+            currentOpQuery.setSelectList(newSelectPhrases); //Replaces the select list only, the FROM part and clauses stay
 
             System.out.println("addAnyExtraColsToOutputTable: Fixed Query: "+currentOpQuery.getLocalQueryString());
 
@@ -8200,124 +7992,121 @@ public class QueryBuilder {
             else{
                 boolean checkColumnIsValid = false;
 
-                for(TableRegEntry tableRegEntry : tableRegistry.getEntries()){
-                    for(ColumnTypePair cP : tableRegEntry.getColumnTypeMap().getColumnAndTypeList()){
-                        if(cP.getColumnType().equals(pair.getColumnType()) || (cP.getLatestAltCastType().equals(pair.getColumnType()))){
-                            if(cP.getColumnName().equals(pair.getColumnName())){
-                                //Check if currentOperator CAST this column
-                                //for()
-                                String extraAlias = "";
-                                if(tableRegEntry.getAlias().equals(tableRegEntry.getAssociatedTable().getTableName()) == false){
-                                   extraAlias = tableRegEntry.getAlias() + ".";
-                                }
-                                pair.setColumnName(extraAlias+pair.getColumnName());
-
-                                if(cP.getLatestAltCastType().equals(pair.getColumnType())){
-                                    if(pair.getColumnType().equals(cP.getColumnType()) == false) {
-                                        System.out.println("addSelectStatementToQuery: Equal to due alt Cast type...Look in castMap...");
-                                        boolean foundCast = false;
-                                        for (Map.Entry<String, MyMap> entry : operatorCastMap.entrySet()) {
-                                            if (entry.getKey().equals(currentOperatorNode.getOperatorName())) {
-                                                for (ColumnTypePair entryCol : entry.getValue().getColumnAndTypeList()) {
-                                                    if (entryCol.getColumnName().equals(cP.getColumnName())) {
-                                                        pair.setColumnName(entryCol.getAltAliasPairs().get(0).getExtraValue());
-                                                        System.out.println("addSelectStatementToQuery: FIX - " + cP.getColumnName() + " becomes: " + entryCol.getAltAliasPairs().get(0).getExtraValue());
-                                                        foundCast = true;
-                                                        break;
-                                                    }
+                for(ColumnTypePair cP : tableRegistry.getPairsByNameOrAlias(pair.getColumnName(), currentOperatorNode.getOperatorName())){
+                    TableRegEntry tableRegEntry = tableRegistry.getEntryOfPair(cP);
+                    if(cP.getColumnType().equals(pair.getColumnType()) || (cP.getLatestAltCastType().equals(pair.getColumnType()))){
+                        if(cP.getColumnName().equals(pair.getColumnName())){
+                            //Check if currentOperator CAST this column
+                            //for()
+                            String extraAlias = "";
+                            if(tableRegEntry.getAlias().equals(tableRegEntry.getAssociatedTable().getTableName()) == false){
+                               extraAlias = tableRegEntry.getAlias() + ".";
+                            }
+                            pair.setColumnName(extraAlias+pair.getColumnName());
+
+                            if(cP.getLatestAltCastType().equals(pair.getColumnType())){
+                                if(pair.getColumnType().equals(cP.getColumnType()) == false) {
+                                    System.out.println("addSelectStatementToQuery: Equal to due alt Cast type...Look in castMap...");
+                                    boolean foundCast = false;
+                                    for (Map.Entry<String, MyMap> entry : operatorCastMap.entrySet()) {
+                                        if (entry.getKey().equals(currentOperatorNode.getOperatorName())) {
+                                            for (ColumnTypePair entryCol : entry.getValue().getColumnAndTypeList()) {
+                                                if (entryCol.getColumnName().equals(cP.getColumnName())) {
+                                                    pair.setColumnName(entryCol.getAltAliasPairs().get(0).getExtraValue());
+                                                    System.out.println("addSelectStatementToQuery: FIX - " + cP.getColumnName() + " becomes: " + entryCol.getAltAliasPairs().get(0).getExtraValue());
+                                                    foundCast = true;
+                                                    break;
                                                 }
-
-                                                if(foundCast) break;
                                             }
+
+                                            if(foundCast) break;
                                         }
                                     }
                                 }
+                            }
 
-                                for(StringParameter altAlias : cP.getAltAliasPairs()){
-                                    if(otherFatherNode != null){
-                                        if(altAlias.getParemeterType().equals(otherFatherNode.getOperatorName())){
-                                            currentOpQuery.addUsedColumn(pair.getColumnName(), latestTable1);
-                                            currentOpQuery.addUsedColumn(pair.getColumnName(), latestTable2);
-                                        }
-                                    }
-                                    else if(fatherOperatorNode != null){
-                                        if(altAlias.getParemeterType().equals(fatherOperatorNode.getOperatorName())){
-                                            currentOpQuery.addUsedColumn(pair.getColumnName(), latestTable1);
-                                            currentOpQuery.addUsedColumn(pair.getColumnName(), latestTable2);
-                                        }
+                            for(StringParameter altAlias : cP.getAltAliasPairs()){
+                                if(otherFatherNode != null){
+                                    if(altAlias.getParemeterType().equals(otherFatherNode.getOperatorName())){
+                                        currentOpQuery.addUsedColumn(pair.getColumnName(), latestTable1);
+                                        currentOpQuery.addUsedColumn(pair.getColumnName(), latestTable2);
                                     }
                                 }
-
-                                if (usedCols != null) {
-                                    FieldSchema f = new FieldSchema();
-                                    f.setName(pair.getColumnName());
-                                    f.setType(pair.getColumnType());
-                                    usedCols.add(f);
+                                else if(fatherOperatorNode != null){
+                                    if(altAlias.getParemeterType().equals(fatherOperatorNode.getOperatorName())){
+                                        currentOpQuery.addUsedColumn(pair.getColumnName(), latestTable1);
+                                        currentOpQuery.addUsedColumn(pair.getColumnName(), latestTable2);
+                                    }
                                 }
+                            }
 
-                                checkColumnIsValid = true;
-                                break;
+                            if (usedCols != null) {
+                                FieldSchema f = new FieldSchema();
+                                f.setName(pair.getColumnName());
+                                f.setType(pair.getColumnType());
+                                usedCols.add(f);
                             }
-                            else{
-                                for(StringParameter sP : cP.getAltAliasPairs()){
-                                    if(sP.getParemeterType().equals(currentOperatorNode.getOperatorName())){
-                                        if(sP.getValue().equals(pair.getColumnName())){
-                                            String extraAlias = "";
-                                            if(tableRegEntry.getAlias().equals(tableRegEntry.getAssociatedTable().getTableName()) == false){
-                                                extraAlias = tableRegEntry.getAlias() + ".";
-                                            }
-                                            pair.setColumnName(extraAlias+pair.getColumnName());
-
-                                            if(cP.getLatestAltCastType().equals(pair.getColumnType())){
-                                                if(pair.getColumnType().equals(cP.getColumnType()) == false) {
-                                                    for (Map.Entry<String, MyMap> entry : operatorCastMap.entrySet()) {
-                                                        if (entry.getKey().equals(currentOperatorNode.getOperatorName())) {
-                                                            for (ColumnTypePair entryCol : entry.getValue().getColumnAndTypeList()) {
-                                                                if (entryCol.getColumnName().equals(cP.getColumnName())) {
-                                                                    pair.setColumnName(entryCol.getAltAliasPairs().get(0).getExtraValue());
-                                                                    System.out.println("addSelectStatementToQuery: FIX - " + cP.getColumnName() + " becomes: " + entryCol.getAltAliasPairs().get(0).getExtraValue());
-                                                                }
+
+                            checkColumnIsValid = true;
+                            break;
+                        }
+                        else{
+                            for(StringParameter sP : cP.getAltAliasPairs()){
+                                if(sP.getParemeterType().equals(currentOperatorNode.getOperatorName())){
+                                    if(sP.getValue().equals(pair.getColumnName())){
+                                        String extraAlias = "";
+                                        if(tableRegEntry.getAlias().equals(tableRegEntry.getAssociatedTable().getTableName()) == false){
+                                            extraAlias = tableRegEntry.getAlias() + ".";
+                                        }
+                                        pair.setColumnName(extraAlias+pair.getColumnName());
+
+                                        if(cP.getLatestAltCastType().equals(pair.getColumnType())){
+                                            if(pair.getColumnType().equals(cP.getColumnType()) == false) {
+                                                for (Map.Entry<String, MyMap> entry : operatorCastMap.entrySet()) {
+                                                    if (entry.getKey().equals(currentOperatorNode.getOperatorName())) {
+                                                        for (ColumnTypePair entryCol : entry.getValue().getColumnAndTypeList()) {
+                                                            if (entryCol.getColumnName().equals(cP.getColumnName())) {
+                                                                pair.setColumnName(entryCol.getAltAliasPairs().get(0).getExtraValue());
+                                                                System.out.println("addSelectStatementToQuery: FIX - " + cP.getColumnName() + " becomes: " + entryCol.getAltAliasPairs().get(0).getExtraValue());
                                                             }
                                                         }
                                                     }
                                                 }
                                             }
+                                        }
 
-                                            for(StringParameter altAlias : cP.getAltAliasPairs()){
-                                                if(otherFatherNode != null){
-                                                    if(altAlias.getParemeterType().equals(otherFatherNode.getOperatorName())){
-                                                        currentOpQuery.addUsedColumn(pair.getColumnName(), latestTable1);
-                                                        currentOpQuery.addUsedColumn(pair.getColumnName(), latestTable2);
-                                                    }
-                                                }
-                                                else if(fatherOperatorNode != null){
-                                                    if(altAlias.getParemeterType().equals(fatherOperatorNode.getOperatorName())){
-                                                        currentOpQuery.addUsedColumn(pair.getColumnName(), latestTable1);
-                                                        currentOpQuery.addUsedColumn(pair.getColumnName(), latestTable2);
-                                                        //System.out.println(currentOperatorNode.getOperatorName()+": USED Column Addition: ("+pair.getColumnName()+" , "+latestTable1+")");
-                                                    }
+                                        for(StringParameter altAlias : cP.getAltAliasPairs()){
+                                            if(otherFatherNode != null){
+                                                if(altAlias.getParemeterType().equals(otherFatherNode.getOperatorName())){
+                                                    currentOpQuery.addUsedColumn(pair.getColumnName(), latestTable1);
+                                                    currentOpQuery.addUsedColumn(pair.getColumnName(), latestTable2);
                                                 }
                                             }
-
-                                            if (usedCols != null) {
-                                                FieldSchema f = new FieldSchema();
-                                                f.setName(pair.getColumnName());
-                                                f.setType(pair.getColumnType());
-                                                usedCols.add(f);
+                                            else if(fatherOperatorNode != null){
+                                                if(altAlias.getParemeterType().equals(fatherOperatorNode.getOperatorName())){
+                                                    currentOpQuery.addUsedColumn(pair.getColumnName(), latestTable1);
+                                                    currentOpQuery.addUsedColumn(pair.getColumnName(), latestTable2);
+                                                    //System.out.println(currentOperatorNode.getOperatorName()+": USED Column Addition: ("+pair.getColumnName()+" , "+latestTable1+")");
+                                                }
                                             }
+                                        }
 
-                                            checkColumnIsValid = true;
-                                            break;
+                                        if (usedCols != null) {
+                                            FieldSchema f = new FieldSchema();
+                                            f.setName(pair.getColumnName());
+                                            f.setType(pair.getColumnType());
+                                            usedCols.add(f);
                                         }
+
+                                        checkColumnIsValid = true;
+                                        break;
                                     }
                                 }
-
-                                if(checkColumnIsValid) break;
                             }
+
+                            if(checkColumnIsValid) break;
                         }
                     }
-
-                    if(checkColumnIsValid) break;
                 }
 
                 if(checkColumnIsValid == false){
@@ -8392,21 +8181,13 @@ public class QueryBuilder {
 
 
 
-        String selectString = "";
-        List<ColumnTypePair> pairs = aMap.getColumnAndTypeList();
-        for(int i = 0; i < pairs.size(); i++){
-            if(pairs.get(i).getColumnName().equals("__ommited_by_author_of_code__1213")) continue;
-            if(i == pairs.size() - 1){
-                selectString = selectString + " " + pairs.get(i).getColumnName()+ " ";
-            }
-            else{
-                selectString = selectString + " " + pairs.get(i).getColumnName() + ",";
-            }
-
+        List<String> selectColumns = new LinkedList<>();
+        for(ColumnTypePair pair : aMap.getColumnAndTypeList()){
+            if(pair.getColumnName().equals("__ommited_by_author_of_code__1213")) continue;
+            selectColumns.add(pair.getColumnName());
         }
 
-        currentOpQuery.setLocalQueryString(" select"+selectString+currentOpQuery.getLocalQueryString());
-        currentOpQuery.setExaremeQueryString(" select"+selectString+currentOpQuery.getExaremeQueryString());
+        currentOpQuery.setSelectList(selectColumns); //The FROM part and clauses built so far stay as they are
 
         System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Query is currently: ["+currentOpQuery.getLocalQueryString()+"]");
 
@@ -8572,15 +8353,45 @@ public class QueryBuilder {
                         boolean valueLocated = false;
                         String realValueName = "";
 
-                        for (TableRegEntry regEntry : tableRegistry.getEntries()) {
-                            for (ColumnTypePair p : regEntry.getColumnTypeMap().getColumnAndTypeList()) {
-                                if (columnType.equals(p.getColumnType())) {
-                                    if (p.getColumnName().equals(columnName)) {
-                                        List<StringParameter> altAliases = p.getAltAliasPairs();
-                                        for (StringParameter sP : altAliases) {
-                                            if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) {
+                        for (ColumnTypePair p : tableRegistry.getPairsByNameOrAlias(columnName, fatherOperatorNode.getOperatorName(), otherFatherNode.getOperatorName())) {
+                            if (columnType.equals(p.getColumnType())) {
+                                if (p.getColumnName().equals(columnName)) {
+                                    List<StringParameter> altAliases = p.getAltAliasPairs();
+                                    for (StringParameter sP : altAliases) {
+                                        if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) {
+                                            valueLocated = true;
+                                            realValueName = columnName;
+                                            joinColumns.add(realValueName);
+
+                                            //Add JOIN USED Column
+                                            System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Adding used column for JoinQuery - Alias: " + p.getColumnName() + " - TableName: " + fatherOperatorNode);
+                                            currentOpQuery.addUsedColumn(p.getColumnName(), fatherOperatorNode.getOperatorName());
+                                            System.out.println(currentOperatorNode.getOperatorName()+": USED Column Addition: ("+p.getColumnName()+" , "+fatherOperatorNode.getOperatorName()+")");
+
+                                            break;
+                                        } else if (sP.getParemeterType().equals(otherFatherNode.getOperatorName())) {
+                                            valueLocated = true;
+                                            realValueName = columnName;
+                                            joinColumns.add(realValueName);
+
+                                            //Add JOIN USED Column
+                                            System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Adding used column for JoinQuery - Alias: " + p.getColumnName() + " - TableName: " + otherFatherNode);
+                                            currentOpQuery.addUsedColumn(p.getColumnName(), otherFatherNode.getOperatorName());
+                                            System.out.println(currentOperatorNode.getOperatorName()+": USED Column Addition: ("+p.getColumnName()+" , "+otherFatherNode.getOperatorName()+")");
+                                            break;
+                                        }
+                                    }
+
+                                    if (valueLocated == true) break;
+
+                                } else {
+                                    List<StringParameter> altAliases = p.getAltAliasPairs();
+                                    for (StringParameter sP : altAliases) {
+                                        if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) { //Father1 Exists as AltAlias for this Column
+                                            if (sP.getValue().equals(columnName)) { //Father holds the value of this key
+                                                System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Located match through: " + fatherOperatorNode.getOperatorName());
+                                                realValueName = p.getColumnName();
                                                 valueLocated = true;
-                                                realValueName = columnName;
                                                 joinColumns.add(realValueName);
 
                                                 //Add JOIN USED Column
@@ -8589,61 +8400,27 @@ public class QueryBuilder {
                                                 System.out.println(currentOperatorNode.getOperatorName()+": USED Column Addition: ("+p.getColumnName()+" , "+fatherOperatorNode.getOperatorName()+")");
 
                                                 break;
-                                            } else if (sP.getParemeterType().equals(otherFatherNode.getOperatorName())) {
+                                            }
+                                        } else if (sP.getParemeterType().equals(otherFatherNode.getOperatorName())) {
+                                            if (sP.getValue().equals(columnName)) { //Father holds the value of this key
+                                                System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Located match through: " + otherFatherNode.getOperatorName());
+                                                realValueName = p.getColumnName();
                                                 valueLocated = true;
-                                                realValueName = columnName;
                                                 joinColumns.add(realValueName);
 
                                                 //Add JOIN USED Column
                                                 System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Adding used column for JoinQuery - Alias: " + p.getColumnName() + " - TableName: " + otherFatherNode);
                                                 currentOpQuery.addUsedColumn(p.getColumnName(), otherFatherNode.getOperatorName());
                                                 System.out.println(currentOperatorNode.getOperatorName()+": USED Column Addition: ("+p.getColumnName()+" , "+otherFatherNode.getOperatorName()+")");
-                                                break;
-                                            }
-                                        }
-
-                                        if (valueLocated == true) break;
-
-                                    } else {
-                                        List<StringParameter> altAliases = p.getAltAliasPairs();
-                                        for (StringParameter sP : altAliases) {
-                                            if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) { //Father1 Exists as AltAlias for this Column
-                                                if (sP.getValue().equals(columnName)) { //Father holds the value of this key
-                                                    System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Located match through: " + fatherOperatorNode.getOperatorName());
-                                                    realValueName = p.getColumnName();
-                                                    valueLocated = true;
-                                                    joinColumns.add(realValueName);
-
-                                                    //Add JOIN USED Column
-                                                    System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Adding used column for JoinQuery - Alias: " + p.getColumnName() + " - TableName: " + fatherOperatorNode);
-                                                    currentOpQuery.addUsedColumn(p.getColumnName(), fatherOperatorNode.getOperatorName());
-                                                    System.out.println(currentOperatorNode.getOperatorName()+": USED Column Addition: ("+p.getColumnName()+" , "+fatherOperatorNode.getOperatorName()+")");
-
-                                                    break;
-                                                }
-                                            } else if (sP.getParemeterType().equals(otherFatherNode.getOperatorName())) {
-                                                if (sP.getValue().equals(columnName)) { //Father holds the value of this key
-                                                    System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Located match through: " + otherFatherNode.getOperatorName());
-                                                    realValueName = p.getColumnName();
-                                                    valueLocated = true;
-                                                    joinColumns.add(realValueName);
-
-                                                    //Add JOIN USED Column
-                                                    System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Adding used column for JoinQuery - Alias: " + p.getColumnName() + " - TableName: " + otherFatherNode);
-                                                    currentOpQuery.addUsedColumn(p.getColumnName(), otherFatherNode.getOperatorName());
-                                                    System.out.println(currentOperatorNode.getOperatorName()+": USED Column Addition: ("+p.getColumnName()+" , "+otherFatherNode.getOperatorName()+")");
 
-                                                    break;
-                                                }
+                                                break;
                                             }
                                         }
-
-                                        if (valueLocated == true) break;
                                     }
+
+                                    if (valueLocated == true) break;
                                 }
                             }
-
-                            if (valueLocated == true) break;
                         }
 
                         if (valueLocated == false) {
@@ -8694,84 +8471,80 @@ public class QueryBuilder {
                         columnType = parts[2].replace(")", "");
 
                         if (entry.getValue().contains("UDFToLong(")) {
-                            for (TableRegEntry tableReg : tableRegistry.getEntries()) {
-                                for (ColumnTypePair cP : tableReg.getColumnTypeMap().getColumnAndTypeList()) {
-                                    if (columnType.equals("bigint")) {
-                                        if (cP.getColumnType().equals("int")) {
-                                            if (cP.getColumnName().equals(columnName)) {
-                                                for (StringParameter sP : cP.getAltAliasPairs()) {
-
-                                                    if ((fatherOperatorNode != null) && (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName()))) {
-                                                        cP.addCastType(columnType);
-                                                    } else if ((otherFatherNode != null) && (sP.getParemeterType().equals(otherFatherNode.getOperatorName()))) {
-                                                        cP.addCastType(columnType);
-                                                    }
-
+                            for (ColumnTypePair cP : tableRegistry.getPairsByNameOrAlias(columnName, operatorNames(fatherOperatorNode, otherFatherNode))) {
+                                if (columnType.equals("bigint")) {
+                                    if (cP.getColumnType().equals("int")) {
+                                        if (cP.getColumnName().equals(columnName)) {
+                                            for (StringParameter sP : cP.getAltAliasPairs()) {
+
+                                                if ((fatherOperatorNode != null) && (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName()))) {
+                                                    cP.addCastType(columnType);
+                                                } else if ((otherFatherNode != null) && (sP.getParemeterType().equals(otherFatherNode.getOperatorName()))) {
+                                                    cP.addCastType(columnType);
                                                 }
-                                            } else {
 
-                                                for (StringParameter sP : cP.getAltAliasPairs()) {
+                                            }
+                                        } else {
 
-                                                    if (sP.getValue().equals(columnName)) {
+                                            for (StringParameter sP : cP.getAltAliasPairs()) {
 
-                                                        if ((fatherOperatorNode != null) && (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName()))) {
-                                                            cP.addCastType(columnType);
-                                                        } else if ((otherFatherNode != null) && (sP.getParemeterType().equals(otherFatherNode.getOperatorName()))) {
-                                                            cP.addCastType(columnType);
-                                                        }
+                                                if (sP.getValue().equals(columnName)) {
 
+                                                    if ((fatherOperatorNode != null) && (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName()))) {
+                                                        cP.addCastType(columnType);
+                                                    } else if ((otherFatherNode != null) && (sP.getParemeterType().equals(otherFatherNode.getOperatorName()))) {
+                                                        cP.addCastType(columnType);
                                                     }
 
                                                 }
 
                                             }
-                                        }
 
+                                        }
                                     }
 
                                 }
+
                             }
 
                             columnType = "int";
 
                         }
                         else if (entry.getValue().contains("UDFToDouble(")) {
-                            for (TableRegEntry tableReg : tableRegistry.getEntries()) {
-                                for (ColumnTypePair cP : tableReg.getColumnTypeMap().getColumnAndTypeList()) {
-                                    if (columnType.equals("double")) {
-                                        if (cP.getColumnType().equals("float")) {
-                                            if (cP.getColumnName().equals(columnName)) {
-                                                for (StringParameter sP : cP.getAltAliasPairs()) {
-
-                                                    if ((fatherOperatorNode != null) && (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName()))) {
-                                                        cP.addCastType(columnType);
-                                                    } else if ((otherFatherNode != null) && (sP.getParemeterType().equals(otherFatherNode.getOperatorName()))) {
-                                                        cP.addCastType(columnType);
-                                                    }
-
+                            for (ColumnTypePair cP : tableRegistry.getPairsByNameOrAlias(columnName, operatorNames(fatherOperatorNode, otherFatherNode))) {
+                                if (columnType.equals("double")) {
+                                    if (cP.getColumnType().equals("float")) {
+                                        if (cP.getColumnName().equals(columnName)) {
+                                            for (StringParameter sP : cP.getAltAliasPairs()) {
+
+                                                if ((fatherOperatorNode != null) && (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName()))) {
+                                                    cP.addCastType(columnType);
+                                                } else if ((otherFatherNode != null) && (sP.getParemeterType().equals(otherFatherNode.getOperatorName()))) {
+                                                    cP.addCastType(columnType);
                                                 }
-                                            } else {
 
-                                                for (StringParameter sP : cP.getAltAliasPairs()) {
+                                            }
+                                        } else {
 
-                                                    if (sP.getValue().equals(columnName)) {
+                                            for (StringParameter sP : cP.getAltAliasPairs()) {
 
-                                                        if ((fatherOperatorNode != null) && (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName()))) {
-                                                            cP.addCastType(columnType);
-                                                        } else if ((otherFatherNode != null) && (sP.getParemeterType().equals(otherFatherNode.getOperatorName()))) {
-                                                            cP.addCastType(columnType);
-                                                        }
+                                                if (sP.getValue().equals(columnName)) {
 
+                                                    if ((fatherOperatorNode != null) && (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName()))) {
+                                                        cP.addCastType(columnType);
+                                                    } else if ((otherFatherNode != null) && (sP.getParemeterType().equals(otherFatherNode.getOperatorName()))) {
+                                                        cP.addCastType(columnType);
                                                     }
 
                                                 }
 
                                             }
-                                        }
 
+                                        }
                                     }
 
                                 }
+
                             }
 
                             columnType = "float";
@@ -8787,77 +8560,73 @@ public class QueryBuilder {
                     boolean valueLocated = false;
                     String realValueName = "";
 
-                    for (TableRegEntry regEntry : tableRegistry.getEntries()) {
-                        for (ColumnTypePair p : regEntry.getColumnTypeMap().getColumnAndTypeList()) {
-                            if (columnType.equals(p.getColumnType())) {
-                                if (p.getColumnName().equals(columnName)) {
-                                    List<StringParameter> altAliases = p.getAltAliasPairs();
-                                    for (StringParameter sP : altAliases) {
-                                        if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) {
+                    for (ColumnTypePair p : tableRegistry.getPairsByNameOrAlias(columnName, fatherOperatorNode.getOperatorName(), otherFatherNode.getOperatorName())) {
+                        if (columnType.equals(p.getColumnType())) {
+                            if (p.getColumnName().equals(columnName)) {
+                                List<StringParameter> altAliases = p.getAltAliasPairs();
+                                for (StringParameter sP : altAliases) {
+                                    if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) {
+                                        valueLocated = true;
+                                        realValueName = columnName;
+                                        joinColumns.add(realValueName);
+
+                                        //Add JOIN USED Column
+                                        System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Adding used column for JoinQuery - Alias: " + p.getColumnName() + " - TableName: " + fatherOperatorNode);
+                                        currentOpQuery.addUsedColumn(p.getColumnName(), fatherOperatorNode.getOperatorName());
+                                        System.out.println(currentOperatorNode.getOperatorName()+": USED Column Addition: ("+p.getColumnName()+" , "+ fatherOperatorNode.getOperatorName()+")");
+                                        break;
+                                    } else if (sP.getParemeterType().equals(otherFatherNode.getOperatorName())) {
+                                        valueLocated = true;
+                                        realValueName = columnName;
+                                        joinColumns.add(realValueName);
+
+                                        //Add JOIN USED Column
+                                        System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Adding used column for JoinQuery - Alias: " + p.getColumnName() + " - TableName: " + otherFatherNode);
+                                        currentOpQuery.addUsedColumn(p.getColumnName(), otherFatherNode.getOperatorName());
+                                        System.out.println(currentOperatorNode.getOperatorName()+": USED Column Addition: ("+p.getColumnName()+" , "+otherFatherNode.getOperatorName()+")");
+                                        break;
+                                    }
+                                }
+
+                                if (valueLocated == true) break;
+
+                            } else {
+                                List<StringParameter> altAliases = p.getAltAliasPairs();
+                                for (StringParameter sP : altAliases) {
+                                    if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) { //Father1 Exists as AltAlias for this Column
+                                        if (sP.getValue().equals(columnName)) { //Father holds the value of this key
+                                            System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Located match through: " + fatherOperatorNode.getOperatorName());
+                                            realValueName = p.getColumnName();
                                             valueLocated = true;
-                                            realValueName = columnName;
                                             joinColumns.add(realValueName);
 
                                             //Add JOIN USED Column
                                             System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Adding used column for JoinQuery - Alias: " + p.getColumnName() + " - TableName: " + fatherOperatorNode);
                                             currentOpQuery.addUsedColumn(p.getColumnName(), fatherOperatorNode.getOperatorName());
-                                            System.out.println(currentOperatorNode.getOperatorName()+": USED Column Addition: ("+p.getColumnName()+" , "+ fatherOperatorNode.getOperatorName()+")");
+                                            System.out.println(currentOperatorNode.getOperatorName()+": USED Column Addition: ("+p.getColumnName()+" , "+fatherOperatorNode.getOperatorName()+")");
+
                                             break;
-                                        } else if (sP.getParemeterType().equals(otherFatherNode.getOperatorName())) {
+                                        }
+                                    } else if (sP.getParemeterType().equals(otherFatherNode.getOperatorName())) {
+                                        if (sP.getValue().equals(columnName)) { //Father holds the value of this key
+                                            System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Located match through: " + otherFatherNode.getOperatorName());
+                                            realValueName = p.getColumnName();
                                             valueLocated = true;
-                                            realValueName = columnName;
                                             joinColumns.add(realValueName);
 
                                             //Add JOIN USED Column
                                             System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Adding used column for JoinQuery - Alias: " + p.getColumnName() + " - TableName: " + otherFatherNode);
                                             currentOpQuery.addUsedColumn(p.getColumnName(), otherFatherNode.getOperatorName());
                                             System.out.println(currentOperatorNode.getOperatorName()+": USED Column Addition: ("+p.getColumnName()+" , "+otherFatherNode.getOperatorName()+")");
-                                            break;
-                                        }
-                                    }
-
-                                    if (valueLocated == true) break;
 
-                                } else {
-                                    List<StringParameter> altAliases = p.getAltAliasPairs();
-                                    for (StringParameter sP : altAliases) {
-                                        if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) { //Father1 Exists as AltAlias for this Column
-                                            if (sP.getValue().equals(columnName)) { //Father holds the value of this key
-                                                System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Located match through: " + fatherOperatorNode.getOperatorName());
-                                                realValueName = p.getColumnName();
-                                                valueLocated = true;
-                                                joinColumns.add(realValueName);
-
-                                                //Add JOIN USED Column
-                                                System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Adding used column for JoinQuery - Alias: " + p.getColumnName() + " - TableName: " + fatherOperatorNode);
-                                                currentOpQuery.addUsedColumn(p.getColumnName(), fatherOperatorNode.getOperatorName());
-                                                System.out.println(currentOperatorNode.getOperatorName()+": USED Column Addition: ("+p.getColumnName()+" , "+fatherOperatorNode.getOperatorName()+")");
-
-                                                break;
-                                            }
-                                        } else if (sP.getParemeterType().equals(otherFatherNode.getOperatorName())) {
-                                            if (sP.getValue().equals(columnName)) { //Father holds the value of this key
-                                                System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Located match through: " + otherFatherNode.getOperatorName());
-                                                realValueName = p.getColumnName();
-                                                valueLocated = true;
-                                                joinColumns.add(realValueName);
-
-                                                //Add JOIN USED Column
-                                                System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Adding used column for JoinQuery - Alias: " + p.getColumnName() + " - TableName: " + otherFatherNode);
-                                                currentOpQuery.addUsedColumn(p.getColumnName(), otherFatherNode.getOperatorName());
-                                                System.out.println(currentOperatorNode.getOperatorName()+": USED Column Addition: ("+p.getColumnName()+" , "+otherFatherNode.getOperatorName()+")");
-
-                                                break;
-                                            }
+                                            break;
                                         }
                                     }
-
-                                    if (valueLocated == true) break;
                                 }
+
+                                if (valueLocated == true) break;
                             }
                         }
-
-                        if (valueLocated == true) break;
                     }
 
                     if (valueLocated == false) {
@@ -9086,77 +8855,73 @@ public class QueryBuilder {
                         boolean valueLocated = false;
                         String realValueName = "";
 
-                        for (TableRegEntry regEntry : tableRegistry.getEntries()) {
-                            for (ColumnTypePair p : regEntry.getColumnTypeMap().getColumnAndTypeList()) {
-                                if (columnType.equals(p.getColumnType())) {
-                                    if (p.getColumnName().equals(columnName)) {
-                                        List<StringParameter> altAliases = p.getAltAliasPairs();
-                                        for (StringParameter sP : altAliases) {
-                                            if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) {
+                        for (ColumnTypePair p : tableRegistry.getPairsByNameOrAlias(columnName, fatherOperatorNode.getOperatorName(), otherFatherNode.getOperatorName())) {
+                            if (columnType.equals(p.getColumnType())) {
+                                if (p.getColumnName().equals(columnName)) {
+                                    List<StringParameter> altAliases = p.getAltAliasPairs();
+                                    for (StringParameter sP : altAliases) {
+                                        if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) {
+                                            valueLocated = true;
+                                            realValueName = columnName;
+                                            joinColumns.add(realValueName);
+
+                                            //Add JOIN USED Column
+                                            System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Adding used column for JoinQuery - Alias: " + p.getColumnName() + " - TableName: " + fatherOperatorNode);
+                                            currentOpQuery.addUsedColumn(p.getColumnName(), fatherOperatorNode.getOperatorName());
+                                            System.out.println(currentOperatorNode.getOperatorName()+": USED Column Addition: ("+p.getColumnName()+" , "+fatherOperatorNode.getOperatorName()+")");
+                                            break;
+                                        } else if (sP.getParemeterType().equals(otherFatherNode.getOperatorName())) {
+                                            valueLocated = true;
+                                            realValueName = columnName;
+                                            joinColumns.add(realValueName);
+
+                                            //Add JOIN USED Column
+                                            System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Adding used column for JoinQuery - Alias: " + p.getColumnName() + " - TableName: " + otherFatherNode);
+                                            currentOpQuery.addUsedColumn(p.getColumnName(), otherFatherNode.getOperatorName());
+                                            System.out.println(currentOperatorNode.getOperatorName()+": USED Column Addition: ("+p.getColumnName()+" , "+otherFatherNode.getOperatorName()+")");
+                                            break;
+                                        }
+                                    }
+
+                                    if (valueLocated == true) break;
+
+                                } else {
+                                    List<StringParameter> altAliases = p.getAltAliasPairs();
+                                    for (StringParameter sP : altAliases) {
+                                        if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) { //Father1 Exists as AltAlias for this Column
+                                            if (sP.getValue().equals(columnName)) { //Father holds the value of this key
+                                                System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Located match through: " + fatherOperatorNode.getOperatorName());
+                                                realValueName = p.getColumnName();
                                                 valueLocated = true;
-                                                realValueName = columnName;
                                                 joinColumns.add(realValueName);
 
                                                 //Add JOIN USED Column
                                                 System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Adding used column for JoinQuery - Alias: " + p.getColumnName() + " - TableName: " + fatherOperatorNode);
                                                 currentOpQuery.addUsedColumn(p.getColumnName(), fatherOperatorNode.getOperatorName());
                                                 System.out.println(currentOperatorNode.getOperatorName()+": USED Column Addition: ("+p.getColumnName()+" , "+fatherOperatorNode.getOperatorName()+")");
+
                                                 break;
-                                            } else if (sP.getParemeterType().equals(otherFatherNode.getOperatorName())) {
+                                            }
+                                        } else if (sP.getParemeterType().equals(otherFatherNode.getOperatorName())) {
+                                            if (sP.getValue().equals(columnName)) { //Father holds the value of this key
+                                                System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Located match through: " + otherFatherNode.getOperatorName());
+                                                realValueName = p.getColumnName();
                                                 valueLocated = true;
-                                                realValueName = columnName;
                                                 joinColumns.add(realValueName);
 
                                                 //Add JOIN USED Column
                                                 System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Adding used column for JoinQuery - Alias: " + p.getColumnName() + " - TableName: " + otherFatherNode);
                                                 currentOpQuery.addUsedColumn(p.getColumnName(), otherFatherNode.getOperatorName());
                                                 System.out.println(currentOperatorNode.getOperatorName()+": USED Column Addition: ("+p.getColumnName()+" , "+otherFatherNode.getOperatorName()+")");
-                                                break;
-                                            }
-                                        }
-
-                                        if (valueLocated == true) break;
 
-                                    } else {
-                                        List<StringParameter> altAliases = p.getAltAliasPairs();
-                                        for (StringParameter sP : altAliases) {
-                                            if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) { //Father1 Exists as AltAlias for this Column
-                                                if (sP.getValue().equals(columnName)) { //Father holds the value of this key
-                                                    System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Located match through: " + fatherOperatorNode.getOperatorName());
-                                                    realValueName = p.getColumnName();
-                                                    valueLocated = true;
-                                                    joinColumns.add(realValueName);
-
-                                                    //Add JOIN USED Column
-                                                    System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Adding used column for JoinQuery - Alias: " + p.getColumnName() + " - TableName: " + fatherOperatorNode);
-                                                    currentOpQuery.addUsedColumn(p.getColumnName(), fatherOperatorNode.getOperatorName());
-                                                    System.out.println(currentOperatorNode.getOperatorName()+": USED Column Addition: ("+p.getColumnName()+" , "+fatherOperatorNode.getOperatorName()+")");
-
-                                                    break;
-                                                }
-                                            } else if (sP.getParemeterType().equals(otherFatherNode.getOperatorName())) {
-                                                if (sP.getValue().equals(columnName)) { //Father holds the value of this key
-                                                    System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Located match through: " + otherFatherNode.getOperatorName());
-                                                    realValueName = p.getColumnName();
-                                                    valueLocated = true;
-                                                    joinColumns.add(realValueName);
-
-                                                    //Add JOIN USED Column
-                                                    System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Adding used column for JoinQuery - Alias: " + p.getColumnName() + " - TableName: " + otherFatherNode);
-                                                    currentOpQuery.addUsedColumn(p.getColumnName(), otherFatherNode.getOperatorName());
-                                                    System.out.println(currentOperatorNode.getOperatorName()+": USED Column Addition: ("+p.getColumnName()+" , "+otherFatherNode.getOperatorName()+")");
-
-                                                    break;
-                                                }
+                                                break;
                                             }
                                         }
-
-                                        if (valueLocated == true) break;
                                     }
+
+                                    if (valueLocated == true) break;
                                 }
                             }
-
-                            if (valueLocated == true) break;
                         }
 
                         if (valueLocated == false) {
@@ -9207,84 +8972,80 @@ public class QueryBuilder {
                         columnType = parts[2].replace(")", "");
 
                         if (entry.getValue().contains("UDFToLong(")) {
-                            for (TableRegEntry tableReg : tableRegistry.getEntries()) {
-                                for (ColumnTypePair cP : tableReg.getColumnTypeMap().getColumnAndTypeList()) {
-                                    if (columnType.equals("bigint")) {
-                                        if (cP.getColumnType().equals("int")) {
-                                            if (cP.getColumnName().equals(columnName)) {
-                                                for (StringParameter sP : cP.getAltAliasPairs()) {
-
-                                                    if ((fatherOperatorNode != null) && (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName()))) {
-                                                        cP.addCastType(columnType);
-                                                    } else if ((otherFatherNode != null) && (sP.getParemeterType().equals(otherFatherNode.getOperatorName()))) {
-                                                        cP.addCastType(columnType);
-                                                    }
-
+                            for (ColumnTypePair cP : tableRegistry.getPairsByNameOrAlias(columnName, operatorNames(fatherOperatorNode, otherFatherNode))) {
+                                if (columnType.equals("bigint")) {
+                                    if (cP.getColumnType().equals("int")) {
+                                        if (cP.getColumnName().equals(columnName)) {
+                                            for (StringParameter sP : cP.getAltAliasPairs()) {
+
+                                                if ((fatherOperatorNode != null) && (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName()))) {
+                                                    cP.addCastType(columnType);
+                                                } else if ((otherFatherNode != null) && (sP.getParemeterType().equals(otherFatherNode.getOperatorName()))) {
+                                                    cP.addCastType(columnType);
                                                 }
-                                            } else {
 
-                                                for (StringParameter sP : cP.getAltAliasPairs()) {
+                                            }
+                                        } else {
 
-                                                    if (sP.getValue().equals(columnName)) {
+                                            for (StringParameter sP : cP.getAltAliasPairs()) {
 
-                                                        if ((fatherOperatorNode != null) && (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName()))) {
-                                                            cP.addCastType(columnType);
-                                                        } else if ((otherFatherNode != null) && (sP.getParemeterType().equals(otherFatherNode.getOperatorName()))) {
-                                                            cP.addCastType(columnType);
-                                                        }
+                                                if (sP.getValue().equals(columnName)) {
 
+                                                    if ((fatherOperatorNode != null) && (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName()))) {
+                                                        cP.addCastType(columnType);
+                                                    } else if ((otherFatherNode != null) && (sP.getParemeterType().equals(otherFatherNode.getOperatorName()))) {
+                                                        cP.addCastType(columnType);
                                                     }
 
                                                 }
 
                                             }
-                                        }
 
+                                        }
                                     }
 
                                 }
+
                             }
 
                             columnType = "int";
 
                         }
                         else if (entry.getValue().contains("UDFToDouble(")) {
-                            for (TableRegEntry tableReg : tableRegistry.getEntries()) {
-                                for (ColumnTypePair cP : tableReg.getColumnTypeMap().getColumnAndTypeList()) {
-                                    if (columnType.equals("double")) {
-                                        if (cP.getColumnType().equals("float")) {
-                                            if (cP.getColumnName().equals(columnName)) {
-                                                for (StringParameter sP : cP.getAltAliasPairs()) {
-
-                                                    if ((fatherOperatorNode != null) && (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName()))) {
-                                                        cP.addCastType(columnType);
-                                                    } else if ((otherFatherNode != null) && (sP.getParemeterType().equals(otherFatherNode.getOperatorName()))) {
-                                                        cP.addCastType(columnType);
-                                                    }
-
+                            for (ColumnTypePair cP : tableRegistry.getPairsByNameOrAlias(columnName, operatorNames(fatherOperatorNode, otherFatherNode))) {
+                                if (columnType.equals("double")) {
+                                    if (cP.getColumnType().equals("float")) {
+                                        if (cP.getColumnName().equals(columnName)) {
+                                            for (StringParameter sP : cP.getAltAliasPairs()) {
+
+                                                if ((fatherOperatorNode != null) && (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName()))) {
+                                                    cP.addCastType(columnType);
+                                                } else if ((otherFatherNode != null) && (sP.getParemeterType().equals(otherFatherNode.getOperatorName()))) {
+                                                    cP.addCastType(columnType);
                                                 }
-                                            } else {
 
-                                                for (StringParameter sP : cP.getAltAliasPairs()) {
+                                            }
+                                        } else {
 
-                                                    if (sP.getValue().equals(columnName)) {
+                                            for (StringParameter sP : cP.getAltAliasPairs()) {
 
-                                                        if ((fatherOperatorNode != null) && (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName()))) {
-                                                            cP.addCastType(columnType);
-                                                        } else if ((otherFatherNode != null) && (sP.getParemeterType().equals(otherFatherNode.getOperatorName()))) {
-                                                            cP.addCastType(columnType);
-                                                        }
+                                                if (sP.getValue().equals(columnName)) {
 
+                                                    if ((fatherOperatorNode != null) && (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName()))) {
+                                                        cP.addCastType(columnType);
+                                                    } else if ((otherFatherNode != null) && (sP.getParemeterType().equals(otherFatherNode.getOperatorName()))) {
+                                                        cP.addCastType(columnType);
                                                     }
 
                                                 }
 
                                             }
-                                        }
 
+                                        }
                                     }
 
                                 }
+
                             }
 
                             columnType = "float";
@@ -9300,77 +9061,73 @@ public class QueryBuilder {
                     boolean valueLocated = false;
                     String realValueName = "";
 
-                    for (TableRegEntry regEntry : tableRegistry.getEntries()) {
-                        for (ColumnTypePair p : regEntry.getColumnTypeMap().getColumnAndTypeList()) {
-                            if (columnType.equals(p.getColumnType())) {
-                                if (p.getColumnName().equals(columnName)) {
-                                    List<StringParameter> altAliases = p.getAltAliasPairs();
-                                    for (StringParameter sP : altAliases) {
-                                        if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) {
-                                            valueLocated = true;
-                                            realValueName = columnName;
-                                            joinColumns.add(realValueName);
+                    for (ColumnTypePair p : tableRegistry.getPairsByNameOrAlias(columnName, fatherOperatorNode.getOperatorName(), otherFatherNode.getOperatorName())) {
+                        if (columnType.equals(p.getColumnType())) {
+                            if (p.getColumnName().equals(columnName)) {
+                                List<StringParameter> altAliases = p.getAltAliasPairs();
+                                for (StringParameter sP : altAliases) {
+                                    if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) {
+                                        valueLocated = true;
+                                        realValueName = columnName;
+                                        joinColumns.add(realValueName);
+
+                                        //Add JOIN USED Column
+                                        System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Adding used column for JoinQuery - Alias: " + p.getColumnName() + " - TableName: " + fatherOperatorNode);
+                                        currentOpQuery.addUsedColumn(p.getColumnName(), fatherOperatorNode.getOperatorName());
+                                        System.out.println(currentOperatorNode.getOperatorName()+": USED Column Addition: ("+p.getColumnName()+" , "+fatherOperatorNode.getOperatorName()+")");
+                                        break;
+                                    } else if (sP.getParemeterType().equals(otherFatherNode.getOperatorName())) {
+                                        valueLocated = true;
+                                        realValueName = columnName;
+                                        joinColumns.add(realValueName);
+
+                                        //Add JOIN USED Column
+                                        System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Adding used column for JoinQuery - Alias: " + p.getColumnName() + " - TableName: " + otherFatherNode);
+                                        currentOpQuery.addUsedColumn(p.getColumnName(), otherFatherNode.getOperatorName());
+                                        System.out.println(currentOperatorNode.getOperatorName()+": USED Column Addition: ("+p.getColumnName()+" , "+otherFatherNode.getOperatorName()+")");
+                                        break;
+                                    }
+                                }
 
-                                            //Add JOIN USED Column
-                                            System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Adding used column for JoinQuery - Alias: " + p.getColumnName() + " - TableName: " + fatherOperatorNode);
-                                            currentOpQuery.addUsedColumn(p.getColumnName(), fatherOperatorNode.getOperatorName());
-                                            System.out.println(currentOperatorNode.getOperatorName()+": USED Column Addition: ("+p.getColumnName()+" , "+fatherOperatorNode.getOperatorName()+")");
-                                            break;
-                                        } else if (sP.getParemeterType().equals(otherFatherNode.getOperatorName())) {
+                                if (valueLocated == true) break;
+
+                            } else {
+                                List<StringParameter> altAliases = p.getAltAliasPairs();
+                                for (StringParameter sP : altAliases) {
+                                    if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) { //Father1 Exists as AltAlias for this Column
+                                        if (sP.getValue().equals(columnName)) { //Father holds the value of this key
+                                            System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Located match through: " + fatherOperatorNode.getOperatorName());
+                                            realValueName = p.getColumnName();
                                             valueLocated = true;
-                                            realValueName = columnName;
                                             joinColumns.add(realValueName);
 
                                             //Add JOIN USED Column
-                                            System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Adding used column for JoinQuery - Alias: " + p.getColumnName() + " - TableName: " + otherFatherNode);
-                                            currentOpQuery.addUsedColumn(p.getColumnName(), otherFatherNode.getOperatorName());
-                                            System.out.println(currentOperatorNode.getOperatorName()+": USED Column Addition: ("+p.getColumnName()+" , "+otherFatherNode.getOperatorName()+")");
-                                            break;
-                                        }
-                                    }
-
-                                    if (valueLocated == true) break;
-
-                                } else {
-                                    List<StringParameter> altAliases = p.getAltAliasPairs();
-                                    for (StringParameter sP : altAliases) {
-                                        if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) { //Father1 Exists as AltAlias for this Column
-                                            if (sP.getValue().equals(columnName)) { //Father holds the value of this key
-                                                System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Located match through: " + fatherOperatorNode.getOperatorName());
-                                                realValueName = p.getColumnName();
-                                                valueLocated = true;
-                                                joinColumns.add(realValueName);
-
-                                                //Add JOIN USED Column
-                                                System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Adding used column for JoinQuery - Alias: " + p.getColumnName() + " - TableName: " + fatherOperatorNode);
-                                                currentOpQuery.addUsedColumn(p.getColumnName(), fatherOperatorNode.getOperatorName());
-                                                System.out.println(currentOperatorNode.getOperatorName()+": USED Column Addition: ("+p.getColumnName()+" , "+fatherOperatorNode.getOperatorName()+")");
+                                            System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Adding used column for JoinQuery - Alias: " + p.getColumnName() + " - TableName: " + fatherOperatorNode);
+                                            currentOpQuery.addUsedColumn(p.getColumnName(), fatherOperatorNode.getOperatorName());
+                                            System.out.println(currentOperatorNode.getOperatorName()+": USED Column Addition: ("+p.getColumnName()+" , "+fatherOperatorNode.getOperatorName()+")");
 
-                                                break;
-                                            }
-                                        } else if (sP.getParemeterType().equals(otherFatherNode.getOperatorName())) {
-                                            if (sP.getValue().equals(columnName)) { //Father holds the value of this key
-                                                System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Located match through: " + otherFatherNode.getOperatorName());
-                                                realValueName = p.getColumnName();
-                                                valueLocated = true;
-                                                joinColumns.add(realValueName);
+                                            break;
+                                        }
+                                    } else if (sP.getParemeterType().equals(otherFatherNode.getOperatorName())) {
+                                        if (sP.getValue().equals(columnName)) { //Father holds the value of this key
+                                            System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Located match through: " + otherFatherNode.getOperatorName());
+                                            realValueName = p.getColumnName();
+                                            valueLocated = true;
+                                            joinColumns.add(realValueName);
 
-                                                //Add JOIN USED Column
-                                                System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Adding used column for JoinQuery - Alias: " + p.getColumnName() + " - TableName: " + otherFatherNode);
-                                                currentOpQuery.addUsedColumn(p.getColumnName(), otherFatherNode.getOperatorName());
-                                                System.out.println(currentOperatorNode.getOperatorName()+": USED Column Addition: ("+p.getColumnName()+" , "+otherFatherNode.getOperatorName()+")");
+                                            //Add JOIN USED Column
+                                            System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Adding used column for JoinQuery - Alias: " + p.getColumnName() + " - TableName: " + otherFatherNode);
+                                            currentOpQuery.addUsedColumn(p.getColumnName(), otherFatherNode.getOperatorName());
+                                            System.out.println(currentOperatorNode.getOperatorName()+": USED Column Addition: ("+p.getColumnName()+" , "+otherFatherNode.getOperatorName()+")");
 
-                                                break;
-                                            }
+                                            break;
                                         }
                                     }
-
-                                    if (valueLocated == true) break;
                                 }
+
+                                if (valueLocated == true) break;
                             }
                         }
-
-                        if (valueLocated == true) break;
                     }
 
                     if (valueLocated == false) {
@@ -9585,14 +9342,34 @@ public class QueryBuilder {
 
                                 //System.out.println("Currently searching for key: ("+keyPair.getColumnName()+","+keyPair.getColumnType()+")\n");
 
-                                for(TableRegEntry tableRegEntry : tableRegistry.getEntries()){
-                                    for(ColumnTypePair cP : tableRegEntry.getColumnTypeMap().getColumnAndTypeList()){
-                                        if(cP.getColumnType().equals(keyPair.getColumnType()) || cP.hasLatestAltCastType(keyPair.getColumnType())) {
-                                            if(cP.getColumnName().equals(keyPair.getColumnName())) { //Column has original name
-                                                //System.out.println("Direct match with: ("+cP.getColumnName()+","+cP.getColumnType()+")...check for father now...");
-                                                List<StringParameter> altAliases = cP.getAltAliasPairs();
-                                                for(StringParameter sP : altAliases){
-                                                    if(sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())){ //Now just check that father is also inline(if not then wrong table)
+                                for(ColumnTypePair cP : tableRegistry.getPairsOfOperator(fatherOperatorNode.getOperatorName())){
+                                    if(cP.getColumnType().equals(keyPair.getColumnType()) || cP.hasLatestAltCastType(keyPair.getColumnType())) {
+                                        if(cP.getColumnName().equals(keyPair.getColumnName())) { //Column has original name
+                                            //System.out.println("Direct match with: ("+cP.getColumnName()+","+cP.getColumnType()+")...check for father now...");
+                                            List<StringParameter> altAliases = cP.getAltAliasPairs();
+                                            for(StringParameter sP : altAliases){
+                                                if(sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())){ //Now just check that father is also inline(if not then wrong table)
+                                                    aliasFound = true;
+                                                    realAliasOfKey = cP.getColumnName();
+                                                    FieldSchema orderByField = new FieldSchema();
+                                                    orderByField.setName(realAliasOfKey);
+                                                    orderByField.setType(keyPair.getColumnType());
+                                                    orderByKeysAsFields.add(orderByField);
+                                                    System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Real Alias of Key: "+keyPair.getColumnName()+"is: "+realAliasOfKey);
+                                                    break;
+                                                }
+                                            }
+
+                                            if(aliasFound == true) break;
+                                        }
+                                        else{
+                                            List<StringParameter> altAliases = cP.getAltAliasPairs();
+                                            //System.out.println("Will check the altAliases of: ("+cP.getColumnName()+","+cP.getColumnType()+")....");
+                                            for(StringParameter sP : altAliases){
+                                                //System.out.println("Currently Examining Pair: ("+sP.getParemeterType()+","+sP.getValue()+")....(Searching for sP.getParemeterType() == equals(currentOperatorNode) )...");
+                                                if(sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())){
+                                                    //System.out.println("CurrentOperatorNode located...(will check for KEY.".concat(keyPair.getColumnName()));
+                                                    if(keyPair.getColumnName().equals(sP.getValue()) || keyPair.getColumnName().equals("KEY."+sP.getValue()) ){
                                                         aliasFound = true;
                                                         realAliasOfKey = cP.getColumnName();
                                                         FieldSchema orderByField = new FieldSchema();
@@ -9604,35 +9381,11 @@ public class QueryBuilder {
                                                     }
                                                 }
 
-                                                if(aliasFound == true) break;
-                                            }
-                                            else{
-                                                List<StringParameter> altAliases = cP.getAltAliasPairs();
-                                                //System.out.println("Will check the altAliases of: ("+cP.getColumnName()+","+cP.getColumnType()+")....");
-                                                for(StringParameter sP : altAliases){
-                                                    //System.out.println("Currently Examining Pair: ("+sP.getParemeterType()+","+sP.getValue()+")....(Searching for sP.getParemeterType() == equals(currentOperatorNode) )...");
-                                                    if(sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())){
-                                                        //System.out.println("CurrentOperatorNode located...(will check for KEY.".concat(keyPair.getColumnName()));
-                                                        if(keyPair.getColumnName().equals(sP.getValue()) || keyPair.getColumnName().equals("KEY."+sP.getValue()) ){
-                                                            aliasFound = true;
-                                                            realAliasOfKey = cP.getColumnName();
-                                                            FieldSchema orderByField = new FieldSchema();
-                                                            orderByField.setName(realAliasOfKey);
-                                                            orderByField.setType(keyPair.getColumnType());
-                                                            orderByKeysAsFields.add(orderByField);
-                                                            System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Real Alias of Key: "+keyPair.getColumnName()+"is: "+realAliasOfKey);
-                                                            break;
-                                                        }
-                                                    }
-
-                                                }
-
-                                                if(aliasFound == true) break;
                                             }
+
+                                            if(aliasFound == true) break;
                                         }
                                     }
-
-                                    if(aliasFound == true) break;
                                 }
 
                                 boolean isConst = false;
@@ -9715,8 +9468,7 @@ public class QueryBuilder {
                             }
 
                             System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Formed ORDER BY string: "+orderByString);
-                            currentOpQuery.setLocalQueryString(currentOpQuery.getLocalQueryString()+" "+orderByString);
-                            currentOpQuery.setExaremeQueryString(currentOpQuery.getExaremeQueryString()+" "+orderByString);
+                            currentOpQuery.addOrderByClause(orderByString);
 
                             System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Query is currently: ["+currentOpQuery.getLocalQueryString()+"]");
 
@@ -9872,13 +9624,30 @@ public class QueryBuilder {
                     boolean aliasFound = false;
                     String fatherName = fatherOperatorNode.getOperatorName();
 
-                    for(TableRegEntry tableRegEntry : tableRegistry.getEntries()){
-                        for(ColumnTypePair cP : tableRegEntry.getColumnTypeMap().getColumnAndTypeList()){
-                            if(cP.getColumnType().equals(keyPair.getColumnType()) || cP.hasLatestAltCastType(keyPair.getColumnType())) {
-                                if(cP.getColumnName().equals(keyPair.getColumnName())) { //Column has original name now check if father is also inline
-                                    List<StringParameter> altAliases = cP.getAltAliasPairs();
-                                    for(StringParameter sP : altAliases){
-                                        if( sP.getParemeterType().equals(fatherOperatorNode.getOperatorName()) ){
+                    for(ColumnTypePair cP : tableRegistry.getPairsOfOperator(fatherName)){
+                        if(cP.getColumnType().equals(keyPair.getColumnType()) || cP.hasLatestAltCastType(keyPair.getColumnType())) {
+                            if(cP.getColumnName().equals(keyPair.getColumnName())) { //Column has original name now check if father is also inline
+                                List<StringParameter> altAliases = cP.getAltAliasPairs();
+                                for(StringParameter sP : altAliases){
+                                    if( sP.getParemeterType().equals(fatherOperatorNode.getOperatorName()) ){
+                                        aliasFound = true;
+                                        realAliasOfKey = cP.getColumnName();
+                                        FieldSchema savedColumn = new FieldSchema();
+                                        savedColumn.setName(realAliasOfKey);
+                                        savedColumn.setType(keyPair.getColumnType());
+                                        groupKeys.add(savedColumn);
+                                        System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Real Alias of Key: "+keyPair.getColumnName()+"is: "+realAliasOfKey);
+                                        break;
+                                    }
+                                }
+
+                                if(aliasFound == true) break;
+                            }
+                            else{
+                                List<StringParameter> altAliases = cP.getAltAliasPairs();
+                                for(StringParameter sP : altAliases){ //Group by keys usually consist of FatherOperatorNode column aliases
+                                    if(sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())){
+                                        if(keyPair.getColumnName().equals(sP.getValue()) || keyPair.getColumnName().equals("KEY."+sP.getValue()) ){
                                             aliasFound = true;
                                             realAliasOfKey = cP.getColumnName();
                                             FieldSchema savedColumn = new FieldSchema();
@@ -9890,32 +9659,11 @@ public class QueryBuilder {
                                         }
                                     }
 
-                                    if(aliasFound == true) break;
                                 }
-                                else{
-                                    List<StringParameter> altAliases = cP.getAltAliasPairs();
-                                    for(StringParameter sP : altAliases){ //Group by keys usually consist of FatherOperatorNode column aliases
-                                        if(sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())){
-                                            if(keyPair.getColumnName().equals(sP.getValue()) || keyPair.getColumnName().equals("KEY."+sP.getValue()) ){
-                                                aliasFound = true;
-                                                realAliasOfKey = cP.getColumnName();
-                                                FieldSchema savedColumn = new FieldSchema();
-                                                savedColumn.setName(realAliasOfKey);
-                                                savedColumn.setType(keyPair.getColumnType());
-                                                groupKeys.add(savedColumn);
-                                                System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Real Alias of Key: "+keyPair.getColumnName()+"is: "+realAliasOfKey);
-                                                break;
-                                            }
-                                        }
-
-                                    }
 
-                                    if(aliasFound == true) break;
-                                }
+                                if(aliasFound == true) break;
                             }
                         }
-
-                        if(aliasFound == true) break;
                     }
 
 
@@ -9996,8 +9744,7 @@ public class QueryBuilder {
 
                 System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Real GroupBy Keys: "+expression);
 
-                currentOpQuery.setLocalQueryString(currentOpQuery.getLocalQueryString() + " group by "+expression);
-                currentOpQuery.setExaremeQueryString(currentOpQuery.getExaremeQueryString() + " group by "+expression);
+                currentOpQuery.addGroupByClause(expression);
 
                 System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Query is currently: ["+currentOpQuery.getLocalQueryString()+"]");
             }
@@ -10010,12 +9757,9 @@ public class QueryBuilder {
         System.out.println("Accessing method: initialiseNewQuery...");
 
         newQuery.setDataBasePath(currentDatabasePath);
-        newQuery.setLocalQueryString("");
-        newQuery.setExaremeQueryString("");
         newQuery.addInputTable(inputTable);
         newQuery.setAssignedContainer("c0");
-        newQuery.setLocalQueryString(" from "+inputTable.getTableName().toLowerCase());
-        newQuery.setExaremeQueryString(" from "+inputTable.getTableName().toLowerCase());
+        newQuery.setFromTable(inputTable.getTableName().toLowerCase());
 
     }
 
@@ -10046,12 +9790,10 @@ public class QueryBuilder {
             predicateString = clearColumnFromUDFToLong(predicateString);
 
             if(currentOpQuery.getLocalQueryString().contains(" group by ")){
-                currentOpQuery.setLocalQueryString(currentOpQuery.getLocalQueryString().concat(" having " + predicateString + " "));
-                currentOpQuery.setExaremeQueryString(currentOpQuery.getExaremeQueryString().concat(" having " + predicateString + " "));
+                currentOpQuery.addHavingClause(predicateString);
             }
             else {
-                currentOpQuery.setLocalQueryString(currentOpQuery.getLocalQueryString().concat(" where " + predicateString + " "));
-                currentOpQuery.setExaremeQueryString(currentOpQuery.getExaremeQueryString().concat(" where " + predicateString + " "));
+                currentOpQuery.addWhereClause(predicateString);
             }
 
         } else {
@@ -10076,15 +9818,7 @@ public class QueryBuilder {
         MyMap descendentMap = new MyMap(true);
         String descendentSchema = "";
 
-        if(currentOperatorNode.getOperator().getSchema().toString().contains("struct<")){
-            descendentSchema = extractColsFromTypeNameWithStructs(currentOperatorNode.getOperator().getSchema().toString(), descendentMap, currentOperatorNode.getOperator().getSchema().toString(), true);
-        }
-        else{
-            if(descendentSchema.contains("decimal(")){
-                descendentSchema = fixSchemaContainingDecimals(descendentSchema);
-            }
-            descendentSchema = extractColsFromTypeName(currentOperatorNode.getOperator().getSchema().toString(), descendentMap, currentOperatorNode.getOperator().getSchema().toString(), true);
-        }
+        descendentSchema = extractColsFromOperatorSchema(currentOperatorNode, descendentMap, true);
 
         if(ancestorMap.getColumnAndTypeList().size() != descendentMap.getColumnAndTypeList().size()){
             System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Maps do not have equal size!");
@@ -10112,15 +9846,13 @@ public class QueryBuilder {
 
             //Fetch possible latest type for ancestorPair
             String altType = "";
-            for(TableRegEntry tableRegEntry : tableRegistry.getEntries()) {
-                for (ColumnTypePair p : tableRegEntry.getColumnTypeMap().getColumnAndTypeList()) {
-                    if (p.getColumnType().equals(ancestorPair.getColumnType()) || p.hasLatestAltCastType(ancestorPair.getColumnType())) {
-                        if(p.getColumnName().equals(ancestorPair.getColumnName())) {
-                            List<StringParameter> altAliases = p.getAltAliasPairs();
-                            for (StringParameter sP : altAliases) {
-                                if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) {
-                                    altType = p.getLatestAltCastType();
-                                }
+            for(ColumnTypePair p : tableRegistry.getPairsByName(ancestorPair.getColumnName())){
+                if (p.getColumnType().equals(ancestorPair.getColumnType()) || p.hasLatestAltCastType(ancestorPair.getColumnType())) {
+                    if(p.getColumnName().equals(ancestorPair.getColumnName())) {
+                        List<StringParameter> altAliases = p.getAltAliasPairs();
+                        for (StringParameter sP : altAliases) {
+                            if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) {
+                                altType = p.getLatestAltCastType();
                             }
                         }
                     }
@@ -10129,74 +9861,71 @@ public class QueryBuilder {
 
             if(ancestorPair.getColumnType().equals(descendentPair.getColumnType()) || (altType.equals(descendentPair.getColumnType()))){
 
-                for(TableRegEntry tableRegEntry : tableRegistry.getEntries()){
-                    for(ColumnTypePair p : tableRegEntry.getColumnTypeMap().getColumnAndTypeList()){
-                        if(p.getColumnType().equals(ancestorPair.getColumnType()) || p.hasLatestAltCastType(ancestorPair.getColumnType()) ){
-                            if(p.getColumnName().equals(ancestorPair.getColumnName())){ //Located now check that father is in line
-                                List<StringParameter> altAliases = p.getAltAliasPairs();
-                                for(StringParameter sP : altAliases){
-                                    if(sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())){
+                for(ColumnTypePair p : tableRegistry.getPairsByName(ancestorPair.getColumnName())){
+                    TableRegEntry tableRegEntry = tableRegistry.getEntryOfPair(p);
+                    if(p.getColumnType().equals(ancestorPair.getColumnType()) || p.hasLatestAltCastType(ancestorPair.getColumnType()) ){
+                        if(p.getColumnName().equals(ancestorPair.getColumnName())){ //Located now check that father is in line
+                            List<StringParameter> altAliases = p.getAltAliasPairs();
+                            for(StringParameter sP : altAliases){
+                                if(sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())){
 
-                                        String extraAlias = "";
-                                        if(tableRegEntry.getAlias().equals(tableRegEntry.getAssociatedTable().getTableName()) == false){
-                                            extraAlias = tableRegEntry.getAlias() + ".";
-                                        }
+                                    String extraAlias = "";
+                                    if(tableRegEntry.getAlias().equals(tableRegEntry.getAssociatedTable().getTableName()) == false){
+                                        extraAlias = tableRegEntry.getAlias() + ".";
+                                    }
 
-                                            matchFound = true;
-                                            System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Match found! - Pair: "+extraAlias+ancestorPair.getColumnName()+" - "+descendentPair.getColumnName());
-                                            if(predCols != null){
-                                                if(predCols.size() > 0){
-                                                    for(String c : predCols){
-                                                        if(c.equals(descendentPair.getColumnName())){
-                                                            if(predicateString != null){
-                                                                if(predicateString.contains(c)){
-                                                                    System.out.println(currentOperatorNode.getOperator().getOperatorId()+": This column also exists in the predicate! Replacing!");
-                                                                    if(predicateString.contains(c+" ")){
-                                                                        predicateString = predicateString.replace(c+" ", extraAlias+ancestorPair.getColumnName()+" ");
-                                                                    }
-                                                                    else if(predicateString.contains(c+",")){
-                                                                        predicateString = predicateString.replace(c+",", extraAlias+ancestorPair.getColumnName()+",");
-                                                                    }
-                                                                    else if(predicateString.contains(c+")")){
-                                                                        predicateString = predicateString.replace(c+")", extraAlias+ancestorPair.getColumnName()+")");
-                                                                    }
-                                                                    else{
-                                                                        System.out.println("Failed to replace: "+c+" with alias: "+extraAlias+ancestorPair.getColumnName()+" in predicate string!");
-                                                                        System.exit(0);
-                                                                    }
-                                                                    c = c.replace(c, extraAlias+ancestorPair.getColumnName());
+                                        matchFound = true;
+                                        System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Match found! - Pair: "+extraAlias+ancestorPair.getColumnName()+" - "+descendentPair.getColumnName());
+                                        if(predCols != null){
+                                            if(predCols.size() > 0){
+                                                for(String c : predCols){
+                                                    if(c.equals(descendentPair.getColumnName())){
+                                                        if(predicateString != null){
+                                                            if(predicateString.contains(c)){
+                                                                System.out.println(currentOperatorNode.getOperator().getOperatorId()+": This column also exists in the predicate! Replacing!");
+                                                                if(predicateString.contains(c+" ")){
+                                                                    predicateString = predicateString.replace(c+" ", extraAlias+ancestorPair.getColumnName()+" ");
+                                                                }
+                                                                else if(predicateString.contains(c+",")){
+                                                                    predicateString = predicateString.replace(c+",", extraAlias+ancestorPair.getColumnName()+",");
+                                                                }
+                                                                else if(predicateString.contains(c+")")){
+                                                                    predicateString = predicateString.replace(c+")", extraAlias+ancestorPair.getColumnName()+")");
+                                                                }
+                                                                else{
+                                                                    System.out.println("Failed to replace: "+c+" with alias: "+extraAlias+ancestorPair.getColumnName()+" in predicate string!");
+                                                                    System.exit(0);
                                                                 }
+                                                                c = c.replace(c, extraAlias+ancestorPair.getColumnName());
                                                             }
-
-                                                            //Add used column
-                                                            currentOpQuery.addUsedColumn(extraAlias+ancestorPair.getColumnName(), latestAncestorTableName1);
-                                                            currentOpQuery.addUsedColumn(extraAlias+ancestorPair.getColumnName(), latestAncestorTableName2);
-                                                            //System.out.println(currentOperatorNode.getOperatorName()+": USED Column Addition: ("+p.getColumnName()+" , "+latestAncestorTableName1+")");
                                                         }
+
+                                                        //Add used column
+                                                        currentOpQuery.addUsedColumn(extraAlias+ancestorPair.getColumnName(), latestAncestorTableName1);
+                                                        currentOpQuery.addUsedColumn(extraAlias+ancestorPair.getColumnName(), latestAncestorTableName2);
+                                                        //System.out.println(currentOperatorNode.getOperatorName()+": USED Column Addition: ("+p.getColumnName()+" , "+latestAncestorTableName1+")");
                                                     }
                                                 }
                                             }
+                                        }
 
-                                            p.modifyAltAlias(currentOperatorNode.getOperatorName(), sP.getValue(), descendentPair.getColumnName(), false);
-
-                                            break;
+                                        p.modifyAltAlias(currentOperatorNode.getOperatorName(), sP.getValue(), descendentPair.getColumnName(), false);
 
+                                        break;
 
 
-                                    }
 
                                 }
-                            }
 
-
-                            if(matchFound == true){
-                                break;
                             }
+                        }
 
+
+                        if(matchFound == true){
+                            break;
                         }
-                    }
 
-                    if(matchFound == true) break;
+                    }
                 }
 
                 if(matchFound == false) {
@@ -10534,12 +10263,10 @@ public class QueryBuilder {
 
         if (predicateString != null) {
             if(currentOpQuery.getLocalQueryString().contains(" group by ")){
-                currentOpQuery.setLocalQueryString(currentOpQuery.getLocalQueryString().concat(" having " + predicateString + " "));
-                currentOpQuery.setExaremeQueryString(currentOpQuery.getExaremeQueryString().concat(" having " + predicateString + " "));
+                currentOpQuery.addHavingClause(predicateString);
             }
             else {
-                currentOpQuery.setLocalQueryString(currentOpQuery.getLocalQueryString().concat(" where " + predicateString + " "));
-                currentOpQuery.setExaremeQueryString(currentOpQuery.getExaremeQueryString().concat(" where " + predicateString + " "));
+                currentOpQuery.addWhereClause(predicateString);
             }
         } else {
             System.out.println(currentOperatorNode.getOperator().getOperatorId() + ": Predicate is NULL");
@@ -10564,76 +10291,71 @@ public class QueryBuilder {
         //printTableRegistry();
 
         boolean aliasFound = false;
-        for(TableRegEntry entry : tableRegistry.getEntries()){
-
-            if(entry.getAlias().equals(tableName)){ //Located specific Alias...
-                aliasFound = true;
-                MyMap tempMap = new MyMap(false);
-                String schemaString = extractColsFromTypeName(currentOperatorNode.getOperator().getSchema().toString(), tempMap, currentOperatorNode.getOperator().getSchema().toString(), true);
-
-                for(ColumnTypePair newPair : tempMap.getColumnAndTypeList()) { //Get a new pair
-                    boolean matchFound = false;
-                    String opName = "";
-                    String newAlias = "";
-
-                    for (ColumnTypePair pair : entry.getColumnTypeMap().getColumnAndTypeList()) {
-                        if(pair.getColumnType().equals(newPair.getColumnType())) { //Column with the same type
-                            List<StringParameter> altAliases = pair.getAltAliasPairs(); //Get altAliases
-                            for (StringParameter sP : altAliases) {
-                                if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) { //Located father
-                                    if(sP.getValue().equals(newPair.getColumnName())) {
-                                        opName = currentOperatorNode.getOperatorName();
-                                        newAlias = newPair.getColumnName();
-                                        System.out.println("useSchemaToFillAliasesForTable: Located new Alias for: " + pair.getColumnName() + " through FatherOperatorNode: " + fatherOperatorNode.getOperatorName() + " - AliasValue= " + newPair.getColumnName());
-                                        matchFound = true;
+        TableRegEntry entry = tableRegistry.getEntryByAlias(tableName);
+        if(entry != null){ //Located specific Alias...
+            aliasFound = true;
+            MyMap tempMap = new MyMap(false);
+            String schemaString = extractColsFromOperatorSchema(currentOperatorNode, tempMap, true);
+
+            for(ColumnTypePair newPair : tempMap.getColumnAndTypeList()) { //Get a new pair
+                boolean matchFound = false;
+                String opName = "";
+                String newAlias = "";
+
+                for (ColumnTypePair pair : entry.getColumnTypeMap().getPairsByAlias(fatherOperatorNode.getOperatorName(), newPair.getColumnName())) {
+                    if(pair.getColumnType().equals(newPair.getColumnType())) { //Column with the same type
+                        List<StringParameter> altAliases = pair.getAltAliasPairs(); //Get altAliases
+                        for (StringParameter sP : altAliases) {
+                            if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) { //Located father
+                                if(sP.getValue().equals(newPair.getColumnName())) {
+                                    opName = currentOperatorNode.getOperatorName();
+                                    newAlias = newPair.getColumnName();
+                                    System.out.println("useSchemaToFillAliasesForTable: Located new Alias for: " + pair.getColumnName() + " through FatherOperatorNode: " + fatherOperatorNode.getOperatorName() + " - AliasValue= " + newPair.getColumnName());
+                                    matchFound = true;
 
-                                        pair.modifyAltAlias(opName, sP.getValue(), newAlias, false);
+                                    pair.modifyAltAlias(opName, sP.getValue(), newAlias, false);
 
-                                        break;
-                                    }
+                                    break;
                                 }
-
                             }
 
-                            if(matchFound == true) {
-                                break;
-                            }
                         }
 
+                        if(matchFound == true) {
+                            break;
+                        }
                     }
 
-                    if(matchFound == false) {
-                        boolean foundToBeConstant = false;
-                        for (ColumnTypePair constPair : ommitedConstantsMap.getColumnAndTypeList()) {
-                            if (newPair.getColumnType().equals(constPair.getColumnType())) {
-                                for (StringParameter sP : constPair.getAltAliasPairs()) {
-                                    if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) {
-                                        if (sP.getValue().equals(newPair.getColumnName())) {
-                                            System.out.println("Alias: " + newPair.getColumnName() + " is a Constant value and will be ommited...");
-                                            foundToBeConstant = true;
-                                            matchFound = true;
-                                            break;
-                                        }
+                }
+
+                if(matchFound == false) {
+                    boolean foundToBeConstant = false;
+                    for (ColumnTypePair constPair : ommitedConstantsMap.getColumnAndTypeList()) {
+                        if (newPair.getColumnType().equals(constPair.getColumnType())) {
+                            for (StringParameter sP : constPair.getAltAliasPairs()) {
+                                if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) {
+                                    if (sP.getValue().equals(newPair.getColumnName())) {
+                                        System.out.println("Alias: " + newPair.getColumnName() + " is a Constant value and will be ommited...");
+                                        foundToBeConstant = true;
+                                        matchFound = true;
+                                        break;
                                     }
                                 }
-
-                                if (foundToBeConstant) break;
                             }
+
+                            if (foundToBeConstant) break;
                         }
                     }
+                }
 
-                    if(matchFound == true) break;
-
-                    if(matchFound == false){
-                        System.out.println("useSchemaToFillAliasesForTable: Failed to find altAlias for: "+newPair.getColumnName());
-                        System.exit(0);
-                    }
+                if(matchFound == true) break;
 
+                if(matchFound == false){
+                    System.out.println("useSchemaToFillAliasesForTable: Failed to find altAlias for: "+newPair.getColumnName());
+                    System.exit(0);
                 }
 
-                break;
             }
-
         }
 
         if(aliasFound == false){
@@ -10657,16 +10379,7 @@ public class QueryBuilder {
 
         MyMap descendentMap = new MyMap(true);
         String descendentSchema = "";
-        if(currentOperatorNode.getOperator().getSchema().toString().contains("struct<")){
-            descendentSchema = extractColsFromTypeNameWithStructs(currentOperatorNode.getOperator().getSchema().toString(), descendentMap, currentOperatorNode.getOperator().getSchema().toString(), true);
-
-        }
-        else{
-            if(descendentSchema.contains("decimal(")){
-                descendentSchema = fixSchemaContainingDecimals(descendentSchema);
-            }
-            descendentSchema = extractColsFromTypeName(currentOperatorNode.getOperator().getSchema().toString(), descendentMap, currentOperatorNode.getOperator().getSchema().toString(), true);
-        }
+        descendentSchema = extractColsFromOperatorSchema(currentOperatorNode, descendentMap, true);
 
         System.out.println("DescendentSchema: "+descendentSchema);
         System.out.println("AncestorSchema: "+latestAncestorSchema);
@@ -10683,15 +10396,13 @@ public class QueryBuilder {
 
             //Fetch possible latest type for ancestorPair
             String altType = "";
-            for(TableRegEntry tableRegEntry : tableRegistry.getEntries()) {
-                for (ColumnTypePair p : tableRegEntry.getColumnTypeMap().getColumnAndTypeList()) {
-                    if (p.getColumnType().equals(ancestorPair.getColumnType()) || p.hasLatestAltCastType(ancestorPair.getColumnType())) {
-                        if(p.getColumnName().equals(ancestorPair.getColumnName())) {
-                            List<StringParameter> altAliases = p.getAltAliasPairs();
-                            for (StringParameter sP : altAliases) {
-                                if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) {
-                                    altType = p.getLatestAltCastType();
-                                }
+            for(ColumnTypePair p : tableRegistry.getPairsByName(ancestorPair.getColumnName())){
+                if (p.getColumnType().equals(ancestorPair.getColumnType()) || p.hasLatestAltCastType(ancestorPair.getColumnType())) {
+                    if(p.getColumnName().equals(ancestorPair.getColumnName())) {
+                        List<StringParameter> altAliases = p.getAltAliasPairs();
+                        for (StringParameter sP : altAliases) {
+                            if (sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())) {
+                                altType = p.getLatestAltCastType();
                             }
                         }
                     }
@@ -10699,30 +10410,25 @@ public class QueryBuilder {
             }
 
             if(ancestorPair.getColumnType().equals(descendentPair.getColumnType()) || (altType.equals(descendentPair.getColumnType()))){
-                for(TableRegEntry entry : tableRegistry.getEntries()){
-                    for(ColumnTypePair p : entry.getColumnTypeMap().getColumnAndTypeList()){
-                        if(p.getColumnType().equals(ancestorPair.getColumnType()) || p.hasLatestAltCastType(ancestorPair.getColumnType())) {
-                            if(p.getColumnName().equals(ancestorPair.getColumnName())){ //Located, now check if Father is inline
-                                List<StringParameter> altAliases = p.getAltAliasPairs();
-                                for(StringParameter sP : altAliases){
-                                    if(sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())){
-                                        System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Match found for Alias: "+descendentPair.getColumnName()+" - Real Name is: "+p.getColumnName()+" - through Father: "+fatherOperatorNode.getOperatorName());
-                                        matchFound = true;
-                                        p.modifyAltAlias(currentOperatorNode.getOperatorName(), sP.getValue(), descendentPair.getColumnName(), false);
-                                        break;
-                                    }
-                                }
-
-                                if(matchFound == true){
+                for(ColumnTypePair p : tableRegistry.getPairsByName(ancestorPair.getColumnName())){
+                    if(p.getColumnType().equals(ancestorPair.getColumnType()) || p.hasLatestAltCastType(ancestorPair.getColumnType())) {
+                        if(p.getColumnName().equals(ancestorPair.getColumnName())){ //Located, now check if Father is inline
+                            List<StringParameter> altAliases = p.getAltAliasPairs();
+                            for(StringParameter sP : altAliases){
+                                if(sP.getParemeterType().equals(fatherOperatorNode.getOperatorName())){
+                                    System.out.println(currentOperatorNode.getOperator().getOperatorId()+": Match found for Alias: "+descendentPair.getColumnName()+" - Real Name is: "+p.getColumnName()+" - through Father: "+fatherOperatorNode.getOperatorName());
+                                    matchFound = true;
+                                    p.modifyAltAlias(currentOperatorNode.getOperatorName(), sP.getValue(), descendentPair.getColumnName(), false);
                                     break;
                                 }
                             }
-                        }
 
+                            if(matchFound == true){
+                                break;
+                            }
+                        }
                     }
 
-                    if(matchFound == true) break;
-
                 }
 
                 if(matchFound == false) {
@@ -11014,7 +10720,7 @@ public class QueryBuilder {
 
         if(located) return wantedAlias;
 
-        if(currentOpQuery.getLocalQueryString().contains("select ")){
+        if(currentOpQuery.hasSelect()){
             for(StringParameter altAlias: altAliases){
                 if( currentOpQuery.getLocalQueryString().contains((aggName + " as " + altAlias.getExtraValue()))){
                     return altAlias.getExtraValue();
@@ -11031,6 +10737,34 @@ public class QueryBuilder {
 
 
 
+    }
+
+    /*---Output column names of a select list: "expr as col" gives col---*/
+    public List<String> extractColsFromSelectList(List<String> selectList){
+
+        List<String> allCols = new LinkedList<>();
+
+        for(String item : selectList){
+            for(String commaPart : item.split(",")){ //An item may still hold several columns
+                commaPart = commaPart.trim();
+                if(commaPart.isEmpty()) continue;
+                if(commaPart.contains(" as ")){
+                    String[] partsOfAs = commaPart.split(" as ");
+                    if(partsOfAs.length != 2){
+                        System.out.println("extractColsFromSelectList: Attempted to split: " + commaPart + " in parts for 'as' delimiter but failed! Length: " + partsOfAs.length);
+                        System.exit(0);
+                    }
+                    allCols.add(partsOfAs[1]);
+                }
+                else{
+                    allCols.add(commaPart);
+                }
+                System.out.println("extractColsFromSelectList: Located select column: " + allCols.get(allCols.size() - 1));
+            }
+        }
+
+        return allCols;
+
     }
 
     public List<String> extractColsFromSelectPhrase(String selectPhrase){
@@ -11164,8 +10898,15 @@ public class QueryBuilder {
 
     public void ensureFinalColsMatchWithSelectCols(OperatorQuery opQuery, List<FieldSchema> currentFinalCols){ //TODO enable correct check when same col but different type in input tables
 
-        if(opQuery.getLocalQueryString().contains(" select ")){
-            List<String> allCols = extractColsFromSelectPhrase(opQuery.getLocalQueryString());
+        if(opQuery.hasSelect()){
+            List<String> allCols;
+            SelectQuery localQuery = opQuery.getLocalQuery();
+            if((localQuery.getSelectList() != null) && (localQuery.hasNestedSelects() == false)){
+                allCols = extractColsFromSelectList(localQuery.getSelectList());
+            }
+            else{ //Union branches or subqueries, only the text is left
+                allCols = extractColsFromSelectPhrase(opQuery.getLocalQueryString());
+            }
 
             if(allCols.size() == 0){
                 System.out.println("ensureFinalColsMatchWithSelectCols: Select Cols are 0!");
@@ -11387,28 +11128,18 @@ public class QueryBuilder {
 
                 if(currentFinalCols.size() > originalSize){
                     System.out.println("addAnyExtraColsToOutputTable: We must create a new SELECT statement for this OperatorQuery and replace the old one!");
-                    if(currentOpQuery.getLocalQueryString().contains(" from ")){
-                        String[] parts = currentOpQuery.getLocalQueryString().split(" from ");
-                        if(parts.length > 2){
+                    if(currentOpQuery.getLocalQuery().hasFrom()){
+                        if(currentOpQuery.getLocalQuery().hasNestedSelects()){
                             System.out.println("addAnyExtraColsToOutputTable: MORE THAN 2 SELECT STATEMENTS MIGHT EXIST! UNSUPPORTED!");
                             System.exit(0);
                         }
-                        String afterFromPhrase = parts[1];
-                        afterFromPhrase = " from " + afterFromPhrase;
-
-                        String selectString = "";
-                        for(int i = 0; i < currentFinalCols.size(); i++){
-                            if(i == currentFinalCols.size() - 1){
-                                selectString = selectString + " " + currentFinalCols.get(i).getName()+ " ";
-                            }
-                            else{
-                                selectString = selectString + " " + currentFinalCols.get(i).getName() + ",";
-                            }
 
+                        List<String> selectColumns = new LinkedList<>();
+                        for(FieldSchema f : currentFinalCols){
+                            selectColumns.add(f.getName());
                         }
 
-                        currentOpQuery.setLocalQueryString(" select"+selectString+afterFromPhrase);
-                        currentOpQuery.setExaremeQueryString(" select"+selectString+afterFromPhrase);
+                        currentOpQuery.setSelectList(selectColumns); //Replaces the select list only, the FROM part and clauses stay
 
                         System.out.println("addAnyExtraColsToOutputTable: Fixed Query: "+currentOpQuery.getLocalQueryString());
 
@@ -11571,83 +11302,80 @@ public class QueryBuilder {
             else{
                 boolean checkColumnIsValid = false;
 
-                for(TableRegEntry tableRegEntry : tableRegistry.getEntries()){
-                    for(ColumnTypePair cP : tableRegEntry.getColumnTypeMap().getColumnAndTypeList()){
-                        if(cP.getColumnType().equals(pair.getColumnType()) || (cP.getLatestAltCastType().equals(pair.getColumnType()) )){
-                            if(cP.getColumnName().equals(pair.getColumnName())){
-                                String extraAlias="";
-                                if(tableRegEntry.getAlias().equals(tableRegEntry.getAssociatedTable().getTableName()) == false){
-                                    extraAlias = tableRegEntry.getAlias() + ".";
-                                }
-                                pair.setColumnName(extraAlias+pair.getColumnName());
-
-                                if(cP.getLatestAltCastType().equals(pair.getColumnType())){
-                                    if(pair.getColumnType().equals(cP.getColumnType()) == false) {
-                                        boolean foundCast = false;
-                                        for (Map.Entry<String, MyMap> entry : operatorCastMap.entrySet()) {
-                                            if (entry.getKey().equals(currentOperatorNode.getOperatorName())) {
-                                                for (ColumnTypePair entryCol : entry.getValue().getColumnAndTypeList()) {
-                                                    if (entryCol.getColumnName().equals(cP.getColumnName())) {
-                                                        pair.setColumnName(entryCol.getAltAliasPairs().get(0).getExtraValue());
-                                                        System.out.println("addSelectStatementToQuery: FIX - " + cP.getColumnName() + " becomes: " + entryCol.getAltAliasPairs().get(0).getExtraValue());
-                                                        foundCast = true;
-                                                        break;
-                                                    }
+                for(ColumnTypePair cP : tableRegistry.getPairsByNameOrAlias(pair.getColumnName(), currentOperatorNode.getOperatorName())){
+                    TableRegEntry tableRegEntry = tableRegistry.getEntryOfPair(cP);
+                    if(cP.getColumnType().equals(pair.getColumnType()) || (cP.getLatestAltCastType().equals(pair.getColumnType()) )){
+                        if(cP.getColumnName().equals(pair.getColumnName())){
+                            String extraAlias="";
+                            if(tableRegEntry.getAlias().equals(tableRegEntry.getAssociatedTable().getTableName()) == false){
+                                extraAlias = tableRegEntry.getAlias() + ".";
+                            }
+                            pair.setColumnName(extraAlias+pair.getColumnName());
+
+                            if(cP.getLatestAltCastType().equals(pair.getColumnType())){
+                                if(pair.getColumnType().equals(cP.getColumnType()) == false) {
+                                    boolean foundCast = false;
+                                    for (Map.Entry<String, MyMap> entry : operatorCastMap.entrySet()) {
+                                        if (entry.getKey().equals(currentOperatorNode.getOperatorName())) {
+                                            for (ColumnTypePair entryCol : entry.getValue().getColumnAndTypeList()) {
+                                                if (entryCol.getColumnName().equals(cP.getColumnName())) {
+                                                    pair.setColumnName(entryCol.getAltAliasPairs().get(0).getExtraValue());
+                                                    System.out.println("addSelectStatementToQuery: FIX - " + cP.getColumnName() + " becomes: " + entryCol.getAltAliasPairs().get(0).getExtraValue());
+                                                    foundCast = true;
+                                                    break;
                                                 }
-
-                                                if(foundCast) break;
                                             }
+
+                                            if(foundCast) break;
                                         }
                                     }
                                 }
-
-                                checkColumnIsValid = true;
-                                break;
                             }
-                            else{
-                                for(StringParameter sP : cP.getAltAliasPairs()){
-                                    if(sP.getParemeterType().equals(currentOperatorNode.getOperatorName())){
-                                        if(sP.getValue().equals(pair.getColumnName())){
-                                            String extraAlias="";
-                                            if(tableRegEntry.getAlias().equals(tableRegEntry.getAssociatedTable().getTableName()) == false){
-                                                extraAlias = tableRegEntry.getAlias() + ".";
-                                            }
-                                            pair.setColumnName(extraAlias+pair.getColumnName());
-
-                                            if(cP.getLatestAltCastType().equals(pair.getColumnType())){
-                                                if(pair.getColumnType().equals(cP.getColumnType()) == false) {
-                                                    boolean foundCast = false;
-                                                    for (Map.Entry<String, MyMap> entry : operatorCastMap.entrySet()) {
-                                                        if (entry.getKey().equals(currentOperatorNode.getOperatorName())) {
-                                                            for (ColumnTypePair entryCol : entry.getValue().getColumnAndTypeList()) {
-                                                                if (entryCol.getColumnName().equals(cP.getColumnName())) {
-                                                                    pair.setColumnName(entryCol.getAltAliasPairs().get(0).getExtraValue());
-                                                                    System.out.println("addSelectStatementToQuery: FIX - " + cP.getColumnName() + " becomes: " + entryCol.getAltAliasPairs().get(0).getExtraValue());
-                                                                    foundCast = true;
-                                                                    break;
-                                                                }
-                                                            }
 
-                                                            if(foundCast) break;
+                            checkColumnIsValid = true;
+                            break;
+                        }
+                        else{
+                            for(StringParameter sP : cP.getAltAliasPairs()){
+                                if(sP.getParemeterType().equals(currentOperatorNode.getOperatorName())){
+                                    if(sP.getValue().equals(pair.getColumnName())){
+                                        String extraAlias="";
+                                        if(tableRegEntry.getAlias().equals(tableRegEntry.getAssociatedTable().getTableName()) == false){
+                                            extraAlias = tableRegEntry.getAlias() + ".";
+                                        }
+                                        pair.setColumnName(extraAlias+pair.getColumnName());
+
+                                        if(cP.getLatestAltCastType().equals(pair.getColumnType())){
+                                            if(pair.getColumnType().equals(cP.getColumnType()) == false) {
+                                                boolean foundCast = false;
+                                                for (Map.Entry<String, MyMap> entry : operatorCastMap.entrySet()) {
+                                                    if (entry.getKey().equals(currentOperatorNode.getOperatorName())) {
+                                                        for (ColumnTypePair entryCol : entry.getValue().getColumnAndTypeList()) {
+                                                            if (entryCol.getColumnName().equals(cP.getColumnName())) {
+                                                                pair.setColumnName(entryCol.getAltAliasPairs().get(0).getExtraValue());
+                                                                System.out.println("addSelectStatementToQuery: FIX - " + cP.getColumnName() + " becomes: " + entryCol.getAltAliasPairs().get(0).getExtraValue());
+                                                                foundCast = true;
+                                                                break;
+                                                            }
                                                         }
+
+                                                        if(foundCast) break;
                                                     }
                                                 }
                                             }
-
-                                            currentOpQuery.addUsedColumn(extraAlias+pair.getColumnName(), latestTable1);
-                                            currentOpQuery.addUsedColumn(extraAlias+pair.getColumnName(), latestTable2);
-                                            checkColumnIsValid = true;
-                                            break;
                                         }
+
+                                        currentOpQuery.addUsedColumn(extraAlias+pair.getColumnName(), latestTable1);
+                                        currentOpQuery.addUsedColumn(extraAlias+pair.getColumnName(), latestTable2);
+                                        checkColumnIsValid = true;
+                                        break;
                                     }
                                 }
-
-                                if(checkColumnIsValid) break;
                             }
+
+                            if(checkColumnIsValid) break;
                         }
                     }
-
-                    if(checkColumnIsValid) break;
                 }
 
                 if(checkColumnIsValid == false){
@@ -12300,15 +12028,7 @@ public class QueryBuilder {
             if (fileStatusArray != null) {
                 for (FileStatus fileStatus : fileStatusArray) { //Look every result line
                     System.out.println("FileStatus: " + fileStatus.toString());
-                    String[] parts = fileStatus.toString().split(";"); //Ommit beggining part of FileStatus
-                    String tmpPath = parts[0].replace("FileStatus{path=hdfs://localhost:", "");
-                    char[] oldCharArray = tmpPath.toCharArray();
-                    char[] finalCharArray = new char[tmpPath.length() - 5];
-                    for(int j = 0; j < finalCharArray.length; j++){
-                        finalCharArray[j] = oldCharArray[j+5];
-                    }
-
-                    String finalPath = new String(finalCharArray); //If string are equal we have located the file
+                    String finalPath = fileStatus.getPath().toUri().getPath(); //Omit scheme and authority (hdfs://localhost:port or file:), if strings are equal we have located the file
                     if(finalPath.equals(path)){
                         return true;
                     }
@@ -12692,9 +12412,7 @@ public class QueryBuilder {
         System.out.flush();
         for(OperatorQuery opQuery : allQueries){
             System.out.println("translateToExaremeOps: \tOperatorQuery: ["+opQuery.getExaremeQueryString()+" ]");
-            if(opQuery.getExaremeQueryString().contains(" decimal)")){
-                opQuery.setExaremeQueryString(opQuery.getExaremeQueryString().replace(" decimal)", " decimal(10,5))"));
-            }
+            opQuery.getExaremeQuery().setDialect(SelectQuery.Dialect.MADIS); //decimal -> decimal(10,5)
             List<String> inputNames = new LinkedList<>();
             String outputCols = "";
             String usedColstring = "";
@@ -0,0 +1,260 @@
+package com.inmobi.hive.test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+   Mutable model of the query of an OperatorQuery. It is kept in parts:
+
+   - the select list, one item per output column ("col" or "expr as col"),
+     null until the QueryBuilder sets it;
+   - the FROM part: " from <table> <alias>" followed by the joins, join
+     conditions and union branches appended to it as text;
+   - the clauses added later: WHERE, GROUP BY, HAVING, ORDER BY and LIMIT;
+   - an optional "create table ... as" prefix.
+
+   The select list can be set or replaced at any time without touching the
+   rest of the query, so the QueryBuilder no longer splits the SQL on
+   " from " to rebuild it. Adding a clause is O(1) and the SQL is rendered
+   only when the query is read, then kept until the next change.
+
+   Clauses are rendered in SQL order. A clause that would have been appended
+   after a later clause (or any text appended after clauses) first folds the
+   clauses into the FROM part, so the clauses keep the order they were added
+   in. The SELECT and FROM keywords in the text are counted as fragments are
+   added (whole words outside of quotes and backticks), so hasSelect() and
+   hasNestedSelects() do not need the rendered SQL. A nested select is a
+   second SELECT: a union branch or a subquery. FROM is not used for that,
+   it also appears inside extract(), trim() and substring().
+
+   In the Madis dialect (set once the query is translated to an Exareme
+   operator) a decimal without precision is rendered as decimal(10,5). The
+   rewrite is applied to every part of the model (each item of the select
+   list, the FROM part, each clause), not to the rendered SQL.
+*/
+
+public class SelectQuery {
+
+    public enum Dialect { SQLITE, MADIS }
+
+    private static final int WHERE = 0;
+    private static final int GROUP_BY = 1;
+    private static final int HAVING = 2;
+    private static final int ORDER_BY = 3;
+    private static final int LIMIT = 4;
+
+    private List<String> selectList = null;
+    private StringBuilder from = new StringBuilder();
+    private List<List<String>> clauses = new ArrayList<>(LIMIT + 1); //Rendered fragments of every clause, by position
+    private int lastClause = -1;
+    private String createTable = null;
+    private Dialect dialect;
+    private String rendered = null;
+    private int selects = 0; //SELECT keywords in the query, the select list included
+    private int froms = 0; //FROM keywords in the query
+
+    public SelectQuery(Dialect d) {
+        dialect = d;
+        for (int i = 0; i <= LIMIT; i++) {
+            clauses.add(new ArrayList<String>(1));
+        }
+    }
+
+    /*---Replaces the whole query with text that is not split into parts---*/
+    public void setText(String text) {
+        clear();
+        appendToFrom(text);
+    }
+
+    /*---Replaces the whole query with: select <columns> <fromText>---*/
+    public void setSelectFrom(List<String> columns, String fromText) {
+        clear();
+        appendToFrom(fromText);
+        setSelectList(columns);
+    }
+
+    /*---Replaces the whole query with a FROM part, the select list is set later---*/
+    public void setFrom(String fromText) {
+        clear();
+        appendToFrom(fromText);
+    }
+
+    /*---Sets or replaces the select list, the FROM part and the clauses stay as they are---*/
+    public void setSelectList(List<String> columns) {
+        if (selectList == null) {
+            selects++;
+        }
+        selectList = new ArrayList<>(columns);
+        rendered = null;
+    }
+
+    public List<String> getSelectList() { return selectList; }
+
+    /*---Appends text (a join, a join condition, a union branch) to the query as it is now---*/
+    public void append(String text) {
+        if (lastClause >= 0) {
+            fold();
+        }
+        appendToFrom(text);
+    }
+
+    public void addWhere(String predicate) { addClause(WHERE, " where " + predicate + " "); }
+
+    public void addGroupBy(String expression) { addClause(GROUP_BY, " group by " + expression); }
+
+    public void addHaving(String predicate) { addClause(HAVING, " having " + predicate + " "); }
+
+    public void addOrderBy(String orderByString) { addClause(ORDER_BY, " " + orderByString); }
+
+    public void addLimit(String limit) { addClause(LIMIT, " limit " + limit); }
+
+    /*---create table <name> as <query>---*/
+    public void setCreateTable(String tableName) {
+        if (createTable != null) { //Wraps the query including the previous prefix, which is then only text
+            String text = renderWithoutDialect();
+            int s = selects;
+            int f = froms;
+            clear();
+            from.append(text);
+            selects = s;
+            froms = f;
+        }
+        createTable = tableName;
+        rendered = null;
+    }
+
+    public String getCreateTable() { return createTable; }
+
+    public boolean hasSelect() { return selects > 0; }
+
+    public boolean hasFrom() { return froms > 0; }
+
+    /*---More than one SELECT (subqueries, union branches): the select list is not the only one---*/
+    public boolean hasNestedSelects() { return selects > 1; }
+
+    public Dialect getDialect() { return dialect; }
+
+    public void setDialect(Dialect d) {
+        dialect = d;
+        rendered = null;
+    }
+
+    public String render() {
+        if (rendered == null) {
+            StringBuilder sql = new StringBuilder(from.length() + 64);
+            if (createTable != null) {
+                sql.append("create table ").append(createTable).append(" as ");
+            }
+            if (selectList != null) {
+                sql.append(" select ");
+                for (int i = 0; i < selectList.size(); i++) {
+                    if (i > 0) sql.append(", ");
+                    sql.append(inDialect(selectList.get(i)));
+                }
+                sql.append(' ');
+            }
+            sql.append(inDialect(from.toString()));
+            for (List<String> c : clauses) {
+                for (String fragment : c) {
+                    sql.append(inDialect(fragment));
+                }
+            }
+            rendered = sql.toString();
+        }
+        return rendered;
+    }
+
+    /*---A part of the query with its types in the current dialect: Madis needs the precision of a decimal cast---*/
+    private String inDialect(String part) {
+        if ((dialect == Dialect.MADIS) && (part.indexOf(" decimal)") >= 0)) {
+            return part.replace(" decimal)", " decimal(10,5))");
+        }
+        return part;
+    }
+
+    @Override
+    public String toString() {
+        return render();
+    }
+
+    private void clear() {
+        selectList = null;
+        from.setLength(0);
+        for (List<String> c : clauses) {
+            c.clear();
+        }
+        lastClause = -1;
+        createTable = null;
+        selects = 0;
+        froms = 0;
+        rendered = null;
+    }
+
+    private void appendToFrom(String text) {
+        from.append(text);
+        countKeywords(text);
+        rendered = null;
+    }
+
+    private void addClause(int position, String fragment) {
+        if (position < lastClause) { //Keep the text in the order it was added
+            fold();
+        }
+        clauses.get(position).add(fragment);
+        countKeywords(fragment);
+        lastClause = Math.max(lastClause, position);
+        rendered = null;
+    }
+
+    private void fold() { //Moves the clauses to the end of the FROM part, their keywords are already counted
+        for (List<String> c : clauses) {
+            for (String fragment : c) {
+                from.append(fragment);
+            }
+            c.clear();
+        }
+        lastClause = -1;
+        rendered = null;
+    }
+
+    private void countKeywords(String text) { //Literals and quoted identifiers are skipped, a '' inside a literal closes and reopens it
+        char quote = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quote != 0) {
+                if (c == quote) quote = 0;
+            }
+            else if ((c == '\'') || (c == '"') || (c == '`')) {
+                quote = c;
+            }
+            else if (isKeywordAt(text, i, "select")) {
+                selects++;
+            }
+            else if (isKeywordAt(text, i, "from")) {
+                froms++;
+            }
+        }
+    }
+
+    private static boolean isKeywordAt(String text, int i, String keyword) {
+        int end = i + keyword.length();
+        if (text.regionMatches(true, i, keyword, 0, keyword.length()) == false) return false;
+        if ((i > 0) && isWordChar(text.charAt(i - 1))) return false;
+        return (end == text.length()) || (isWordChar(text.charAt(end)) == false);
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || (c == '_') || (c == '.');
+    }
+
+    private String renderWithoutDialect() {
+        Dialect d = dialect;
+        dialect = Dialect.SQLITE;
+        rendered = null;
+        String text = render();
+        dialect = d;
+        rendered = null;
+        return text;
+    }
+
+}
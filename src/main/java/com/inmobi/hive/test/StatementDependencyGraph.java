@@ -0,0 +1,145 @@
+package com.inmobi.hive.test;
+
+import org.apache.hadoop.hive.ql.lib.Node;
+import org.apache.hadoop.hive.ql.parse.ASTNode;
+import org.apache.hadoop.hive.ql.parse.BaseSemanticAnalyzer;
+import org.apache.hadoop.hive.ql.parse.HiveParser;
+import org.apache.hadoop.hive.ql.parse.ParseDriver;
+
+import java.util.*;
+
+/*
+   Dependency DAG of a run of HiveQL statements (CREATE TABLE, LOAD, INSERT,
+   ALTER, DROP ...) based on the tables every statement reads and writes.
+
+   The read and write sets come from the AST of the statement: a TOK_TABNAME
+   under a TOK_TABREF (FROM clause) or TOK_LIKETABLE is read, every other
+   TOK_TABNAME (create/drop/alter targets, LOAD and INSERT destinations) is
+   written. Unqualified names belong to the database current when the run
+   starts.
+
+   A statement depends on every earlier statement that writes a table it
+   reads or writes, or reads a table it writes. Statements without tables or
+   that cannot be parsed (set, use, add jar, create database, dfs ...) are not
+   analysed at all: analyse() returns null and the caller has to run them on
+   their own, after everything before them and before everything after them.
+*/
+
+public class StatementDependencyGraph {
+
+    public static class TableAccess {
+        private Set<String> reads = new HashSet<>();
+        private Set<String> writes = new HashSet<>();
+
+        public Set<String> getReads() { return reads; }
+
+        public Set<String> getWrites() { return writes; }
+
+        public boolean conflictsWith(TableAccess earlier) {
+            return intersects(earlier.writes, reads) || intersects(earlier.writes, writes) || intersects(earlier.reads, writes);
+        }
+
+        @Override
+        public String toString() {
+            return "reads=" + reads + " writes=" + writes;
+        }
+    }
+
+    private List<String> statements = new ArrayList<>();
+    private List<TableAccess> accesses = new ArrayList<>();
+    private List<List<Integer>> dependencies = new ArrayList<>(); //Indexes of earlier statements every statement waits for
+
+    /*---Read/write tables of a statement, null if it is not a table statement and must run on its own---*/
+    public static TableAccess analyse(String statement, String currentDatabase) {
+
+        ASTNode tree;
+        try {
+            tree = new ParseDriver().parse(statement);
+        } catch (Exception e) {
+            return null;
+        }
+
+        TableAccess access = new TableAccess();
+        collectTables(tree, null, currentDatabase, access);
+        if (access.reads.isEmpty() && access.writes.isEmpty()) {
+            return null;
+        }
+        return access;
+    }
+
+    public void add(String statement, TableAccess access) {
+
+        List<Integer> waitsFor = new LinkedList<>();
+        for (int i = 0; i < accesses.size(); i++) {
+            if (access.conflictsWith(accesses.get(i))) {
+                waitsFor.add(i);
+            }
+        }
+
+        statements.add(statement);
+        accesses.add(access);
+        dependencies.add(waitsFor);
+    }
+
+    public int size() {
+        return statements.size();
+    }
+
+    public String getStatement(int i) {
+        return statements.get(i);
+    }
+
+    public TableAccess getAccess(int i) {
+        return accesses.get(i);
+    }
+
+    public List<Integer> getDependencies(int i) {
+        return dependencies.get(i);
+    }
+
+    public void clear() {
+        statements.clear();
+        accesses.clear();
+        dependencies.clear();
+    }
+
+    private static void collectTables(Node node, ASTNode parent, String currentDatabase, TableAccess access) {
+
+        ASTNode ast = (ASTNode) node;
+        if ((ast.getToken() != null) && (ast.getType() == HiveParser.TOK_TABNAME)) {
+            String name;
+            if (ast.getChildCount() == 2) {
+                name = BaseSemanticAnalyzer.unescapeIdentifier(ast.getChild(0).getText()) + "." + BaseSemanticAnalyzer.unescapeIdentifier(ast.getChild(1).getText());
+            }
+            else {
+                name = currentDatabase + "." + BaseSemanticAnalyzer.unescapeIdentifier(ast.getChild(0).getText());
+            }
+            name = name.toLowerCase();
+
+            if ((parent != null) && ((parent.getType() == HiveParser.TOK_TABREF) || (parent.getType() == HiveParser.TOK_LIKETABLE))) {
+                access.reads.add(name);
+            }
+            else {
+                access.writes.add(name);
+            }
+            return;
+        }
+
+        if (ast.getChildren() != null) {
+            for (Node child : ast.getChildren()) {
+                collectTables(child, ast, currentDatabase, access);
+            }
+        }
+    }
+
+    private static boolean intersects(Set<String> a, Set<String> b) {
+
+        Set<String> smaller = (a.size() < b.size()) ? a : b;
+        Set<String> larger = (smaller == a) ? b : a;
+        for (String s : smaller) {
+            if (larger.contains(s)) return true;
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.inmobi.hive.test;
+
+/*
+   Keeps the time (ms) a single HiveQL statement spent in every phase of
+   its translation to an Exareme Plan when scripts are run in batch mode:
+
+   COMPILE: Driver.compile() of the statement
+   GRAPH_BUILD: Input/Output entities and ExaremeGraph construction/linking
+   QUERY_BUILD: QueryBuilder.createExaOperators()
+   TRANSLATE: OperatorQueries to AdpDBSelectOperators/ExaremeOperators/Containers
+   WRITE: Printing the ExaremePlan file
+*/
+
+public class StatementTimings {
+
+    public static final int COMPILE = 0;
+    public static final int GRAPH_BUILD = 1;
+    public static final int QUERY_BUILD = 2;
+    public static final int TRANSLATE = 3;
+    public static final int WRITE = 4;
+
+    private static final String[] PHASE_NAMES = {"Compile", "GraphBuild", "QueryBuild", "Translate", "Write"};
+
+    private long[] durations = new long[PHASE_NAMES.length];
+    private long[] starts = new long[PHASE_NAMES.length];
+
+    public void startPhase(int phase) {
+        starts[phase] = System.currentTimeMillis();
+    }
+
+    public void endPhase(int phase) {
+        durations[phase] += System.currentTimeMillis() - starts[phase];
+    }
+
+    public long getDuration(int phase) {
+        return durations[phase];
+    }
+
+    public long getTotal() {
+        long total = 0;
+        for (long d : durations) total += d;
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder s = new StringBuilder();
+        for (int p = 0; p < PHASE_NAMES.length; p++) {
+            s.append(PHASE_NAMES[p]).append(": ").append(durations[p]).append(" ms - ");
+        }
+        s.append("Total: ").append(getTotal()).append(" ms");
+        return s.toString();
+    }
+
+}
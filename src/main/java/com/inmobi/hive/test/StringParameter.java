@@ -11,6 +11,7 @@ public class StringParameter extends Parameter{
     String extraValue = "";
     String castExpr = "";
     boolean hasCastExpr = false;
+    ColumnTypePair aliasOwner = null; //Set if this is an alternate alias of a ColumnTypePair, which is told about every change
 
     public StringParameter(String p, String v){
         super(p);
@@ -45,7 +46,22 @@ public class StringParameter extends Parameter{
     }
 
     public void setValue(String value) {
+        String oldValue = this.value;
         this.value = value;
+        if(aliasOwner != null){
+            aliasOwner.altAliasChanged(this, parameterType, oldValue);
+        }
     }
 
+    @Override
+    public void setParemeterType(String paremeterType) {
+        String oldType = this.parameterType;
+        super.setParemeterType(paremeterType);
+        if(aliasOwner != null){
+            aliasOwner.altAliasChanged(this, oldType, value);
+        }
+    }
+
+    void setAliasOwner(ColumnTypePair owner) { aliasOwner = owner; }
+
 }
@@ -1,54 +1,64 @@
 package com.inmobi.hive.test;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 
 /**
  * Created by panos on 8/10/2016.
  */
+
+/* Keeps the entries by alias as well, and indexes the columns of all entries
+   in one MyMap (allColumns), in registry order: entry after entry, every entry
+   in its own column order. Lookups by column name, by (name, type) and by
+   (operator, alias) therefore return the same pairs, in the same order, as a
+   scan of every column of every entry would. The pairs tell allColumns about
+   every alias added or changed, like they tell the MyMap of their entry.
+ */
+
 public class TableRegistry {
     List<TableRegEntry> entries = new LinkedList<>();
+    HashMap<String, TableRegEntry> entriesByAlias = new HashMap<>();
+    private MyMap allColumns = new MyMap(true); //Columns of every entry, operator -> alias -> column through its indexes
+    private IdentityHashMap<ColumnTypePair, TableRegEntry> entriesByColumn = new IdentityHashMap<>();
 
     public void addEntry(TableRegEntry entry, String operatorName){
 
-        if(entries.size() > 0){
-            for(TableRegEntry regEntry : entries){
-                if(regEntry.getAlias().equals(entry.getAlias())){ //Entry with same alias name exists
-                    if(regEntry.getAssociatedTable().getTableName().equals(entry.getAssociatedTable().getTableName())){ //Entry with same alias and input table
-                        MyMap mapOfEntry = regEntry.getColumnTypeMap();
-
-                        //Traverse through the columnTypePair Map of this entry and find if this operator name already exists
-                        ColumnTypePair pair  = mapOfEntry.getColumnAndTypeList().get(0);
-                        List<StringParameter> alternateAliases = pair.getAltAliasPairs();
-
-                        if(alternateAliases == null){
-                            System.out.println("addEntry: Alternate aliases should never be null!");
-                            System.exit(0);
-                        }
-                        else if(alternateAliases.size() == 0){
-                            System.out.println("addEntry: Alternate aliases should never be empty!");
-                            System.exit(0);
-                        }
-
-                        for(StringParameter aliasPair : alternateAliases){
-                            if(aliasPair.getParemeterType().equals(operatorName)){
-                                System.out.println("addEntry: TableScanOperator: "+operatorName+" has been accessed before...returning!");
-                                return;
-                            }
-                        }
-
-                        System.out.println("addEntry: TableScanOperator: "+operatorName+" is a new ROOT Operator using Table: "+regEntry.getAlias()+" ! Adding as altAlias in all columns...");
-                        for(ColumnTypePair somePair : mapOfEntry.getColumnAndTypeList()){
-                            somePair.addAltAlias(operatorName, somePair.getColumnName(), false);
-                        }
-
-                        return;
-                    }
-                    else{
-                        System.out.println("addEntry: TableRegEntry with alias= "+entry.getAlias()+" already exists for different Input Table! Error! Unsupported!");
-                        System.exit(0);
-                    }
+        TableRegEntry regEntry = entriesByAlias.get(entry.getAlias());
+        if(regEntry != null){ //Entry with same alias name exists
+            if(regEntry.getAssociatedTable().getTableName().equals(entry.getAssociatedTable().getTableName())){ //Entry with same alias and input table
+                MyMap mapOfEntry = regEntry.getColumnTypeMap();
+
+                //Find if this operator name already exists in the columnTypePair Map of this entry
+                ColumnTypePair pair  = mapOfEntry.getColumnAndTypeList().get(0);
+                List<StringParameter> alternateAliases = pair.getAltAliasPairs();
+
+                if(alternateAliases == null){
+                    System.out.println("addEntry: Alternate aliases should never be null!");
+                    System.exit(0);
                 }
+                else if(alternateAliases.size() == 0){
+                    System.out.println("addEntry: Alternate aliases should never be empty!");
+                    System.exit(0);
+                }
+
+                if(pair.hasAltAliasForOperator(operatorName)){
+                    System.out.println("addEntry: TableScanOperator: "+operatorName+" has been accessed before...returning!");
+                    return;
+                }
+
+                System.out.println("addEntry: TableScanOperator: "+operatorName+" is a new ROOT Operator using Table: "+regEntry.getAlias()+" ! Adding as altAlias in all columns...");
+                for(ColumnTypePair somePair : mapOfEntry.getColumnAndTypeList()){
+                    somePair.addAltAlias(operatorName, somePair.getColumnName(), false);
+                }
+
+                return;
+            }
+            else{
+                System.out.println("addEntry: TableRegEntry with alias= "+entry.getAlias()+" already exists for different Input Table! Error! Unsupported!");
+                System.exit(0);
             }
         }
 
@@ -60,6 +70,11 @@ public class TableRegistry {
         }
 
         entries.add(entry);
+        entriesByAlias.put(entry.getAlias(), entry);
+        for(ColumnTypePair pair : entryMapList){
+            allColumns.addIndexedPair(pair);
+            entriesByColumn.put(pair, entry);
+        }
 
         System.out.println("addEntry: TableRegEntry with alias= "+entry.getAlias()+" added to Registry! First TableScan to access it: "+operatorName);
 
@@ -67,26 +82,51 @@ public class TableRegistry {
 
     public MyTable fetchTableByAlias(String tableAlias){
 
-        MyTable wantedTable = new MyTable();
-        boolean tableFound = false;
+        TableRegEntry regEntry = entriesByAlias.get(tableAlias);
 
-        if(entries.size() > 0){
-            for(TableRegEntry regEntry : entries)   {
-                if(regEntry.getAlias().equals(tableAlias)){
-                    wantedTable = regEntry.getAssociatedTable();
-                    tableFound = true;
-                    break;
-                }
-            }
-        }
-
-        if(tableFound == false){
+        if(regEntry == null){
             System.out.println("addEntry: Table with alias= "+tableAlias+" was not found!");
             System.exit(0);
         }
 
-        return wantedTable;
+        return regEntry.getAssociatedTable();
+
+    }
+
+    public TableRegEntry getEntryByAlias(String tableAlias) { return entriesByAlias.get(tableAlias); }
+
+    /*---Columns of all input tables that operator knows under alias, in registry order (a copy, callers change aliases while iterating)---*/
+    public List<ColumnTypePair> getPairsByAlias(String operator, String alias){
+        return new ArrayList<>(allColumns.getPairsByAlias(operator, alias));
+    }
+
+    /*---Columns of all input tables that any of the operators knows under alias, in registry order---*/
+    public List<ColumnTypePair> getPairsByAliasOfAny(String alias, String... operators){
+        return allColumns.getPairsByAliasOfAny(alias, operators);
+    }
+
+    /*---Columns of all input tables that operator knows under some alias, in registry order---*/
+    public List<ColumnTypePair> getPairsOfOperator(String operator){
+        return allColumns.getPairsOfOperator(operator);
+    }
+
+    /*---Columns of all input tables with that name, in registry order (a copy)---*/
+    public List<ColumnTypePair> getPairsByName(String name){
+        return new ArrayList<>(allColumns.getPairsByName(name));
+    }
+
+    /*---Columns of all input tables named name or that any of the operators knows under alias name, in registry order---*/
+    public List<ColumnTypePair> getPairsByNameOrAlias(String name, String... operators){
+        return allColumns.getPairsByNameOrAlias(name, operators);
+    }
+
+    /*---The entry whose input table has that column---*/
+    public TableRegEntry getEntryOfPair(ColumnTypePair pair){
+        return entriesByColumn.get(pair);
+    }
 
+    public boolean containsPair(String name, String type){
+        return allColumns.containsPair(name, type);
     }
 
     public void printRegistry(){
@@ -0,0 +1,245 @@
+package com.inmobi.hive.test;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hive.conf.HiveConf;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.sql.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/*
+   A WarehouseSnapshot keeps a copy of a loaded Hive warehouse together with
+   its embedded Derby metastore, so that a new cluster can start with the
+   tables and data of a setup script without running it again.
+
+   LAYOUT of a snapshot directory:
+     metastore/          : online backup of the Derby metastore (SYSCS_BACKUP_DATABASE)
+     warehouse/          : copy of the warehouse directory
+     snapshot.properties : warehouse URI the snapshot was taken from, written
+                           last so that an interrupted snapshot does not exist
+
+   restoreMetastore() has to run after the MiniHS2 has been constructed and
+   before it is started, since the Derby database must not be booted yet. It
+   copies the backup to the metastore path of the new cluster and rewrites
+   every database/table/partition location from the old warehouse root to the
+   new one. restoreWarehouse() then copies the data into the new warehouse, or
+   hard-links it when the warehouse is on the local FileSystem.
+*/
+
+public class WarehouseSnapshot {
+
+    private static final String PROPERTIES_FILE = "snapshot.properties";
+    private static final String METASTORE_DIR = "metastore";
+    private static final String WAREHOUSE_DIR = "warehouse";
+
+    public static boolean exists(String snapshotDir) {
+        return new File(snapshotDir, PROPERTIES_FILE).exists();
+    }
+
+    public static void take(String snapshotDir, HiveConf conf, FileSystem fs, Path wareHouseDir) {
+
+        long startTime = System.currentTimeMillis();
+        File root = new File(snapshotDir);
+        if (root.exists()) {
+            deleteTree(root); //Leftovers of an interrupted snapshot
+        }
+        root.mkdirs();
+
+        String dbPath = derbyPathOf(conf);
+        try (Connection connection = openDerby(dbPath)) {
+            try (CallableStatement backup = connection.prepareCall("CALL SYSCS_UTIL.SYSCS_BACKUP_DATABASE(?)")) {
+                backup.setString(1, new File(root, METASTORE_DIR).getAbsolutePath());
+                backup.execute();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to back up Derby metastore: " + dbPath, e);
+        }
+
+        Path qualifiedWareHouse = fs.makeQualified(wareHouseDir);
+        File localWareHouse = new File(root, WAREHOUSE_DIR);
+        try {
+            if (fs instanceof LocalFileSystem) {
+                linkOrCopyTree(new File(qualifiedWareHouse.toUri().getPath()), localWareHouse);
+            }
+            else {
+                fs.copyToLocalFile(false, qualifiedWareHouse, new Path(localWareHouse.getAbsolutePath()), true);
+            }
+
+            Properties properties = new Properties();
+            properties.setProperty("warehouse", qualifiedWareHouse.toString());
+            properties.setProperty("metastore", new File(dbPath).getName());
+            try (OutputStream out = new FileOutputStream(new File(root, PROPERTIES_FILE))) {
+                properties.store(out, "Warehouse snapshot");
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to copy warehouse: " + qualifiedWareHouse + " to snapshot: " + snapshotDir, e);
+        }
+
+        System.out.println("WarehouseSnapshot: Took snapshot of: " + qualifiedWareHouse + " in: " + snapshotDir + " (" + (System.currentTimeMillis() - startTime) + " ms)");
+    }
+
+    public static void restoreMetastore(String snapshotDir, HiveConf conf, FileSystem fs, Path newWareHouseDir) {
+
+        Properties properties = readProperties(snapshotDir);
+        File backup = new File(new File(snapshotDir, METASTORE_DIR), properties.getProperty("metastore"));
+        File dbDir = new File(derbyPathOf(conf));
+        if (dbDir.exists()) {
+            throw new RuntimeException("Metastore: " + dbDir.getPath() + " already exists, snapshot must be restored before the metastore is booted");
+        }
+
+        String oldRoot = properties.getProperty("warehouse");
+        String newRoot = fs.makeQualified(newWareHouseDir).toString();
+        try {
+            copyTree(backup, dbDir);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to copy metastore snapshot: " + backup.getPath(), e);
+        }
+
+        int relocated = 0;
+        try (Connection connection = openDerby(dbDir.getPath())) {
+            relocated += relocate(connection, "DBS", "DB_ID", "DB_LOCATION_URI", oldRoot, newRoot);
+            relocated += relocate(connection, "SDS", "SD_ID", "LOCATION", oldRoot, newRoot);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to relocate metastore snapshot from: " + oldRoot + " to: " + newRoot, e);
+        }
+
+        System.out.println("WarehouseSnapshot: Restored metastore from: " + snapshotDir + " and relocated " + relocated + " locations to: " + newRoot);
+    }
+
+    public static void restoreWarehouse(String snapshotDir, FileSystem fs, Path wareHouseDir) {
+
+        long startTime = System.currentTimeMillis();
+        File[] children = new File(snapshotDir, WAREHOUSE_DIR).listFiles();
+        if (children == null) return;
+
+        Path qualifiedWareHouse = fs.makeQualified(wareHouseDir);
+        try {
+            for (File child : children) {
+                if (fs instanceof LocalFileSystem) {
+                    linkOrCopyTree(child, new File(qualifiedWareHouse.toUri().getPath(), child.getName()));
+                }
+                else {
+                    fs.copyFromLocalFile(false, true, new Path(child.getAbsolutePath()), qualifiedWareHouse);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to restore warehouse snapshot into: " + qualifiedWareHouse, e);
+        }
+
+        System.out.println("WarehouseSnapshot: Restored warehouse: " + qualifiedWareHouse + " from: " + snapshotDir + " (" + (System.currentTimeMillis() - startTime) + " ms)");
+    }
+
+    /*---Rewrites every location of the table that starts with oldRoot to start with newRoot---*/
+    private static int relocate(Connection connection, String table, String idColumn, String locationColumn, String oldRoot, String newRoot) throws SQLException {
+
+        Map<Long, String> newLocations = new LinkedHashMap<>();
+        try (Statement select = connection.createStatement();
+             ResultSet rows = select.executeQuery("SELECT " + idColumn + ", " + locationColumn + " FROM " + table)) {
+            while (rows.next()) {
+                String location = rows.getString(2);
+                if ((location != null) && location.startsWith(oldRoot)) {
+                    newLocations.put(rows.getLong(1), newRoot + location.substring(oldRoot.length()));
+                }
+            }
+        }
+
+        try (PreparedStatement update = connection.prepareStatement("UPDATE " + table + " SET " + locationColumn + " = ? WHERE " + idColumn + " = ?")) {
+            for (Map.Entry<Long, String> entry : newLocations.entrySet()) {
+                update.setString(1, entry.getValue());
+                update.setLong(2, entry.getKey());
+                update.addBatch();
+            }
+            update.executeBatch();
+        }
+
+        return newLocations.size();
+    }
+
+    private static String derbyPathOf(HiveConf conf) { //jdbc:derby:<path>;create=true -> <path>
+
+        String url = conf.getVar(HiveConf.ConfVars.METASTORECONNECTURLKEY);
+        if (url.startsWith("jdbc:derby:") == false) {
+            throw new RuntimeException("Warehouse snapshots need an embedded Derby metastore, found: " + url);
+        }
+        String path = url.substring("jdbc:derby:".length());
+        if (path.contains(";")) {
+            path = path.substring(0, path.indexOf(';'));
+        }
+        return path;
+    }
+
+    private static Connection openDerby(String dbPath) throws SQLException {
+
+        try {
+            Class.forName("org.apache.derby.jdbc.EmbeddedDriver");
+        } catch (ClassNotFoundException e) {
+            throw new RuntimeException("Derby embedded driver is not available", e);
+        }
+        return DriverManager.getConnection("jdbc:derby:" + dbPath);
+    }
+
+    private static Properties readProperties(String snapshotDir) {
+
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(new File(snapshotDir, PROPERTIES_FILE))) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read snapshot: " + snapshotDir, e);
+        }
+        return properties;
+    }
+
+    private static void linkOrCopyTree(File source, File target) throws IOException { //Hard links where the FileSystem allows them
+
+        if (source.isDirectory()) {
+            target.mkdirs();
+            File[] children = source.listFiles();
+            if (children != null) {
+                for (File child : children) {
+                    linkOrCopyTree(child, new File(target, child.getName()));
+                }
+            }
+            return;
+        }
+
+        try {
+            Files.createLink(target.toPath(), source.toPath());
+        } catch (IOException | UnsupportedOperationException e) {
+            Files.copy(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void copyTree(File source, File target) throws IOException {
+
+        if (source.isDirectory()) {
+            target.mkdirs();
+            File[] children = source.listFiles();
+            if (children != null) {
+                for (File child : children) {
+                    copyTree(child, new File(target, child.getName()));
+                }
+            }
+            return;
+        }
+
+        Files.copy(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void deleteTree(File f) {
+
+        File[] children = f.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteTree(child);
+            }
+        }
+        f.delete();
+    }
+
+}
@@ -8,6 +8,10 @@ package com.inmobi.hive.test;
 import com.inmobi.hive.test.HiveTestSuite;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.List;
 import java.util.Map;
 
@@ -46,6 +50,19 @@ public class testCaseTool {
 
     String madisPath = null;
 
+    //If set, loaded tables of every setup script are kept in <warehouseSnapshotsRoot>/<setup script name> and restored from there
+    String warehouseSnapshotsRoot = null;
+    //Number of workers running independent statements of the setup script, 1 keeps the script sequential
+    int setUpWorkers = 1;
+    //If set, the linked ExaremeGraph of every translated statement is kept in <graphFilesPath>_<statement number>
+    String graphFilesPath = null;
+    boolean verifyGraphFiles = false;
+    //If > 0, Exareme Plans are cached in memory (and in planCacheDirectory if set) and reused by later runs
+    int planCacheEntries = 0;
+    String planCacheDirectory = null;
+    //Number of threads diving into the independent root Stages of every plan, 1 keeps the dive sequential
+    int stageTraversalWorkers = 1;
+
     public testCaseTool(String s1, String s2, String s3, String f, String hiveExaremeRootSessionPath, String madisP, String timesForQueries) {
         this.setUpScriptPath = s1;
         this.tearDownScriptPath = s2;
@@ -93,10 +110,14 @@ public class testCaseTool {
 
     public void setUp(int numberOfDatanodes, int numberOfTaskTrackers, boolean allowDynamicPartitioning, int maxParts, int maxPartsPerNode, String exaremeMiniClusterIP, String exaremeMode, int exaNodes, int numOfReducers, String baseDir, String warehouseDir) throws Exception {
 
-        if(exaremeMode.equals("EXAREME")){
+        if(exaremeMode.equals("EXAREME") || exaremeMode.equals("COMPILE_ONLY")){ //COMPILE_ONLY: no MiniDFS/MiniMR, plan extraction only
             this.testSuite = new HiveTestSuite(1, 1);
-            this.testSuite.createTestCluster(allowDynamicPartitioning, maxParts, maxPartsPerNode, exaremeMiniClusterIP, "EXAREME", exaNodes, numOfReducers, baseDir, warehouseDir);
-            List results = this.testSuite.executeScript(this.setUpScriptPath, (Map)null);
+            this.testSuite.setWarehouseSnapshotDir(snapshotDirOfSetUpScript());
+            this.testSuite.setGraphFilePath(graphFilesPath, verifyGraphFiles);
+            if(planCacheEntries > 0) this.testSuite.enablePlanCache(planCacheEntries, planCacheDirectory);
+            this.testSuite.setStageTraversalParallelism(stageTraversalWorkers);
+            this.testSuite.createTestCluster(allowDynamicPartitioning, maxParts, maxPartsPerNode, exaremeMiniClusterIP, exaremeMode, exaNodes, numOfReducers, baseDir, warehouseDir);
+            loadSetUpScript();
 
             File rootFile = new File(rootDirForHiveExaremeSession);
             if(rootFile.exists() == false) {
@@ -107,8 +128,12 @@ public class testCaseTool {
         }
         else{
             this.testSuite = new HiveTestSuite(numberOfDatanodes, numberOfTaskTrackers);
+            this.testSuite.setWarehouseSnapshotDir(snapshotDirOfSetUpScript());
+            this.testSuite.setGraphFilePath(graphFilesPath, verifyGraphFiles);
+            if(planCacheEntries > 0) this.testSuite.enablePlanCache(planCacheEntries, planCacheDirectory);
+            this.testSuite.setStageTraversalParallelism(stageTraversalWorkers);
             this.testSuite.createTestCluster(allowDynamicPartitioning, maxParts, maxPartsPerNode, exaremeMiniClusterIP, "HIVE", 0, numOfReducers, baseDir, warehouseDir);
-            List results = this.testSuite.executeScript(this.setUpScriptPath, (Map)null);
+            loadSetUpScript();
 
             File rootFile = new File(rootDirForHiveExaremeSession);
             if(rootFile.exists() == false) {
@@ -121,10 +146,14 @@ public class testCaseTool {
 
     public void setUp(int numberOfDatanodes, int numberOfTaskTrackers, boolean allowDynamicPartitioning, int maxParts, int maxPartsPerNode, String exaremeMiniClusterIP, String exaremeMode, int exaNodes, int numOfReducers) throws Exception {
 
-        if(exaremeMode.equals("EXAREME")){
+        if(exaremeMode.equals("EXAREME") || exaremeMode.equals("COMPILE_ONLY")){ //COMPILE_ONLY: no MiniDFS/MiniMR, plan extraction only
             this.testSuite = new HiveTestSuite(1, 1);
-            this.testSuite.createTestCluster(allowDynamicPartitioning, maxParts, maxPartsPerNode, exaremeMiniClusterIP, "EXAREME", exaNodes, numOfReducers);
-            List results = this.testSuite.executeScript(this.setUpScriptPath, (Map)null);
+            this.testSuite.setWarehouseSnapshotDir(snapshotDirOfSetUpScript());
+            this.testSuite.setGraphFilePath(graphFilesPath, verifyGraphFiles);
+            if(planCacheEntries > 0) this.testSuite.enablePlanCache(planCacheEntries, planCacheDirectory);
+            this.testSuite.setStageTraversalParallelism(stageTraversalWorkers);
+            this.testSuite.createTestCluster(allowDynamicPartitioning, maxParts, maxPartsPerNode, exaremeMiniClusterIP, exaremeMode, exaNodes, numOfReducers);
+            loadSetUpScript();
 
             File rootFile = new File(rootDirForHiveExaremeSession);
             if(rootFile.exists() == false) {
@@ -135,8 +164,12 @@ public class testCaseTool {
         }
         else{
             this.testSuite = new HiveTestSuite(numberOfDatanodes, numberOfTaskTrackers);
+            this.testSuite.setWarehouseSnapshotDir(snapshotDirOfSetUpScript());
+            this.testSuite.setGraphFilePath(graphFilesPath, verifyGraphFiles);
+            if(planCacheEntries > 0) this.testSuite.enablePlanCache(planCacheEntries, planCacheDirectory);
+            this.testSuite.setStageTraversalParallelism(stageTraversalWorkers);
             this.testSuite.createTestCluster(allowDynamicPartitioning, maxParts, maxPartsPerNode, exaremeMiniClusterIP, "HIVE", 0, numOfReducers);
-            List results = this.testSuite.executeScript(this.setUpScriptPath, (Map)null);
+            loadSetUpScript();
 
             File rootFile = new File(rootDirForHiveExaremeSession);
             if(rootFile.exists() == false) {
@@ -147,6 +180,63 @@ public class testCaseTool {
 
     }
 
+    public void enableWarehouseSnapshots(String snapshotsRoot) {
+        warehouseSnapshotsRoot = snapshotsRoot;
+    }
+
+    public void setSetUpWorkers(int workers) {
+        setUpWorkers = workers;
+    }
+
+    public void enablePlanCache(int maxEntries, String cacheDirectory) {
+        planCacheEntries = maxEntries;
+        planCacheDirectory = cacheDirectory;
+    }
+
+    public void setStageTraversalWorkers(int workers) {
+        stageTraversalWorkers = workers;
+    }
+
+    public void enableGraphFiles(String graphPath, boolean verifyReload) {
+        graphFilesPath = graphPath;
+        verifyGraphFiles = verifyReload;
+    }
+
+    private String snapshotDirOfSetUpScript() { //<script name>-<SHA-1 of its contents>, so an edited script never restores an old snapshot
+        if(warehouseSnapshotsRoot == null) return null;
+        return new File(warehouseSnapshotsRoot, new File(this.setUpScriptPath).getName() + "-" + hashOfSetUpScript()).getPath();
+    }
+
+    private String hashOfSetUpScript() {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(Files.readAllBytes(Paths.get(this.setUpScriptPath)));
+            StringBuilder hex = new StringBuilder();
+            for(byte b : digest){
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new RuntimeException("Failed to hash setup script: "+this.setUpScriptPath, e);
+        }
+    }
+
+    private void loadSetUpScript() { //Runs the setup script unless its tables were restored from a snapshot
+        if(this.testSuite.isRestoredFromSnapshot()){
+            System.out.println("Tables of: "+this.setUpScriptPath+" restored from snapshot, skipping setup script...");
+            return;
+        }
+        List results;
+        if(setUpWorkers > 1){
+            results = this.testSuite.executeSetupScriptInParallel(this.setUpScriptPath, null, null, setUpWorkers);
+        }
+        else{
+            results = this.testSuite.executeScript(this.setUpScriptPath, (Map)null);
+        }
+        if(warehouseSnapshotsRoot != null){
+            this.testSuite.takeWarehouseSnapshot();
+        }
+    }
+
     public void tearDown() throws Exception {
         List results = this.testSuite.executeScript(this.tearDownScriptPath, (Map)null);
         this.testSuite.shutdownTestCluster();
@@ -182,6 +272,60 @@ public class testCaseTool {
         resultsLogFile.close();
     }
 
+    public void runQueryScriptBatch(String compileLogPath, String exaremePlanPath, String caseLabel) throws Throwable {
+        File f = new File(compileLogPath);
+        if(f.exists() && !f.isDirectory()) {
+            f.delete();
+        }
+
+        PrintWriter compileLogFile;
+        try {
+            compileLogFile = new PrintWriter(f);
+        } catch (FileNotFoundException var9) {
+            throw new RuntimeException("Failed to open FileOutputStream for outputQuery.txt", var9);
+        }
+
+        //Every statement is compiled and translated without prompting, one plan file per statement
+        this.testSuite.extractPlansFromScript(this.queryScriptPath, (Map)null, (List)null, compileLogFile, exaremePlanPath, this.madisPath, outputWriter, caseLabel);
+        compileLogFile.close();
+    }
+
+    public void runQueryScriptParallel(String compileLogPath, String exaremePlanPath, String caseLabel, int numberOfWorkers) throws Throwable {
+        File f = new File(compileLogPath);
+        if(f.exists() && !f.isDirectory()) {
+            f.delete();
+        }
+
+        PrintWriter compileLogFile;
+        try {
+            compileLogFile = new PrintWriter(f);
+        } catch (FileNotFoundException var9) {
+            throw new RuntimeException("Failed to open FileOutputStream for outputQuery.txt", var9);
+        }
+
+        //Same as runQueryScriptBatch but independent queries are compiled and translated concurrently
+        this.testSuite.extractPlansFromScriptInParallel(this.queryScriptPath, (Map)null, (List)null, compileLogFile, exaremePlanPath, this.madisPath, outputWriter, caseLabel, numberOfWorkers);
+        compileLogFile.close();
+    }
+
+    public void translateGraphFile(String compileLogPath, String graphFile, String exaremePlanPath) throws Throwable {
+        File f = new File(compileLogPath);
+        if(f.exists() && !f.isDirectory()) {
+            f.delete();
+        }
+
+        PrintWriter compileLogFile;
+        try {
+            compileLogFile = new PrintWriter(f);
+        } catch (FileNotFoundException var9) {
+            throw new RuntimeException("Failed to open FileOutputStream for outputQuery.txt", var9);
+        }
+
+        //Translates a Graph kept by enableGraphFiles without compiling its statement again
+        this.testSuite.translateGraphFile(graphFile, compileLogFile, exaremePlanPath);
+        compileLogFile.close();
+    }
+
     public void runOtherScript(String compileLogPath, String resultsLogPath, String exaremePlanPath, String caseLabel, String otherScript) throws Throwable {
         File f = new File(compileLogPath);
         if(f.exists() && !f.isDirectory()) {
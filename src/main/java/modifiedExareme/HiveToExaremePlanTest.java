@@ -14,6 +14,7 @@ import org.apache.log4j.Logger;
 import java.io.*;
 import java.rmi.registry.LocateRegistry;
 import java.util.Scanner;
+import java.util.concurrent.Future;
 
 /**
  * Created by panos on 5/10/2016.
@@ -55,14 +56,10 @@ public class HiveToExaremePlanTest {
             final ExecutionEngineSessionPlan sessionPlan = engineSession.startSession();
             sessionPlan.submitPlan(executionPlan);
             log.info("Submitted.");
-            while (sessionPlan.getPlanSessionStatusManagerProxy().hasFinished() == false
-                    && sessionPlan.getPlanSessionStatusManagerProxy().hasError() == false) {
-                Thread.sleep(100);
-                //log.info("NOT FINISHED YET...");
-            }
+            Future<Long> planFinished = PlanCompletion.whenFinished(sessionPlan); //Completes as soon as the plan ends
 
             //EndPoint - Count execution time
-            long endPoint = System.currentTimeMillis();
+            long endPoint = planFinished.get(); //Time the end of the plan was observed
             log.info("Execution Plan Duration: " + (midTime + (endPoint - midPoint)));
             long totalDuration = midTime + (endPoint - midPoint);
 
@@ -255,14 +252,10 @@ public class HiveToExaremePlanTest {
                     final ExecutionEngineSessionPlan sessionPlan = engineSession.startSession();
                     sessionPlan.submitPlan(executionPlan);
                     log.info("Submitted.");
-                    while (sessionPlan.getPlanSessionStatusManagerProxy().hasFinished() == false
-                            && sessionPlan.getPlanSessionStatusManagerProxy().hasError() == false) {
-                        Thread.sleep(100);
-                        //log.info("NOT FINISHED YET...");
-                    }
+                    Future<Long> planFinished = PlanCompletion.whenFinished(sessionPlan); //Completes as soon as the plan ends
 
                     //EndPoint - Count execution time
-                    long endPoint = System.currentTimeMillis();
+                    long endPoint = planFinished.get(); //Time the end of the plan was observed
                     log.info("Execution Plan Duration: " + (midTime + (endPoint - midPoint)));
                     long totalDuration = midTime + (endPoint - midPoint);
 
@@ -674,14 +667,10 @@ public class HiveToExaremePlanTest {
                 final ExecutionEngineSessionPlan sessionPlan = engineSession.startSession();
                 sessionPlan.submitPlan(executionPlan);
                 log.info("Submitted.");
-                while (sessionPlan.getPlanSessionStatusManagerProxy().hasFinished() == false
-                        && sessionPlan.getPlanSessionStatusManagerProxy().hasError() == false) {
-                    Thread.sleep(100);
-                    //log.info("NOT FINISHED YET...");
-                }
+                Future<Long> planFinished = PlanCompletion.whenFinished(sessionPlan); //Completes as soon as the plan ends
 
                 //EndPoint - Count execution time
-                long endPoint = System.currentTimeMillis();
+                long endPoint = planFinished.get(); //Time the end of the plan was observed
                 log.info("Execution Plan Duration: " + (midTime + (endPoint - midPoint)));
 
                 log.info("Exited");
@@ -0,0 +1,47 @@
+package madgik.exareme.master.engine;
+
+import madgik.exareme.worker.art.executionEngine.session.ExecutionEngineSessionPlan;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/* Turns the status of a submitted ExecutionEngineSessionPlan into a Future
+   that completes as soon as the plan has finished or failed, with the time
+   (ms) the end of the plan was observed as its value.
+
+   The status manager of a plan session offers no listener to register, so a
+   daemon watcher thread asks it with a short backoff (1 ms doubling up to
+   MAX_INTERVAL ms) instead of the caller sleeping a fixed 100 ms between
+   checks. The end time is taken by the watcher itself, so the caller's wake
+   up is not part of the measured duration and the error is at most
+   MAX_INTERVAL ms.
+ */
+
+public class PlanCompletion {
+
+    private static final long MAX_INTERVAL = 10;
+
+    public static Future<Long> whenFinished(final ExecutionEngineSessionPlan sessionPlan) {
+
+        FutureTask<Long> completion = new FutureTask<>(new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                long interval = 1;
+                while ((sessionPlan.getPlanSessionStatusManagerProxy().hasFinished() == false)
+                        && (sessionPlan.getPlanSessionStatusManagerProxy().hasError() == false)) {
+                    Thread.sleep(interval);
+                    interval = Math.min(interval * 2, MAX_INTERVAL);
+                }
+                return System.currentTimeMillis();
+            }
+        });
+
+        Thread watcher = new Thread(completion, "PlanCompletion-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+
+        return completion;
+    }
+
+}
@@ -22,6 +22,8 @@ import java.io.File;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -37,6 +39,7 @@ import org.apache.hadoop.hive.shims.HadoopShims.MiniDFSShim;
 import org.apache.hadoop.hive.shims.HadoopShims.MiniMrShim;
 import org.apache.hadoop.hive.shims.ShimLoader;
 import org.apache.hive.service.Service;
+import org.apache.hive.service.ServiceStateChangeListener;
 import org.apache.hive.service.cli.CLIServiceClient;
 import org.apache.hive.service.cli.SessionHandle;
 import org.apache.hive.service.cli.thrift.ThriftBinaryCLIService;
@@ -303,11 +306,57 @@ public class MiniHS2 extends AbstractHiveService {
       setConfProperty(entry.getKey(), entry.getValue());
     }
     hiveServer2.init(getHiveConf());
+    StartupListener startup = new StartupListener(hiveServer2);
     hiveServer2.start();
-    waitForStartup();
+    waitForStartup(startup);
     setStarted(true);
   }
 
+  /**
+   * Counts down once HiveServer2 and every one of its services have reached
+   * STARTED, or as soon as any of them stops while starting up.
+   */
+  private static class StartupListener implements ServiceStateChangeListener {
+    private final CountDownLatch done = new CountDownLatch(1);
+    private final HiveServer2 server;
+    private volatile Service failedService = null;
+
+    StartupListener(HiveServer2 server) {
+      this.server = server;
+      server.register(this);
+      for (Service service : server.getServices()) {
+        service.register(this);
+      }
+    }
+
+    @Override
+    public void stateChanged(Service service) {
+      if (service.getServiceState() == Service.STATE.STOPPED) {
+        failedService = service;
+        done.countDown();
+        return;
+      }
+      if (server.getServiceState() != Service.STATE.STARTED) {
+        return;
+      }
+      for (Service s : server.getServices()) {
+        if (s.getServiceState() != Service.STATE.STARTED) {
+          return;
+        }
+      }
+      done.countDown();
+    }
+
+    void await(long timeoutMs) throws Exception {
+      if (done.await(timeoutMs, TimeUnit.MILLISECONDS) == false) {
+        throw new TimeoutException("HiveServer2 services did not start in " + timeoutMs + " ms");
+      }
+      if (failedService != null) {
+        throw new IllegalStateException("HiveServer2 service " + failedService.getName() + " stopped while starting");
+      }
+    }
+  }
+
   public void stop() {
     verifyStarted();
     // Currently there is no way to stop the MetaStore service. It will be stopped when the
@@ -428,17 +477,16 @@ public class MiniHS2 extends AbstractHiveService {
     return dfs;
   }
 
-  private void waitForStartup() throws Exception {
-    int waitTime = 0;
+  private void waitForStartup(StartupListener startup) throws Exception {
     long startupTimeout = 1000L * 1000L;
+    long deadline = System.currentTimeMillis() + startupTimeout;
+    // Services report STARTED as soon as they are up, no need to sleep before the first attempt
+    startup.await(startupTimeout);
+    // The Thrift service binds its port on its own thread, so retry opening a session with a short backoff
     CLIServiceClient hs2Client = getServiceClientInternal();
     SessionHandle sessionHandle = null;
+    long backoff = 10L;
     do {
-      Thread.sleep(500L);
-      waitTime += 500L;
-      if (waitTime > startupTimeout) {
-        throw new TimeoutException("Couldn't access new HiveServer2: " + getJdbcURL());
-      }
       try {
         Map <String, String> sessionConf = new HashMap<String, String>();
         /**
@@ -449,7 +497,12 @@ public class MiniHS2 extends AbstractHiveService {
          */
         sessionHandle = hs2Client.openSession("foo", "bar", sessionConf);
       } catch (Exception e) {
-        // service not started yet
+        // Thrift service not listening yet
+        if (System.currentTimeMillis() > deadline) {
+          throw new TimeoutException("Couldn't access new HiveServer2: " + getJdbcURL());
+        }
+        Thread.sleep(backoff);
+        backoff = Math.min(backoff * 2, 500L);
         continue;
       }
       hs2Client.closeSession(sessionHandle);